@@ -24,7 +24,7 @@ import org.ballerinalang.model.values.BValue;
 
 /**
  * {@code ClientConnectorFuture} This connector future will be provided to the ballerina side to get notifications
- * from client connections.
+ * from client connections. The result may be notified from any thread, before or after the listener is set.
  *
  * @since 0.94
  */
@@ -33,9 +33,10 @@ public class ClientConnectorFuture implements ConnectorFuture {
     private boolean success = false;
     private BValue value;
     private BallerinaConnectorException exception;
+    private volatile Runnable cancelHandler;
 
     @Override
-    public void setConnectorFutureListener(ConnectorFutureListener futureListener) {
+    public synchronized void setConnectorFutureListener(ConnectorFutureListener futureListener) {
         this.listener = futureListener;
         if (value != null) {
             listener.notifyReply(value);
@@ -51,7 +52,24 @@ public class ClientConnectorFuture implements ConnectorFuture {
         success = false;
     }
 
-    public void notifySuccess() {
+    /**
+     * Set the handler aborting the operation of this future, if Ballerina cancels it.
+     *
+     * @param cancelHandler handler to run on cancellation
+     */
+    public void setCancelHandler(Runnable cancelHandler) {
+        this.cancelHandler = cancelHandler;
+    }
+
+    @Override
+    public void cancel() {
+        Runnable handler = cancelHandler;
+        if (handler != null) {
+            handler.run();
+        }
+    }
+
+    public synchronized void notifySuccess() {
         if (listener != null) {
             listener.notifySuccess();
             return;
@@ -59,7 +77,7 @@ public class ClientConnectorFuture implements ConnectorFuture {
         this.success = true;
     }
 
-    public void notifyReply(BValue value) {
+    public synchronized void notifyReply(BValue value) {
         if (listener != null) {
             listener.notifyReply(value);
             return;
@@ -67,7 +85,7 @@ public class ClientConnectorFuture implements ConnectorFuture {
         this.value = value;
     }
 
-    public void notifyFailure(BallerinaConnectorException ex) {
+    public synchronized void notifyFailure(BallerinaConnectorException ex) {
         if (listener != null) {
             listener.notifyFailure(ex);
             return;
@@ -181,7 +181,7 @@ public class SQLDataIterator implements DataIterator {
             case Types.TIMESTAMP_WITH_TIMEZONE:
                 return getBString(rs.getTimestamp(columnName, utcCalendar));
             case Types.ROWID:
-                return new BString(new String(rs.getRowId(columnName).getBytes(), "UTF-8"));
+                return BString.valueOf(new String(rs.getRowId(columnName).getBytes(), "UTF-8"));
             }
         } catch (SQLException e) {
             throw new BallerinaException("failed to get the value of " + type + ": " + e.getMessage(), e);
@@ -209,26 +209,26 @@ public class SQLDataIterator implements DataIterator {
     }
 
     private BValue getBString(Clob clob) throws SQLException {
-        return new BString(SQLDatasourceUtils.getString(clob));
+        return BString.valueOf(SQLDatasourceUtils.getString(clob));
     }
 
     private BValue getBString(InputStream inputStream) throws SQLException {
-        return new BString(SQLDatasourceUtils.getString(inputStream));
+        return BString.valueOf(SQLDatasourceUtils.getString(inputStream));
     }
 
     private BValue getBString(Blob blob) throws SQLException {
-        return new BString(SQLDatasourceUtils.getString(blob));
+        return BString.valueOf(SQLDatasourceUtils.getString(blob));
     }
 
     private BValue getBString(Date date) throws SQLException {
-        return new BString(SQLDatasourceUtils.getString(date));
+        return BString.valueOf(SQLDatasourceUtils.getString(date));
     }
 
     private BValue getBString(Time time) throws SQLException {
-        return new BString(SQLDatasourceUtils.getString(time));
+        return BString.valueOf(SQLDatasourceUtils.getString(time));
     }
 
     private BValue getBString(Timestamp timestamp) throws SQLException {
-        return new BString(SQLDatasourceUtils.getString(timestamp));
+        return BString.valueOf(SQLDatasourceUtils.getString(timestamp));
     }
 }
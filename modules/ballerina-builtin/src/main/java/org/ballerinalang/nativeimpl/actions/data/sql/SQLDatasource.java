@@ -210,14 +210,14 @@ public class SQLDatasource implements BValue {
                 if (jdbcurl.isEmpty()) {
                     jdbcurl = constructJDBCURL(dbType, hostOrPath, port, dbName, username, password);
                 }
-                dataSourceConfigMap.put(Constants.URL, new BString(jdbcurl));
+                dataSourceConfigMap.put(Constants.URL, BString.valueOf(jdbcurl));
             }
         } else {
             dataSourceConfigMap = new BMap<>();
             if (jdbcurl.isEmpty()) {
                 jdbcurl = constructJDBCURL(dbType, hostOrPath, port, dbName, username, password);
             }
-            dataSourceConfigMap.put(Constants.URL, new BString(jdbcurl));
+            dataSourceConfigMap.put(Constants.URL, BString.valueOf(jdbcurl));
         }
         return dataSourceConfigMap;
     }
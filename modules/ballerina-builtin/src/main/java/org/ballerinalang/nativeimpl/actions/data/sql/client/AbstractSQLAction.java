@@ -127,7 +127,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             stmt = conn.prepareStatement(processedQuery);
             createProcessedStatement(conn, stmt, parameters);
             int count = stmt.executeUpdate();
-            BInteger updatedCount = new BInteger(count);
+            BInteger updatedCount = BInteger.valueOf(count);
             context.getControlStackNew().getCurrentFrame().returnValues[0] = updatedCount;
         } catch (SQLException e) {
             throw new BallerinaException("execute update failed: " + e.getMessage(), e);
@@ -160,7 +160,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             }
             createProcessedStatement(conn, stmt, parameters);
             int count = stmt.executeUpdate();
-            BInteger updatedCount = new BInteger(count);
+            BInteger updatedCount = BInteger.valueOf(count);
             context.getControlStackNew().getCurrentFrame().returnValues[0] = updatedCount;
             rs = stmt.getGeneratedKeys();
             /*The result set contains the auto generated keys. There can be multiple auto generated columns
@@ -447,16 +447,16 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
                         BValue paramValue;
                         switch (typeTag) {
                         case TypeTags.INT_TAG:
-                            paramValue = new BInteger(((BIntArray) value).get(i));
+                            paramValue = BInteger.valueOf(((BIntArray) value).get(i));
                             break;
                         case TypeTags.FLOAT_TAG:
-                            paramValue = new BFloat(((BFloatArray) value).get(i));
+                            paramValue = BFloat.valueOf(((BFloatArray) value).get(i));
                             break;
                         case TypeTags.STRING_TAG:
-                            paramValue = new BString(((BStringArray) value).get(i));
+                            paramValue = BString.valueOf(((BStringArray) value).get(i));
                             break;
                         case TypeTags.BOOLEAN_TAG:
-                            paramValue = new BBoolean(((BBooleanArray) value).get(i) > 0);
+                            paramValue = BBoolean.valueOf(((BBooleanArray) value).get(i) > 0);
                             break;
                         case TypeTags.BLOB_TAG:
                             paramValue = new BBlob(((BBlobArray) value).get(i));
@@ -597,90 +597,90 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             switch (sqlDataType) {
             case Constants.SQLDataTypes.INTEGER: {
                 int value = stmt.getInt(index + 1);
-                paramValue.setRefField(0, new BInteger(value)); //Value is the first position of the struct
+                paramValue.setRefField(0, BInteger.valueOf(value)); //Value is the first position of the struct
             }
             break;
             case Constants.SQLDataTypes.VARCHAR: {
                 String value = stmt.getString(index + 1);
-                paramValue.setRefField(0, new BString(value));
+                paramValue.setRefField(0, BString.valueOf(value));
             }
             break;
             case Constants.SQLDataTypes.NUMERIC:
             case Constants.SQLDataTypes.DECIMAL: {
                 BigDecimal value = stmt.getBigDecimal(index + 1);
                 if (value == null) {
-                    paramValue.setRefField(0, new BFloat(0));
+                    paramValue.setRefField(0, BFloat.valueOf(0));
                 } else {
-                    paramValue.setRefField(0, new BFloat(value.doubleValue()));
+                    paramValue.setRefField(0, BFloat.valueOf(value.doubleValue()));
                 }
             }
             break;
             case Constants.SQLDataTypes.BIT:
             case Constants.SQLDataTypes.BOOLEAN: {
                 boolean value = stmt.getBoolean(index + 1);
-                paramValue.setRefField(0, new BBoolean(value));
+                paramValue.setRefField(0, BBoolean.valueOf(value));
             }
             break;
             case Constants.SQLDataTypes.TINYINT: {
                 byte value = stmt.getByte(index + 1);
-                paramValue.setRefField(0, new BInteger(value));
+                paramValue.setRefField(0, BInteger.valueOf(value));
             }
             break;
             case Constants.SQLDataTypes.SMALLINT: {
                 short value = stmt.getShort(index + 1);
-                paramValue.setRefField(0, new BInteger(value));
+                paramValue.setRefField(0, BInteger.valueOf(value));
             }
             break;
             case Constants.SQLDataTypes.BIGINT: {
                 long value = stmt.getLong(index + 1);
-                paramValue.setRefField(0, new BInteger(value));
+                paramValue.setRefField(0, BInteger.valueOf(value));
             }
             break;
             case Constants.SQLDataTypes.REAL:
             case Constants.SQLDataTypes.FLOAT: {
                 float value = stmt.getFloat(index + 1);
-                paramValue.setRefField(0, new BFloat(value));
+                paramValue.setRefField(0, BFloat.valueOf(value));
             }
             break;
             case Constants.SQLDataTypes.DOUBLE: {
                 double value = stmt.getDouble(index + 1);
-                paramValue.setRefField(0, new BFloat(value));
+                paramValue.setRefField(0, BFloat.valueOf(value));
             }
             break;
             case Constants.SQLDataTypes.CLOB: {
                 Clob value = stmt.getClob(index + 1);
-                paramValue.setRefField(0, new BString(SQLDatasourceUtils.getString(value)));
+                paramValue.setRefField(0, BString.valueOf(SQLDatasourceUtils.getString(value)));
             }
             break;
             case Constants.SQLDataTypes.BLOB: {
                 Blob value = stmt.getBlob(index + 1);
-                paramValue.setRefField(0, new BString(SQLDatasourceUtils.getString(value)));
+                paramValue.setRefField(0, BString.valueOf(SQLDatasourceUtils.getString(value)));
             }
             break;
             case Constants.SQLDataTypes.BINARY: {
                 byte[] value = stmt.getBytes(index + 1);
-                paramValue.setRefField(0, new BString(SQLDatasourceUtils.getString(value)));
+                paramValue.setRefField(0, BString.valueOf(SQLDatasourceUtils.getString(value)));
             }
             break;
             case Constants.SQLDataTypes.DATE: {
                 Date value = stmt.getDate(index + 1);
-                paramValue.setRefField(0, new BString(SQLDatasourceUtils.getString(value)));
+                paramValue.setRefField(0, BString.valueOf(SQLDatasourceUtils.getString(value)));
             }
             break;
             case Constants.SQLDataTypes.TIMESTAMP:
             case Constants.SQLDataTypes.DATETIME: {
                 Timestamp value = stmt.getTimestamp(index + 1, utcCalendar);
-                paramValue.setRefField(0, new BString(SQLDatasourceUtils.getString(value)));
+                paramValue.setRefField(0, BString.valueOf(SQLDatasourceUtils.getString(value)));
             }
             break;
             case Constants.SQLDataTypes.TIME: {
                 Time value = stmt.getTime(index + 1, utcCalendar);
-                paramValue.setRefField(0, new BString(SQLDatasourceUtils.getString(value)));
+                paramValue.setRefField(0, BString.valueOf(SQLDatasourceUtils.getString(value)));
             }
             break;
             case Constants.SQLDataTypes.ARRAY: {
                 Array value = stmt.getArray(index + 1);
-                paramValue.setRefField(0, new BString(SQLDatasourceUtils.getString(value)));
+                paramValue.setRefField(0, BString.valueOf(SQLDatasourceUtils.getString(value)));
             }
             break;
             case Constants.SQLDataTypes.STRUCT: {
@@ -693,7 +693,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
                         stringValue = value.toString();
                     }
                 }
-                paramValue.setRefField(0, new BString(stringValue));
+                paramValue.setRefField(0, BString.valueOf(stringValue));
             }
             break;
             default:
@@ -58,10 +58,10 @@ public class Init extends AbstractSQLAction {
         String username = bConnector.getStringField(3);
         String password = bConnector.getStringField(4);
         int port = (int) bConnector.getIntField(0);
-        if (sharedMap.get(new BString(Constants.DATASOURCE_KEY)) == null) {
+        if (sharedMap.get(BString.valueOf(Constants.DATASOURCE_KEY)) == null) {
             SQLDatasource datasource = new SQLDatasource();
             datasource.init(optionStruct, dbType, hostOrPath, port, username, password, dbName);
-            sharedMap.put(new BString(Constants.DATASOURCE_KEY), datasource);
+            sharedMap.put(BString.valueOf(Constants.DATASOURCE_KEY), datasource);
         }
         ClientConnectorFuture future = new ClientConnectorFuture();
         future.notifySuccess();
@@ -58,8 +58,8 @@ public class Update extends AbstractSQLAction {
         BRefValueArray parameters = (BRefValueArray) getRefArgument(context, 1);
         BMap sharedMap = (BMap) bConnector.getRefField(1);
         SQLDatasource datasource = null;
-        if (sharedMap.get(new BString(Constants.DATASOURCE_KEY)) != null) {
-            datasource = (SQLDatasource) sharedMap.get(new BString(Constants.DATASOURCE_KEY));
+        if (sharedMap.get(BString.valueOf(Constants.DATASOURCE_KEY)) != null) {
+            datasource = (SQLDatasource) sharedMap.get(BString.valueOf(Constants.DATASOURCE_KEY));
         } else {
             throw new BallerinaException("Datasource have not been initialized properly at " +
                     "Init native action invocation.");
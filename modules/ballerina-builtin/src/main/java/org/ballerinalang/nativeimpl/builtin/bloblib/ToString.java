@@ -48,7 +48,7 @@ public class ToString extends AbstractNativeFunction {
             String encoding = getStringArgument(ctx, 0);
             byte[] arr = getBlobArgument(ctx, 0);
             String s = new String(arr, encoding);
-            return getBValues(new BString(s));
+            return getBValues(BString.valueOf(s));
         } catch (UnsupportedEncodingException e) {
             throw new BallerinaException("Unsupported Encoding of Blob", e);
         }
@@ -44,6 +44,6 @@ public class HasNext extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         BDataTable dataTable = (BDataTable) getRefArgument(ctx, 0);
-        return getBValues(new BBoolean(dataTable.hasNext(ctx.isInTransaction())));
+        return getBValues(BBoolean.valueOf(dataTable.hasNext(ctx.isInTransaction())));
     }
 }
@@ -60,6 +60,6 @@ public class ToString extends AbstractNativeFunction {
             ErrorHandler.handleJsonException("convert json to string", e);
         }
 
-        return getBValues(new BString(jsonStr));
+        return getBValues(BString.valueOf(jsonStr));
     }
 }
@@ -43,6 +43,6 @@ public class Length extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         BMap map = (BMap) getRefArgument(ctx, 0);
-        return getBValues(new BInteger(map.size()));
+        return getBValues(BInteger.valueOf(map.size()));
     }
 }
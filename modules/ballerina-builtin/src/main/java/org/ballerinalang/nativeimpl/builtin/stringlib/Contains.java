@@ -47,7 +47,7 @@ public class Contains extends AbstractNativeFunction {
         String param1 = getStringArgument(context, 0);
         String subString = getStringArgument(context, 1);
 
-        BBoolean isContains = new BBoolean(param1.contains(subString));
+        BBoolean isContains = BBoolean.valueOf(param1.contains(subString));
         return getBValues(isContains);
 
     }
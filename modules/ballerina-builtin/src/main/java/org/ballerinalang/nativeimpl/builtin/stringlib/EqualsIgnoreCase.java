@@ -48,7 +48,7 @@ public class EqualsIgnoreCase extends AbstractNativeFunction {
         String string1 = getStringArgument(context, 0);
         String anotherString = getStringArgument(context, 1);
 
-        BBoolean booleanValue = new BBoolean(string1.equalsIgnoreCase(anotherString));
+        BBoolean booleanValue = BBoolean.valueOf(string1.equalsIgnoreCase(anotherString));
         return getBValues(booleanValue);
 
     }
@@ -47,7 +47,7 @@ public class HasPrefix extends AbstractNativeFunction {
         String param1 = getStringArgument(context, 0);
         String prefix = getStringArgument(context, 1);
 
-        BBoolean booleanValue = new BBoolean(param1.startsWith(prefix));
+        BBoolean booleanValue = BBoolean.valueOf(param1.startsWith(prefix));
         return getBValues(booleanValue);
     }
 }
@@ -47,7 +47,7 @@ public class HasSuffix extends AbstractNativeFunction {
         String param1 = getStringArgument(context, 0);
         String suffix = getStringArgument(context, 1);
 
-        BBoolean booleanValue = new BBoolean(param1.endsWith(suffix));
+        BBoolean booleanValue = BBoolean.valueOf(param1.endsWith(suffix));
         return getBValues(booleanValue);
     }
 }
@@ -47,7 +47,7 @@ public class IndexOf extends AbstractNativeFunction {
         String param1 = getStringArgument(context, 0);
         String subString = getStringArgument(context, 1);
 
-        BInteger intValue = new BInteger(param1.indexOf(subString));
+        BInteger intValue = BInteger.valueOf(param1.indexOf(subString));
         return getBValues(intValue);
     }
 }
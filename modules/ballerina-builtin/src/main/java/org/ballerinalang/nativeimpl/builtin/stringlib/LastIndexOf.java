@@ -47,7 +47,7 @@ public class LastIndexOf extends AbstractNativeFunction {
         String param1 = getStringArgument(context, 0);
         String subString = getStringArgument(context, 1);
 
-        BInteger bInteger = new BInteger(param1.lastIndexOf(subString));
+        BInteger bInteger = BInteger.valueOf(param1.lastIndexOf(subString));
         return getBValues(bInteger);
     }
 }
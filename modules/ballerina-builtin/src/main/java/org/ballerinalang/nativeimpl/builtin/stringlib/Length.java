@@ -44,7 +44,7 @@ public class Length extends AbstractNativeFunction {
     @Override
     public BValue[] execute(Context context) {
         String param1 = getStringArgument(context, 0);
-        BInteger intValue = new BInteger(param1.length());
+        BInteger intValue = BInteger.valueOf(param1.length());
         return getBValues(intValue);
     }
 }
@@ -50,6 +50,6 @@ public class Replace extends AbstractNativeFunction {
         String replaceWith = getStringArgument(context, 2);
 
         String replacedString = mainString.replace(replacePattern, replaceWith);
-        return getBValues(new BString(replacedString));
+        return getBValues(BString.valueOf(replacedString));
     }
 }
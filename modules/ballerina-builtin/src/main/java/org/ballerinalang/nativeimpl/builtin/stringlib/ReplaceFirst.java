@@ -50,6 +50,6 @@ public class ReplaceFirst extends AbstractNativeFunction {
         String replaceWith = getStringArgument(context, 2);
 
         String replacedString = mainString.replaceFirst(replacePattern, replaceWith);
-        return getBValues(new BString(replacedString));
+        return getBValues(BString.valueOf(replacedString));
     }
 }
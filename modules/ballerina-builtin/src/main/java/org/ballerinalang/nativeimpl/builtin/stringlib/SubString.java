@@ -49,7 +49,7 @@ public class SubString extends AbstractNativeFunction {
             throw new BallerinaException("String index out of range. Actual:" + initialString.length() +
                     " requested: " + from + " to " + to);
         }
-        BString subString = new BString(initialString.substring(from, to));
+        BString subString = BString.valueOf(initialString.substring(from, to));
         return getBValues(subString);
     }
 }
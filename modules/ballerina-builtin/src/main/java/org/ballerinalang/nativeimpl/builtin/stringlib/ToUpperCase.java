@@ -46,7 +46,7 @@ public class ToUpperCase extends AbstractNativeFunction {
     @Override
     public BValue[] execute(Context context) {
         String param1 = getStringArgument(context, 0);
-        BString upperCaseString = new BString(param1.toUpperCase(Locale.getDefault()));
+        BString upperCaseString = BString.valueOf(param1.toUpperCase(Locale.getDefault()));
         return getBValues(upperCaseString);
     }
 }
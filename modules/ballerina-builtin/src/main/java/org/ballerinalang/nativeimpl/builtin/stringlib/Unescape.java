@@ -46,6 +46,6 @@ public class Unescape extends AbstractNativeFunction {
         String stringValue = getStringArgument(context, 0);
         //todo extend this in a proper way
         String unescapedString = stringValue.replace("\\", "");
-        return getBValues(new BString(unescapedString));
+        return getBValues(BString.valueOf(unescapedString));
     }
 }
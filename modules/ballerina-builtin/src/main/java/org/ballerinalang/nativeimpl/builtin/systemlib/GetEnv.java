@@ -45,7 +45,7 @@ public class GetEnv extends AbstractNativeFunction {
         if (varName != null && varName.trim().length() > 0) {
             String varValue = System.getenv(varName);
             if (varValue != null && varValue.trim().length() > 0) {
-                return getBValues(new BString(varValue));
+                return getBValues(BString.valueOf(varValue));
             }
 
             return VOID_RETURN;
@@ -18,15 +18,22 @@
 package org.ballerinalang.nativeimpl.builtin.systemlib;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.connector.api.ConnectorFuture;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.actions.ClientConnectorFuture;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.runtime.threadpool.TimerWheel;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Native function ballerina.lang.system:sleep.
+ * <p>
+ * The calling worker is suspended until a timer expires, instead of sleeping on its thread.
  */
 @BallerinaFunction(
         packageName = "ballerina.builtin",
@@ -45,4 +52,18 @@ public class Sleep extends AbstractNativeFunction {
         }
         return VOID_RETURN;
     }
+
+    @Override
+    public boolean isNonBlockingFunction() {
+        return true;
+    }
+
+    @Override
+    public ConnectorFuture executeNonBlocking(Context ctx) {
+        ClientConnectorFuture future = new ClientConnectorFuture();
+        TimerWheel.Timeout timeout = TimerWheel.getInstance().schedule(future::notifySuccess, getIntArgument(ctx, 0),
+                TimeUnit.MILLISECONDS);
+        future.setCancelHandler(timeout::cancel);
+        return future;
+    }
 }
@@ -44,6 +44,6 @@ public class Day extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return new BValue[]{new BInteger(getDay(timeStruct))};
+        return new BValue[]{BInteger.valueOf(getDay(timeStruct))};
     }
 }
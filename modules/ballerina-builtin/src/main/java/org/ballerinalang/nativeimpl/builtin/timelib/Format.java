@@ -46,6 +46,6 @@ public class Format extends AbstractTimeFunction {
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
         String pattern = getStringArgument(context, 0);
-        return new BValue[]{new BString(getFormattedtString(timeStruct, pattern))};
+        return new BValue[]{BString.valueOf(getFormattedtString(timeStruct, pattern))};
     }
 }
@@ -46,7 +46,7 @@ public class GetDate extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return getBValues(new BInteger(getYear(timeStruct)), new BInteger(getMonth(timeStruct)),
-                new BInteger(getDay(timeStruct)));
+        return getBValues(BInteger.valueOf(getYear(timeStruct)), BInteger.valueOf(getMonth(timeStruct)),
+                BInteger.valueOf(getDay(timeStruct)));
     }
 }
@@ -47,7 +47,7 @@ public class GetTime extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return getBValues(new BInteger(getHour(timeStruct)), new BInteger(getMinute(timeStruct)),
-                new BInteger(getSecond(timeStruct)), new BInteger(getMilliSecond(timeStruct)));
+        return getBValues(BInteger.valueOf(getHour(timeStruct)), BInteger.valueOf(getMinute(timeStruct)),
+                BInteger.valueOf(getSecond(timeStruct)), BInteger.valueOf(getMilliSecond(timeStruct)));
     }
 }
@@ -44,6 +44,6 @@ public class MilliSecond extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return new BValue[]{new BInteger(getMilliSecond(timeStruct))};
+        return new BValue[]{BInteger.valueOf(getMilliSecond(timeStruct))};
     }
 }
@@ -44,6 +44,6 @@ public class Minute extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return new BValue[]{new BInteger(getMinute(timeStruct))};
+        return new BValue[]{BInteger.valueOf(getMinute(timeStruct))};
     }
 }
@@ -44,6 +44,6 @@ public class ToString extends AbstractTimeFunction {
     public BValue[] execute(Context context) {
 
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return new BValue[]{new BString(getDefaultString(timeStruct))};
+        return new BValue[]{BString.valueOf(getDefaultString(timeStruct))};
     }
 }
@@ -44,6 +44,6 @@ public class WeekDay extends AbstractTimeFunction {
     @Override
     public BValue[] execute(Context context) {
         BStruct timeStruct = ((BStruct) getRefArgument(context, 0));
-        return new BValue[]{new BString(getWeekDay(timeStruct))};
+        return new BValue[]{BString.valueOf(getWeekDay(timeStruct))};
     }
 }
@@ -65,12 +65,12 @@ public class CreateNewFile extends AbstractNativeFunction {
         } catch (IOException | UnsupportedOperationException e) {
             String msg = "Failed to create the file: " + filePath.toString();
             log.error(msg, e);
-            return getBValues(new BBoolean(false), null, createIOError(context, msg));
+            return getBValues(BBoolean.FALSE, null, createIOError(context, msg));
         } catch (SecurityException e) {
             String msg = "Permission denied. Failed to create the file: " + filePath.toString();
             log.error(msg, e);
-            return getBValues(new BBoolean(false), createAccessDeniedError(context, msg), null);
+            return getBValues(BBoolean.FALSE, createAccessDeniedError(context, msg), null);
         }
-        return getBValues(new BBoolean(Files.exists(newFile)), null, null);
+        return getBValues(BBoolean.valueOf(Files.exists(newFile)), null, null);
     }
 }
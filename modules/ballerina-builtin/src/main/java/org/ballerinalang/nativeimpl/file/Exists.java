@@ -52,6 +52,6 @@ public class Exists extends AbstractNativeFunction {
         BStruct struct = (BStruct) getRefArgument(context, 0);
         Path filePath = Paths.get(struct.getStringField(0));
 
-        return getBValues(new BBoolean(Files.exists(filePath)));
+        return getBValues(BBoolean.valueOf(Files.exists(filePath)));
     }
 }
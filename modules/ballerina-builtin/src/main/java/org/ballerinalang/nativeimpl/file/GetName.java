@@ -49,6 +49,6 @@ public class GetName extends AbstractNativeFunction {
     public BValue[] execute(Context context) {
         BStruct fileStruct = (BStruct) getRefArgument(context, 0);
         Path fileName = Paths.get(fileStruct.getStringField(0)).getFileName();
-        return getBValues(new BString(fileName == null ? "" : fileName.toString()));
+        return getBValues(BString.valueOf(fileName == null ? "" : fileName.toString()));
     }
 }
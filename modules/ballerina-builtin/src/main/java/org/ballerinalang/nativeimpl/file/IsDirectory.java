@@ -50,6 +50,6 @@ public class IsDirectory extends AbstractNativeFunction {
     public BValue[] execute(Context context) {
         BStruct fileStruct = (BStruct) getRefArgument(context, 0);
         Path filePath = Paths.get(fileStruct.getStringField(0));
-        return getBValues(new BBoolean(Files.isDirectory(filePath)));
+        return getBValues(BBoolean.valueOf(Files.isDirectory(filePath)));
     }
 }
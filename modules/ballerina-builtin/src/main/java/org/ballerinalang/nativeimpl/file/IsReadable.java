@@ -51,6 +51,6 @@ public class IsReadable extends AbstractNativeFunction {
         BStruct fileStruct = (BStruct) getRefArgument(context, 0);
         Path filePath = Paths.get(fileStruct.getStringField(0));
         boolean isReadable = Files.isReadable(filePath);
-        return getBValues(new BBoolean(isReadable));
+        return getBValues(BBoolean.valueOf(isReadable));
     }
 }
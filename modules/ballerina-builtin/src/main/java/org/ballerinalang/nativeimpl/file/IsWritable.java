@@ -51,6 +51,6 @@ public class IsWritable extends AbstractNativeFunction {
         BStruct fileStruct = (BStruct) getRefArgument(context, 0);
         Path filePath = Paths.get(fileStruct.getStringField(0));
         boolean isWritable = Files.isWritable(filePath);
-        return getBValues(new BBoolean(isWritable));
+        return getBValues(BBoolean.valueOf(isWritable));
     }
 }
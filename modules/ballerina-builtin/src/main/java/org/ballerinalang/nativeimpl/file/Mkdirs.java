@@ -64,12 +64,12 @@ public class Mkdirs extends AbstractNativeFunction {
             dirCreated = dir.mkdirs();
         } catch (SecurityException e) {
             log.error("Could not create directory structure: " + path, e);
-            return getBValues(new BBoolean(false), null,
+            return getBValues(BBoolean.FALSE, null,
                               createIOError(context, "Could not create the requested directory structure: " + path));
         }
 
-        return dirCreated ? getBValues(new BBoolean(true), null, null) :
-                getBValues(new BBoolean(false), createAccessDeniedError
+        return dirCreated ? getBValues(BBoolean.TRUE, null, null) :
+                getBValues(BBoolean.FALSE, createAccessDeniedError
                         (context, "Permission denied to create the requested directory structure: " + path), null);
     }
 }
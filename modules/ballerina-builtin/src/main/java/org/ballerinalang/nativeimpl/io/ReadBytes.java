@@ -77,7 +77,7 @@ public class ReadBytes extends AbstractNativeFunction {
             Channel byteChannel = (Channel) channel.getNativeData(IOConstants.BYTE_CHANNEL_NAME);
             byte[] readBytes = byteChannel.read(numberOfBytes);
             readByteBlob = new BBlob(readBytes);
-            numberOfReadBytes = new BInteger(readBytes.length);
+            numberOfReadBytes = BInteger.valueOf(readBytes.length);
         } catch (Throwable e) {
             String message = "Error occurred while reading bytes:" + e.getMessage();
             throw new BallerinaException(message, context);
@@ -73,7 +73,7 @@ public class ReadCharacters extends AbstractNativeFunction {
             CharacterChannel characterChannel = (CharacterChannel) channel.getNativeData(IOConstants
                     .CHARACTER_CHANNEL_NAME);
             String readBytes = characterChannel.read((int) numberOfCharacters);
-            content = new BString(readBytes);
+            content = BString.valueOf(readBytes);
         } catch (Throwable e) {
             String message = "Error occurred while reading characters:" + e.getMessage();
             throw new BallerinaException(message, context);
@@ -83,6 +83,6 @@ public class WriteBytes extends AbstractNativeFunction {
             String message = "Error occurred while writing bytes:" + e.getMessage();
             throw new BallerinaException(message, context);
         }
-        return getBValues(new BInteger(numberOfBytesWritten));
+        return getBValues(BInteger.valueOf(numberOfBytesWritten));
     }
 }
@@ -84,6 +84,6 @@ public class WriteCharacters extends AbstractNativeFunction {
             String message = "Error occurred while writing characters:" + e.getMessage();
             throw new BallerinaException(message, context);
         }
-        return getBValues(new BInteger(numberOfCharactersWritten));
+        return getBValues(BInteger.valueOf(numberOfCharactersWritten));
     }
 }
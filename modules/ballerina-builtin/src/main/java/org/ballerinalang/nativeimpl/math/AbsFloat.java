@@ -42,6 +42,6 @@ public class AbsFloat extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.abs(value)));
+        return getBValues(BFloat.valueOf(Math.abs(value)));
     }
 }
@@ -42,6 +42,6 @@ public class AbsInt extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         long value = getIntArgument(ctx, 0);
-        return getBValues(new BInteger(Math.abs(value)));
+        return getBValues(BInteger.valueOf(Math.abs(value)));
     }
 }
@@ -42,6 +42,6 @@ public class Acos extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.acos(value)));
+        return getBValues(BFloat.valueOf(Math.acos(value)));
     }
 }
@@ -42,6 +42,6 @@ public class Asin extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.asin(value)));
+        return getBValues(BFloat.valueOf(Math.asin(value)));
     }
 }
@@ -42,6 +42,6 @@ public class Atan extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.atan(value)));
+        return getBValues(BFloat.valueOf(Math.atan(value)));
     }
 }
@@ -44,6 +44,6 @@ public class Atan2 extends AbstractNativeFunction {
     public BValue[] execute(Context ctx) {
         double a = getFloatArgument(ctx, 0);
         double b = getFloatArgument(ctx, 1);
-        return getBValues(new BFloat(Math.atan2(a, b)));
+        return getBValues(BFloat.valueOf(Math.atan2(a, b)));
     }
 }
@@ -42,6 +42,6 @@ public class Cbrt extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.cbrt(value)));
+        return getBValues(BFloat.valueOf(Math.cbrt(value)));
     }
 }
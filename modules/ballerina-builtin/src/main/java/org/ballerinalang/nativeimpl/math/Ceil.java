@@ -42,6 +42,6 @@ public class Ceil extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.ceil(value)));
+        return getBValues(BFloat.valueOf(Math.ceil(value)));
     }
 }
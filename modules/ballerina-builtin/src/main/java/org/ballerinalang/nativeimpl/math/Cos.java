@@ -42,6 +42,6 @@ public class Cos extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.cos(value)));
+        return getBValues(BFloat.valueOf(Math.cos(value)));
     }
 }
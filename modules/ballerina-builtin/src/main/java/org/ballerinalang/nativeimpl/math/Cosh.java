@@ -42,6 +42,6 @@ public class Cosh extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.cosh(value)));
+        return getBValues(BFloat.valueOf(Math.cosh(value)));
     }
 }
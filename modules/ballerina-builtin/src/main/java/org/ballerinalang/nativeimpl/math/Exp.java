@@ -42,6 +42,6 @@ public class Exp extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.exp(value)));
+        return getBValues(BFloat.valueOf(Math.exp(value)));
     }
 }
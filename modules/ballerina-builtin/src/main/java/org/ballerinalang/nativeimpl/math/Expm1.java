@@ -42,6 +42,6 @@ public class Expm1 extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.expm1(value)));
+        return getBValues(BFloat.valueOf(Math.expm1(value)));
     }
 }
@@ -42,6 +42,6 @@ public class Exponent extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BInteger(Math.getExponent(value)));
+        return getBValues(BInteger.valueOf(Math.getExponent(value)));
     }
 }
@@ -42,6 +42,6 @@ public class Floor extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.floor(value)));
+        return getBValues(BFloat.valueOf(Math.floor(value)));
     }
 }
@@ -44,6 +44,6 @@ public class FloorDiv extends AbstractNativeFunction {
     public BValue[] execute(Context ctx) {
         long a = getIntArgument(ctx, 0);
         long b = getIntArgument(ctx, 1);
-        return getBValues(new BInteger(Math.floorDiv(a, b)));
+        return getBValues(BInteger.valueOf(Math.floorDiv(a, b)));
     }
 }
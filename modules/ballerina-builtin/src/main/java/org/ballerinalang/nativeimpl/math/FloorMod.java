@@ -44,6 +44,6 @@ public class FloorMod extends AbstractNativeFunction {
     public BValue[] execute(Context ctx) {
         long a = getIntArgument(ctx, 0);
         long b = getIntArgument(ctx, 1);
-        return getBValues(new BInteger(Math.floorMod(a, b)));
+        return getBValues(BInteger.valueOf(Math.floorMod(a, b)));
     }
 }
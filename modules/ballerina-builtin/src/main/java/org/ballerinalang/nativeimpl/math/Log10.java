@@ -42,6 +42,6 @@ public class Log10 extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.log10(value)));
+        return getBValues(BFloat.valueOf(Math.log10(value)));
     }
 }
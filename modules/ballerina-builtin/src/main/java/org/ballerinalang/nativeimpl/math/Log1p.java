@@ -42,6 +42,6 @@ public class Log1p extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.log1p(value)));
+        return getBValues(BFloat.valueOf(Math.log1p(value)));
     }
 }
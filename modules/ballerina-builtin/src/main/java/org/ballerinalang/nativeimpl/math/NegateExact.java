@@ -42,6 +42,6 @@ public class NegateExact extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         long value = getIntArgument(ctx, 0);
-        return getBValues(new BInteger(Math.negateExact(value)));
+        return getBValues(BInteger.valueOf(Math.negateExact(value)));
     }
 }
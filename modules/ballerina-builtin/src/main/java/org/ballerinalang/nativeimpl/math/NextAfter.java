@@ -44,6 +44,6 @@ public class NextAfter extends AbstractNativeFunction {
     public BValue[] execute(Context ctx) {
         double a = getFloatArgument(ctx, 0);
         double b = getFloatArgument(ctx, 1);
-        return getBValues(new BFloat(Math.nextAfter(a, b)));
+        return getBValues(BFloat.valueOf(Math.nextAfter(a, b)));
     }
 }
@@ -42,6 +42,6 @@ public class NextDown extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.nextDown(value)));
+        return getBValues(BFloat.valueOf(Math.nextDown(value)));
     }
 }
@@ -42,6 +42,6 @@ public class NextUp extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.nextUp(value)));
+        return getBValues(BFloat.valueOf(Math.nextUp(value)));
     }
 }
@@ -39,6 +39,6 @@ import org.ballerinalang.natives.annotations.ReturnType;
 public class Random extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
-        return getBValues(new BFloat(Math.random()));
+        return getBValues(BFloat.valueOf(Math.random()));
     }
 }
@@ -47,6 +47,6 @@ public class RandomInRange extends AbstractNativeFunction {
         long start = getIntArgument(ctx, 0);
         long end = getIntArgument(ctx, 1);
         long random = ThreadLocalRandom.current().nextLong(start, end);
-        return getBValues(new BInteger(random));
+        return getBValues(BInteger.valueOf(random));
     }
 }
@@ -42,6 +42,6 @@ public class Rint extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.rint(value)));
+        return getBValues(BFloat.valueOf(Math.rint(value)));
     }
 }
@@ -42,6 +42,6 @@ public class Round extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BInteger(Math.round(value)));
+        return getBValues(BInteger.valueOf(Math.round(value)));
     }
 }
@@ -45,6 +45,6 @@ public class Scalb extends AbstractNativeFunction {
         double a = getFloatArgument(ctx, 0);
         long b = getIntArgument(ctx, 0);
         int intVal = ((Long) b).intValue();
-        return getBValues(new BFloat(Math.scalb(a, intVal)));
+        return getBValues(BFloat.valueOf(Math.scalb(a, intVal)));
     }
 }
@@ -42,6 +42,6 @@ public class Signum extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.signum(value)));
+        return getBValues(BFloat.valueOf(Math.signum(value)));
     }
 }
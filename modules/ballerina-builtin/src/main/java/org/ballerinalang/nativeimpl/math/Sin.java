@@ -42,6 +42,6 @@ public class Sin extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.sin(value)));
+        return getBValues(BFloat.valueOf(Math.sin(value)));
     }
 }
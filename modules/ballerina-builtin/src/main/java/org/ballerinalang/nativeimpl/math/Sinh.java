@@ -42,6 +42,6 @@ public class Sinh extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.sinh(value)));
+        return getBValues(BFloat.valueOf(Math.sinh(value)));
     }
 }
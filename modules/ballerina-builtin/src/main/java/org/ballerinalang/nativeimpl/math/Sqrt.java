@@ -42,6 +42,6 @@ public class Sqrt extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.sqrt(value)));
+        return getBValues(BFloat.valueOf(Math.sqrt(value)));
     }
 }
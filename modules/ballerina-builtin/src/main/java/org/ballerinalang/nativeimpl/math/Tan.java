@@ -42,6 +42,6 @@ public class Tan extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.tan(value)));
+        return getBValues(BFloat.valueOf(Math.tan(value)));
     }
 }
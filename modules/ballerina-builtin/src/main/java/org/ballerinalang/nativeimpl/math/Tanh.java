@@ -42,6 +42,6 @@ public class Tanh extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.tanh(value)));
+        return getBValues(BFloat.valueOf(Math.tanh(value)));
     }
 }
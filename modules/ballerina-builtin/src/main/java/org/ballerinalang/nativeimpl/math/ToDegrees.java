@@ -42,6 +42,6 @@ public class ToDegrees extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.toDegrees(value)));
+        return getBValues(BFloat.valueOf(Math.toDegrees(value)));
     }
 }
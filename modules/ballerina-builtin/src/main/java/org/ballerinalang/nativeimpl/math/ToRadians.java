@@ -42,6 +42,6 @@ public class ToRadians extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.toRadians(value)));
+        return getBValues(BFloat.valueOf(Math.toRadians(value)));
     }
 }
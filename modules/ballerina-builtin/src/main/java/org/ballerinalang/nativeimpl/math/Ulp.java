@@ -42,6 +42,6 @@ public class Ulp extends AbstractNativeFunction {
 
     public BValue[] execute(Context ctx) {
         double value = getFloatArgument(ctx, 0);
-        return getBValues(new BFloat(Math.ulp(value)));
+        return getBValues(BFloat.valueOf(Math.ulp(value)));
     }
 }
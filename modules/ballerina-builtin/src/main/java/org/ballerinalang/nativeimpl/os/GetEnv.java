@@ -46,6 +46,6 @@ public class GetEnv extends AbstractNativeFunction {
         if (value == null) {
             return getBValues(BTypes.typeString.getZeroValue());
         }
-        return getBValues(new BString(value));
+        return getBValues(BString.valueOf(value));
     }
 }
@@ -43,7 +43,7 @@ public class GetProperties extends AbstractNativeFunction {
     public BValue[] execute(Context context) {
         Properties properties = System.getProperties();
         BMap<String, BString> propertyMap = new BMap<>();
-        properties.forEach((key, value) -> propertyMap.put(key.toString(), new BString(value.toString())));
+        properties.forEach((key, value) -> propertyMap.put(key.toString(), BString.valueOf(value.toString())));
         return getBValues(propertyMap);
     }
 }
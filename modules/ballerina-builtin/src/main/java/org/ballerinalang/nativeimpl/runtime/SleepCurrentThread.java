@@ -16,14 +16,22 @@
 package org.ballerinalang.nativeimpl.runtime;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.connector.api.ConnectorFuture;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.actions.ClientConnectorFuture;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
+import org.ballerinalang.runtime.threadpool.TimerWheel;
+
+import java.util.concurrent.TimeUnit;
 
 /**
  * Native function ballerina.runtime:sleepCurrentThread.
+ * <p>
+ * Unless the worker has to block, such as in a transaction, it is suspended on the shared {@link TimerWheel} and
+ * its thread is released while it sleeps.
  *
  * @since 0.94.1
  */
@@ -45,4 +53,19 @@ public class SleepCurrentThread extends AbstractNativeFunction {
         }
         return VOID_RETURN;
     }
+
+    @Override
+    public boolean isNonBlockingFunction() {
+        return true;
+    }
+
+    @Override
+    public ConnectorFuture executeNonBlocking(Context context) {
+        long millis = getIntArgument(context, 0);
+        ClientConnectorFuture future = new ClientConnectorFuture();
+        TimerWheel.Timeout timeout = TimerWheel.getInstance().schedule(future::notifySuccess, millis,
+                TimeUnit.MILLISECONDS);
+        future.setCancelHandler(timeout::cancel);
+        return future;
+    }
 }
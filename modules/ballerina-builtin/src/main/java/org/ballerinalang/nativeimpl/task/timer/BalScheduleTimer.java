@@ -52,7 +52,7 @@ public class BalScheduleTimer extends AbstractNativeFunction {
                 .getCurrentFrame().getRefLocalVars()[0] instanceof BFunctionPointer) {
             onTriggerFunctionRefCPEntry = ((BFunctionPointer) getRefArgument(ctx, 0)).value();
         } else {
-            return getBValues(new BString(""), new BString("The onTrigger function is not provided"));
+            return getBValues(BString.EMPTY, BString.valueOf("The onTrigger function is not provided"));
         }
         if (ctx.getControlStackNew().getCurrentFrame().getRefLocalVars()[1] != null && ctx.getControlStackNew()
                 .getCurrentFrame().getRefLocalVars()[1] instanceof BFunctionPointer) {
@@ -64,9 +64,9 @@ public class BalScheduleTimer extends AbstractNativeFunction {
 
         try {
             Timer timer = new Timer(ctx, delay, interval, onTriggerFunctionRefCPEntry, onErrorFunctionRefCPEntry);
-            return getBValues(new BString(timer.getId()), null);
+            return getBValues(BString.valueOf(timer.getId()), null);
         } catch (SchedulingException e) {
-            return getBValues(new BString(""), BLangVMErrors.createError(ctx, 0, e.getMessage()));
+            return getBValues(BString.EMPTY, BLangVMErrors.createError(ctx, 0, e.getMessage()));
         }
     }
 }
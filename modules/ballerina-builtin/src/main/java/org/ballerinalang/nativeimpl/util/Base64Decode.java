@@ -49,6 +49,6 @@ public class Base64Decode extends AbstractNativeFunction {
         String str = getStringArgument(context, 0);
         byte[] decode = Base64.getDecoder().decode(str.getBytes(Charset.defaultCharset()));
 
-        return getBValues(new BString(new String(decode, Charset.defaultCharset())));
+        return getBValues(BString.valueOf(new String(decode, Charset.defaultCharset())));
     }
 }
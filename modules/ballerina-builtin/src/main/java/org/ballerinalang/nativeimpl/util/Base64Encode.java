@@ -49,6 +49,6 @@ public class Base64Encode extends AbstractNativeFunction {
         String str = getStringArgument(context, 0);
         byte[] encodedValue = Base64.getEncoder().encode(str.getBytes(Charset.defaultCharset()));
 
-        return getBValues(new BString(new String(encodedValue, Charset.defaultCharset())));
+        return getBValues(BString.valueOf(new String(encodedValue, Charset.defaultCharset())));
     }
 }
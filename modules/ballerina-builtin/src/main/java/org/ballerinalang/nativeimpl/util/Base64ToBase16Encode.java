@@ -67,6 +67,6 @@ public class Base64ToBase16Encode extends AbstractNativeFunction {
 
         result = new String(hexChars);
 
-        return getBValues(new BString(result));
+        return getBValues(BString.valueOf(result));
     }
 }
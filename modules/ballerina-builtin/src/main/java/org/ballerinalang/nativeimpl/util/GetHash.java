@@ -93,7 +93,7 @@ public class GetHash extends AbstractNativeFunction {
             throw new BallerinaException("Error while encoding" + e.getMessage(), context);
         }
 
-        return getBValues(new BString(result));
+        return getBValues(BString.valueOf(result));
     }
 
 }
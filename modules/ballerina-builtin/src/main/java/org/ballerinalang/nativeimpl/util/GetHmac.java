@@ -89,6 +89,6 @@ public class GetHmac extends AbstractNativeFunction {
                     context);
         }
 
-        return getBValues(new BString(result));
+        return getBValues(BString.valueOf(result));
     }
 }
@@ -90,6 +90,6 @@ public class GetHmacFromBase64 extends AbstractNativeFunction {
                     context);
         }
 
-        return getBValues(new BString(result));
+        return getBValues(BString.valueOf(result));
     }
 }
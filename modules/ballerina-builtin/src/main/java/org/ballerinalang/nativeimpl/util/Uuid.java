@@ -44,6 +44,6 @@ public class Uuid extends AbstractNativeFunction {
     @Override
     public BValue[] execute(Context context) {
         String randomString = UUID.randomUUID().toString().replaceAll("-", "");
-        return getBValues(new BString(randomString));
+        return getBValues(BString.valueOf(randomString));
     }
 }
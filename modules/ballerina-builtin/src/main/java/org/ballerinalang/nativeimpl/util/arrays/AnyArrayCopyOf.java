@@ -61,7 +61,7 @@ public class AnyArrayCopyOf extends AbstractNativeFunction {
                 BJSON element = JSONUtils.getArrayElement(jsonArrayFrom, i);
                 JSONUtils.setArrayElement(jsonArrayTo, i, element);
             }
-            return getBValues(new BInteger(jsonArrayTo.value().size()));
+            return getBValues(BInteger.valueOf(jsonArrayTo.value().size()));
         }
         
         BNewArray arrayFrom = (BNewArray) valueFrom;
@@ -70,37 +70,27 @@ public class AnyArrayCopyOf extends AbstractNativeFunction {
         if (arrayFrom instanceof BIntArray && arrayTo instanceof BIntArray) {
             BIntArray intArrayFrom = (BIntArray) arrayFrom;
             BIntArray intArrayTo = (BIntArray) arrayTo;
-            for (int i = 0; i < arrayFrom.size(); i++) {
-                intArrayTo.add(i, intArrayFrom.get(i));
-            }
+            intArrayTo.copyFrom(intArrayFrom, 0, (int) arrayFrom.size());
         } else if (arrayFrom instanceof BFloatArray && arrayTo instanceof BFloatArray) {
             BFloatArray floatArrayFrom = (BFloatArray) arrayFrom;
             BFloatArray floatArrayTo = (BFloatArray) arrayTo;
-            for (int i = 0; i < arrayFrom.size(); i++) {
-                floatArrayTo.add(i, floatArrayFrom.get(i));
-            }
+            floatArrayTo.copyFrom(floatArrayFrom, 0, (int) arrayFrom.size());
         } else if (arrayFrom instanceof BStringArray && arrayTo instanceof BStringArray) {
             BStringArray stringArrayFrom = (BStringArray) arrayFrom;
             BStringArray stringArrayTo = (BStringArray) arrayTo;
-            for (int i = 0; i < arrayFrom.size(); i++) {
-                stringArrayTo.add(i, stringArrayFrom.get(i));
-            }
+            stringArrayTo.copyFrom(stringArrayFrom, 0, (int) arrayFrom.size());
         } else if (arrayFrom instanceof BBooleanArray && arrayTo instanceof BBooleanArray) {
             BBooleanArray booleanArrayFrom = (BBooleanArray) arrayFrom;
             BBooleanArray booleanArrayTo = (BBooleanArray) arrayTo;
-            for (int i = 0; i < arrayFrom.size(); i++) {
-                booleanArrayTo.add(i, booleanArrayFrom.get(i));
-            }
+            booleanArrayTo.copyFrom(booleanArrayFrom, 0, (int) arrayFrom.size());
         } else if (arrayFrom instanceof BRefValueArray && arrayTo instanceof BRefValueArray) {
             BRefValueArray refValueArrayFrom = (BRefValueArray) arrayFrom;
             BRefValueArray refValueArrayTo = (BRefValueArray) arrayTo;
-            for (int i = 0; i < arrayFrom.size(); i++) {
-                refValueArrayTo.add(i, refValueArrayFrom.get(i));
-            }
+            refValueArrayTo.copyFrom(refValueArrayFrom, 0, (int) arrayFrom.size());
         } else {
             throw BLangExceptionHelper
                     .getRuntimeException(RuntimeErrors.ARRAY_TYPE_MISMATCH, arrayFrom.getType(), arrayTo.getType());
         }
-        return getBValues(new BInteger(arrayTo.size()));
+        return getBValues(BInteger.valueOf(arrayTo.size()));
     }
 }
@@ -81,53 +81,41 @@ public class AnyArrayRangeCopy extends AbstractNativeFunction {
                 BJSON element = JSONUtils.getArrayElement(jsonArrayFrom, i);
                 JSONUtils.setArrayElement(jsonArrayTo, index++, element);
             }
-            return getBValues(new BInteger(jsonArrayTo.value().size()));
+            return getBValues(BInteger.valueOf(jsonArrayTo.value().size()));
         }
         
         BNewArray arrayFrom = (BNewArray) valueFrom;
         BNewArray arrayTo = (BNewArray) valueTo;
         checkIndexRange((int) arrayFrom.size(), from, to);
+        if (from > to) {
+            return getBValues(BInteger.valueOf(to - from));
+        }
 
         if (arrayFrom instanceof BIntArray && arrayTo instanceof BIntArray) {
             BIntArray intArrayFrom = (BIntArray) arrayFrom;
             BIntArray intArrayTo = (BIntArray) arrayTo;
-            int index = 0;
-            for (int i = from; i < to; i++) {
-                intArrayTo.add(index++, intArrayFrom.get(i));
-            }
+            intArrayTo.copyFrom(intArrayFrom, from, to);
         } else if (arrayFrom instanceof BFloatArray && arrayTo instanceof BFloatArray) {
             BFloatArray floatArrayFrom = (BFloatArray) arrayFrom;
             BFloatArray floatArrayTo = (BFloatArray) arrayTo;
-            int index = 0;
-            for (int i = from; i < to; i++) {
-                floatArrayTo.add(index++, floatArrayFrom.get(i));
-            }
+            floatArrayTo.copyFrom(floatArrayFrom, from, to);
         } else if (arrayFrom instanceof BStringArray && arrayTo instanceof BStringArray) {
             BStringArray stringArrayFrom = (BStringArray) arrayFrom;
             BStringArray stringArrayTo = (BStringArray) arrayTo;
-            int index = 0;
-            for (int i = from; i < to; i++) {
-                stringArrayTo.add(index++, stringArrayFrom.get(i));
-            }
+            stringArrayTo.copyFrom(stringArrayFrom, from, to);
         } else if (arrayFrom instanceof BBooleanArray && arrayTo instanceof BBooleanArray) {
             BBooleanArray booleanArrayFrom = (BBooleanArray) arrayFrom;
             BBooleanArray booleanArrayTo = (BBooleanArray) arrayTo;
-            int index = 0;
-            for (int i = from; i < to; i++) {
-                booleanArrayTo.add(index++, booleanArrayFrom.get(i));
-            }
+            booleanArrayTo.copyFrom(booleanArrayFrom, from, to);
         } else if (arrayFrom instanceof BRefValueArray && arrayTo instanceof BRefValueArray) {
             BRefValueArray refValueArrayFrom = (BRefValueArray) arrayFrom;
             BRefValueArray refValueArrayTo = (BRefValueArray) arrayTo;
-            int index = 0;
-            for (int i = from; i < to; i++) {
-                refValueArrayTo.add(index++, refValueArrayFrom.get(i));
-            }
+            refValueArrayTo.copyFrom(refValueArrayFrom, from, to);
         } else {
             throw BLangExceptionHelper
                     .getRuntimeException(RuntimeErrors.ARRAY_TYPE_MISMATCH, arrayFrom.getType(), arrayTo.getType());
         }
-        return getBValues(new BInteger(to - from));
+        return getBValues(BInteger.valueOf(to - from));
     }
     
     private void checkIndexRange(int arraySize, int from, int to) {
@@ -36,6 +36,6 @@ public class BuiltInUtils {
         if (value == null) {
             return BTypes.typeString.getZeroValue();
         }
-        return new BString(value);
+        return BString.valueOf(value);
     }
 }
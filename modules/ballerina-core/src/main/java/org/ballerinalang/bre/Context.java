@@ -22,10 +22,9 @@ import org.ballerinalang.bre.bvm.WorkerCounter;
 import org.ballerinalang.connector.impl.BServerConnectorFuture;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.util.codegen.ActionInfo;
+import org.ballerinalang.util.codegen.CallSiteInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.ServiceInfo;
-import org.ballerinalang.util.codegen.cpentries.FunctionCallCPEntry;
 import org.ballerinalang.util.debugger.DebugInfoHolder;
 import org.wso2.carbon.messaging.CarbonMessage;
 
@@ -58,8 +57,11 @@ public class Context {
     // TODO : Temporary solution to make non-blocking working.
     public BValue[] nativeArgValues;
     public ProgramFile programFile;
-    public FunctionCallCPEntry funcCallCPEntry;
-    public ActionInfo actionInfo;
+    // Call site of the native callable unit the worker of this context is suspended on
+    private volatile CallSiteInfo suspendedCallSite;
+    private volatile boolean cancelled;
+    // Wakes the worker of this context up from a blocking wait once it is cancelled
+    private volatile Runnable cancelHandler;
     private String threadId;
     // TODO : Fix this. Added this for fork-join. Issue #3718.
     public boolean blockingInvocation;
@@ -191,6 +193,46 @@ public class Context {
         return programFile;
     }
 
+    /**
+     * Returns the call site of the native callable unit the worker of this context is suspended on. The worker is
+     * resumed from the frame of the callable unit, at the start IP of this context.
+     *
+     * @return the suspended call site, or null if the worker is not suspended
+     */
+    public CallSiteInfo getSuspendedCallSite() {
+        return suspendedCallSite;
+    }
+
+    public void setSuspendedCallSite(CallSiteInfo suspendedCallSite) {
+        this.suspendedCallSite = suspendedCallSite;
+    }
+
+    /**
+     * Cancel the worker of this context. The VM stops executing the worker at the next loop back edge or
+     * invocation, and a blocking wait of the worker is cut short.
+     */
+    public void cancel() {
+        cancelled = true;
+        Runnable handler = cancelHandler;
+        if (handler != null) {
+            handler.run();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Set the handler waking the worker of this context up from the blocking wait it is about to enter, if the
+     * worker is cancelled. The handler has to be cleared once the wait is over.
+     *
+     * @param cancelHandler handler to run on cancellation, or null
+     */
+    public void setCancelHandler(Runnable cancelHandler) {
+        this.cancelHandler = cancelHandler;
+    }
+
     /**
      * start tracking current worker.
      */
@@ -56,6 +56,7 @@ import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStringArray;
+import org.ballerinalang.model.values.BStringBuilder;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BTypeValue;
 import org.ballerinalang.model.values.BValue;
@@ -64,8 +65,11 @@ import org.ballerinalang.model.values.BXMLAttributes;
 import org.ballerinalang.model.values.BXMLQName;
 import org.ballerinalang.model.values.StructureType;
 import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.runtime.threadpool.BLangWorkStealingPool;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.codegen.ActionInfo;
+import org.ballerinalang.util.codegen.CallSiteInfo;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.ConnectorInfo;
 import org.ballerinalang.util.codegen.ErrorTableEntry;
@@ -73,12 +77,14 @@ import org.ballerinalang.util.codegen.ForkjoinInfo;
 import org.ballerinalang.util.codegen.FunctionInfo;
 import org.ballerinalang.util.codegen.Instruction;
 import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.InstructionFuser;
 import org.ballerinalang.util.codegen.LineNumberInfo;
 import org.ballerinalang.util.codegen.Mnemonics;
 import org.ballerinalang.util.codegen.PackageInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.StructFieldInfo;
 import org.ballerinalang.util.codegen.StructInfo;
+import org.ballerinalang.util.codegen.WorkerDataChannel;
 import org.ballerinalang.util.codegen.WorkerDataChannelInfo;
 import org.ballerinalang.util.codegen.WorkerInfo;
 import org.ballerinalang.util.codegen.attributes.AttributeInfo;
@@ -102,15 +108,23 @@ import org.ballerinalang.util.debugger.VMDebugManager;
 import org.ballerinalang.util.exceptions.BLangExceptionHelper;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.exceptions.RuntimeErrors;
+import org.ballerinalang.util.jit.CompiledFunction;
+import org.ballerinalang.util.jit.TieredCompiler;
+import org.ballerinalang.util.profiler.ProfileRecorder;
+import org.ballerinalang.util.profiler.StatsRecorder;
+import org.ballerinalang.util.profiler.VMProfiler;
+import org.ballerinalang.util.profiler.VMStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
@@ -119,6 +133,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * This class executes Ballerina instruction codes.
@@ -129,13 +144,25 @@ public class BLangVM {
 
     private static final String JOIN_TYPE_SOME = "some";
     private static final Logger logger = LoggerFactory.getLogger(BLangVM.class);
+    // Timeout of native callable units which block the worker, in milliseconds
+    private static final long NATIVE_CALL_TIMEOUT = 300000;
+    private static final TimeUnit FORK_JOIN_TIMEOUT_UNIT = getForkJoinTimeoutUnit();
     private Context context;
     private ControlStackNew controlStack;
     private ProgramFile programFile;
     private ConstantPoolEntry[] constPool;
     // Instruction pointer;
     private int ip = 0;
-    private Instruction[] code;
+    private int[] code;
+    private CallSiteInfo[] callSites;
+    private ProfileRecorder profileRecorder;
+    private StatsRecorder statsRecorder;
+    // Whether execution may continue in compiled code, see TieredCompiler
+    private boolean compiledTierEnabled;
+    // Whether the running loop checks for debug points before each instruction, see execStepping
+    private boolean lineTracking;
+    // Whether the worker has been suspended on a native callable unit, a receive or a join, see awaitNativeCall
+    private boolean suspended;
 
     private StructureType globalMemBlock;
 
@@ -146,37 +173,39 @@ public class BLangVM {
 
     private void traceCode(PackageInfo packageInfo) {
         PrintStream printStream = System.out;
-        for (int i = 0; i < code.length; i++) {
-            printStream.println(i + ": " + Mnemonics.getMnem(code[i].getOpcode()) + " " +
-                    getOperandsLine(code[i].getOperands()));
+        Instruction[] instructions = packageInfo.getInstructions();
+        for (int i = 0; i < instructions.length; i++) {
+            printStream.println(i + ": " + Mnemonics.getMnem(instructions[i].getOpcode()) + " " +
+                    getOperandsLine(instructions[i].getOperands()));
         }
     }
 
     public void run(Context ctx) {
         StackFrame currentFrame = ctx.getControlStackNew().getCurrentFrame();
         this.constPool = currentFrame.packageInfo.getConstPoolEntries();
-        this.code = currentFrame.packageInfo.getInstructions();
+        this.code = currentFrame.packageInfo.getCode();
+        this.callSites = currentFrame.packageInfo.getCallSites();
 
         this.context = ctx;
         this.controlStack = context.getControlStackNew();
         this.ip = context.getStartIP();
+        this.suspended = false;
 
+        CallSiteInfo suspendedCallSite = context.getSuspendedCallSite();
+        context.setSuspendedCallSite(null);
         if (context.getError() != null) {
             handleError();
-        } else if (isWaitingOnNonBlockingAction()) {
-            // // TODO : Temporary to solution make non-blocking working.
-            BType[] retTypes = context.actionInfo.getRetParamTypes();
-            StackFrame calleeSF = controlStack.popFrame();
-            this.constPool = controlStack.currentFrame.packageInfo.getConstPoolEntries();
-            this.code = controlStack.currentFrame.packageInfo.getInstructions();
-            handleReturnFromNativeCallableUnit(controlStack.currentFrame, context.funcCallCPEntry.getRetRegs(),
-                    calleeSF.returnValues, retTypes);
-
-            // TODO Remove
-            //prepareStructureTypeFromNativeAction(context.nativeArgValues);
-            context.nativeArgValues = null;
-            context.funcCallCPEntry = null;
-            context.actionInfo = null;
+        } else if (suspendedCallSite != null) {
+            resumeSuspendedCall(suspendedCallSite);
+        }
+
+        VMProfiler profiler = VMProfiler.getInstance();
+        if (profiler != null) {
+            profileRecorder = profiler.startRecording();
+        }
+        VMStats stats = VMStats.getInstance();
+        if (stats != null) {
+            statsRecorder = stats.startRecording();
         }
 
         try {
@@ -191,696 +220,1166 @@ public class BLangVM {
             context.setError(BLangVMErrors.createError(context, ip, message));
             handleError();
         } finally {
-            if (!isWaitingOnNonBlockingAction() || context.getError() != null) {
+            if (profileRecorder != null) {
+                profiler.stopRecording(profileRecorder);
+                profileRecorder = null;
+            }
+            if (statsRecorder != null) {
+                stats.stopRecording(statsRecorder);
+                statsRecorder = null;
+            }
+            if (!suspended) {
                 // end of the active worker from the VM. ( graceful or forced exit on unhandled error. )
-                // Doesn't count non-blocking action invocation.
+                // Doesn't count a suspension, the worker ends in the resumed run.
                 ctx.endTrackWorker();
             }
         }
     }
 
-    public void execWorker(Context context, int startIP) {
-        context.setStartIP(startIP);
-        if (VMDebugManager.getInstance().isDebugSessionActive()) {
-            VMDebugManager debugManager = VMDebugManager.getInstance();
-            context.setAndInitDebugInfoHolder(new DebugInfoHolder());
-            context.getDebugInfoHolder().setCurrentCommand(DebugInfoHolder.DebugCommand.RESUME);
-            context.setDebugEnabled(true);
-            debugManager.setDebuggerContext(context);
+    /**
+     * Returns whether the last run stopped because the worker has been suspended. The worker is then resumed and
+     * completes on another thread.
+     *
+     * @return true if the worker has been suspended
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    public void execWorker(Context context, int startIP) {
+        context.setStartIP(startIP);
+        if (VMDebugManager.getInstance().isDebugSessionActive()) {
+            VMDebugManager debugManager = VMDebugManager.getInstance();
+            context.setAndInitDebugInfoHolder(new DebugInfoHolder());
+            context.getDebugInfoHolder().setCurrentCommand(DebugInfoHolder.DebugCommand.RESUME);
+            context.setDebugEnabled(true);
+            debugManager.setDebuggerContext(context);
+        }
+        run(context);
+    }
+
+    /**
+     * Act as a virtual CPU.
+     * <p>
+     * When the run is observed by the profiler or the VM statistics, the instrumented loop in
+     * {@link #execInstrumented()} is used instead, so that this loop carries no per instruction hooks. Compiled
+     * code is only executed by this loop, since it does not notify the observers.
+     * <p>
+     * This loop does not check for debug points either. The debugger patches a
+     * {@link InstructionCodes#BREAKPOINT} over the first instruction of each debug point line, and lines are only
+     * tracked by {@link #execStepping()} while the debugger steps through the code.
+     */
+    private void exec() {
+        if (profileRecorder != null || statsRecorder != null) {
+            compiledTierEnabled = false;
+            execInstrumented();
+            return;
+        }
+
+        compiledTierEnabled = TieredCompiler.getInstance() != null && !context.isDebugEnabled();
+        if (context.isDebugEnabled()) {
+            execStepping();
+        }
+
+        while (ip >= 0 && ip * Instruction.SLOT_SIZE < code.length && controlStack.currentFrame != null) {
+            int pc = ip * Instruction.SLOT_SIZE;
+            ip++;
+            // The operands of the instruction start right after its opcode
+            execInstruction(controlStack.currentFrame, code[pc], pc + 1);
+        }
+    }
+
+    /**
+     * Variant of the {@link #exec()} loop which notifies the profiler and the VM statistics before executing each
+     * instruction.
+     */
+    private void execInstrumented() {
+        ProfileRecorder profiler = profileRecorder;
+        StatsRecorder stats = statsRecorder;
+        if (context.isDebugEnabled()) {
+            execStepping();
+        }
+
+        while (ip >= 0 && ip * Instruction.SLOT_SIZE < code.length && controlStack.currentFrame != null) {
+            int pc = ip * Instruction.SLOT_SIZE;
+            int opcode = code[pc];
+            ip++;
+            StackFrame sf = controlStack.currentFrame;
+            if (profiler != null) {
+                profiler.onInstruction(sf, ip - 1, opcode);
+            }
+            if (stats != null) {
+                stats.onInstruction(sf, ip - 1, opcode);
+            }
+            execInstruction(sf, opcode, pc + 1);
+        }
+    }
+
+    /**
+     * Variant of the {@link #exec()} loop which checks for debug points before each instruction. It runs for as long
+     * as the debugger steps through the code, and returns once the debugger resumes the execution.
+     */
+    private void execStepping() {
+        DebugInfoHolder holder = context.getDebugInfoHolder();
+        lineTracking = true;
+        try {
+            while (ip >= 0 && ip * Instruction.SLOT_SIZE < code.length && controlStack.currentFrame != null &&
+                    isStepping(holder)) {
+                debugging(ip);
+                int pc = ip * Instruction.SLOT_SIZE;
+                ip++;
+                execInstruction(controlStack.currentFrame, code[pc], pc + 1);
+            }
+        } finally {
+            lineTracking = false;
+        }
+        // Lines are no longer tracked, hence reaching the last line again is a new hit
+        holder.setLastLine(null);
+    }
+
+    private static boolean isStepping(DebugInfoHolder holder) {
+        DebugInfoHolder.DebugCommand command = holder.getCurrentCommand();
+        return command != null && command != DebugInfoHolder.DebugCommand.RESUME;
+    }
+
+    /**
+     * Execute an instruction patched with a breakpoint. The debugger is notified of the hit unless the running loop
+     * already checked for it, and the instructions which follow are tracked if the debugger starts stepping.
+     *
+     * @param sf current stack frame
+     * @param op offset of the first operand of the instruction in the code
+     */
+    private void execBreakPoint(StackFrame sf, int op) {
+        int breakPointIP = ip - 1;
+        int opcode = sf.packageInfo.getOpcode(breakPointIP);
+        if (lineTracking || !context.isDebugEnabled()) {
+            execInstruction(sf, opcode, op);
+            return;
+        }
+
+        debugging(breakPointIP);
+        execInstruction(sf, opcode, op);
+        execStepping();
+    }
+
+    /**
+     * Execute a single instruction. The instruction pointer has already been advanced past it.
+     * <p>
+     * Only the most frequently executed opcodes are handled inline here. Every other opcode family is
+     * delegated to a dedicated handler method, which keeps this method small enough to be JIT compiled.
+     *
+     * @param sf     current stack frame
+     * @param opcode opcode to execute
+     * @param op     offset of the first operand of the instruction in the code
+     */
+    private void execInstruction(StackFrame sf, int opcode, int op) {
+        int i;
+        int j;
+        int k;
+        int cpIndex; // Index of the constant pool
+        CallSiteInfo callSiteInfo;
+
+        StackFrame currentSF, callersSF;
+        int callersRetRegIndex;
+
+        switch (opcode) {
+            case InstructionCodes.ICONST:
+                cpIndex = code[op];
+                i = code[op + 1];
+                sf.longRegs[i] = ((IntegerCPEntry) constPool[cpIndex]).getValue();
+                break;
+            case InstructionCodes.SCONST:
+                cpIndex = code[op];
+                i = code[op + 1];
+                sf.stringRegs[i] = ((StringCPEntry) constPool[cpIndex]).getValue();
+                break;
+            case InstructionCodes.ICONST_0:
+                i = code[op];
+                sf.longRegs[i] = 0;
+                break;
+            case InstructionCodes.ICONST_1:
+                i = code[op];
+                sf.longRegs[i] = 1;
+                break;
+            case InstructionCodes.BCONST_0:
+                i = code[op];
+                sf.intRegs[i] = 0;
+                break;
+            case InstructionCodes.BCONST_1:
+                i = code[op];
+                sf.intRegs[i] = 1;
+                break;
+            case InstructionCodes.RCONST_NULL:
+                i = code[op];
+                sf.refRegs[i] = null;
+                break;
+
+            case InstructionCodes.ILOAD:
+                i = code[op];
+                j = code[op + 1];
+                sf.longRegs[j] = sf.longLocalVars[i];
+                break;
+            case InstructionCodes.FLOAD:
+                i = code[op];
+                j = code[op + 1];
+                sf.doubleRegs[j] = sf.doubleLocalVars[i];
+                break;
+            case InstructionCodes.SLOAD:
+                i = code[op];
+                j = code[op + 1];
+                sf.stringRegs[j] = sf.stringLocalVars[i];
+                break;
+            case InstructionCodes.BLOAD:
+                i = code[op];
+                j = code[op + 1];
+                sf.intRegs[j] = sf.intLocalVars[i];
+                break;
+            case InstructionCodes.RLOAD:
+                i = code[op];
+                j = code[op + 1];
+                sf.refRegs[j] = sf.refLocalVars[i];
+                break;
+
+            case InstructionCodes.ISTORE:
+                i = code[op];
+                j = code[op + 1];
+                sf.longLocalVars[j] = sf.longRegs[i];
+                break;
+            case InstructionCodes.FSTORE:
+                i = code[op];
+                j = code[op + 1];
+                sf.doubleLocalVars[j] = sf.doubleRegs[i];
+                break;
+            case InstructionCodes.SSTORE:
+                i = code[op];
+                j = code[op + 1];
+                sf.stringLocalVars[j] = sf.stringRegs[i];
+                break;
+            case InstructionCodes.BSTORE:
+                i = code[op];
+                j = code[op + 1];
+                sf.intLocalVars[j] = sf.intRegs[i];
+                break;
+            case InstructionCodes.RSTORE:
+                i = code[op];
+                j = code[op + 1];
+                sf.refLocalVars[j] = sf.refRegs[i];
+                break;
+
+            case InstructionCodes.IADD:
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                sf.longRegs[k] = sf.longRegs[i] + sf.longRegs[j];
+                break;
+            case InstructionCodes.ISUB:
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                sf.longRegs[k] = sf.longRegs[i] - sf.longRegs[j];
+                break;
+            case InstructionCodes.IMUL:
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                sf.longRegs[k] = sf.longRegs[i] * sf.longRegs[j];
+                break;
+            case InstructionCodes.SADD:
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                sf.stringRegs[k] = sf.stringRegs[i] + sf.stringRegs[j];
+                break;
+            case InstructionCodes.NEWSB:
+                i = code[op];
+                j = code[op + 1];
+                sf.refRegs[j] = new BStringBuilder(sf.stringRegs[i]);
+                break;
+            case InstructionCodes.SBAPPEND:
+                i = code[op];
+                j = code[op + 1];
+                ((BStringBuilder) sf.refRegs[i]).append(sf.stringRegs[j]);
+                break;
+            case InstructionCodes.SB2S:
+                i = code[op];
+                j = code[op + 1];
+                sf.stringRegs[j] = sf.refRegs[i].stringValue();
+                break;
+
+            case InstructionCodes.IEQ:
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[i] == sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.IGT:
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[i] > sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.IGE:
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[i] >= sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.ILT:
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[i] < sf.longRegs[j] ? 1 : 0;
+                break;
+            case InstructionCodes.ILE:
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[i] <= sf.longRegs[j] ? 1 : 0;
+                break;
+
+            case InstructionCodes.BR_TRUE:
+                i = code[op];
+                j = code[op + 1];
+                if (sf.intRegs[i] == 1) {
+                    ip = j;
+                }
+                break;
+            case InstructionCodes.BR_FALSE:
+                i = code[op];
+                j = code[op + 1];
+                if (sf.intRegs[i] == 0) {
+                    ip = j;
+                }
+                break;
+            case InstructionCodes.GOTO:
+                i = code[op];
+                j = ip;
+                ip = i;
+                if (i < j) {
+                    if (context.isCancelled()) {
+                        ip = -1;
+                        break;
+                    }
+                    // Loop back edges count towards compiling the callable unit
+                    if (compiledTierEnabled) {
+                        enterCompiledTier();
+                    }
+                }
+                break;
+
+            case InstructionCodes.CALL:
+                if (context.isCancelled()) {
+                    ip = -1;
+                    break;
+                }
+                callSiteInfo = callSites[code[op + Instruction.CALL_SITE_OPERAND]];
+                if (callSiteInfo == null) {
+                    cpIndex = code[op];
+                    FunctionRefCPEntry funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
+                    callSiteInfo = resolveCallSite(funcRefCPEntry.getFunctionInfo(), op);
+                }
+                invokeCallableUnit(callSiteInfo);
+                if (compiledTierEnabled) {
+                    enterCompiledTier();
+                }
+                break;
+
+            case InstructionCodes.IRET:
+                i = code[op];
+                j = code[op + 1];
+                currentSF = controlStack.currentFrame;
+                callersSF = controlStack.currentFrame.prevStackFrame;
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.longRegs[callersRetRegIndex] = currentSF.longRegs[j];
+                break;
+            case InstructionCodes.FRET:
+                i = code[op];
+                j = code[op + 1];
+                currentSF = controlStack.currentFrame;
+                callersSF = controlStack.currentFrame.prevStackFrame;
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.doubleRegs[callersRetRegIndex] = currentSF.doubleRegs[j];
+                break;
+            case InstructionCodes.SRET:
+                i = code[op];
+                j = code[op + 1];
+                currentSF = controlStack.currentFrame;
+                callersSF = controlStack.currentFrame.prevStackFrame;
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.stringRegs[callersRetRegIndex] = currentSF.stringRegs[j];
+                break;
+            case InstructionCodes.BRET:
+                i = code[op];
+                j = code[op + 1];
+                currentSF = controlStack.currentFrame;
+                callersSF = controlStack.currentFrame.prevStackFrame;
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.intRegs[callersRetRegIndex] = currentSF.intRegs[j];
+                break;
+            case InstructionCodes.LRET:
+                i = code[op];
+                j = code[op + 1];
+                currentSF = controlStack.currentFrame;
+                callersSF = controlStack.currentFrame.prevStackFrame;
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.byteRegs[callersRetRegIndex] = currentSF.byteRegs[j];
+                break;
+            case InstructionCodes.RRET:
+                i = code[op];
+                j = code[op + 1];
+                currentSF = controlStack.currentFrame;
+                callersSF = controlStack.currentFrame.prevStackFrame;
+                callersRetRegIndex = currentSF.retRegIndexes[i];
+                callersSF.refRegs[callersRetRegIndex] = currentSF.refRegs[j];
+                break;
+            case InstructionCodes.RET:
+                handleReturn();
+                if (compiledTierEnabled) {
+                    enterCompiledTier();
+                }
+                break;
+
+            // Superinstructions. Operands of the second instruction are read from its own slot.
+            case InstructionCodes.IEQ_BR_FALSE:
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[code[op]] == sf.longRegs[code[op + 1]] ? 1 : 0;
+                ip = sf.intRegs[k] == 0 ? code[op + Instruction.SLOT_SIZE + 1] : ip + 1;
+                break;
+            case InstructionCodes.IGT_BR_FALSE:
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[code[op]] > sf.longRegs[code[op + 1]] ? 1 : 0;
+                ip = sf.intRegs[k] == 0 ? code[op + Instruction.SLOT_SIZE + 1] : ip + 1;
+                break;
+            case InstructionCodes.IGE_BR_FALSE:
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[code[op]] >= sf.longRegs[code[op + 1]] ? 1 : 0;
+                ip = sf.intRegs[k] == 0 ? code[op + Instruction.SLOT_SIZE + 1] : ip + 1;
+                break;
+            case InstructionCodes.ILT_BR_FALSE:
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[code[op]] < sf.longRegs[code[op + 1]] ? 1 : 0;
+                ip = sf.intRegs[k] == 0 ? code[op + Instruction.SLOT_SIZE + 1] : ip + 1;
+                break;
+            case InstructionCodes.ILE_BR_FALSE:
+                k = code[op + 2];
+                sf.intRegs[k] = sf.longRegs[code[op]] <= sf.longRegs[code[op + 1]] ? 1 : 0;
+                ip = sf.intRegs[k] == 0 ? code[op + Instruction.SLOT_SIZE + 1] : ip + 1;
+                break;
+            case InstructionCodes.ILOAD_ILOAD:
+                sf.longRegs[code[op + 1]] = sf.longLocalVars[code[op]];
+                sf.longRegs[code[op + Instruction.SLOT_SIZE + 1]] =
+                        sf.longLocalVars[code[op + Instruction.SLOT_SIZE]];
+                ip++;
+                break;
+            case InstructionCodes.IADD_ISTORE:
+                k = code[op + 2];
+                sf.longRegs[k] = sf.longRegs[code[op]] + sf.longRegs[code[op + 1]];
+                sf.longLocalVars[code[op + Instruction.SLOT_SIZE + 1]] =
+                        sf.longRegs[code[op + Instruction.SLOT_SIZE]];
+                ip++;
+                break;
+            case InstructionCodes.SCONST_MAPLOAD:
+                cpIndex = code[op];
+                sf.stringRegs[code[op + 1]] = ((StringCPEntry) constPool[cpIndex]).getValue();
+                // Advance past the MAPLOAD before executing it, so that errors refer to its ip.
+                ip++;
+                execLoadOpcodes(sf, InstructionCodes.MAPLOAD, op + Instruction.SLOT_SIZE);
+                break;
+            case InstructionCodes.SCONST_S2ANY:
+                StringCPEntry stringCPEntry = (StringCPEntry) constPool[code[op]];
+                sf.stringRegs[code[op + 1]] = stringCPEntry.getValue();
+                sf.refRegs[code[op + Instruction.SLOT_SIZE + 1]] = stringCPEntry.getBStringValue();
+                ip++;
+                break;
+            case InstructionCodes.MAPLOAD_ANY2I:
+            case InstructionCodes.MAPLOAD_ANY2F:
+            case InstructionCodes.MAPLOAD_ANY2S:
+            case InstructionCodes.I2ANY_MAPSTORE:
+            case InstructionCodes.F2ANY_MAPSTORE:
+            case InstructionCodes.S2ANY_MAPSTORE:
+                execUnboxedMapOpcodes(sf, opcode, op);
+                break;
+
+            default:
+                execColdOpcodes(sf, opcode, op);
+        }
+    }
+
+    /**
+     * Count an execution event of the callable unit of the current frame, and continue its execution in compiled
+     * code once it has been compiled.
+     */
+    private void enterCompiledTier() {
+        StackFrame sf = controlStack.currentFrame;
+        if (sf != null && sf.callableUnitInfo != null &&
+                TieredCompiler.getInstance().getCompiledFunction(sf.callableUnitInfo) != null) {
+            execCompiled();
+        }
+    }
+
+    /**
+     * Execute compiled code for as long as the current frame has compiled code at the current instruction. The
+     * instructions at which compiled code stops are executed by {@link #execInstruction}, which may switch to
+     * another frame on invocations and returns. Execution returns to the interpreter loop once the current frame
+     * has no compiled code at the current instruction.
+     */
+    private void execCompiled() {
+        // Tier transitions are handled by this loop until it returns
+        compiledTierEnabled = false;
+        try {
+            while (ip >= 0 && ip * Instruction.SLOT_SIZE < code.length && controlStack.currentFrame != null) {
+                if (context.isCancelled()) {
+                    ip = -1;
+                    return;
+                }
+                StackFrame sf = controlStack.currentFrame;
+                CompiledFunction compiledFunction = sf.callableUnitInfo == null ? null :
+                        TieredCompiler.getInstance().getCompiledFunction(sf.callableUnitInfo);
+                if (compiledFunction == null || !compiledFunction.contains(ip)) {
+                    return;
+                }
+
+                ip = compiledFunction.execute(sf, ip);
+                if (!compiledFunction.contains(ip)) {
+                    continue;
+                }
+                int pc = ip * Instruction.SLOT_SIZE;
+                ip++;
+                execInstruction(sf, code[pc], pc + 1);
+            }
+        } finally {
+            compiledTierEnabled = true;
+        }
+    }
+
+    /**
+     * Dispatch opcodes which are not handled inline by {@link #execInstruction} to their family handlers.
+     *
+     * @param sf     current stack frame
+     * @param opcode opcode to execute
+     * @param op     offset of the first operand of the instruction in the code
+     */
+    private void execColdOpcodes(StackFrame sf, int opcode, int op) {
+        switch (opcode) {
+            case InstructionCodes.FCONST:
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+            case InstructionCodes.FCONST_0:
+            case InstructionCodes.FCONST_1:
+            case InstructionCodes.FCONST_2:
+            case InstructionCodes.FCONST_3:
+            case InstructionCodes.FCONST_4:
+            case InstructionCodes.FCONST_5:
+                execConstOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.LLOAD:
+            case InstructionCodes.IALOAD:
+            case InstructionCodes.FALOAD:
+            case InstructionCodes.SALOAD:
+            case InstructionCodes.BALOAD:
+            case InstructionCodes.LALOAD:
+            case InstructionCodes.RALOAD:
+            case InstructionCodes.JSONALOAD:
+            case InstructionCodes.IGLOAD:
+            case InstructionCodes.FGLOAD:
+            case InstructionCodes.SGLOAD:
+            case InstructionCodes.BGLOAD:
+            case InstructionCodes.LGLOAD:
+            case InstructionCodes.RGLOAD:
+            case InstructionCodes.IFIELDLOAD:
+            case InstructionCodes.FFIELDLOAD:
+            case InstructionCodes.SFIELDLOAD:
+            case InstructionCodes.BFIELDLOAD:
+            case InstructionCodes.LFIELDLOAD:
+            case InstructionCodes.RFIELDLOAD:
+            case InstructionCodes.MAPLOAD:
+            case InstructionCodes.JSONLOAD:
+                execLoadOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.LSTORE:
+            case InstructionCodes.IASTORE:
+            case InstructionCodes.FASTORE:
+            case InstructionCodes.SASTORE:
+            case InstructionCodes.BASTORE:
+            case InstructionCodes.LASTORE:
+            case InstructionCodes.RASTORE:
+            case InstructionCodes.JSONASTORE:
+            case InstructionCodes.IGSTORE:
+            case InstructionCodes.FGSTORE:
+            case InstructionCodes.SGSTORE:
+            case InstructionCodes.BGSTORE:
+            case InstructionCodes.LGSTORE:
+            case InstructionCodes.RGSTORE:
+            case InstructionCodes.IFIELDSTORE:
+            case InstructionCodes.FFIELDSTORE:
+            case InstructionCodes.SFIELDSTORE:
+            case InstructionCodes.BFIELDSTORE:
+            case InstructionCodes.LFIELDSTORE:
+            case InstructionCodes.RFIELDSTORE:
+            case InstructionCodes.MAPSTORE:
+            case InstructionCodes.JSONSTORE:
+                execStoreOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.FADD:
+            case InstructionCodes.XMLADD:
+            case InstructionCodes.FSUB:
+            case InstructionCodes.FMUL:
+            case InstructionCodes.IDIV:
+            case InstructionCodes.FDIV:
+            case InstructionCodes.IMOD:
+            case InstructionCodes.FMOD:
+            case InstructionCodes.INEG:
+            case InstructionCodes.FNEG:
+            case InstructionCodes.BNOT:
+            case InstructionCodes.FEQ:
+            case InstructionCodes.SEQ:
+            case InstructionCodes.BEQ:
+            case InstructionCodes.REQ:
+            case InstructionCodes.TEQ:
+            case InstructionCodes.INE:
+            case InstructionCodes.FNE:
+            case InstructionCodes.SNE:
+            case InstructionCodes.BNE:
+            case InstructionCodes.RNE:
+            case InstructionCodes.TNE:
+                execBinaryOpCodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.FGT:
+            case InstructionCodes.FGE:
+            case InstructionCodes.FLT:
+            case InstructionCodes.FLE:
+            case InstructionCodes.REQ_NULL:
+            case InstructionCodes.RNE_NULL:
+            case InstructionCodes.HALT:
+                execCmpAndBranchOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.NCALL:
+            case InstructionCodes.ACALL:
+            case InstructionCodes.NACALL:
+            case InstructionCodes.FPCALL:
+            case InstructionCodes.FPLOAD:
+                execInvocationOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.THROW:
+            case InstructionCodes.ERRSTORE:
+                execErrorOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.TR_BEGIN:
+            case InstructionCodes.TR_END:
+            case InstructionCodes.TR_RETRY:
+                execTransactionOpcodes(opcode, op);
+                break;
+
+            case InstructionCodes.WRKINVOKE:
+            case InstructionCodes.WRKREPLY:
+            case InstructionCodes.FORKJOIN:
+            case InstructionCodes.WRKSTART:
+            case InstructionCodes.WRKRETURN:
+                execWorkerOpcodes(opcode, op);
+                break;
+
+            case InstructionCodes.I2ANY:
+            case InstructionCodes.F2ANY:
+            case InstructionCodes.S2ANY:
+            case InstructionCodes.B2ANY:
+            case InstructionCodes.L2ANY:
+            case InstructionCodes.ANY2I:
+            case InstructionCodes.ANY2F:
+            case InstructionCodes.ANY2S:
+            case InstructionCodes.ANY2B:
+            case InstructionCodes.ANY2L:
+            case InstructionCodes.ANY2JSON:
+            case InstructionCodes.ANY2XML:
+            case InstructionCodes.ANY2MAP:
+            case InstructionCodes.ANY2TYPE:
+            case InstructionCodes.ANY2T:
+            case InstructionCodes.ANY2C:
+            case InstructionCodes.NULL2JSON:
+            case InstructionCodes.CHECKCAST:
+                execTypeCastOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.I2F:
+            case InstructionCodes.I2S:
+            case InstructionCodes.I2B:
+            case InstructionCodes.I2JSON:
+            case InstructionCodes.F2I:
+            case InstructionCodes.F2S:
+            case InstructionCodes.F2B:
+            case InstructionCodes.F2JSON:
+            case InstructionCodes.S2I:
+            case InstructionCodes.S2F:
+            case InstructionCodes.S2B:
+            case InstructionCodes.S2JSON:
+            case InstructionCodes.B2I:
+            case InstructionCodes.B2F:
+            case InstructionCodes.B2S:
+            case InstructionCodes.B2JSON:
+            case InstructionCodes.JSON2I:
+            case InstructionCodes.JSON2F:
+            case InstructionCodes.JSON2S:
+            case InstructionCodes.JSON2B:
+            case InstructionCodes.DT2XML:
+            case InstructionCodes.DT2JSON:
+            case InstructionCodes.T2MAP:
+            case InstructionCodes.T2JSON:
+            case InstructionCodes.MAP2T:
+            case InstructionCodes.JSON2T:
+            case InstructionCodes.XMLATTRS2MAP:
+            case InstructionCodes.S2XML:
+            case InstructionCodes.S2JSONX:
+            case InstructionCodes.XML2S:
+                execTypeConversionOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.LENGTHOF:
+            case InstructionCodes.ARRAYLEN:
+            case InstructionCodes.TYPEOF:
+            case InstructionCodes.TYPELOAD:
+                execLengthAndTypeOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.INEWARRAY:
+            case InstructionCodes.FNEWARRAY:
+            case InstructionCodes.SNEWARRAY:
+            case InstructionCodes.BNEWARRAY:
+            case InstructionCodes.LNEWARRAY:
+            case InstructionCodes.RNEWARRAY:
+            case InstructionCodes.JSONNEWARRAY:
+            case InstructionCodes.NEWSTRUCT:
+            case InstructionCodes.NEWCONNECTOR:
+            case InstructionCodes.NEWMAP:
+            case InstructionCodes.NEWJSON:
+            case InstructionCodes.NEWDATATABLE:
+                execValueCreationOpcodes(sf, opcode, op);
+                break;
+
+            case InstructionCodes.XMLATTRSTORE:
+            case InstructionCodes.XMLATTRLOAD:
+            case InstructionCodes.XML2XMLATTRS:
+            case InstructionCodes.S2QNAME:
+            case InstructionCodes.NEWQNAME:
+            case InstructionCodes.NEWXMLELEMENT:
+            case InstructionCodes.NEWXMLCOMMENT:
+            case InstructionCodes.NEWXMLTEXT:
+            case InstructionCodes.NEWXMLPI:
+            case InstructionCodes.XMLSTORE:
+            case InstructionCodes.XMLLOAD:
+                execXMLOpcodes(sf, opcode, op);
+                break;
+            case InstructionCodes.BREAKPOINT:
+                execBreakPoint(sf, op);
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
+
+    private void execConstOpcodes(StackFrame sf, int opcode, int op) {
+        int i;
+        int cpIndex;
+        switch (opcode) {
+            case InstructionCodes.FCONST:
+                cpIndex = code[op];
+                i = code[op + 1];
+                sf.doubleRegs[i] = ((FloatCPEntry) constPool[cpIndex]).getValue();
+                break;
+            case InstructionCodes.ICONST_2:
+                i = code[op];
+                sf.longRegs[i] = 2;
+                break;
+            case InstructionCodes.ICONST_3:
+                i = code[op];
+                sf.longRegs[i] = 3;
+                break;
+            case InstructionCodes.ICONST_4:
+                i = code[op];
+                sf.longRegs[i] = 4;
+                break;
+            case InstructionCodes.ICONST_5:
+                i = code[op];
+                sf.longRegs[i] = 5;
+                break;
+            case InstructionCodes.FCONST_0:
+                i = code[op];
+                sf.doubleRegs[i] = 0;
+                break;
+            case InstructionCodes.FCONST_1:
+                i = code[op];
+                sf.doubleRegs[i] = 1;
+                break;
+            case InstructionCodes.FCONST_2:
+                i = code[op];
+                sf.doubleRegs[i] = 2;
+                break;
+            case InstructionCodes.FCONST_3:
+                i = code[op];
+                sf.doubleRegs[i] = 3;
+                break;
+            case InstructionCodes.FCONST_4:
+                i = code[op];
+                sf.doubleRegs[i] = 4;
+                break;
+            case InstructionCodes.FCONST_5:
+                i = code[op];
+                sf.doubleRegs[i] = 5;
+                break;
+            default:
+                throw new UnsupportedOperationException();
         }
-        run(context);
     }
 
-    /**
-     * Act as a virtual CPU.
-     */
-    private void exec() {
+    private void execInvocationOpcodes(StackFrame sf, int opcode, int op) {
         int i;
         int j;
-        int k;
-        int cpIndex; // Index of the constant pool
-        FunctionCallCPEntry funcCallCPEntry;
+        int cpIndex;
         FunctionRefCPEntry funcRefCPEntry;
-        TypeRefCPEntry typeRefCPEntry;
         ActionRefCPEntry actionRefCPEntry;
         FunctionInfo functionInfo;
-        ActionInfo actionInfo;
-        WorkerDataChannelRefCPEntry workerRefCPEntry;
-        WrkrInteractionArgsCPEntry wrkrIntRefCPEntry;
-        WorkerDataChannelInfo workerDataChannel;
-        ForkJoinCPEntry forkJoinCPEntry;
-
-        boolean isDebugging = context.isDebugEnabled();
-
-        StackFrame currentSF, callersSF;
-        int callersRetRegIndex;
-
-        while (ip >= 0 && ip < code.length && controlStack.currentFrame != null) {
+        CallSiteInfo callSiteInfo = callSites[code[op + Instruction.CALL_SITE_OPERAND]];
+        if (context.isCancelled()) {
+            ip = -1;
+            return;
+        }
 
-            if (isDebugging) {
-                debugging(ip);
-            }
-            Instruction instruction = code[ip];
-            int opcode = instruction.getOpcode();
-            int[] operands = instruction.getOperands();
-            ip++;
-            StackFrame sf = controlStack.currentFrame;
+        switch (opcode) {
+            case InstructionCodes.NCALL:
+                if (callSiteInfo == null) {
+                    cpIndex = code[op];
+                    funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
+                    callSiteInfo = resolveCallSite(funcRefCPEntry.getFunctionInfo(), op);
+                }
+                invokeNativeFunction(callSiteInfo);
+                break;
+            case InstructionCodes.ACALL:
+                if (callSiteInfo == null) {
+                    cpIndex = code[op];
+                    actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
+                    callSiteInfo = resolveCallSite(actionRefCPEntry.getActionInfo(), op);
+                }
+                invokeCallableUnit(callSiteInfo);
+                break;
+            case InstructionCodes.NACALL:
+                if (callSiteInfo == null) {
+                    cpIndex = code[op];
+                    actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
+                    callSiteInfo = resolveCallSite(actionRefCPEntry.getActionInfo(), op);
+                }
+                invokeNativeAction(callSiteInfo);
+                break;
+            case InstructionCodes.FPCALL:
+                i = code[op];
+                if (sf.refRegs[i] == null) {
+                    handleNullRefError();
+                    break;
+                }
+                funcRefCPEntry = ((BFunctionPointer) sf.refRegs[i]).value();
+                functionInfo = funcRefCPEntry.getFunctionInfo();
+                // The target of a function pointer may change between executions, hence the cached call site
+                // is only valid for the function it was resolved for.
+                if (callSiteInfo == null || callSiteInfo.getCallableUnitInfo() != functionInfo) {
+                    callSiteInfo = resolveCallSite(functionInfo, op);
+                }
+                if (functionInfo.isNative()) {
+                    invokeNativeFunction(callSiteInfo);
+                } else {
+                    invokeCallableUnit(callSiteInfo);
+                }
+                break;
+            case InstructionCodes.FPLOAD:
+                i = code[op];
+                j = code[op + 1];
+                funcRefCPEntry = (FunctionRefCPEntry) constPool[i];
+                sf.refRegs[j] = new BFunctionPointer(funcRefCPEntry);
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-            switch (opcode) {
-                case InstructionCodes.ICONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
-                    sf.longRegs[i] = ((IntegerCPEntry) constPool[cpIndex]).getValue();
-                    break;
-                case InstructionCodes.FCONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
-                    sf.doubleRegs[i] = ((FloatCPEntry) constPool[cpIndex]).getValue();
-                    break;
-                case InstructionCodes.SCONST:
-                    cpIndex = operands[0];
-                    i = operands[1];
-                    sf.stringRegs[i] = ((StringCPEntry) constPool[cpIndex]).getValue();
-                    break;
-                case InstructionCodes.ICONST_0:
-                    i = operands[0];
-                    sf.longRegs[i] = 0;
-                    break;
-                case InstructionCodes.ICONST_1:
-                    i = operands[0];
-                    sf.longRegs[i] = 1;
-                    break;
-                case InstructionCodes.ICONST_2:
-                    i = operands[0];
-                    sf.longRegs[i] = 2;
-                    break;
-                case InstructionCodes.ICONST_3:
-                    i = operands[0];
-                    sf.longRegs[i] = 3;
-                    break;
-                case InstructionCodes.ICONST_4:
-                    i = operands[0];
-                    sf.longRegs[i] = 4;
-                    break;
-                case InstructionCodes.ICONST_5:
-                    i = operands[0];
-                    sf.longRegs[i] = 5;
-                    break;
-                case InstructionCodes.FCONST_0:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 0;
-                    break;
-                case InstructionCodes.FCONST_1:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 1;
-                    break;
-                case InstructionCodes.FCONST_2:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 2;
-                    break;
-                case InstructionCodes.FCONST_3:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 3;
-                    break;
-                case InstructionCodes.FCONST_4:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 4;
-                    break;
-                case InstructionCodes.FCONST_5:
-                    i = operands[0];
-                    sf.doubleRegs[i] = 5;
-                    break;
-                case InstructionCodes.BCONST_0:
-                    i = operands[0];
-                    sf.intRegs[i] = 0;
-                    break;
-                case InstructionCodes.BCONST_1:
-                    i = operands[0];
-                    sf.intRegs[i] = 1;
-                    break;
-                case InstructionCodes.RCONST_NULL:
-                    i = operands[0];
-                    sf.refRegs[i] = null;
-                    break;
-
-                case InstructionCodes.ILOAD:
-                case InstructionCodes.FLOAD:
-                case InstructionCodes.SLOAD:
-                case InstructionCodes.BLOAD:
-                case InstructionCodes.LLOAD:
-                case InstructionCodes.RLOAD:
-                case InstructionCodes.IALOAD:
-                case InstructionCodes.FALOAD:
-                case InstructionCodes.SALOAD:
-                case InstructionCodes.BALOAD:
-                case InstructionCodes.LALOAD:
-                case InstructionCodes.RALOAD:
-                case InstructionCodes.JSONALOAD:
-                case InstructionCodes.IGLOAD:
-                case InstructionCodes.FGLOAD:
-                case InstructionCodes.SGLOAD:
-                case InstructionCodes.BGLOAD:
-                case InstructionCodes.LGLOAD:
-                case InstructionCodes.RGLOAD:
-                case InstructionCodes.IFIELDLOAD:
-                case InstructionCodes.FFIELDLOAD:
-                case InstructionCodes.SFIELDLOAD:
-                case InstructionCodes.BFIELDLOAD:
-                case InstructionCodes.LFIELDLOAD:
-                case InstructionCodes.RFIELDLOAD:
-                case InstructionCodes.MAPLOAD:
-                case InstructionCodes.JSONLOAD:
-                    execLoadOpcodes(sf, opcode, operands);
-                    break;
-
-                case InstructionCodes.ISTORE:
-                case InstructionCodes.FSTORE:
-                case InstructionCodes.SSTORE:
-                case InstructionCodes.BSTORE:
-                case InstructionCodes.LSTORE:
-                case InstructionCodes.RSTORE:
-                case InstructionCodes.IASTORE:
-                case InstructionCodes.FASTORE:
-                case InstructionCodes.SASTORE:
-                case InstructionCodes.BASTORE:
-                case InstructionCodes.LASTORE:
-                case InstructionCodes.RASTORE:
-                case InstructionCodes.JSONASTORE:
-                case InstructionCodes.IGSTORE:
-                case InstructionCodes.FGSTORE:
-                case InstructionCodes.SGSTORE:
-                case InstructionCodes.BGSTORE:
-                case InstructionCodes.LGSTORE:
-                case InstructionCodes.RGSTORE:
-                case InstructionCodes.IFIELDSTORE:
-                case InstructionCodes.FFIELDSTORE:
-                case InstructionCodes.SFIELDSTORE:
-                case InstructionCodes.BFIELDSTORE:
-                case InstructionCodes.LFIELDSTORE:
-                case InstructionCodes.RFIELDSTORE:
-                case InstructionCodes.MAPSTORE:
-                case InstructionCodes.JSONSTORE:
-                    execStoreOpcodes(sf, opcode, operands);
-                    break;
-
-                case InstructionCodes.IADD:
-                case InstructionCodes.FADD:
-                case InstructionCodes.SADD:
-                case InstructionCodes.XMLADD:
-                case InstructionCodes.ISUB:
-                case InstructionCodes.FSUB:
-                case InstructionCodes.IMUL:
-                case InstructionCodes.FMUL:
-                case InstructionCodes.IDIV:
-                case InstructionCodes.FDIV:
-                case InstructionCodes.IMOD:
-                case InstructionCodes.FMOD:
-                case InstructionCodes.INEG:
-                case InstructionCodes.FNEG:
-                case InstructionCodes.BNOT:
-                case InstructionCodes.IEQ:
-                case InstructionCodes.FEQ:
-                case InstructionCodes.SEQ:
-                case InstructionCodes.BEQ:
-                case InstructionCodes.REQ:
-                case InstructionCodes.TEQ:
-                case InstructionCodes.INE:
-                case InstructionCodes.FNE:
-                case InstructionCodes.SNE:
-                case InstructionCodes.BNE:
-                case InstructionCodes.RNE:
-                case InstructionCodes.TNE:
-                    execBinaryOpCodes(sf, opcode, operands);
-                    break;
-
-                case InstructionCodes.LENGTHOF:
-                    i = operands[0];
-                    j = operands[1];
-                    if (sf.refRegs[i] == null) {
+    private void execErrorOpcodes(StackFrame sf, int opcode, int op) {
+        int i;
+        switch (opcode) {
+            case InstructionCodes.THROW:
+                i = code[op];
+                if (i >= 0) {
+                    BStruct error = (BStruct) sf.refRegs[i];
+                    if (error == null) {
                         handleNullRefError();
                         break;
                     }
 
-                    BValue array = sf.refRegs[i];
-                    if (array.getType().getTag() == TypeTags.XML_TAG) {
-                        sf.longRegs[j] = ((BXML) array).length();
-                        break;
-                    } else if (array.getType().getTag() == TypeTags.JSON_TAG) {
-                        if (JSONUtils.isJSONArray((BJSON) array)) {
-                            sf.longRegs[j] = JSONUtils.getJSONArrayLength((BJSON) sf.refRegs[i]);
-                        } else {
-                            sf.longRegs[j] = -1;
-                        }
-                        break;
-                    }
+                    BLangVMErrors.setStackTrace(context, ip, error);
+                    context.setError(error);
+                }
+                handleError();
+                break;
+            case InstructionCodes.ERRSTORE:
+                i = code[op];
+                sf.refLocalVars[i] = context.getError();
+                // clear error.
+                context.setError(null);
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                    BNewArray newArray = (BNewArray) array;
-                    sf.longRegs[j] = newArray.size();
-                    break;
+    private void execTransactionOpcodes(int opcode, int op) {
+        int i;
+        int j;
+        switch (opcode) {
+            case InstructionCodes.TR_RETRY:
+                i = code[op];
+                j = code[op + 1];
+                retryTransaction(i, j);
+                break;
+            case InstructionCodes.TR_BEGIN:
+                i = code[op];
+                j = code[op + 1];
+                beginTransaction(i, j);
+                break;
+            case InstructionCodes.TR_END:
+                i = code[op];
+                endTransaction(i);
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                case InstructionCodes.TYPELOAD:
-                    cpIndex = operands[0];
-                    j = operands[1];
-                    TypeRefCPEntry typeEntry = (TypeRefCPEntry) constPool[cpIndex];
-                    sf.refRegs[j] = new BTypeValue(typeEntry.getType());
-                    break;
-                case InstructionCodes.TYPEOF:
-                    i = operands[0];
-                    j = operands[1];
-                    if (sf.refRegs[i] == null) {
-                        handleNullRefError();
-                        break;
-                    }
-                    sf.refRegs[j] = new BTypeValue(sf.refRegs[i].getType());
-                    break;
-
-                case InstructionCodes.IGT:
-                case InstructionCodes.FGT:
-                case InstructionCodes.IGE:
-                case InstructionCodes.FGE:
-                case InstructionCodes.ILT:
-                case InstructionCodes.FLT:
-                case InstructionCodes.ILE:
-                case InstructionCodes.FLE:
-                case InstructionCodes.REQ_NULL:
-                case InstructionCodes.RNE_NULL:
-                case InstructionCodes.BR_TRUE:
-                case InstructionCodes.BR_FALSE:
-                case InstructionCodes.GOTO:
-                case InstructionCodes.HALT:
-                    execCmpAndBranchOpcodes(sf, opcode, operands);
-                    break;
-
-                case InstructionCodes.TR_RETRY:
-                    i = operands[0];
-                    j = operands[1];
-                    retryTransaction(i, j);
-                    break;
-                case InstructionCodes.CALL:
-                    cpIndex = operands[0];
-                    funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
-                    functionInfo = funcRefCPEntry.getFunctionInfo();
+    private void execWorkerOpcodes(int opcode, int op) {
+        int cpIndex;
+        WorkerDataChannelRefCPEntry workerRefCPEntry;
+        WrkrInteractionArgsCPEntry wrkrIntRefCPEntry;
+        WorkerDataChannelInfo workerDataChannel;
+        ForkJoinCPEntry forkJoinCPEntry;
 
-                    cpIndex = operands[1];
-                    funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
-                    invokeCallableUnit(functionInfo, funcCallCPEntry);
-                    break;
-                case InstructionCodes.TR_BEGIN:
-                    i = operands[0];
-                    j = operands[1];
-                    beginTransaction(i, j);
-                    break;
-                case InstructionCodes.TR_END:
-                    i = operands[0];
-                    endTransaction(i);
-                    break;
-                case InstructionCodes.WRKINVOKE:
-                    cpIndex = operands[0];
-                    workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
-                    workerDataChannel = workerRefCPEntry.getWorkerDataChannelInfo();
+        switch (opcode) {
+            case InstructionCodes.WRKINVOKE:
+                cpIndex = code[op];
+                workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
+                workerDataChannel = workerRefCPEntry.getWorkerDataChannelInfo();
 
-                    cpIndex = operands[1];
-                    wrkrIntRefCPEntry = (WrkrInteractionArgsCPEntry) constPool[cpIndex];
-                    invokeWorker(workerDataChannel, wrkrIntRefCPEntry);
-                    break;
-                case InstructionCodes.WRKREPLY:
-                    cpIndex = operands[0];
-                    workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
-                    workerDataChannel = workerRefCPEntry.getWorkerDataChannelInfo();
+                cpIndex = code[op + 1];
+                wrkrIntRefCPEntry = (WrkrInteractionArgsCPEntry) constPool[cpIndex];
+                invokeWorker(workerDataChannel, wrkrIntRefCPEntry);
+                break;
+            case InstructionCodes.WRKREPLY:
+                cpIndex = code[op];
+                workerRefCPEntry = (WorkerDataChannelRefCPEntry) constPool[cpIndex];
+                workerDataChannel = workerRefCPEntry.getWorkerDataChannelInfo();
 
-                    cpIndex = operands[1];
-                    wrkrIntRefCPEntry = (WrkrInteractionArgsCPEntry) constPool[cpIndex];
-                    replyWorker(workerDataChannel, wrkrIntRefCPEntry);
-                    break;
-                case InstructionCodes.FORKJOIN:
-                    cpIndex = operands[0];
+                cpIndex = code[op + 1];
+                wrkrIntRefCPEntry = (WrkrInteractionArgsCPEntry) constPool[cpIndex];
+                replyWorker(workerDataChannel, wrkrIntRefCPEntry);
+                break;
+            case InstructionCodes.FORKJOIN:
+                cpIndex = code[op];
+                forkJoinCPEntry = (ForkJoinCPEntry) constPool[cpIndex];
+                invokeForkJoin(forkJoinCPEntry);
+                break;
+            case InstructionCodes.WRKSTART:
+                startWorkers();
+                break;
+            case InstructionCodes.WRKRETURN:
+                handleWorkerReturn();
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
+
+    private void execLengthAndTypeOpcodes(StackFrame sf, int opcode, int op) {
+        int i;
+        int j;
+        int cpIndex;
+        BValue value;
 
-                    forkJoinCPEntry = (ForkJoinCPEntry) constPool[cpIndex];
-                    invokeForkJoin(forkJoinCPEntry);
+        switch (opcode) {
+            case InstructionCodes.LENGTHOF:
+                i = code[op];
+                j = code[op + 1];
+                if (sf.refRegs[i] == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.WRKSTART:
-                    startWorkers();
+                }
+
+                value = sf.refRegs[i];
+                if (value.getType().getTag() == TypeTags.XML_TAG) {
+                    sf.longRegs[j] = ((BXML) value).length();
                     break;
-                case InstructionCodes.WRKRETURN:
-                    handleWorkerReturn();
+                } else if (value.getType().getTag() == TypeTags.JSON_TAG) {
+                    if (JSONUtils.isJSONArray((BJSON) value)) {
+                        sf.longRegs[j] = JSONUtils.getJSONArrayLength((BJSON) sf.refRegs[i]);
+                    } else {
+                        sf.longRegs[j] = -1;
+                    }
                     break;
-                case InstructionCodes.NCALL:
-                    cpIndex = operands[0];
-                    funcRefCPEntry = (FunctionRefCPEntry) constPool[cpIndex];
-                    functionInfo = funcRefCPEntry.getFunctionInfo();
+                }
 
-                    cpIndex = operands[1];
-                    funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
-                    invokeNativeFunction(functionInfo, funcCallCPEntry);
-                    break;
-                case InstructionCodes.ACALL:
-                    cpIndex = operands[0];
-                    actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
-                    actionInfo = actionRefCPEntry.getActionInfo();
+                sf.longRegs[j] = ((BNewArray) value).size();
+                break;
+            case InstructionCodes.ARRAYLEN:
+                i = code[op];
+                j = code[op + 1];
 
-                    cpIndex = operands[1];
-                    funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
-                    invokeCallableUnit(actionInfo, funcCallCPEntry);
+                value = sf.refRegs[i];
+                if (value == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.NACALL:
-                    cpIndex = operands[0];
-                    actionRefCPEntry = (ActionRefCPEntry) constPool[cpIndex];
-                    actionInfo = actionRefCPEntry.getActionInfo();
-
-                    cpIndex = operands[1];
-                    funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
-                    invokeNativeAction(actionInfo, funcCallCPEntry);
-                    break;
-                case InstructionCodes.THROW:
-                    i = operands[0];
-                    if (i >= 0) {
-                        BStruct error = (BStruct) sf.refRegs[i];
-                        if (error == null) {
-                            handleNullRefError();
-                            break;
-                        }
+                }
 
-                        BLangVMErrors.setStackTrace(context, ip, error);
-                        context.setError(error);
-                    }
-                    handleError();
-                    break;
-                case InstructionCodes.ERRSTORE:
-                    i = operands[0];
-                    sf.refLocalVars[i] = context.getError();
-                    // clear error.
-                    context.setError(null);
+                if (value.getType().getTag() == TypeTags.JSON_TAG) {
+                    sf.longRegs[j] = ((BJSON) value).value().size();
                     break;
-                case InstructionCodes.FPCALL:
-                    i = operands[0];
-                    if (sf.refRegs[i] == null) {
-                        handleNullRefError();
-                        break;
-                    }
-                    cpIndex = operands[1];
-                    funcCallCPEntry = (FunctionCallCPEntry) constPool[cpIndex];
-                    funcRefCPEntry = ((BFunctionPointer) sf.refRegs[i]).value();
-                    functionInfo = funcRefCPEntry.getFunctionInfo();
-                    if (functionInfo.isNative()) {
-                        invokeNativeFunction(functionInfo, funcCallCPEntry);
-                    } else {
-                        invokeCallableUnit(functionInfo, funcCallCPEntry);
-                    }
+                }
+
+                sf.longRegs[j] = ((BNewArray) value).size();
+                break;
+            case InstructionCodes.TYPELOAD:
+                cpIndex = code[op];
+                j = code[op + 1];
+                TypeRefCPEntry typeEntry = (TypeRefCPEntry) constPool[cpIndex];
+                sf.refRegs[j] = new BTypeValue(typeEntry.getType());
+                break;
+            case InstructionCodes.TYPEOF:
+                i = code[op];
+                j = code[op + 1];
+                if (sf.refRegs[i] == null) {
+                    handleNullRefError();
                     break;
-                case InstructionCodes.FPLOAD:
-                    i = operands[0];
-                    j = operands[1];
-                    funcRefCPEntry = (FunctionRefCPEntry) constPool[i];
-                    sf.refRegs[j] = new BFunctionPointer(funcRefCPEntry);
-                    break;
-
-                case InstructionCodes.I2ANY:
-                case InstructionCodes.F2ANY:
-                case InstructionCodes.S2ANY:
-                case InstructionCodes.B2ANY:
-                case InstructionCodes.L2ANY:
-                case InstructionCodes.ANY2I:
-                case InstructionCodes.ANY2F:
-                case InstructionCodes.ANY2S:
-                case InstructionCodes.ANY2B:
-                case InstructionCodes.ANY2L:
-                case InstructionCodes.ANY2JSON:
-                case InstructionCodes.ANY2XML:
-                case InstructionCodes.ANY2MAP:
-                case InstructionCodes.ANY2TYPE:
-                case InstructionCodes.ANY2T:
-                case InstructionCodes.ANY2C:
-                case InstructionCodes.NULL2JSON:
-                case InstructionCodes.CHECKCAST:
-                    execTypeCastOpcodes(sf, opcode, operands);
-                    break;
-
-                case InstructionCodes.I2F:
-                case InstructionCodes.I2S:
-                case InstructionCodes.I2B:
-                case InstructionCodes.I2JSON:
-                case InstructionCodes.F2I:
-                case InstructionCodes.F2S:
-                case InstructionCodes.F2B:
-                case InstructionCodes.F2JSON:
-                case InstructionCodes.S2I:
-                case InstructionCodes.S2F:
-                case InstructionCodes.S2B:
-                case InstructionCodes.S2JSON:
-                case InstructionCodes.B2I:
-                case InstructionCodes.B2F:
-                case InstructionCodes.B2S:
-                case InstructionCodes.B2JSON:
-                case InstructionCodes.JSON2I:
-                case InstructionCodes.JSON2F:
-                case InstructionCodes.JSON2S:
-                case InstructionCodes.JSON2B:
-                case InstructionCodes.DT2XML:
-                case InstructionCodes.DT2JSON:
-                case InstructionCodes.T2MAP:
-                case InstructionCodes.T2JSON:
-                case InstructionCodes.MAP2T:
-                case InstructionCodes.JSON2T:
-                case InstructionCodes.XMLATTRS2MAP:
-                case InstructionCodes.S2XML:
-                case InstructionCodes.S2JSONX:
-                case InstructionCodes.XML2S:
-                    execTypeConversionOpcodes(sf, opcode, operands);
-                    break;
-
-                case InstructionCodes.INEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BIntArray();
-                    break;
-                case InstructionCodes.ARRAYLEN:
-                    i = operands[0];
-                    j = operands[1];
-
-                    BValue value = sf.refRegs[i];
-
-                    if (value == null) {
-                        handleNullRefError();
-                        break;
-                    }
+                }
+                sf.refRegs[j] = new BTypeValue(sf.refRegs[i].getType());
+                break;
+            default:
+                throw new UnsupportedOperationException();
+        }
+    }
 
-                    if (value.getType().getTag() == TypeTags.JSON_TAG) {
-                        sf.longRegs[j] = ((BJSON) value).value().size();
-                        break;
-                    }
+    private void execValueCreationOpcodes(StackFrame sf, int opcode, int op) {
+        int i;
+        int j;
+        int cpIndex;
+        TypeRefCPEntry typeRefCPEntry;
 
-                    sf.longRegs[j] = ((BNewArray) value).size();
-                    break;
-                case InstructionCodes.FNEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BFloatArray();
-                    break;
-                case InstructionCodes.SNEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BStringArray();
-                    break;
-                case InstructionCodes.BNEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BBooleanArray();
-                    break;
-                case InstructionCodes.LNEWARRAY:
-                    i = operands[0];
-                    sf.refRegs[i] = new BBlobArray();
-                    break;
-                case InstructionCodes.RNEWARRAY:
-                    i = operands[0];
-                    cpIndex = operands[1];
-                    typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
-                    sf.refRegs[i] = new BRefValueArray(typeRefCPEntry.getType());
-                    break;
-                case InstructionCodes.JSONNEWARRAY:
-                    i = operands[0];
-                    j = operands[1];
-                    // This is a temporary solution to create n-valued JSON array
-                    StringJoiner stringJoiner = new StringJoiner(",", "[", "]");
-                    for (int index = 0; index < sf.longRegs[j]; index++) {
-                        stringJoiner.add("0");
-                    }
-                    sf.refRegs[i] = new BJSON(stringJoiner.toString());
-                    break;
-
-                case InstructionCodes.NEWSTRUCT:
-                    createNewStruct(operands, sf);
-                    break;
-                case InstructionCodes.NEWCONNECTOR:
-                    createNewConnector(operands, sf);
-                    break;
-                case InstructionCodes.NEWMAP:
-                    i = operands[0];
-                    sf.refRegs[i] = new BMap<String, BRefType>();
-                    break;
-                case InstructionCodes.NEWJSON:
-                    i = operands[0];
-                    sf.refRegs[i] = new BJSON("{}");
-                    break;
-                case InstructionCodes.NEWDATATABLE:
-                    i = operands[0];
-                    sf.refRegs[i] = new BDataTable(null, new ArrayList<>(0));
-                    break;
-                case InstructionCodes.IRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.currentFrame;
-                    callersSF = controlStack.currentFrame.prevStackFrame;
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.longRegs[callersRetRegIndex] = currentSF.longRegs[j];
-                    break;
-                case InstructionCodes.FRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.currentFrame;
-                    callersSF = controlStack.currentFrame.prevStackFrame;
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.doubleRegs[callersRetRegIndex] = currentSF.doubleRegs[j];
-                    break;
-                case InstructionCodes.SRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.currentFrame;
-                    callersSF = controlStack.currentFrame.prevStackFrame;
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.stringRegs[callersRetRegIndex] = currentSF.stringRegs[j];
-                    break;
-                case InstructionCodes.BRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.currentFrame;
-                    callersSF = controlStack.currentFrame.prevStackFrame;
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.intRegs[callersRetRegIndex] = currentSF.intRegs[j];
-                    break;
-                case InstructionCodes.LRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.currentFrame;
-                    callersSF = controlStack.currentFrame.prevStackFrame;
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.byteRegs[callersRetRegIndex] = currentSF.byteRegs[j];
-                    break;
-                case InstructionCodes.RRET:
-                    i = operands[0];
-                    j = operands[1];
-                    currentSF = controlStack.currentFrame;
-                    callersSF = controlStack.currentFrame.prevStackFrame;
-                    callersRetRegIndex = currentSF.retRegIndexes[i];
-                    callersSF.refRegs[callersRetRegIndex] = currentSF.refRegs[j];
-                    break;
-                case InstructionCodes.RET:
-                    handleReturn();
-                    break;
-                case InstructionCodes.XMLATTRSTORE:
-                case InstructionCodes.XMLATTRLOAD:
-                case InstructionCodes.XML2XMLATTRS:
-                case InstructionCodes.S2QNAME:
-                case InstructionCodes.NEWQNAME:
-                case InstructionCodes.NEWXMLELEMENT:
-                case InstructionCodes.NEWXMLCOMMENT:
-                case InstructionCodes.NEWXMLTEXT:
-                case InstructionCodes.NEWXMLPI:
-                case InstructionCodes.XMLSTORE:
-                case InstructionCodes.XMLLOAD:
-                    execXMLOpcodes(sf, opcode, operands);
-                    break;
-                default:
-                    throw new UnsupportedOperationException();
-            }
+        switch (opcode) {
+            case InstructionCodes.INEWARRAY:
+                i = code[op];
+                sf.refRegs[i] = new BIntArray();
+                break;
+            case InstructionCodes.FNEWARRAY:
+                i = code[op];
+                sf.refRegs[i] = new BFloatArray();
+                break;
+            case InstructionCodes.SNEWARRAY:
+                i = code[op];
+                sf.refRegs[i] = new BStringArray();
+                break;
+            case InstructionCodes.BNEWARRAY:
+                i = code[op];
+                sf.refRegs[i] = new BBooleanArray();
+                break;
+            case InstructionCodes.LNEWARRAY:
+                i = code[op];
+                sf.refRegs[i] = new BBlobArray();
+                break;
+            case InstructionCodes.RNEWARRAY:
+                i = code[op];
+                cpIndex = code[op + 1];
+                typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
+                sf.refRegs[i] = new BRefValueArray(typeRefCPEntry.getType());
+                break;
+            case InstructionCodes.JSONNEWARRAY:
+                i = code[op];
+                j = code[op + 1];
+                // This is a temporary solution to create n-valued JSON array
+                StringJoiner stringJoiner = new StringJoiner(",", "[", "]");
+                for (int index = 0; index < sf.longRegs[j]; index++) {
+                    stringJoiner.add("0");
+                }
+                sf.refRegs[i] = new BJSON(stringJoiner.toString());
+                break;
+            case InstructionCodes.NEWSTRUCT:
+                createNewStruct(op, sf);
+                break;
+            case InstructionCodes.NEWCONNECTOR:
+                createNewConnector(op, sf);
+                break;
+            case InstructionCodes.NEWMAP:
+                i = code[op];
+                sf.refRegs[i] = new BMap<String, BRefType>();
+                break;
+            case InstructionCodes.NEWJSON:
+                i = code[op];
+                sf.refRegs[i] = new BJSON("{}");
+                break;
+            case InstructionCodes.NEWDATATABLE:
+                i = code[op];
+                sf.refRegs[i] = new BDataTable(null, new ArrayList<>(0));
+                break;
+            default:
+                throw new UnsupportedOperationException();
         }
     }
 
-    private void execCmpAndBranchOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execCmpAndBranchOpcodes(StackFrame sf, int opcode, int op) {
         int i;
         int j;
         int k;
         switch (opcode) {
-            case InstructionCodes.IGT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                sf.intRegs[k] = sf.longRegs[i] > sf.longRegs[j] ? 1 : 0;
-                break;
             case InstructionCodes.FGT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] > sf.doubleRegs[j] ? 1 : 0;
                 break;
 
-            case InstructionCodes.IGE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                sf.intRegs[k] = sf.longRegs[i] >= sf.longRegs[j] ? 1 : 0;
-                break;
             case InstructionCodes.FGE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] >= sf.doubleRegs[j] ? 1 : 0;
                 break;
 
-            case InstructionCodes.ILT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                sf.intRegs[k] = sf.longRegs[i] < sf.longRegs[j] ? 1 : 0;
-                break;
             case InstructionCodes.FLT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] < sf.doubleRegs[j] ? 1 : 0;
                 break;
 
-            case InstructionCodes.ILE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                sf.intRegs[k] = sf.longRegs[i] <= sf.longRegs[j] ? 1 : 0;
-                break;
             case InstructionCodes.FLE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] <= sf.doubleRegs[j] ? 1 : 0;
                 break;
 
             case InstructionCodes.REQ_NULL:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 if (sf.refRegs[i] == null) {
                     ip = j;
                 }
                 break;
             case InstructionCodes.RNE_NULL:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 if (sf.refRegs[i] != null) {
                     ip = j;
                 }
                 break;
 
-            case InstructionCodes.BR_TRUE:
-                i = operands[0];
-                j = operands[1];
-                if (sf.intRegs[i] == 1) {
-                    ip = j;
-                }
-                break;
-            case InstructionCodes.BR_FALSE:
-                i = operands[0];
-                j = operands[1];
-                if (sf.intRegs[i] == 0) {
-                    ip = j;
-                }
-                break;
-            case InstructionCodes.GOTO:
-                i = operands[0];
-                ip = i;
-                break;
             case InstructionCodes.HALT:
                 ip = -1;
                 break;
@@ -889,7 +1388,72 @@ public class BLangVM {
         }
     }
 
-    private void execLoadOpcodes(StackFrame sf, int opcode, int[] operands) {
+    /**
+     * Execute the superinstructions which load an unboxed value from a map or store one into it. If the map does
+     * not keep its values unboxed, both instructions of the pair are executed as they are.
+     *
+     * @param sf     current stack frame
+     * @param opcode opcode of the superinstruction
+     * @param op     offset of the first operand of the superinstruction in the code
+     */
+    private void execUnboxedMapOpcodes(StackFrame sf, int opcode, int op) {
+        int next = op + Instruction.SLOT_SIZE;
+        BMap<String, BRefType> bMap;
+        String key;
+        boolean unboxed;
+        switch (opcode) {
+            case InstructionCodes.MAPLOAD_ANY2I:
+            case InstructionCodes.MAPLOAD_ANY2F:
+            case InstructionCodes.MAPLOAD_ANY2S:
+                bMap = (BMap<String, BRefType>) sf.refRegs[code[op]];
+                key = sf.stringRegs[code[op + 1]];
+                if (bMap == null) {
+                    unboxed = false;
+                } else if (opcode == InstructionCodes.MAPLOAD_ANY2I) {
+                    unboxed = bMap.getIntValue(key, sf.longRegs, code[next + 1]);
+                } else if (opcode == InstructionCodes.MAPLOAD_ANY2F) {
+                    unboxed = bMap.getFloatValue(key, sf.doubleRegs, code[next + 1]);
+                } else {
+                    unboxed = bMap.getStringValue(key, sf.stringRegs, code[next + 1]);
+                }
+
+                if (unboxed) {
+                    // The cast succeeded, hence it has no error
+                    sf.refRegs[code[next + 2]] = null;
+                    ip++;
+                    break;
+                }
+                int castIP = ip;
+                execLoadOpcodes(sf, InstructionCodes.MAPLOAD, op);
+                if (ip != castIP) {
+                    // The load raised an error
+                    break;
+                }
+                ip++;
+                execTypeCastOpcodes(sf, code[next], next);
+                break;
+            default:
+                bMap = (BMap<String, BRefType>) sf.refRegs[code[next]];
+                if (bMap == null) {
+                    execTypeCastOpcodes(sf, InstructionFuser.getBaseOpcode(opcode), op);
+                    ip++;
+                    execStoreOpcodes(sf, InstructionCodes.MAPSTORE, next);
+                    break;
+                }
+
+                key = sf.stringRegs[code[next + 1]];
+                if (opcode == InstructionCodes.I2ANY_MAPSTORE) {
+                    bMap.putIntValue(key, sf.longRegs[code[op]]);
+                } else if (opcode == InstructionCodes.F2ANY_MAPSTORE) {
+                    bMap.putFloatValue(key, sf.doubleRegs[code[op]]);
+                } else {
+                    bMap.putStringValue(key, sf.stringRegs[code[op]]);
+                }
+                ip++;
+        }
+    }
+
+    private void execLoadOpcodes(StackFrame sf, int opcode, int op) {
         int i;
         int j;
         int k;
@@ -906,40 +1470,15 @@ public class BLangVM {
         BMap<String, BRefType> bMap;
         BJSON jsonVal;
         switch (opcode) {
-            case InstructionCodes.ILOAD:
-                lvIndex = operands[0];
-                i = operands[1];
-                sf.longRegs[i] = sf.longLocalVars[lvIndex];
-                break;
-            case InstructionCodes.FLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
-                sf.doubleRegs[i] = sf.doubleLocalVars[lvIndex];
-                break;
-            case InstructionCodes.SLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
-                sf.stringRegs[i] = sf.stringLocalVars[lvIndex];
-                break;
-            case InstructionCodes.BLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
-                sf.intRegs[i] = sf.intLocalVars[lvIndex];
-                break;
             case InstructionCodes.LLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
+                lvIndex = code[op];
+                i = code[op + 1];
                 sf.byteRegs[i] = sf.byteLocalVars[lvIndex];
                 break;
-            case InstructionCodes.RLOAD:
-                lvIndex = operands[0];
-                i = operands[1];
-                sf.refRegs[i] = sf.refLocalVars[lvIndex];
-                break;
             case InstructionCodes.IALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bIntArray = (BIntArray) sf.refRegs[i];
                 if (bIntArray == null) {
                     handleNullRefError();
@@ -954,9 +1493,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.FALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bFloatArray = (BFloatArray) sf.refRegs[i];
                 if (bFloatArray == null) {
                     handleNullRefError();
@@ -971,9 +1510,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.SALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bStringArray = (BStringArray) sf.refRegs[i];
                 if (bStringArray == null) {
                     handleNullRefError();
@@ -988,9 +1527,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.BALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bBooleanArray = (BBooleanArray) sf.refRegs[i];
                 if (bBooleanArray == null) {
                     handleNullRefError();
@@ -1005,9 +1544,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.LALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bBlobArray = (BBlobArray) sf.refRegs[i];
                 if (bBlobArray == null) {
                     handleNullRefError();
@@ -1022,9 +1561,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.RALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bArray = (BRefValueArray) sf.refRegs[i];
                 if (bArray == null) {
                     handleNullRefError();
@@ -1039,9 +1578,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.JSONALOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1057,41 +1596,41 @@ public class BLangVM {
                 break;
             case InstructionCodes.IGLOAD:
                 // Global variable index
-                i = operands[0];
+                i = code[op];
                 // Stack registry index
-                j = operands[1];
+                j = code[op + 1];
                 sf.longRegs[j] = globalMemBlock.getIntField(i);
                 break;
             case InstructionCodes.FGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.doubleRegs[j] = globalMemBlock.getFloatField(i);
                 break;
             case InstructionCodes.SGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.stringRegs[j] = globalMemBlock.getStringField(i);
                 break;
             case InstructionCodes.BGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.intRegs[j] = globalMemBlock.getBooleanField(i);
                 break;
             case InstructionCodes.LGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.byteRegs[j] = globalMemBlock.getBlobField(i);
                 break;
             case InstructionCodes.RGLOAD:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.refRegs[j] = globalMemBlock.getRefField(i);
                 break;
 
             case InstructionCodes.IFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1101,9 +1640,9 @@ public class BLangVM {
                 sf.longRegs[j] = structureType.getIntField(fieldIndex);
                 break;
             case InstructionCodes.FFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1113,9 +1652,9 @@ public class BLangVM {
                 sf.doubleRegs[j] = structureType.getFloatField(fieldIndex);
                 break;
             case InstructionCodes.SFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1125,9 +1664,9 @@ public class BLangVM {
                 sf.stringRegs[j] = structureType.getStringField(fieldIndex);
                 break;
             case InstructionCodes.BFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1137,9 +1676,9 @@ public class BLangVM {
                 sf.intRegs[j] = structureType.getBooleanField(fieldIndex);
                 break;
             case InstructionCodes.LFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1149,9 +1688,9 @@ public class BLangVM {
                 sf.byteRegs[j] = structureType.getBlobField(fieldIndex);
                 break;
             case InstructionCodes.RFIELDLOAD:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1162,9 +1701,9 @@ public class BLangVM {
                 break;
 
             case InstructionCodes.MAPLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bMap = (BMap<String, BRefType>) sf.refRegs[i];
                 if (bMap == null) {
                     handleNullRefError();
@@ -1175,9 +1714,9 @@ public class BLangVM {
                 break;
 
             case InstructionCodes.JSONLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1191,7 +1730,7 @@ public class BLangVM {
         }
     }
 
-    private void execStoreOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execStoreOpcodes(StackFrame sf, int opcode, int op) {
         int i;
         int j;
         int k;
@@ -1208,40 +1747,15 @@ public class BLangVM {
         BMap<String, BRefType> bMap;
         BJSON jsonVal;
         switch (opcode) {
-            case InstructionCodes.ISTORE:
-                i = operands[0];
-                lvIndex = operands[1];
-                sf.longLocalVars[lvIndex] = sf.longRegs[i];
-                break;
-            case InstructionCodes.FSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
-                sf.doubleLocalVars[lvIndex] = sf.doubleRegs[i];
-                break;
-            case InstructionCodes.SSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
-                sf.stringLocalVars[lvIndex] = sf.stringRegs[i];
-                break;
-            case InstructionCodes.BSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
-                sf.intLocalVars[lvIndex] = sf.intRegs[i];
-                break;
             case InstructionCodes.LSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
+                i = code[op];
+                lvIndex = code[op + 1];
                 sf.byteLocalVars[lvIndex] = sf.byteRegs[i];
                 break;
-            case InstructionCodes.RSTORE:
-                i = operands[0];
-                lvIndex = operands[1];
-                sf.refLocalVars[lvIndex] = sf.refRegs[i];
-                break;
             case InstructionCodes.IASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bIntArray = (BIntArray) sf.refRegs[i];
                 if (bIntArray == null) {
                     handleNullRefError();
@@ -1256,9 +1770,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.FASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bFloatArray = (BFloatArray) sf.refRegs[i];
                 if (bFloatArray == null) {
                     handleNullRefError();
@@ -1273,9 +1787,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.SASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bStringArray = (BStringArray) sf.refRegs[i];
                 if (bStringArray == null) {
                     handleNullRefError();
@@ -1290,9 +1804,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.BASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bBooleanArray = (BBooleanArray) sf.refRegs[i];
                 if (bBooleanArray == null) {
                     handleNullRefError();
@@ -1307,9 +1821,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.LASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bBlobArray = (BBlobArray) sf.refRegs[i];
                 if (bBlobArray == null) {
                     handleNullRefError();
@@ -1324,9 +1838,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.RASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bArray = (BRefValueArray) sf.refRegs[i];
                 if (bArray == null) {
                     handleNullRefError();
@@ -1341,9 +1855,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.JSONASTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1359,41 +1873,42 @@ public class BLangVM {
                 break;
             case InstructionCodes.IGSTORE:
                 // Stack reg index
-                i = operands[0];
+                i = code[op];
                 // Global var index
-                j = operands[1];
+                j = code[op + 1];
                 globalMemBlock.setIntField(j, sf.longRegs[i]);
                 break;
             case InstructionCodes.FGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 globalMemBlock.setFloatField(j, sf.doubleRegs[i]);
                 break;
             case InstructionCodes.SGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 globalMemBlock.setStringField(j, sf.stringRegs[i]);
                 break;
             case InstructionCodes.BGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 globalMemBlock.setBooleanField(j, sf.intRegs[i]);
                 break;
             case InstructionCodes.LGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 globalMemBlock.setBlobField(j, sf.byteRegs[i]);
                 break;
             case InstructionCodes.RGSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
+                BMap.share(sf.refRegs[i]);
                 globalMemBlock.setRefField(j, sf.refRegs[i]);
                 break;
 
             case InstructionCodes.IFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1403,9 +1918,9 @@ public class BLangVM {
                 structureType.setIntField(fieldIndex, sf.longRegs[j]);
                 break;
             case InstructionCodes.FFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1415,9 +1930,9 @@ public class BLangVM {
                 structureType.setFloatField(fieldIndex, sf.doubleRegs[j]);
                 break;
             case InstructionCodes.SFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1427,9 +1942,9 @@ public class BLangVM {
                 structureType.setStringField(fieldIndex, sf.stringRegs[j]);
                 break;
             case InstructionCodes.BFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1439,9 +1954,9 @@ public class BLangVM {
                 structureType.setBooleanField(fieldIndex, sf.intRegs[j]);
                 break;
             case InstructionCodes.LFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1451,9 +1966,9 @@ public class BLangVM {
                 structureType.setBlobField(fieldIndex, sf.byteRegs[j]);
                 break;
             case InstructionCodes.RFIELDSTORE:
-                i = operands[0];
-                fieldIndex = operands[1];
-                j = operands[2];
+                i = code[op];
+                fieldIndex = code[op + 1];
+                j = code[op + 2];
                 structureType = (StructureType) sf.refRegs[i];
                 if (structureType == null) {
                     handleNullRefError();
@@ -1463,11 +1978,10 @@ public class BLangVM {
                 structureType.setRefField(fieldIndex, sf.refRegs[j]);
                 break;
 
-
             case InstructionCodes.MAPSTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 bMap = (BMap<String, BRefType>) sf.refRegs[i];
                 if (bMap == null) {
                     handleNullRefError();
@@ -1477,11 +1991,10 @@ public class BLangVM {
                 bMap.put(sf.stringRegs[j], sf.refRegs[k]);
                 break;
 
-
             case InstructionCodes.JSONSTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 jsonVal = (BJSON) sf.refRegs[i];
                 if (jsonVal == null) {
                     handleNullRefError();
@@ -1494,33 +2007,21 @@ public class BLangVM {
         }
     }
 
-    private void execBinaryOpCodes(StackFrame sf, int opcode, int[] operands) {
+    private void execBinaryOpCodes(StackFrame sf, int opcode, int op) {
         int i;
         int j;
         int k;
         switch (opcode) {
-            case InstructionCodes.IADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                sf.longRegs[k] = sf.longRegs[i] + sf.longRegs[j];
-                break;
             case InstructionCodes.FADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.doubleRegs[k] = sf.doubleRegs[i] + sf.doubleRegs[j];
                 break;
-            case InstructionCodes.SADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                sf.stringRegs[k] = sf.stringRegs[i] + sf.stringRegs[j];
-                break;
             case InstructionCodes.XMLADD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 BXML lhsXMLVal = (BXML) sf.refRegs[i];
                 BXML rhsXMLVal = (BXML) sf.refRegs[j];
                 if (lhsXMLVal == null || rhsXMLVal == null) {
@@ -1531,34 +2032,22 @@ public class BLangVM {
                 // Here it is assumed that a refType addition can only be a xml-concat.
                 sf.refRegs[k] = XMLUtils.concatenate(lhsXMLVal, rhsXMLVal);
                 break;
-            case InstructionCodes.ISUB:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                sf.longRegs[k] = sf.longRegs[i] - sf.longRegs[j];
-                break;
             case InstructionCodes.FSUB:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.doubleRegs[k] = sf.doubleRegs[i] - sf.doubleRegs[j];
                 break;
-            case InstructionCodes.IMUL:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                sf.longRegs[k] = sf.longRegs[i] * sf.longRegs[j];
-                break;
             case InstructionCodes.FMUL:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.doubleRegs[k] = sf.doubleRegs[i] * sf.doubleRegs[j];
                 break;
             case InstructionCodes.IDIV:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 if (sf.longRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1568,9 +2057,9 @@ public class BLangVM {
                 sf.longRegs[k] = sf.longRegs[i] / sf.longRegs[j];
                 break;
             case InstructionCodes.FDIV:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 if (sf.doubleRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1580,9 +2069,9 @@ public class BLangVM {
                 sf.doubleRegs[k] = sf.doubleRegs[i] / sf.doubleRegs[j];
                 break;
             case InstructionCodes.IMOD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 if (sf.longRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1592,9 +2081,9 @@ public class BLangVM {
                 sf.longRegs[k] = sf.longRegs[i] % sf.longRegs[j];
                 break;
             case InstructionCodes.FMOD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 if (sf.doubleRegs[j] == 0) {
                     context.setError(BLangVMErrors.createError(context, ip, " / by zero"));
                     handleError();
@@ -1604,54 +2093,48 @@ public class BLangVM {
                 sf.doubleRegs[k] = sf.doubleRegs[i] % sf.doubleRegs[j];
                 break;
             case InstructionCodes.INEG:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.longRegs[j] = -sf.longRegs[i];
                 break;
             case InstructionCodes.FNEG:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.doubleRegs[j] = -sf.doubleRegs[i];
                 break;
             case InstructionCodes.BNOT:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.intRegs[j] = sf.intRegs[i] == 0 ? 1 : 0;
                 break;
-            case InstructionCodes.IEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                sf.intRegs[k] = sf.longRegs[i] == sf.longRegs[j] ? 1 : 0;
-                break;
             case InstructionCodes.FEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] == sf.doubleRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.SEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.stringRegs[i].equals(sf.stringRegs[j]) ? 1 : 0;
                 break;
             case InstructionCodes.BEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.intRegs[i] == sf.intRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.REQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.refRegs[i] == sf.refRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.TEQ:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 if (sf.refRegs[i] == null || sf.refRegs[j] == null) {
                     handleNullRefError();
                 }
@@ -1659,39 +2142,39 @@ public class BLangVM {
                 break;
 
             case InstructionCodes.INE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.longRegs[i] != sf.longRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.FNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.doubleRegs[i] != sf.doubleRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.SNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = !(sf.stringRegs[i].equals(sf.stringRegs[j])) ? 1 : 0;
                 break;
             case InstructionCodes.BNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.intRegs[i] != sf.intRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.RNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[k] = sf.refRegs[i] != sf.refRegs[j] ? 1 : 0;
                 break;
             case InstructionCodes.TNE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 if (sf.refRegs[i] == null || sf.refRegs[j] == null) {
                     handleNullRefError();
                 }
@@ -1702,7 +2185,7 @@ public class BLangVM {
         }
     }
 
-    private void execXMLOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execXMLOpcodes(StackFrame sf, int opcode, int op) {
         int i;
         int j;
         int k;
@@ -1715,9 +2198,9 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.XMLATTRSTORE:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1735,9 +2218,9 @@ public class BLangVM {
                         sf.stringRegs[k]);
                 break;
             case InstructionCodes.XMLATTRLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1755,8 +2238,8 @@ public class BLangVM {
                         xmlQName.getPrefix());
                 break;
             case InstructionCodes.XML2XMLATTRS:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1767,9 +2250,9 @@ public class BLangVM {
                 sf.refRegs[j] = new BXMLAttributes(xmlVal);
                 break;
             case InstructionCodes.S2QNAME:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 String qNameStr = sf.stringRegs[i];
                 int parenEndIndex = qNameStr.indexOf('}');
@@ -1784,10 +2267,10 @@ public class BLangVM {
 
                 break;
             case InstructionCodes.NEWQNAME:
-                localNameIndex = operands[0];
-                uriIndex = operands[1];
-                prefixIndex = operands[2];
-                i = operands[3];
+                localNameIndex = code[op];
+                uriIndex = code[op + 1];
+                prefixIndex = code[op + 2];
+                i = code[op + 3];
 
                 String localname = sf.stringRegs[localNameIndex];
                 localname = StringEscapeUtils.escapeXml11(localname);
@@ -1798,9 +2281,9 @@ public class BLangVM {
                 sf.refRegs[i] = new BXMLQName(localname, sf.stringRegs[uriIndex], prefix);
                 break;
             case InstructionCodes.XMLLOAD:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 xmlVal = (BXML) sf.refRegs[i];
                 if (xmlVal == null) {
@@ -1816,14 +2299,14 @@ public class BLangVM {
             case InstructionCodes.NEWXMLTEXT:
             case InstructionCodes.NEWXMLPI:
             case InstructionCodes.XMLSTORE:
-                execXMLCreationOpcodes(sf, opcode, operands);
+                execXMLCreationOpcodes(sf, opcode, op);
                 break;
             default:
                 throw new UnsupportedOperationException();
         }
     }
 
-    private void execTypeCastOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execTypeCastOpcodes(StackFrame sf, int opcode, int op) {
         int i;
         int j;
         int k;
@@ -1834,34 +2317,34 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.I2ANY:
-                i = operands[0];
-                j = operands[1];
-                sf.refRegs[j] = new BInteger(sf.longRegs[i]);
+                i = code[op];
+                j = code[op + 1];
+                sf.refRegs[j] = BInteger.valueOf(sf.longRegs[i]);
                 break;
             case InstructionCodes.F2ANY:
-                i = operands[0];
-                j = operands[1];
-                sf.refRegs[j] = new BFloat(sf.doubleRegs[i]);
+                i = code[op];
+                j = code[op + 1];
+                sf.refRegs[j] = BFloat.valueOf(sf.doubleRegs[i]);
                 break;
             case InstructionCodes.S2ANY:
-                i = operands[0];
-                j = operands[1];
-                sf.refRegs[j] = new BString(sf.stringRegs[i]);
+                i = code[op];
+                j = code[op + 1];
+                sf.refRegs[j] = BString.valueOf(sf.stringRegs[i]);
                 break;
             case InstructionCodes.B2ANY:
-                i = operands[0];
-                j = operands[1];
-                sf.refRegs[j] = new BBoolean(sf.intRegs[i] == 1);
+                i = code[op];
+                j = code[op + 1];
+                sf.refRegs[j] = BBoolean.valueOf(sf.intRegs[i] == 1);
                 break;
             case InstructionCodes.L2ANY:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.refRegs[j] = new BBlob(sf.byteRegs[i]);
                 break;
             case InstructionCodes.ANY2I:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1876,9 +2359,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2F:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1893,9 +2376,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2S:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1910,9 +2393,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2B:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1927,9 +2410,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2L:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -1944,27 +2427,27 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.ANY2JSON:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeJSON);
+                handleAnyToRefTypeCast(sf, op, BTypes.typeJSON);
                 break;
             case InstructionCodes.ANY2XML:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeXML);
+                handleAnyToRefTypeCast(sf, op, BTypes.typeXML);
                 break;
             case InstructionCodes.ANY2MAP:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeMap);
+                handleAnyToRefTypeCast(sf, op, BTypes.typeMap);
                 break;
             case InstructionCodes.ANY2TYPE:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeType);
+                handleAnyToRefTypeCast(sf, op, BTypes.typeType);
                 break;
             case InstructionCodes.ANY2DT:
-                handleAnyToRefTypeCast(sf, operands, BTypes.typeDatatable);
+                handleAnyToRefTypeCast(sf, op, BTypes.typeDatatable);
                 break;
             case InstructionCodes.ANY2T:
             case InstructionCodes.ANY2C:
             case InstructionCodes.CHECKCAST:
-                i = operands[0];
-                cpIndex = operands[1];
-                j = operands[2];
-                k = operands[3];
+                i = code[op];
+                cpIndex = code[op + 1];
+                j = code[op + 2];
+                k = code[op + 3];
                 typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
 
                 bRefType = sf.refRegs[i];
@@ -1980,7 +2463,7 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NULL2JSON:
-                j = operands[1];
+                j = code[op + 1];
                 sf.refRegs[j] = new BJSON("null");
                 break;
             default:
@@ -2006,7 +2489,7 @@ public class BLangVM {
         return true;
     }
 
-    private void execTypeConversionOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execTypeConversionOpcodes(StackFrame sf, int opcode, int op) {
         int i;
         int j;
         int k;
@@ -2014,49 +2497,49 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.I2F:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.doubleRegs[j] = (double) sf.longRegs[i];
                 break;
             case InstructionCodes.I2S:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.stringRegs[j] = Long.toString(sf.longRegs[i]);
                 break;
             case InstructionCodes.I2B:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.intRegs[j] = sf.longRegs[i] != 0 ? 1 : 0;
                 break;
             case InstructionCodes.I2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.refRegs[j] = new BJSON(Long.toString(sf.longRegs[i]));
                 break;
             case InstructionCodes.F2I:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.longRegs[j] = (long) sf.doubleRegs[i];
                 break;
             case InstructionCodes.F2S:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.stringRegs[j] = Double.toString(sf.doubleRegs[i]);
                 break;
             case InstructionCodes.F2B:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.intRegs[j] = sf.doubleRegs[i] != 0.0 ? 1 : 0;
                 break;
             case InstructionCodes.F2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.refRegs[j] = new BJSON(Double.toString(sf.doubleRegs[i]));
                 break;
             case InstructionCodes.S2I:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 try {
                     sf.longRegs[j] = Long.parseLong(sf.stringRegs[i]);
@@ -2066,9 +2549,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.S2F:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 try {
                     sf.doubleRegs[j] = Double.parseDouble(sf.stringRegs[i]);
@@ -2078,53 +2561,53 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.S2B:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 sf.intRegs[j] = Boolean.parseBoolean(sf.stringRegs[i]) ? 1 : 0;
                 break;
             case InstructionCodes.S2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 String jsonStr = StringEscapeUtils.escapeJson(sf.stringRegs[i]);
                 sf.refRegs[j] = new BJSON("\"" + jsonStr + "\"");
                 break;
             case InstructionCodes.B2I:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.longRegs[j] = sf.intRegs[i];
                 break;
             case InstructionCodes.B2F:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.doubleRegs[j] = sf.intRegs[i];
                 break;
             case InstructionCodes.B2S:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.stringRegs[j] = sf.intRegs[i] == 1 ? "true" : "false";
                 break;
             case InstructionCodes.B2JSON:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.refRegs[j] = new BJSON(sf.intRegs[i] == 1 ? "true" : "false");
                 break;
             case InstructionCodes.JSON2I:
-                convertJSONToInt(operands, sf);
+                convertJSONToInt(op, sf);
                 break;
             case InstructionCodes.JSON2F:
-                convertJSONToFloat(operands, sf);
+                convertJSONToFloat(op, sf);
                 break;
             case InstructionCodes.JSON2S:
-                convertJSONToString(operands, sf);
+                convertJSONToString(op, sf);
                 break;
             case InstructionCodes.JSON2B:
-                convertJSONToBoolean(operands, sf);
+                convertJSONToBoolean(op, sf);
                 break;
             case InstructionCodes.DT2XML:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2140,9 +2623,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.DT2JSON:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2158,21 +2641,21 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.T2MAP:
-                convertStructToMap(operands, sf);
+                convertStructToMap(op, sf);
                 break;
             case InstructionCodes.T2JSON:
-                convertStructToJSON(operands, sf);
+                convertStructToJSON(op, sf);
                 break;
             case InstructionCodes.MAP2T:
-                convertMapToStruct(operands, sf);
+                convertMapToStruct(op, sf);
                 break;
             case InstructionCodes.JSON2T:
-                convertJSONToStruct(operands, sf);
+                convertJSONToStruct(op, sf);
                 break;
             case InstructionCodes.XMLATTRS2MAP:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 bRefType = sf.refRegs[i];
                 if (bRefType == null) {
@@ -2188,9 +2671,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.S2XML:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
                 try {
                     sf.refRegs[j] = XMLUtils.parse(sf.stringRegs[i]);
                 } catch (BallerinaException e) {
@@ -2200,13 +2683,13 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.S2JSONX:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.refRegs[j] = new BJSON(sf.stringRegs[i]);
                 break;
             case InstructionCodes.XML2S:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
                 sf.stringRegs[j] = sf.refRegs[j].stringValue();
                 break;
             default:
@@ -2214,7 +2697,7 @@ public class BLangVM {
         }
     }
 
-    private void execXMLCreationOpcodes(StackFrame sf, int opcode, int[] operands) {
+    private void execXMLCreationOpcodes(StackFrame sf, int opcode, int op) {
         int i;
         int j;
         int k;
@@ -2223,10 +2706,10 @@ public class BLangVM {
 
         switch (opcode) {
             case InstructionCodes.NEWXMLELEMENT:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
-                l = operands[3];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
+                l = code[op + 3];
 
                 BXMLQName startTagName = (BXMLQName) sf.refRegs[j];
                 BXMLQName endTagName = (BXMLQName) sf.refRegs[k];
@@ -2239,8 +2722,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NEWXMLCOMMENT:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
 
                 try {
                     sf.refRegs[i] = XMLUtils.createXMLComment(sf.stringRegs[j]);
@@ -2250,8 +2733,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NEWXMLTEXT:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
 
                 try {
                     sf.refRegs[i] = XMLUtils.createXMLText(sf.stringRegs[j]);
@@ -2261,9 +2744,9 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.NEWXMLPI:
-                i = operands[0];
-                j = operands[1];
-                k = operands[2];
+                i = code[op];
+                j = code[op + 1];
+                k = code[op + 2];
 
                 try {
                     sf.refRegs[i] = XMLUtils.createXMLProcessingInstruction(sf.stringRegs[j], sf.stringRegs[k]);
@@ -2273,8 +2756,8 @@ public class BLangVM {
                 }
                 break;
             case InstructionCodes.XMLSTORE:
-                i = operands[0];
-                j = operands[1];
+                i = code[op];
+                j = code[op + 1];
 
                 xmlVal = (BXML<?>) sf.refRegs[i];
                 BXML<?> child = (BXML<?>) sf.refRegs[j];
@@ -2399,13 +2882,13 @@ public class BLangVM {
             localVarAttrInfo.getLocalVariables().forEach(localVarInfo -> {
                 VariableInfo variableInfo = new VariableInfo(localVarInfo.getVariableName(), "Local");
                 if (BTypes.typeInt.equals(localVarInfo.getVariableType())) {
-                    variableInfo.setBValue(new BInteger(fcp.longLocalVars[localVarInfo.getVariableIndex()]));
+                    variableInfo.setBValue(BInteger.valueOf(fcp.longLocalVars[localVarInfo.getVariableIndex()]));
                 } else if (BTypes.typeFloat.equals(localVarInfo.getVariableType())) {
-                    variableInfo.setBValue(new BFloat(fcp.doubleLocalVars[localVarInfo.getVariableIndex()]));
+                    variableInfo.setBValue(BFloat.valueOf(fcp.doubleLocalVars[localVarInfo.getVariableIndex()]));
                 } else if (BTypes.typeString.equals(localVarInfo.getVariableType())) {
-                    variableInfo.setBValue(new BString(fcp.stringLocalVars[localVarInfo.getVariableIndex()]));
+                    variableInfo.setBValue(BString.valueOf(fcp.stringLocalVars[localVarInfo.getVariableIndex()]));
                 } else if (BTypes.typeBoolean.equals(localVarInfo.getVariableType())) {
-                    variableInfo.setBValue(new BBoolean(fcp.intLocalVars[localVarInfo
+                    variableInfo.setBValue(BBoolean.valueOf(fcp.intLocalVars[localVarInfo
                             .getVariableIndex()] == 1 ? true : false));
                 } else if (BTypes.typeBlob.equals(localVarInfo.getVariableType())) {
                     variableInfo.setBValue(new BBlob(fcp.byteLocalVars[localVarInfo.getVariableIndex()]));
@@ -2424,10 +2907,10 @@ public class BLangVM {
         return breakPointInfo;
     }
 
-    private void handleAnyToRefTypeCast(StackFrame sf, int[] operands, BType targetType) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void handleAnyToRefTypeCast(StackFrame sf, int op, BType targetType) {
+        int i = code[op];
+        int j = code[op + 1];
+        int k = code[op + 2];
 
         BRefType bRefType = sf.refRegs[i];
         if (bRefType == null) {
@@ -2471,18 +2954,18 @@ public class BLangVM {
         sf.refRegs[errorRegIndex] = errorVal;
     }
 
-    private void createNewConnector(int[] operands, StackFrame sf) {
-        int cpIndex = operands[0];
-        int i = operands[1];
+    private void createNewConnector(int op, StackFrame sf) {
+        int cpIndex = code[op];
+        int i = code[op + 1];
         StructureRefCPEntry structureRefCPEntry = (StructureRefCPEntry) constPool[cpIndex];
         ConnectorInfo connectorInfo = (ConnectorInfo) structureRefCPEntry.getStructureTypeInfo();
         BConnector bConnector = new BConnector(connectorInfo.getType());
         sf.refRegs[i] = bConnector;
     }
 
-    private void createNewStruct(int[] operands, StackFrame sf) {
-        int cpIndex = operands[0];
-        int i = operands[1];
+    private void createNewStruct(int op, StackFrame sf) {
+        int cpIndex = code[op];
+        int i = code[op + 1];
         StructureRefCPEntry structureRefCPEntry = (StructureRefCPEntry) constPool[cpIndex];
         StructInfo structInfo = (StructInfo) structureRefCPEntry.getStructureTypeInfo();
         BStruct bStruct = new BStruct(structInfo.getType());
@@ -2573,37 +3056,89 @@ public class BLangVM {
         ballerinaTransactionManager.incrementCurrentRetryCount(transactionId);
     }
 
-    public void invokeCallableUnit(CallableUnitInfo callableUnitInfo, FunctionCallCPEntry funcCallCPEntry) {
-        int[] argRegs = funcCallCPEntry.getArgRegs();
-        BType[] paramTypes = callableUnitInfo.getParamTypes();
-        StackFrame callerSF = controlStack.currentFrame;
+    /**
+     * Resolves the call site of the invocation instruction at the given operand offset and caches it in the call
+     * site table of the current package.
+     *
+     * @param callableUnitInfo callee of the call site
+     * @param op               offset of the first operand of the invocation instruction
+     * @return resolved call site
+     */
+    private CallSiteInfo resolveCallSite(CallableUnitInfo callableUnitInfo, int op) {
+        FunctionCallCPEntry funcCallCPEntry = (FunctionCallCPEntry) constPool[code[op + 1]];
+        CallSiteInfo callSiteInfo = new CallSiteInfo(controlStack.currentFrame.packageInfo, callableUnitInfo,
+                funcCallCPEntry);
+        callSites[code[op + Instruction.CALL_SITE_OPERAND]] = callSiteInfo;
+        return callSiteInfo;
+    }
 
-        WorkerInfo defaultWorkerInfo = callableUnitInfo.getDefaultWorkerInfo();
-        StackFrame calleeSF = new StackFrame(callableUnitInfo, defaultWorkerInfo, ip, funcCallCPEntry.getRetRegs());
+    public void invokeCallableUnit(CallSiteInfo callSiteInfo) {
+        StackFrame callerSF = controlStack.currentFrame;
+        StackFrame calleeSF = acquireCalleeFrame(callerSF, callSiteInfo.getCallableUnitInfo(),
+                callSiteInfo.getWorkerInfo(), callSiteInfo.getRetRegs());
         controlStack.pushFrame(calleeSF);
 
         // Copy arg values from the current StackFrame to the new StackFrame
-        copyArgValues(callerSF, calleeSF, argRegs, paramTypes);
+        copyArgValues(callerSF, calleeSF, callSiteInfo.getArgRegs(), callSiteInfo.getParamTypeTags());
+
+        if (!callSiteInfo.isSamePackage()) {
+            this.constPool = calleeSF.packageInfo.getConstPoolEntries();
+            this.code = calleeSF.packageInfo.getCode();
+            this.callSites = calleeSF.packageInfo.getCallSites();
+        }
+        ip = callSiteInfo.getCodeAddrs();
+    }
+
+    /**
+     * Returns a frame for the given callee. A caller frame remembers the last frame it created, and that frame
+     * is reset and reused when the caller invokes the same worker again, so that tight loops and recursive
+     * calls do not allocate a new set of register arrays per call. Frame reuse is disabled while debugging,
+     * since the debugger tracks stepping by frame identity.
+     *
+     * @param callerSF         frame of the caller
+     * @param callableUnitInfo callable unit being invoked
+     * @param workerInfo       worker of the callable unit to be executed
+     * @param retRegIndexes    caller's register indexes to which the return values should be copied
+     * @return stack frame for the callee
+     */
+    private StackFrame acquireCalleeFrame(StackFrame callerSF, CallableUnitInfo callableUnitInfo,
+                                          WorkerInfo workerInfo, int[] retRegIndexes) {
+        if (callerSF == null || context.isDebugEnabled()) {
+            return new StackFrame(callableUnitInfo, workerInfo, ip, retRegIndexes);
+        }
 
-        // TODO Improve following two lines
-        this.constPool = calleeSF.packageInfo.getConstPoolEntries();
-        this.code = calleeSF.packageInfo.getInstructions();
-        ip = defaultWorkerInfo.getCodeAttributeInfo().getCodeAddrs();
+        StackFrame calleeSF = callerSF.cachedCalleeFrame;
+        if (calleeSF != null && calleeSF.workerInfo == workerInfo && calleeSF.reusable) {
+            calleeSF.reset(ip, retRegIndexes);
+            return calleeSF;
+        }
 
+        calleeSF = new StackFrame(callableUnitInfo, workerInfo, ip, retRegIndexes);
+        callerSF.cachedCalleeFrame = calleeSF;
+        return calleeSF;
     }
 
     public void invokeWorker(WorkerDataChannelInfo workerDataChannel,
                              WrkrInteractionArgsCPEntry wrkrIntRefCPEntry) {
         StackFrame currentFrame = controlStack.currentFrame;
+        int[] argRegs = wrkrIntRefCPEntry.getArgRegs();
+        BType[] types = wrkrIntRefCPEntry.getbTypes();
+
+        workerDataChannel.setTypes(types);
+        if (argRegs.length == 1) {
+            Object reference = getReferenceArgValue(currentFrame, argRegs[0], types[0]);
+            shareValue(reference);
+            workerDataChannel.putData(getPrimitiveArgValue(currentFrame, argRegs[0], types[0]), reference);
+            return;
+        }
 
-        // Extract the outgoing expressions
-        BValue[] arguments = new BValue[wrkrIntRefCPEntry.getbTypes().length];
-        copyArgValuesForWorkerInvoke(currentFrame, wrkrIntRefCPEntry.getArgRegs(),
-                wrkrIntRefCPEntry.getbTypes(), arguments);
-
-        //populateArgumentValuesForWorker(expressions, arguments);
-        workerDataChannel.setTypes(wrkrIntRefCPEntry.getbTypes());
-        workerDataChannel.putData(arguments);
+        WorkerDataChannel.Values values = new WorkerDataChannel.Values(argRegs.length);
+        for (int i = 0; i < argRegs.length; i++) {
+            values.primitives[i] = getPrimitiveArgValue(currentFrame, argRegs[i], types[i]);
+            values.references[i] = getReferenceArgValue(currentFrame, argRegs[i], types[i]);
+            shareValue(values.references[i]);
+        }
+        workerDataChannel.putData(0, values);
     }
 
     public void invokeForkJoin(ForkJoinCPEntry forkJoinCPEntry) {
@@ -2611,7 +3146,8 @@ public class BLangVM {
         List<BLangVMWorkers.WorkerExecutor> workerRunnerList = new ArrayList<>();
         long timeout = Long.MAX_VALUE;
         if (forkjoinInfo.isTimeoutAvailable()) {
-            timeout = this.controlStack.currentFrame.getLongRegs()[0];
+            // In FORK_JOIN_TIMEOUT_UNIT, seconds unless configured otherwise
+            timeout = this.controlStack.currentFrame.getLongRegs()[forkjoinInfo.getRetRegs()[0]];
         }
         Queue<WorkerResult> resultMsgs = new ConcurrentLinkedQueue<>();
         Map<String, BLangVMWorkers.WorkerExecutor> workers = new HashMap<>();
@@ -2643,43 +3179,131 @@ public class BLangVM {
         } else {
             workerCount = joinWorkerNames.size();
         }
-        boolean success = this.invokeJoinWorkers(workers, joinWorkerNames, workerCount, timeout);
+        boolean partial = workerCount < joinWorkerNames.size();
+        if (context.isInTransaction() || context.blockingInvocation) {
+            boolean success = this.invokeJoinWorkers(workers, joinWorkerNames, workerCount, timeout);
+            this.ip = completeForkJoin(this.controlStack.currentFrame, forkjoinInfo, workers.values(), resultMsgs,
+                    success, partial);
+            return;
+        }
+        suspendOnJoin(forkjoinInfo, workers, joinWorkerNames, workerCount, timeout, resultMsgs, partial);
+    }
+
+    /**
+     * Complete a fork-join once enough joined workers completed or its timeout expired. The workers whose results
+     * are no longer read are stopped, and the results are handed over to the join or the timeout block.
+     *
+     * @param frame        frame of the fork-join
+     * @param forkjoinInfo fork-join to complete
+     * @param workers      workers of the fork-join
+     * @param resultMsgs   results of the completed workers
+     * @param success      true if enough joined workers completed, false if the timeout expired
+     * @param partial      true if only some of the joined workers had to complete
+     * @return address of the join or the timeout block to continue from
+     */
+    static int completeForkJoin(StackFrame frame, ForkjoinInfo forkjoinInfo,
+                                Collection<BLangVMWorkers.WorkerExecutor> workers, Queue<WorkerResult> resultMsgs,
+                                boolean success, boolean partial) {
+        if (!success || partial) {
+            // Nobody reads the results of the workers which are still running, so stop them
+            workers.forEach(BLangVMWorkers.WorkerExecutor::cancel);
+        }
+        BMap<String, BRefValueArray> mbMap = new BMap<>();
+        for (WorkerResult workerResult : resultMsgs) {
+            mbMap.put(workerResult.getWorkerName(), workerResult.getResult());
+        }
         if (success) {
-            this.ip = forkjoinInfo.getJoinIp();
             /* assign values to join block message arrays */
-            int offsetJoin = forkjoinInfo.getJoinMemOffset();
-            BMap<String, BRefValueArray> mbMap = new BMap<>();
-            for (WorkerResult workerResult : resultMsgs) {
-                mbMap.put(workerResult.getWorkerName(), workerResult.getResult());
-            }
-            this.controlStack.currentFrame.getRefLocalVars()[offsetJoin] = mbMap;
-        } else {
-            /* timed out */
-            this.ip = forkjoinInfo.getTimeoutIp();
-            /* execute the timeout block */
-            int offsetTimeout = forkjoinInfo.getTimeoutMemOffset();
-            BMap<String, BRefValueArray> mbMap = new BMap<>();
-            for (WorkerResult workerResult : resultMsgs) {
-                mbMap.put(workerResult.getWorkerName(), workerResult.getResult());
-            }
-            this.controlStack.currentFrame.getRefLocalVars()[offsetTimeout] = mbMap;
-        }     
+            frame.getRefLocalVars()[forkjoinInfo.getJoinMemOffset()] = mbMap;
+            return forkjoinInfo.getJoinIp();
+        }
+        /* timed out, execute the timeout block */
+        frame.getRefLocalVars()[forkjoinInfo.getTimeoutMemOffset()] = mbMap;
+        return forkjoinInfo.getTimeoutIp();
     }
-    
+
+    // Blocks the thread until enough joined workers complete or the timeout expires
     private boolean invokeJoinWorkers(Map<String, BLangVMWorkers.WorkerExecutor> workers, 
             Set<String> joinWorkerNames, int joinCount, long timeout) {
-        ExecutorService exec = ThreadPoolFactory.getInstance().getWorkerExecutor();
         Semaphore resultCounter = new Semaphore(-joinCount + 1);
+        startJoinWorkers(workers, joinWorkerNames, resultCounter::release);
+        if (timeout == Long.MAX_VALUE && joinCount == joinWorkerNames.size()) {
+            // Every joined worker has to complete, so help by running the ones no pool thread has started yet
+            for (String workerName : joinWorkerNames) {
+                BLangVMWorkers.WorkerExecutor worker = workers.get(workerName);
+                if (worker != null) {
+                    worker.runIfUnclaimed();
+                }
+            }
+        }
+        try {
+            return BLangWorkStealingPool.tryAcquire(resultCounter, timeout, FORK_JOIN_TIMEOUT_UNIT);
+        } catch (InterruptedException ignore) {
+            return false;
+        }
+    }
+
+    /**
+     * Start the workers of a fork-join and suspend the worker until the join completes, unless it already has by
+     * then. The worker is resumed on another thread from the join or the timeout block, see {@link ForkJoinWait}.
+     */
+    private void suspendOnJoin(ForkjoinInfo forkjoinInfo, Map<String, BLangVMWorkers.WorkerExecutor> workers,
+                               Set<String> joinWorkerNames, int joinCount, long timeout,
+                               Queue<WorkerResult> resultMsgs, boolean partial) {
+        StackFrame currentFrame = this.controlStack.currentFrame;
+        ForkJoinWait wait = new ForkJoinWait(context, currentFrame, forkjoinInfo, workers.values(), resultMsgs,
+                joinCount, partial);
+        // Save the state to resume from first, the join may complete on another thread at any time.
+        context.programFile = programFile;
+        context.setCancelHandler(wait::cancel);
+        startJoinWorkers(workers, joinWorkerNames, wait::onResult);
+        if (timeout != Long.MAX_VALUE) {
+            wait.scheduleTimeout(timeout, FORK_JOIN_TIMEOUT_UNIT);
+        }
+        if (context.isCancelled()) {
+            wait.cancel();
+        }
+        if (wait.suspend()) {
+            ip = -1;
+            suspended = true;
+            return;
+        }
+
+        // Already completed, continue on this thread.
+        context.setCancelHandler(null);
+        if (context.isCancelled()) {
+            workers.values().forEach(BLangVMWorkers.WorkerExecutor::cancel);
+            ip = -1;
+            return;
+        }
+        ip = completeForkJoin(currentFrame, forkjoinInfo, workers.values(), resultMsgs, wait.isSuccess(), partial);
+    }
+
+    private static void startJoinWorkers(Map<String, BLangVMWorkers.WorkerExecutor> workers,
+                                         Set<String> joinWorkerNames, Runnable resultListener) {
+        ExecutorService exec = ThreadPoolFactory.getInstance().getWorkerExecutor();
+        VMStats stats = VMStats.getInstance();
         workers.forEach((k, v) -> {
             if (joinWorkerNames.contains(k)) {
-                v.setResultCounterSemaphore(resultCounter);
+                v.setResultListener(resultListener);
+            }
+            exec.execute(v);
+            if (stats != null) {
+                stats.onWorkerSpawn();
             }
-            exec.submit(v);
         });
+    }
+
+    private static TimeUnit getForkJoinTimeoutUnit() {
+        String unit = System.getProperty(Constants.SYSTEM_PROP_BAL_FORK_JOIN_TIMEOUT_UNIT);
+        if (unit == null) {
+            return TimeUnit.SECONDS;
+        }
         try {
-            return resultCounter.tryAcquire(timeout, TimeUnit.SECONDS);
-        } catch (InterruptedException ignore) {
-            return false;
+            return TimeUnit.valueOf(unit.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            logger.warn("invalid fork-join timeout unit " + unit + ", using seconds");
+            return TimeUnit.SECONDS;
         }
     }
 
@@ -2704,7 +3328,8 @@ public class BLangVM {
             this.controlStack = this.context.getControlStackNew();
             controlStack.popFrame();
             this.constPool = this.controlStack.currentFrame.packageInfo.getConstPoolEntries();
-            this.code = this.controlStack.currentFrame.packageInfo.getInstructions();
+            this.code = this.controlStack.currentFrame.packageInfo.getCode();
+            this.callSites = this.controlStack.currentFrame.packageInfo.getCallSites();
             ip = parentSF.retAddrs;
         } else {
             String msg = workerContext.parentSF.returnedWorker + " already returned.";
@@ -2713,45 +3338,106 @@ public class BLangVM {
         }
     }
 
+    /**
+     * Receive the values sent to this worker over the given channel. Unless they have already arrived, the worker is
+     * suspended until they arrive, the receive times out or the worker is cancelled, see {@link SuspendedReceive}.
+     * Workers in a transaction, or whose invoker waits on their thread, are not suspended and block instead; a
+     * work-stealing pool compensates for the blocked thread meanwhile.
+     *
+     * @param workerDataChannel channel to receive from
+     * @param wrkrIntCPEntry    registers to receive the values into
+     */
     public void replyWorker(WorkerDataChannelInfo workerDataChannel,
                             WrkrInteractionArgsCPEntry wrkrIntCPEntry) {
+        if (!context.isInTransaction() && !context.blockingInvocation) {
+            receiveOrSuspend(workerDataChannel, wrkrIntCPEntry);
+            return;
+        }
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        Thread receiver = Thread.currentThread();
+        context.setCancelHandler(() -> LockSupport.unpark(receiver));
+        boolean received;
+        try {
+            received = !context.isCancelled() && workerDataChannel.takeData(message, context::isCancelled);
+        } finally {
+            context.setCancelHandler(null);
+        }
+        if (context.isCancelled()) {
+            ip = -1;
+            return;
+        }
+        if (!received) {
+            context.setError(BLangVMErrors.createIllegalStateException(context, ip,
+                    "timed out receiving from channel " + workerDataChannel.getChannelName()));
+            handleError();
+            return;
+        }
+        copyArgValuesForWorkerReply(controlStack.currentFrame, wrkrIntCPEntry.getbTypes(), message);
+    }
 
-        BValue[] passedInValues = (BValue[]) workerDataChannel.takeData();
-        StackFrame currentFrame = controlStack.currentFrame;
-        copyArgValuesForWorkerReply(currentFrame, wrkrIntCPEntry.getArgRegs(),
-                wrkrIntCPEntry.getbTypes(), passedInValues);
+    private void receiveOrSuspend(WorkerDataChannelInfo workerDataChannel,
+                                  WrkrInteractionArgsCPEntry wrkrIntCPEntry) {
+        if (context.isCancelled()) {
+            ip = -1;
+            return;
+        }
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        SuspendedReceive receiver = new SuspendedReceive(context, controlStack.currentFrame,
+                wrkrIntCPEntry.getbTypes(), workerDataChannel.getChannelName(), ip);
+        // Save the state to resume from first, the values may be sent on another thread at any time.
+        context.programFile = programFile;
+        context.setCancelHandler(receiver::cancel);
+        if (workerDataChannel.takeData(message, receiver)) {
+            context.setCancelHandler(null);
+            copyArgValuesForWorkerReply(controlStack.currentFrame, wrkrIntCPEntry.getbTypes(), message);
+            return;
+        }
+
+        ip = -1;
+        suspended = true;
+        receiver.scheduleTimeout(WorkerDataChannelInfo.RECEIVE_TIMEOUT, TimeUnit.SECONDS);
+        if (context.isCancelled()) {
+            // Cancelled before the cancel handler could find the receiver
+            receiver.cancel();
+        }
     }
 
-    public static void copyArgValuesForWorkerInvoke(StackFrame callerSF, int[] argRegs, BType[] paramTypes,
-                                                    BValue[] arguments) {
-        for (int i = 0; i < argRegs.length; i++) {
-            BType paramType = paramTypes[i];
-            int argReg = argRegs[i];
-            switch (paramType.getTag()) {
-                case TypeTags.INT_TAG:
-                    arguments[i] = new BInteger(callerSF.longRegs[argReg]);
-                    break;
-                case TypeTags.FLOAT_TAG:
-                    arguments[i] = new BFloat(callerSF.doubleRegs[argReg]);
-                    break;
-                case TypeTags.STRING_TAG:
-                    arguments[i] = new BString(callerSF.stringRegs[argReg]);
-                    break;
-                case TypeTags.BOOLEAN_TAG:
-                    boolean temp = (callerSF.intRegs[argReg]) > 0 ? true : false;
-                    arguments[i] = new BBoolean(temp);
-                    break;
-                case TypeTags.BLOB_TAG:
-                    arguments[i] = new BBlob(callerSF.byteRegs[argReg]);
-                    break;
-                default:
-                    arguments[i] = callerSF.refRegs[argReg];
-            }
+    private static long getPrimitiveArgValue(StackFrame callerSF, int argReg, BType paramType) {
+        switch (paramType.getTag()) {
+            case TypeTags.INT_TAG:
+                return callerSF.longRegs[argReg];
+            case TypeTags.FLOAT_TAG:
+                return Double.doubleToRawLongBits(callerSF.doubleRegs[argReg]);
+            case TypeTags.BOOLEAN_TAG:
+                return callerSF.intRegs[argReg];
+            default:
+                return 0;
+        }
+    }
+
+    private static Object getReferenceArgValue(StackFrame callerSF, int argReg, BType paramType) {
+        switch (paramType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return null;
+            case TypeTags.STRING_TAG:
+                return callerSF.stringRegs[argReg];
+            case TypeTags.BLOB_TAG:
+                return callerSF.byteRegs[argReg];
+            default:
+                return callerSF.refRegs[argReg];
         }
     }
 
-    public static void copyArgValuesForWorkerReply(StackFrame currentSF, int[] argRegs, BType[] paramTypes,
-                                                   BValue[] passedInValues) {
+    static void copyArgValuesForWorkerReply(StackFrame currentSF, BType[] paramTypes,
+                                            WorkerDataChannel.Message message) {
+        if (paramTypes.length == 1) {
+            copyArgValueForWorkerReply(currentSF, paramTypes[0], 0, message.primitive, message.reference);
+            return;
+        }
+
+        WorkerDataChannel.Values values = (WorkerDataChannel.Values) message.reference;
         int longRegIndex = -1;
         int doubleRegIndex = -1;
         int stringRegIndex = -1;
@@ -2759,27 +3445,77 @@ public class BLangVM {
         int blobRegIndex = -1;
         int refRegIndex = -1;
 
-        for (int i = 0; i < argRegs.length; i++) {
-            BType paramType = paramTypes[i];
-            switch (paramType.getTag()) {
+        for (int i = 0; i < paramTypes.length; i++) {
+            int regIndex;
+            switch (paramTypes[i].getTag()) {
                 case TypeTags.INT_TAG:
-                    currentSF.getLongRegs()[++longRegIndex] = ((BInteger) passedInValues[i]).intValue();
+                    regIndex = ++longRegIndex;
                     break;
                 case TypeTags.FLOAT_TAG:
-                    currentSF.getDoubleRegs()[++doubleRegIndex] = ((BFloat) passedInValues[i]).floatValue();
+                    regIndex = ++doubleRegIndex;
                     break;
                 case TypeTags.STRING_TAG:
-                    currentSF.getStringRegs()[++stringRegIndex] = ((BString) passedInValues[i]).stringValue();
+                    regIndex = ++stringRegIndex;
                     break;
                 case TypeTags.BOOLEAN_TAG:
-                    currentSF.getIntRegs()[++booleanRegIndex] = (((BBoolean) passedInValues[i]).booleanValue()) ? 1 : 0;
+                    regIndex = ++booleanRegIndex;
                     break;
                 case TypeTags.BLOB_TAG:
-                    currentSF.getByteRegs()[++blobRegIndex] = ((BBlob) passedInValues[i]).blobValue();
+                    regIndex = ++blobRegIndex;
                     break;
                 default:
-                    currentSF.getRefRegs()[++refRegIndex] = (BRefType) passedInValues[i];
+                    regIndex = ++refRegIndex;
             }
+            copyArgValueForWorkerReply(currentSF, paramTypes[i], regIndex, values.primitives[i],
+                    values.references[i]);
+        }
+    }
+
+    private static void copyArgValueForWorkerReply(StackFrame currentSF, BType paramType, int regIndex,
+                                                   long primitive, Object reference) {
+        switch (paramType.getTag()) {
+            case TypeTags.INT_TAG:
+                currentSF.longRegs[regIndex] = primitive;
+                break;
+            case TypeTags.FLOAT_TAG:
+                currentSF.doubleRegs[regIndex] = Double.longBitsToDouble(primitive);
+                break;
+            case TypeTags.STRING_TAG:
+                currentSF.stringRegs[regIndex] = (String) reference;
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                currentSF.intRegs[regIndex] = primitive > 0 ? 1 : 0;
+                break;
+            case TypeTags.BLOB_TAG:
+                currentSF.byteRegs[regIndex] = (byte[]) reference;
+                break;
+            default:
+                currentSF.refRegs[regIndex] = (BRefType) reference;
+        }
+    }
+
+    /**
+     * Box a value received from a worker data channel.
+     *
+     * @param paramType type of the value
+     * @param primitive primitive value of the message
+     * @param reference reference value of the message
+     * @return boxed value
+     */
+    static BRefType getWorkerMessageValue(BType paramType, long primitive, Object reference) {
+        switch (paramType.getTag()) {
+            case TypeTags.INT_TAG:
+                return BInteger.valueOf(primitive);
+            case TypeTags.FLOAT_TAG:
+                return BFloat.valueOf(Double.longBitsToDouble(primitive));
+            case TypeTags.STRING_TAG:
+                return BString.valueOf((String) reference);
+            case TypeTags.BOOLEAN_TAG:
+                return BBoolean.valueOf(primitive > 0);
+            case TypeTags.BLOB_TAG:
+                return new BBlob((byte[]) reference);
+            default:
+                return (BRefType) reference;
         }
     }
 
@@ -2808,6 +3544,7 @@ public class BLangVM {
         }
 
         for (int i = 0; i <= refLocalVals; i++) {
+            BMap.share(callerSF.getRefLocalVars()[i]);
             calleeSF.getRefLocalVars()[i] = callerSF.getRefLocalVars()[i];
         }
 
@@ -2825,9 +3562,51 @@ public class BLangVM {
         System.arraycopy(parent.stringLocalVars, 0, workerSF.stringLocalVars, 0, parent.stringLocalVars.length);
         System.arraycopy(parent.byteLocalVars, 0, workerSF.byteLocalVars, 0, parent.byteLocalVars.length);
         System.arraycopy(parent.refLocalVars, 0, workerSF.refLocalVars, 0, parent.refLocalVars.length);
+        // The workers run concurrently with the parent, so the values they get escape the parent
+        for (BRefType value : parent.refLocalVars) {
+            BMap.share(value);
+        }
+    }
+
+    private static void shareValue(Object value) {
+        if (value instanceof BValue) {
+            BMap.share((BValue) value);
+        }
     }
 
 
+    private static void copyArgValues(StackFrame callerSF, StackFrame calleeSF, int[] argRegs, int[] paramTypeTags) {
+        int longRegIndex = -1;
+        int doubleRegIndex = -1;
+        int stringRegIndex = -1;
+        int booleanRegIndex = -1;
+        int refRegIndex = -1;
+        int blobRegIndex = -1;
+
+        for (int i = 0; i < argRegs.length; i++) {
+            int argReg = argRegs[i];
+            switch (paramTypeTags[i]) {
+                case TypeTags.INT_TAG:
+                    calleeSF.longLocalVars[++longRegIndex] = callerSF.longRegs[argReg];
+                    break;
+                case TypeTags.FLOAT_TAG:
+                    calleeSF.doubleLocalVars[++doubleRegIndex] = callerSF.doubleRegs[argReg];
+                    break;
+                case TypeTags.STRING_TAG:
+                    calleeSF.stringLocalVars[++stringRegIndex] = callerSF.stringRegs[argReg];
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    calleeSF.intLocalVars[++booleanRegIndex] = callerSF.intRegs[argReg];
+                    break;
+                case TypeTags.BLOB_TAG:
+                    calleeSF.byteLocalVars[++blobRegIndex] = callerSF.byteRegs[argReg];
+                    break;
+                default:
+                    calleeSF.refLocalVars[++refRegIndex] = callerSF.refRegs[argReg];
+            }
+        }
+    }
+
     public static void copyArgValues(StackFrame callerSF, StackFrame calleeSF, int[] argRegs, BType[] paramTypes) {
         int longRegIndex = -1;
         int doubleRegIndex = -1;
@@ -2865,9 +3644,14 @@ public class BLangVM {
         StackFrame currentSF = controlStack.popFrame();
         if (controlStack.currentFrame != null) {
             StackFrame callersSF = controlStack.currentFrame;
-            // TODO Improve
-            this.constPool = callersSF.packageInfo.getConstPoolEntries();
-            this.code = callersSF.packageInfo.getInstructions();
+            if (callersSF.packageInfo != currentSF.packageInfo) {
+                this.constPool = callersSF.packageInfo.getConstPoolEntries();
+                this.code = callersSF.packageInfo.getCode();
+                this.callSites = callersSF.packageInfo.getCallSites();
+            }
+            if (callersSF.cachedCalleeFrame == currentSF && currentSF.reusable) {
+                currentSF.releaseReferences();
+            }
         }
         ip = currentSF.retAddrs;
     }
@@ -2925,23 +3709,39 @@ public class BLangVM {
         return sb.toString();
     }
 
-    private void invokeNativeFunction(FunctionInfo functionInfo, FunctionCallCPEntry funcCallCPEntry) {
+    private void invokeNativeFunction(CallSiteInfo callSiteInfo) {
         StackFrame callerSF = controlStack.currentFrame;
+        FunctionInfo functionInfo = (FunctionInfo) callSiteInfo.getCallableUnitInfo();
 
         // TODO : Remove once we handle this properly for return values
         BType[] retTypes = functionInfo.getRetParamTypes();
         BValue[] returnValues = new BValue[retTypes.length];
 
-        StackFrame caleeSF = new StackFrame(functionInfo, functionInfo.getDefaultWorkerInfo(), ip, null, returnValues);
-        copyArgValues(callerSF, caleeSF, funcCallCPEntry.getArgRegs(),
-                functionInfo.getParamTypes());
+        StackFrame caleeSF = new StackFrame(functionInfo, callSiteInfo.getWorkerInfo(), ip, null, returnValues);
+        copyArgValues(callerSF, caleeSF, callSiteInfo.getArgRegs(), callSiteInfo.getParamTypeTags());
 
         controlStack.pushFrame(caleeSF);
 
+        VMStats stats = VMStats.getInstance();
+        if (stats != null) {
+            stats.onNativeFunctionInvocation();
+        }
+
         // Invoke Native function;
         AbstractNativeFunction nativeFunction = functionInfo.getNativeFunction();
         try {
-            nativeFunction.executeNative(context);
+            if (nativeFunction.isNonBlockingFunction()) {
+                context.setStartIP(ip);
+                if (awaitNativeCall(callSiteInfo, caleeSF, nativeFunction.executeNonBlocking(context))) {
+                    return;
+                }
+                if (context.getError() != null) {
+                    handleError();
+                    return;
+                }
+            } else {
+                nativeFunction.executeNative(context);
+            }
         } catch (Throwable e) {
             context.setError(BLangVMErrors.createError(this.context, ip, e.getMessage()));
             handleError();
@@ -2949,13 +3749,14 @@ public class BLangVM {
         }
         // Copy return values to the callers stack
         controlStack.popFrame();
-        handleReturnFromNativeCallableUnit(callerSF, funcCallCPEntry.getRetRegs(), returnValues, retTypes);
+        handleReturnFromNativeCallableUnit(callerSF, callSiteInfo.getRetRegs(), returnValues, retTypes);
     }
 
-    private void invokeNativeAction(ActionInfo actionInfo, FunctionCallCPEntry funcCallCPEntry) {
+    private void invokeNativeAction(CallSiteInfo callSiteInfo) {
         StackFrame callerSF = controlStack.currentFrame;
+        ActionInfo actionInfo = (ActionInfo) callSiteInfo.getCallableUnitInfo();
 
-        WorkerInfo defaultWorkerInfo = actionInfo.getDefaultWorkerInfo();
+        WorkerInfo defaultWorkerInfo = callSiteInfo.getWorkerInfo();
         AbstractNativeAction nativeAction = actionInfo.getNativeAction();
 
         if (nativeAction == null) {
@@ -2967,64 +3768,116 @@ public class BLangVM {
         BValue[] returnValues = new BValue[retTypes.length];
 
         StackFrame caleeSF = new StackFrame(actionInfo, defaultWorkerInfo, ip, null, returnValues);
-        copyArgValues(callerSF, caleeSF, funcCallCPEntry.getArgRegs(),
-                actionInfo.getParamTypes());
+        copyArgValues(callerSF, caleeSF, callSiteInfo.getArgRegs(), callSiteInfo.getParamTypeTags());
 
 
         controlStack.pushFrame(caleeSF);
 
         try {
-            boolean nonBlocking = !context.isInTransaction() && nativeAction.isNonBlockingAction() &&
-                    !context.blockingInvocation;
-            BClientConnectorFutureListener listener = new BClientConnectorFutureListener(context, nonBlocking);
-            if (nonBlocking) {
-                // Enable non-blocking.
-                context.setStartIP(ip);
-                // TODO : Temporary solution to make non-blocking working.
-                if (caleeSF.packageInfo == null) {
-                    caleeSF.packageInfo = actionInfo.getPackageInfo();
-                }
-                context.programFile = programFile;
-                context.funcCallCPEntry = funcCallCPEntry;
-                context.actionInfo = actionInfo;
-
-                ConnectorFuture future = nativeAction.execute(context);
-                if (future == null) {
-                    throw new BallerinaException("Native action doesn't provide a future object to sync");
-                }
-                future.setConnectorFutureListener(listener);
-
-                ip = -1;
+            // Errors notified by the future refer to the invocation instruction
+            context.setStartIP(ip);
+            boolean suspendedOnAction = awaitNativeCall(callSiteInfo, caleeSF, nativeAction.execute(context));
+            VMStats stats = VMStats.getInstance();
+            if (stats != null) {
+                stats.onNativeActionInvocation(suspendedOnAction);
+            }
+            if (suspendedOnAction) {
+                return;
+            }
+            if (context.getError() != null) {
+                handleError();
                 return;
-            } else {
-                ConnectorFuture future = nativeAction.execute(context);
-                if (future == null) {
-                    throw new BallerinaException("Native action doesn't provide a future object to sync");
-                }
-                future.setConnectorFutureListener(listener);
-                //default nonBlocking timeout 5 mins
-                long timeout = 300000;
-                boolean res = listener.sync(timeout);
-                if (!res) {
-                    //non blocking execution timed out.
-                    throw new BallerinaException("Action execution timed out, timeout period - " + timeout
-                            + ", Action - " + nativeAction.getPackagePath() + ":" + nativeAction.getName());
-                }
-                if (context.getError() != null) {
-                    handleError();
-                }
-                // Copy return values to the callers stack
-                controlStack.popFrame();
-                handleReturnFromNativeCallableUnit(callerSF, funcCallCPEntry.getRetRegs(), returnValues, retTypes);
-
             }
+            // Copy return values to the callers stack
+            controlStack.popFrame();
+            handleReturnFromNativeCallableUnit(callerSF, callSiteInfo.getRetRegs(), returnValues, retTypes);
         } catch (Throwable e) {
             context.setError(BLangVMErrors.createError(this.context, ip, e.getMessage()));
             handleError();
-            return;
         }
     }
 
+    /**
+     * Wait for the future of the native callable unit invoked at the given call site. Unless the future has already
+     * completed, the worker is suspended and this thread is released: the VM stops, and the worker is resumed from
+     * its saved frames on another thread once the future completes, see {@link #resumeSuspendedCall}. Workers in a
+     * transaction, or whose invoker waits on their thread, are not suspended and block until the future completes
+     * or the worker is cancelled.
+     * <p>
+     * Worker receives and fork-join joins suspend workers the same way, see {@link #replyWorker} and
+     * {@link #suspendOnJoin}.
+     *
+     * @param callSiteInfo call site of the native callable unit
+     * @param calleeSF     frame of the native callable unit
+     * @param future       future of the native callable unit
+     * @return true if the worker has been suspended or cancelled, and the VM has to stop
+     */
+    private boolean awaitNativeCall(CallSiteInfo callSiteInfo, StackFrame calleeSF, ConnectorFuture future) {
+        CallableUnitInfo callableUnitInfo = callSiteInfo.getCallableUnitInfo();
+        if (future == null) {
+            throw new BallerinaException("Native callable unit doesn't provide a future object to sync");
+        }
+
+        BClientConnectorFutureListener listener = new BClientConnectorFutureListener(context);
+        if (context.isInTransaction() || context.blockingInvocation) {
+            future.setConnectorFutureListener(listener);
+            context.setCancelHandler(() -> {
+                listener.cancel();
+                future.cancel();
+            });
+            try {
+                if (context.isCancelled()) {
+                    listener.cancel();
+                    future.cancel();
+                } else if (!listener.sync(NATIVE_CALL_TIMEOUT)) {
+                    throw new BallerinaException("Action execution timed out, timeout period - " +
+                            NATIVE_CALL_TIMEOUT + ", Action - " + callableUnitInfo.getPkgPath() + ":" +
+                            callableUnitInfo.getName());
+                }
+            } finally {
+                context.setCancelHandler(null);
+            }
+            if (context.isCancelled()) {
+                // Abandon the result, the worker has been cancelled
+                ip = -1;
+                return true;
+            }
+            return false;
+        }
+
+        // Save the state to resume from first, the future may complete on another thread at any time.
+        if (calleeSF.packageInfo == null) {
+            calleeSF.packageInfo = callableUnitInfo.getPackageInfo();
+        }
+        context.programFile = programFile;
+        context.setSuspendedCallSite(callSiteInfo);
+        future.setConnectorFutureListener(listener);
+        if (!listener.suspend()) {
+            // Already completed, continue on this thread.
+            context.setSuspendedCallSite(null);
+            return false;
+        }
+
+        ip = -1;
+        suspended = true;
+        return true;
+    }
+
+    /**
+     * Return from the native callable unit the worker has been suspended on, to continue its execution.
+     *
+     * @param callSiteInfo call site of the native callable unit
+     */
+    private void resumeSuspendedCall(CallSiteInfo callSiteInfo) {
+        StackFrame calleeSF = controlStack.popFrame();
+        StackFrame callerSF = controlStack.currentFrame;
+        this.constPool = callerSF.packageInfo.getConstPoolEntries();
+        this.code = callerSF.packageInfo.getCode();
+        this.callSites = callerSF.packageInfo.getCallSites();
+        handleReturnFromNativeCallableUnit(callerSF, callSiteInfo.getRetRegs(), calleeSF.returnValues,
+                callSiteInfo.getCallableUnitInfo().getRetParamTypes());
+    }
+
     public static void handleReturnFromNativeCallableUnit(StackFrame callerSF, int[] returnRegIndexes,
                                                           BValue[] returnValues, BType[] retTypes) {
         for (int i = 0; i < returnValues.length; i++) {
@@ -3083,7 +3936,7 @@ public class BLangVM {
     private boolean checkCast(BValue sourceValue, BType targetType) {
         BType sourceType = sourceValue.getType();
 
-        if (sourceType.equals(targetType)) {
+        if (sourceType == targetType || sourceType.equals(targetType)) {
             return true;
         }
 
@@ -3139,6 +3992,17 @@ public class BLangVM {
     }
 
     public static boolean checkStructEquivalency(BStructType sourceType, BStructType targetType) {
+        Boolean cachedResult = StructEquivalencyCache.get(sourceType, targetType);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
+        boolean equivalent = isStructEquivalent(sourceType, targetType);
+        StructEquivalencyCache.put(sourceType, targetType, equivalent);
+        return equivalent;
+    }
+
+    private static boolean isStructEquivalent(BStructType sourceType, BStructType targetType) {
         // Struct Type equivalency
         BStructType.StructField[] sFields = sourceType.getStructFields();
         BStructType.StructField[] tFields = targetType.getStructFields();
@@ -3207,10 +4071,10 @@ public class BLangVM {
         return false;
     }
 
-    private void convertJSONToInt(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertJSONToInt(int op, StackFrame sf) {
+        int i = code[op];
+        int j = code[op + 1];
+        int k = code[op + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3238,10 +4102,10 @@ public class BLangVM {
         handleTypeConversionError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.INT_TNAME);
     }
 
-    private void convertJSONToFloat(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertJSONToFloat(int op, StackFrame sf) {
+        int i = code[op];
+        int j = code[op + 1];
+        int k = code[op + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3269,10 +4133,10 @@ public class BLangVM {
         handleTypeConversionError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.FLOAT_TNAME);
     }
 
-    private void convertJSONToString(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertJSONToString(int op, StackFrame sf) {
+        int i = code[op];
+        int j = code[op + 1];
+        int k = code[op + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3301,10 +4165,10 @@ public class BLangVM {
         handleTypeConversionError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.STRING_TNAME);
     }
 
-    private void convertJSONToBoolean(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertJSONToBoolean(int op, StackFrame sf) {
+        int i = code[op];
+        int j = code[op + 1];
+        int k = code[op + 2];
 
         BJSON jsonValue = (BJSON) sf.refRegs[i];
         if (jsonValue == null) {
@@ -3333,9 +4197,9 @@ public class BLangVM {
         handleTypeConversionError(sf, k, JSONUtils.getTypeName(jsonNode), TypeConstants.BOOLEAN_TNAME);
     }
 
-    private void convertStructToMap(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
+    private void convertStructToMap(int op, StackFrame sf) {
+        int i = code[op];
+        int j = code[op + 1];
 
         BStruct bStruct = (BStruct) sf.refRegs[i];
         if (bStruct == null) {
@@ -3357,16 +4221,16 @@ public class BLangVM {
             BType fieldType = structField.getFieldType();
             switch (fieldType.getTag()) {
                 case TypeTags.INT_TAG:
-                    map.put(key, new BInteger(bStruct.getIntField(++longRegIndex)));
+                    map.put(key, BInteger.valueOf(bStruct.getIntField(++longRegIndex)));
                     break;
                 case TypeTags.FLOAT_TAG:
-                    map.put(key, new BFloat(bStruct.getFloatField(++doubleRegIndex)));
+                    map.put(key, BFloat.valueOf(bStruct.getFloatField(++doubleRegIndex)));
                     break;
                 case TypeTags.STRING_TAG:
-                    map.put(key, new BString(bStruct.getStringField(++stringRegIndex)));
+                    map.put(key, BString.valueOf(bStruct.getStringField(++stringRegIndex)));
                     break;
                 case TypeTags.BOOLEAN_TAG:
-                    map.put(key, new BBoolean(bStruct.getBooleanField(++booleanRegIndex) == 1));
+                    map.put(key, BBoolean.valueOf(bStruct.getBooleanField(++booleanRegIndex) == 1));
                     break;
                 case TypeTags.BLOB_TAG:
                     map.put(key, new BBlob(bStruct.getBlobField(++blobRegIndex)));
@@ -3380,10 +4244,10 @@ public class BLangVM {
         sf.refRegs[j] = map;
     }
 
-    private void convertStructToJSON(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int j = operands[1];
-        int k = operands[2];
+    private void convertStructToJSON(int op, StackFrame sf) {
+        int i = code[op];
+        int j = code[op + 1];
+        int k = code[op + 2];
 
         BStruct bStruct = (BStruct) sf.refRegs[i];
         if (bStruct == null) {
@@ -3401,11 +4265,11 @@ public class BLangVM {
         }
     }
 
-    private void convertMapToStruct(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int cpIndex = operands[1];
-        int j = operands[2];
-        int k = operands[3];
+    private void convertMapToStruct(int op, StackFrame sf) {
+        int i = code[op];
+        int cpIndex = code[op + 1];
+        int j = code[op + 2];
+        int k = code[op + 3];
 
         TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
         BMap<String, BValue> bMap = (BMap<String, BValue>) sf.refRegs[i];
@@ -3504,11 +4368,11 @@ public class BLangVM {
         sf.refRegs[j] = bStruct;
     }
 
-    private void convertJSONToStruct(int[] operands, StackFrame sf) {
-        int i = operands[0];
-        int cpIndex = operands[1];
-        int j = operands[2];
-        int k = operands[3];
+    private void convertJSONToStruct(int op, StackFrame sf) {
+        int i = code[op];
+        int cpIndex = code[op + 1];
+        int j = code[op + 2];
+        int k = code[op + 3];
 
         TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) constPool[cpIndex];
         BJSON bjson = (BJSON) sf.refRegs[i];
@@ -3575,7 +4439,8 @@ public class BLangVM {
         if (match != null) {
             PackageInfo packageInfo = currentFrame.packageInfo;
             this.constPool = packageInfo.getConstPoolEntries();
-            this.code = packageInfo.getInstructions();
+            this.code = packageInfo.getCode();
+            this.callSites = packageInfo.getCallSites();
             ip = match.getIpTarget();
             return;
         }
@@ -3592,8 +4457,4 @@ public class BLangVM {
         }
         return null;
     }
-
-    private boolean isWaitingOnNonBlockingAction() {
-        return context.actionInfo != null;
-    }
 }
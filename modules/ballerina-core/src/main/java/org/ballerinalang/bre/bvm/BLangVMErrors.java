@@ -28,6 +28,7 @@ import org.ballerinalang.util.codegen.ActionInfo;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.LineNumberInfo;
 import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
 import org.ballerinalang.util.codegen.ResourceInfo;
 import org.ballerinalang.util.codegen.StructInfo;
 import org.slf4j.Logger;
@@ -257,57 +258,50 @@ public class BLangVMErrors {
     }
 
     /**
-     * Generate StackTraceItem array.
+     * Generate StackTraceItem array. The stack trace is captured as the callable unit and instruction pointer of
+     * each frame, and the StackTraceItem structs are created when the array is first accessed.
      *
      * @param context current Context
      * @param ip      current instruction pointer
      * @return generated StackTraceItem struct array
      */
     public static BRefValueArray generateStackTraceItems(Context context, int ip) {
-        BRefValueArray stackTraceItems = new BRefValueArray();
-        PackageInfo errorPackageInfo = context.getProgramFile().getPackageInfo(BUILTIN_PACKAGE);
+        return StackTraceArray.capture(context, ip);
+    }
+
+    /**
+     * Create the StackTraceItem struct of a frame.
+     *
+     * @param programFile      program the frame belongs to
+     * @param callableUnitInfo callable unit of the frame
+     * @param ip               instruction pointer of the frame
+     * @return generated StackTraceItem struct
+     */
+    static BStruct createStackTraceItem(ProgramFile programFile, CallableUnitInfo callableUnitInfo, int ip) {
+        PackageInfo errorPackageInfo = programFile.getPackageInfo(BUILTIN_PACKAGE);
         StructInfo stackTraceItem = errorPackageInfo.getStructInfo(STRUCT_FRAME);
-        ControlStackNew controlStack = context.getControlStackNew();
-
-        int currentIP = ip;
-        Object[] values;
-        int stackTraceLocation = 0;
-        StackFrame stackFrame = controlStack.currentFrame;
-        while (stackFrame != null) {
-            values = new Object[4];
-            CallableUnitInfo callableUnitInfo = stackFrame.callableUnitInfo;
-            if (callableUnitInfo == null) {
-                stackFrame = stackFrame.prevStackFrame;
-                continue;
-            }
+        Object[] values = new Object[4];
 
-            String parentScope = "";
-            if (callableUnitInfo instanceof ResourceInfo) {
-                parentScope = ((ResourceInfo) callableUnitInfo).getServiceInfo().getName() + ".";
-            } else if (callableUnitInfo instanceof ActionInfo) {
-                parentScope = ((ActionInfo) callableUnitInfo).getConnectorInfo().getName() + ".";
-            }
+        String parentScope = "";
+        if (callableUnitInfo instanceof ResourceInfo) {
+            parentScope = ((ResourceInfo) callableUnitInfo).getServiceInfo().getName() + ".";
+        } else if (callableUnitInfo instanceof ActionInfo) {
+            parentScope = ((ActionInfo) callableUnitInfo).getConnectorInfo().getName() + ".";
+        }
 
-            values[0] = parentScope + callableUnitInfo.getName();
-            values[1] = callableUnitInfo.getPkgPath();
-            if (callableUnitInfo.isNative()) {
-                values[2] = "<native>";
-                values[3] = 0;
-            } else {
-                LineNumberInfo lineNumberInfo = callableUnitInfo.getPackageInfo().getLineNumberInfo(currentIP);
-                if (lineNumberInfo != null) {
-                    values[2] = lineNumberInfo.getFileName();
-                    values[3] = lineNumberInfo.getLineNumber();
-                }
+        values[0] = parentScope + callableUnitInfo.getName();
+        values[1] = callableUnitInfo.getPkgPath();
+        if (callableUnitInfo.isNative()) {
+            values[2] = "<native>";
+            values[3] = 0;
+        } else {
+            LineNumberInfo lineNumberInfo = callableUnitInfo.getPackageInfo().getLineNumberInfo(ip);
+            if (lineNumberInfo != null) {
+                values[2] = lineNumberInfo.getFileName();
+                values[3] = lineNumberInfo.getLineNumber();
             }
-
-            stackTraceItems.add(stackTraceLocation, createBStruct(stackTraceItem, values));
-            // Always get the previous instruction pointer.
-            currentIP = stackFrame.retAddrs - 1;
-            stackTraceLocation++;
-            stackFrame = stackFrame.prevStackFrame;
         }
-        return stackTraceItems;
+        return createBStruct(stackTraceItem, values);
     }
 
     /**
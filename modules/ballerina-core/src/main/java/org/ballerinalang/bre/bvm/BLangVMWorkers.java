@@ -22,26 +22,24 @@ import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.types.TypeTags;
-import org.ballerinalang.model.values.BBlob;
-import org.ballerinalang.model.values.BBoolean;
-import org.ballerinalang.model.values.BFloat;
-import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BRefType;
 import org.ballerinalang.model.values.BRefValueArray;
-import org.ballerinalang.model.values.BString;
-import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 import org.ballerinalang.util.codegen.CallableUnitInfo;
 import org.ballerinalang.util.codegen.ProgramFile;
+import org.ballerinalang.util.codegen.WorkerDataChannel;
+import org.ballerinalang.util.codegen.WorkerDataChannelInfo;
 import org.ballerinalang.util.codegen.WorkerInfo;
 import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.jit.CompiledFunction;
+import org.ballerinalang.util.profiler.VMStats;
 
 import java.io.PrintStream;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class contains helper functions to invoke workers.
@@ -54,6 +52,7 @@ public class BLangVMWorkers {
                               Map<String, Object> properties) {
         StackFrame callerSF = parent.getControlStackNew().currentFrame;
         WorkerReturnIndex workerReturnIndex = calculateWorkerReturnIndex(callableUnitInfo.getRetParamTypes());
+        VMStats stats = VMStats.getInstance();
 
         for (WorkerInfo workerInfo : callableUnitInfo.getWorkerInfoMap().values()) {
             WorkerContext workerContext = new WorkerContext(programFile, parent);
@@ -70,7 +69,10 @@ public class BLangVMWorkers {
             WorkerExecutor workerRunner = new WorkerExecutor(bLangVM, workerContext, workerInfo, 
                     new ConcurrentLinkedQueue<>());
             workerContext.startTrackWorker();
-            executor.submit(workerRunner);
+            executor.execute(workerRunner);
+            if (stats != null) {
+                stats.onWorkerSpawn();
+            }
         }
 
     }
@@ -128,15 +130,26 @@ public class BLangVMWorkers {
         return index;
     }
 
+    /**
+     * Runs a worker. A fork-join branch is run either by the worker pool or by the joining parent, whichever claims
+     * it first, and is cancelled once the parent no longer waits for its result.
+     */
     static class WorkerExecutor implements Runnable {
 
+        private static final int UNCLAIMED = 0;
+        private static final int RUNNING = 1;
+        private static final int DONE = 2;
+        private static final int CANCELLED = 3;
+
         private static PrintStream outStream = System.out;
 
+        private final AtomicInteger state = new AtomicInteger(UNCLAIMED);
+
         private BLangVM bLangVM;
         private Context bContext;
         private WorkerInfo workerInfo;
         private Queue<WorkerResult> resultHolder;
-        private Semaphore resultCounter;
+        private Runnable resultListener;
 
         public WorkerExecutor(BLangVM bLangVM, Context bContext, WorkerInfo workerInfo, 
                 Queue<WorkerResult> resultHolder) {
@@ -146,51 +159,86 @@ public class BLangVMWorkers {
             this.resultHolder = resultHolder;
         }
 
-        @SuppressWarnings("rawtypes")
         @Override
         public void run() throws BallerinaException {
+            runIfUnclaimed();
+        }
+
+        /**
+         * Run the worker on the current thread, unless another thread already claimed it.
+         *
+         * @return true if the worker was run by the current thread
+         */
+        boolean runIfUnclaimed() {
+            if (!state.compareAndSet(UNCLAIMED, RUNNING)) {
+                return false;
+            }
+            try {
+                execute();
+            } finally {
+                if (!state.compareAndSet(RUNNING, DONE)) {
+                    // Cancelled while running
+                    CompiledFunction.releaseSafepoint();
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Cancel the worker, unless it has completed. A worker which has not started yet is dropped, and a running
+         * one is stopped by the VM at its next loop back edge, invocation or blocking wait.
+         */
+        void cancel() {
+            if (state.compareAndSet(UNCLAIMED, CANCELLED)) {
+                bContext.endTrackWorker();
+            } else if (state.compareAndSet(RUNNING, CANCELLED)) {
+                CompiledFunction.requestSafepoint();
+                bContext.cancel();
+            }
+        }
+
+        @SuppressWarnings("rawtypes")
+        private void execute() {
             BRefValueArray bRefValueArray = new BRefValueArray(new BArrayType(BTypes.typeAny));
             bLangVM.execWorker(bContext, workerInfo.getCodeAttributeInfo().getCodeAddrs());
+            if (bContext.isCancelled() || bLangVM.isSuspended()) {
+                // A suspended worker completes in the run resuming it, on another thread
+                return;
+            }
             if (bContext.getError() != null) {
                 String stackTraceStr = BLangVMErrors.getPrintableStackTrace(bContext.getError());
                 outStream.println("error in worker '" + workerInfo.getWorkerName() + "': " + stackTraceStr);
             }
 
-            if (workerInfo.getWorkerDataChannelInfoForForkJoin() != null) {
-                BValue[] results = (BValue[]) workerInfo.getWorkerDataChannelInfoForForkJoin().takeData();
-                BType[] types = workerInfo.getWorkerDataChannelInfoForForkJoin().getTypes();
-                for (int i = 0; i < types.length; i++) {
-                    BType paramType = types[i];
-                    switch (paramType.getTag()) {
-                        case TypeTags.INT_TAG:
-                            bRefValueArray.add(i, ((BInteger) results[i]));
-                            break;
-                        case TypeTags.FLOAT_TAG:
-                            bRefValueArray.add(i, ((BFloat) results[i]));
-                            break;
-                        case TypeTags.STRING_TAG:
-                            bRefValueArray.add(i, ((BString) results[i]));
-                            break;
-                        case TypeTags.BOOLEAN_TAG:
-                            bRefValueArray.add(i, ((BBoolean) results[i]));
-                            break;
-                        case TypeTags.BLOB_TAG:
-                            bRefValueArray.add(i, ((BBlob) results[i]));
-                            break;
-                        default:
-                            bRefValueArray.add(i, ((BRefType) results[i]));
+            WorkerDataChannelInfo forkJoinChannel = workerInfo.getWorkerDataChannelInfoForForkJoin();
+            WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+            if (forkJoinChannel != null && forkJoinChannel.takeData(message)) {
+                BType[] types = forkJoinChannel.getTypes();
+                if (types.length == 1) {
+                    bRefValueArray.add(0, BLangVM.getWorkerMessageValue(types[0], message.primitive,
+                            message.reference));
+                } else {
+                    WorkerDataChannel.Values values = (WorkerDataChannel.Values) message.reference;
+                    for (int i = 0; i < types.length; i++) {
+                        bRefValueArray.add(i, BLangVM.getWorkerMessageValue(types[i], values.primitives[i],
+                                values.references[i]));
                     }
                 }
             }
 
             this.resultHolder.add(new WorkerResult(workerInfo.getWorkerName(), bRefValueArray));
-            if (this.resultCounter != null) {
-                this.resultCounter.release();
+            if (this.resultListener != null) {
+                this.resultListener.run();
             }
         }
-        
-        public void setResultCounterSemaphore(Semaphore resultCounter) {
-            this.resultCounter = resultCounter;
+
+        /**
+         * Set the listener notified once the result of the worker has been added to the result holder.
+         *
+         * @param resultListener listener of the result
+         */
+        public void setResultListener(Runnable resultListener) {
+            this.resultListener = resultListener;
         }
         
     }
@@ -0,0 +1,147 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.runtime.threadpool.ResponseWorkerThread;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.runtime.threadpool.TimerWheel;
+import org.ballerinalang.util.codegen.ForkjoinInfo;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code ForkJoinWait} is the join of a fork-join whose worker is suspended instead of waiting on its thread. The
+ * join completes once enough joined workers have completed, the timeout expires or the worker is cancelled,
+ * whichever comes first. If the worker has been suspended by then, it is resumed on another thread from the join or
+ * the timeout block, otherwise it completes the join on its own thread.
+ *
+ * @since 0.94
+ */
+class ForkJoinWait {
+
+    private static final int PENDING = 0;
+    private static final int COMPLETED = 1;
+    private static final int SUSPENDED = 2;
+    private static final int RESUMED = 3;
+
+    private final Context context;
+    private final StackFrame frame;
+    private final ForkjoinInfo forkjoinInfo;
+    private final Collection<BLangVMWorkers.WorkerExecutor> workers;
+    private final Queue<WorkerResult> resultMsgs;
+    // Whether only some of the joined workers have to complete
+    private final boolean partial;
+    private final AtomicInteger remaining;
+    private final AtomicBoolean done = new AtomicBoolean();
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private volatile boolean success;
+    private volatile TimerWheel.Timeout timeout;
+
+    ForkJoinWait(Context context, StackFrame frame, ForkjoinInfo forkjoinInfo,
+                 Collection<BLangVMWorkers.WorkerExecutor> workers, Queue<WorkerResult> resultMsgs, int joinCount,
+                 boolean partial) {
+        this.context = context;
+        this.frame = frame;
+        this.forkjoinInfo = forkjoinInfo;
+        this.workers = workers;
+        this.resultMsgs = resultMsgs;
+        this.partial = partial;
+        this.remaining = new AtomicInteger(joinCount);
+        if (joinCount <= 0) {
+            complete(true);
+        }
+    }
+
+    /**
+     * Notified by each joined worker once its result is available.
+     */
+    void onResult() {
+        if (remaining.decrementAndGet() == 0) {
+            complete(true);
+        }
+    }
+
+    /**
+     * Time the join out once the given timeout elapses.
+     *
+     * @param delay timeout of the join
+     * @param unit  unit of the timeout
+     */
+    void scheduleTimeout(long delay, TimeUnit unit) {
+        timeout = TimerWheel.getInstance().schedule(() -> complete(false), delay, unit);
+        if (done.get()) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Complete the join of a worker which has been cancelled.
+     */
+    void cancel() {
+        complete(false);
+    }
+
+    /**
+     * Suspend the worker, unless the join has already completed. The frame of the worker has to stay as it is until
+     * the worker is resumed, which may happen before this method returns.
+     *
+     * @return true if the worker has been suspended, false if the join has completed
+     */
+    boolean suspend() {
+        return state.compareAndSet(PENDING, SUSPENDED);
+    }
+
+    /**
+     * Returns whether enough joined workers completed before the timeout.
+     *
+     * @return true if the join succeeded, false if it timed out
+     */
+    boolean isSuccess() {
+        return success;
+    }
+
+    private void complete(boolean success) {
+        if (!done.compareAndSet(false, true)) {
+            return;
+        }
+        this.success = success;
+        TimerWheel.Timeout scheduled = timeout;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+        if (!state.compareAndSet(PENDING, COMPLETED) && state.compareAndSet(SUSPENDED, RESUMED)) {
+            resume();
+        }
+    }
+
+    private void resume() {
+        context.setCancelHandler(null);
+        if (context.isCancelled()) {
+            workers.forEach(BLangVMWorkers.WorkerExecutor::cancel);
+            context.setStartIP(-1);
+        } else {
+            context.setStartIP(BLangVM.completeForkJoin(frame, forkjoinInfo, workers, resultMsgs, success, partial));
+        }
+        ThreadPoolFactory.getInstance().getResponseExecutor().execute(new ResponseWorkerThread(context));
+    }
+}
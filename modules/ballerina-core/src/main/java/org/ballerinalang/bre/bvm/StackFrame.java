@@ -35,6 +35,9 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @since 0.88
  */
 public class StackFrame {
+
+    private static final byte[] EMPTY_BLOB = new byte[0];
+
     long[] longLocalVars;
     double[] doubleLocalVars;
     String[] stringLocalVars;
@@ -74,6 +77,12 @@ public class StackFrame {
     
     public StackFrame prevStackFrame;
 
+    // Callee frame last created by this frame, kept for reuse by the next call made from this frame.
+    StackFrame cachedCalleeFrame;
+
+    // Frames referenced from outside the owning control stack (e.g. by worker contexts) must not be reused.
+    volatile boolean reusable = true;
+
     public StackFrame(PackageInfo packageInfo, int retAddrs, int[] retRegIndexes) {
         this.packageInfo = packageInfo;
         this.retAddrs = retAddrs;
@@ -95,7 +104,7 @@ public class StackFrame {
 
         this.intLocalVars = new int[codeAttribInfo.getMaxIntLocalVars()];
         this.byteLocalVars = new byte[codeAttribInfo.getMaxByteLocalVars()][];
-        Arrays.fill(byteLocalVars, new byte[0]);
+        Arrays.fill(byteLocalVars, EMPTY_BLOB);
 
         this.refLocalVars = new BRefType[codeAttribInfo.getMaxRefLocalVars()];
 
@@ -114,6 +123,10 @@ public class StackFrame {
         return callableUnitInfo;
     }
 
+    public PackageInfo getPackageInfo() {
+        return packageInfo;
+    }
+
     public StackFrame(CallableUnitInfo callableUnitInfo, WorkerInfo workerInfo, int retAddrs, int[] retRegIndexes,
                       BValue[] returnValues) {
         this.callableUnitInfo = callableUnitInfo;
@@ -130,7 +143,7 @@ public class StackFrame {
 
         this.intLocalVars = new int[codeAttribInfo.getMaxIntLocalVars()];
         this.byteLocalVars = new byte[codeAttribInfo.getMaxByteLocalVars()][];
-        Arrays.fill(byteLocalVars, new byte[0]);
+        Arrays.fill(byteLocalVars, EMPTY_BLOB);
         this.refLocalVars = new BRefType[codeAttribInfo.getMaxRefLocalVars()];
 
         this.longRegs = new long[codeAttribInfo.getMaxLongRegs()];
@@ -249,6 +262,44 @@ public class StackFrame {
         this.errorThrown = errorThrown;
     }
 
+    /**
+     * Prepare this frame for another invocation of the same worker by restoring the state
+     * a freshly allocated frame would have.
+     *
+     * @param retAddrs      return address of the caller
+     * @param retRegIndexes caller's register indexes to which the return values should be copied
+     */
+    void reset(int retAddrs, int[] retRegIndexes) {
+        Arrays.fill(longLocalVars, 0);
+        Arrays.fill(doubleLocalVars, 0);
+        Arrays.fill(stringLocalVars, "");
+        Arrays.fill(intLocalVars, 0);
+        Arrays.fill(byteLocalVars, EMPTY_BLOB);
+        Arrays.fill(refLocalVars, null);
+        Arrays.fill(longRegs, 0);
+        Arrays.fill(doubleRegs, 0);
+        Arrays.fill(intRegs, 0);
+        Arrays.fill(stringRegs, null);
+        Arrays.fill(byteRegs, null);
+        Arrays.fill(refRegs, null);
+
+        this.retAddrs = retAddrs;
+        this.retRegIndexes = retRegIndexes;
+        this.errorThrown = null;
+        this.returnedWorker = "";
+        this.workerReturned.set(false);
+    }
+
+    /**
+     * Drop the references held by this frame once it has returned, so that a cached frame
+     * does not keep values reachable until its next reuse.
+     */
+    void releaseReferences() {
+        Arrays.fill(refLocalVars, null);
+        Arrays.fill(refRegs, null);
+        Arrays.fill(stringRegs, null);
+    }
+
     public boolean tryReturn() {
         return this.workerReturned.compareAndSet(false, true);
     }
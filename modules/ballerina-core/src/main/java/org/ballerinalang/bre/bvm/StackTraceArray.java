@@ -0,0 +1,129 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.ProgramFile;
+
+/**
+ * {@code StackTraceArray} is the stack trace of an error. It is captured as the callable unit and the instruction
+ * pointer of each frame, and the {@code StackFrame} structs are only created when the array is first accessed.
+ * Errors which are handled without looking at their stack trace hence do not pay for line number lookups and
+ * struct creation.
+ *
+ * @since 0.94
+ */
+class StackTraceArray extends BRefValueArray {
+
+    private final ProgramFile programFile;
+    private CallableUnitInfo[] callableUnitInfos;
+    private int[] ips;
+
+    StackTraceArray(ProgramFile programFile, CallableUnitInfo[] callableUnitInfos, int[] ips) {
+        super(new BRefType[callableUnitInfos.length]);
+        this.programFile = programFile;
+        this.callableUnitInfos = callableUnitInfos;
+        this.ips = ips;
+    }
+
+    /**
+     * Capture the stack trace of the given control stack.
+     *
+     * @param context current Context
+     * @param ip      instruction pointer of the current frame
+     * @return captured stack trace
+     */
+    static StackTraceArray capture(Context context, int ip) {
+        ControlStackNew controlStack = context.getControlStackNew();
+        int frameCount = 0;
+        for (StackFrame stackFrame = controlStack.currentFrame; stackFrame != null;
+             stackFrame = stackFrame.prevStackFrame) {
+            if (stackFrame.callableUnitInfo != null) {
+                frameCount++;
+            }
+        }
+
+        CallableUnitInfo[] callableUnitInfos = new CallableUnitInfo[frameCount];
+        int[] ips = new int[frameCount];
+        int currentIP = ip;
+        int frameIndex = 0;
+        for (StackFrame stackFrame = controlStack.currentFrame; stackFrame != null;
+             stackFrame = stackFrame.prevStackFrame) {
+            if (stackFrame.callableUnitInfo == null) {
+                continue;
+            }
+            callableUnitInfos[frameIndex] = stackFrame.callableUnitInfo;
+            ips[frameIndex] = currentIP;
+            frameIndex++;
+            // Always get the previous instruction pointer.
+            currentIP = stackFrame.retAddrs - 1;
+        }
+        return new StackTraceArray(context.getProgramFile(), callableUnitInfos, ips);
+    }
+
+    private synchronized void materialize() {
+        if (callableUnitInfos == null) {
+            return;
+        }
+        for (int i = 0; i < callableUnitInfos.length; i++) {
+            super.add(i, BLangVMErrors.createStackTraceItem(programFile, callableUnitInfos[i], ips[i]));
+        }
+        callableUnitInfos = null;
+        ips = null;
+    }
+
+    @Override
+    public void add(long index, BRefType value) {
+        materialize();
+        super.add(index, value);
+    }
+
+    @Override
+    public BRefType get(long index) {
+        materialize();
+        return super.get(index);
+    }
+
+    @Override
+    public void copyFrom(BRefValueArray source, int from, int to) {
+        materialize();
+        super.copyFrom(source, from, to);
+    }
+
+    @Override
+    public long size() {
+        materialize();
+        return super.size();
+    }
+
+    @Override
+    public BValue copy() {
+        materialize();
+        return super.copy();
+    }
+
+    @Override
+    public String stringValue() {
+        materialize();
+        return super.stringValue();
+    }
+}
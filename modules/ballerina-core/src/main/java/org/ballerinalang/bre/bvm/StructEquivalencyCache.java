@@ -0,0 +1,131 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.runtime.Constants;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code StructEquivalencyCache} memoizes the results of struct equivalency checks, keyed by the identity of the
+ * source and target struct types. Struct types are immutable once a program is loaded, hence a result never
+ * becomes stale.
+ * <p>
+ * The cache is bounded. It is cleared when it reaches its capacity, which can be configured with the
+ * {@value Constants#SYSTEM_PROP_BAL_STRUCT_EQUIVALENCY_CACHE_SIZE} system property.
+ *
+ * @since 0.94
+ */
+public class StructEquivalencyCache {
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    private static final int CAPACITY = Integer.getInteger(Constants.SYSTEM_PROP_BAL_STRUCT_EQUIVALENCY_CACHE_SIZE,
+            DEFAULT_CAPACITY);
+
+    private static final Map<TypePair, Boolean> results = new ConcurrentHashMap<>();
+
+    private static final LongAdder hitCount = new LongAdder();
+    private static final LongAdder missCount = new LongAdder();
+
+    private StructEquivalencyCache() {
+    }
+
+    /**
+     * Returns the cached equivalency of the given struct types.
+     *
+     * @param sourceType source struct type
+     * @param targetType target struct type
+     * @return cached result, or null if the pair has not been checked yet
+     */
+    public static Boolean get(BStructType sourceType, BStructType targetType) {
+        Boolean result = results.get(new TypePair(sourceType, targetType));
+        if (result == null) {
+            missCount.increment();
+        } else {
+            hitCount.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Caches the equivalency of the given struct types.
+     *
+     * @param sourceType source struct type
+     * @param targetType target struct type
+     * @param equivalent whether the source type is equivalent to the target type
+     */
+    public static void put(BStructType sourceType, BStructType targetType, boolean equivalent) {
+        if (results.size() >= CAPACITY) {
+            results.clear();
+        }
+        results.put(new TypePair(sourceType, targetType), equivalent);
+    }
+
+    public static long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public static long getMissCount() {
+        return missCount.sum();
+    }
+
+    public static int size() {
+        return results.size();
+    }
+
+    /**
+     * Remove all cached results and reset the counters.
+     */
+    public static void clear() {
+        results.clear();
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    /**
+     * Cache key which compares struct types by identity. {@code BType.equals} compares type names, which is both
+     * slower and not precise enough across separately loaded programs.
+     */
+    private static class TypePair {
+        private final BStructType sourceType;
+        private final BStructType targetType;
+
+        TypePair(BStructType sourceType, BStructType targetType) {
+            this.sourceType = sourceType;
+            this.targetType = targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TypePair)) {
+                return false;
+            }
+            TypePair other = (TypePair) obj;
+            return sourceType == other.sourceType && targetType == other.targetType;
+        }
+    }
+}
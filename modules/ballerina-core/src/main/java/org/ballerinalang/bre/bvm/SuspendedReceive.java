@@ -0,0 +1,105 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bvm;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.runtime.threadpool.ResponseWorkerThread;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.runtime.threadpool.TimerWheel;
+import org.ballerinalang.util.codegen.WorkerDataChannel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code SuspendedReceive} is the receive of a worker which is suspended until the values it receives are sent.
+ * The values, the timeout of the receive or the cancellation of the worker, whichever comes first, resumes the
+ * worker on another thread. The values are copied into the registers of the worker beforehand, and a timeout is
+ * raised as an error of the worker.
+ *
+ * @since 0.94
+ */
+class SuspendedReceive extends WorkerDataChannel.Receiver {
+
+    private final Context context;
+    private final StackFrame frame;
+    private final BType[] types;
+    private final String channelName;
+    // Address of the instruction following the receive
+    private final int ip;
+    private volatile boolean done;
+    private volatile TimerWheel.Timeout timeout;
+
+    SuspendedReceive(Context context, StackFrame frame, BType[] types, String channelName, int ip) {
+        this.context = context;
+        this.frame = frame;
+        this.types = types;
+        this.channelName = channelName;
+        this.ip = ip;
+    }
+
+    @Override
+    protected void onReceive(long primitive, Object reference) {
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        message.primitive = primitive;
+        message.reference = reference;
+        BLangVM.copyArgValuesForWorkerReply(frame, types, message);
+        resume(ip);
+    }
+
+    /**
+     * Time the receive out once the given timeout elapses, unless the values have been received by then.
+     *
+     * @param delay timeout of the receive
+     * @param unit  unit of the timeout
+     */
+    void scheduleTimeout(long delay, TimeUnit unit) {
+        timeout = TimerWheel.getInstance().schedule(this::timeOut, delay, unit);
+        if (done) {
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Stop the receive of a worker which has been cancelled, unless the values have been received.
+     */
+    void cancel() {
+        if (giveUp()) {
+            resume(-1);
+        }
+    }
+
+    private void timeOut() {
+        if (giveUp()) {
+            context.setError(BLangVMErrors.createIllegalStateException(context, ip,
+                    "timed out receiving from channel " + channelName));
+            resume(ip);
+        }
+    }
+
+    private void resume(int startIP) {
+        done = true;
+        TimerWheel.Timeout scheduled = timeout;
+        if (scheduled != null) {
+            scheduled.cancel();
+        }
+        context.setCancelHandler(null);
+        context.setStartIP(startIP);
+        ThreadPoolFactory.getInstance().getResponseExecutor().execute(new ResponseWorkerThread(context));
+    }
+}
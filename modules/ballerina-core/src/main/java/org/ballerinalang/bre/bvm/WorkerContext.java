@@ -34,6 +34,10 @@ public class WorkerContext extends Context {
         super(programFile);
         this.parent = parent;
         parentSF = parent.getControlStackNew().currentFrame;
+        if (parentSF != null) {
+            // Workers return through the parent frame, hence it must outlive the parent's call.
+            parentSF.reusable = false;
+        }
         this.workerCounter = parent.getWorkerCounter();
         this.populateContextPropsFromParent();
     }
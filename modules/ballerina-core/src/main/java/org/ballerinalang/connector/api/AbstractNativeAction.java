@@ -116,7 +116,10 @@ public abstract class AbstractNativeAction implements NativeUnit, Action {
      * Default is false, Override to support non-blocking behaviour.
      *
      * @return true, if current is implementation supports non-blocking.
+     * @deprecated the VM suspends the invoking worker on any action whose future has not completed when
+     * {@link #execute(Context)} returns, hence this is no longer consulted.
      */
+    @Deprecated
     public boolean isNonBlockingAction() {
         return false;
     }
@@ -34,4 +34,11 @@ public interface ConnectorFuture {
      * @param futureListener to listen to future events.
      */
     void setConnectorFutureListener(ConnectorFutureListener futureListener);
+
+    /**
+     * Notify that Ballerina is no longer interested in the result, since the worker waiting for it was cancelled.
+     * Implementations may abort the operation to release its resources. The listener is not notified any more.
+     */
+    default void cancel() {
+    }
 }
@@ -28,21 +28,30 @@ import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
 
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@code BClientConnectorFutureListener} Listener to listen to client side events and continue the execution.
+ * <p>
+ * The worker waiting on the call either blocks on {@link #sync(long)}, or is suspended with {@link #suspend()} and
+ * resumed on another thread once the call completes.
  *
  * @since 0.94
  */
 public class BClientConnectorFutureListener implements ConnectorFutureListener {
 
+    private static final int PENDING = 0;
+    private static final int COMPLETED = 1;
+    private static final int SUSPENDED = 2;
+    private static final int RESUMED = 3;
+    private static final int CANCELLED = 4;
+
     private Context context;
-    private boolean nonBlocking = false;
     private volatile Semaphore executionWaitSem;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
 
-    public BClientConnectorFutureListener(Context context, boolean nonBlocking) {
+    public BClientConnectorFutureListener(Context context) {
         this.context = context;
-        this.nonBlocking = nonBlocking;
         this.executionWaitSem = new Semaphore(0);
     }
 
@@ -66,14 +75,30 @@ public class BClientConnectorFutureListener implements ConnectorFutureListener {
     }
 
     private void done() {
-        if (nonBlocking) {
-            ThreadPoolFactory.getInstance().getExecutor()
+        if (state.compareAndSet(PENDING, COMPLETED)) {
+            executionWaitSem.release();
+        } else if (state.compareAndSet(SUSPENDED, RESUMED)) {
+            ThreadPoolFactory.getInstance().getResponseExecutor()
                     .execute(new ResponseWorkerThread(context));
-        } else {
+        }
+    }
+
+    /**
+     * Suspend the worker waiting on the call, unless the call has already completed. The state required to resume
+     * the worker has to be saved in its context beforehand, since it may be resumed before this method returns.
+     *
+     * @return true if the worker has been suspended, false if the call has completed
+     */
+    public boolean suspend() {
+        return state.compareAndSet(PENDING, SUSPENDED);
+    }
+
+    /**
+     * Release the worker waiting on the call in {@link #sync(long)}, unless the call has already completed.
+     */
+    public void cancel() {
+        if (state.compareAndSet(PENDING, CANCELLED)) {
             executionWaitSem.release();
-//            synchronized (context) {
-//                context.notifyAll();
-//            }
         }
     }
 
@@ -38,12 +38,12 @@ public class BStringType extends BType {
 
     @SuppressWarnings("unchecked")
     public <V extends BValue> V getZeroValue() {
-        return (V) new BString("");
+        return (V) BString.EMPTY;
     }
     
     @Override
     public <V extends BValue> V getEmptyValue() {
-        return (V) new BString("");
+        return (V) BString.EMPTY;
     }
 
     @Override
@@ -20,6 +20,8 @@ package org.ballerinalang.model.types;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 
+import java.util.Arrays;
+
 /**
  * {@code BStructType} represents a user defined {@code StructDef} in Ballerina.
  *
@@ -27,8 +29,11 @@ import org.ballerinalang.model.values.BValue;
  */
 public class BStructType extends BType {
 
+    private static final String[] NO_STRING_FIELDS = new String[0];
+
     private StructField[] structFields;
     private int[] fieldTypeCount;
+    private String[] stringFieldDefaults;
 
     /**
      * Create a {@code BStructType} which represents the user defined struct type.
@@ -54,6 +59,22 @@ public class BStructType extends BType {
 
     public void setFieldTypeCount(int[] fieldCount) {
         this.fieldTypeCount = fieldCount;
+        if (fieldCount[2] == 0) {
+            this.stringFieldDefaults = NO_STRING_FIELDS;
+        } else {
+            this.stringFieldDefaults = new String[fieldCount[2]];
+            Arrays.fill(this.stringFieldDefaults, "");
+        }
+    }
+
+    /**
+     * Returns the initial values of the string fields of a struct of this type. The array is shared by all the
+     * structs of this type, hence it must be copied and not modified.
+     *
+     * @return initial values of the string fields
+     */
+    public String[] getStringFieldDefaults() {
+        return stringFieldDefaults;
     }
 
     @Override
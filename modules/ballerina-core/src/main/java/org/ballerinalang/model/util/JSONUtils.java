@@ -95,6 +95,9 @@ public class JSONUtils {
      * @return Boolean 'true' if JSON has given field.
      */
     public static boolean hasElement(BJSON json, String elementName) {
+        if (json.isRawObject()) {
+            return json.hasRawElement(elementName);
+        }
         JsonNode jsonNode = json.value();
         return jsonNode.has(elementName);
     }
@@ -337,6 +340,11 @@ public class JSONUtils {
      * @return Element of JSON having the provided name
      */
     public static BJSON getElement(BJSON json, String elementName) {
+        if (json.isRawObject()) {
+            // Only the requested element of a large payload is parsed
+            return json.getRawElement(elementName);
+        }
+
         JsonNode jsonNode = json.value();
         
         if (!jsonNode.isObject()) {
@@ -408,6 +416,9 @@ public class JSONUtils {
         if (json == null) {
             return -1;
         }
+        if (json.isRawArray()) {
+            return json.getRawArraySize();
+        }
         JsonNode jsonNode = json.value();
         return jsonNode.size();
     }
@@ -420,6 +431,10 @@ public class JSONUtils {
      * @return Element at the given index, if the provided JSON is an array. Error, otherwise. 
      */
     public static BJSON getArrayElement(BJSON json, long index) {
+        if (json.isRawArray()) {
+            return getRawArrayElement(json, index);
+        }
+
         JsonNode jsonNode = json.value();
 
         if (!jsonNode.isArray()) {
@@ -442,6 +457,18 @@ public class JSONUtils {
         }
     }
     
+    private static BJSON getRawArrayElement(BJSON json, long index) {
+        try {
+            int size = json.getRawArraySize();
+            if (size <= index) {
+                throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.ARRAY_INDEX_OUT_OF_RANGE, index, size);
+            }
+            return index < 0 ? null : json.getRawArrayElement((int) index);
+        } catch (Throwable t) {
+            throw BLangExceptionHelper.getRuntimeException(RuntimeErrors.JSON_GET_ERROR, t.getMessage());
+        }
+    }
+
     /**
      * Set an element in the given position of a JSON array. This method will update the existing value.
      * 
@@ -969,13 +996,13 @@ public class JSONUtils {
         if (json == null || json.isNull()) {
             return null;
         } else if (json.isTextual()) {
-            return new BString(json.textValue());
+            return BString.valueOf(json.textValue());
         } else if (json.isInt() || json.isLong()) {
-            return new BInteger(json.longValue());
+            return BInteger.valueOf(json.longValue());
         } else if (json.isFloat() || json.isDouble()) {
-            return new BFloat(json.doubleValue());
+            return BFloat.valueOf(json.doubleValue());
         } else if (json.isBoolean()) {
-            return new BBoolean(json.booleanValue());
+            return BBoolean.valueOf(json.booleanValue());
         }
         
         return new BJSON(json);
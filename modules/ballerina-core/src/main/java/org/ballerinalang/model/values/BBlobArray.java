@@ -21,7 +21,6 @@ import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 
-import java.util.Arrays;
 
 /**
  * @since 0.88
@@ -30,25 +29,30 @@ public class BBlobArray extends BNewArray {
 
     private static BType arrayType = new BArrayType(BTypes.typeBlob);
 
+    private static final byte[][] EMPTY_VALUES = new byte[0][];
+
     private byte[][] values;
 
+    // Index of the first element of this array in values, which is only non-zero for a view
+    private int offset;
+
     public BBlobArray(byte[][] values) {
         this.values = values;
         this.size = values.length;
     }
 
     public BBlobArray() {
-        values = (byte[][]) newArrayInstance(byte[].class);
+        values = EMPTY_VALUES;
     }
 
     public void add(long index, byte[] value) {
-        prepareForAdd(index, values.length);
-        values[(int) index] = value;
+        prepareForAdd(index, values.length - offset);
+        values[offset + (int) index] = value;
     }
 
     public byte[] get(long index) {
         rangeCheckForGet(index, size);
-        return values[(int) index];
+        return values[offset + (int) index];
     }
 
     @Override
@@ -58,13 +62,57 @@ public class BBlobArray extends BNewArray {
 
     @Override
     public void grow(int newLength) {
-        values = Arrays.copyOf(values, newLength);
+        byte[][] newValues = new byte[newLength][];
+        System.arraycopy(values, offset, newValues, 0, Math.min(size, newLength));
+        values = newValues;
+        offset = 0;
     }
 
     @Override
     public BValue copy() {
-        BBlobArray blobArray = new BBlobArray(Arrays.copyOf(values, values.length));
-        blobArray.size = this.size;
-        return blobArray;
+        return slice(0, size);
+    }
+
+    /**
+     * Returns a view of the elements of this array from index {@code from} (inclusive) to index {@code to}
+     * (exclusive). The view and this array share their storage until either of them is modified.
+     *
+     * @param from index of the first element of the view
+     * @param to   index after the last element of the view
+     * @return view of the given range of this array
+     */
+    public BBlobArray slice(int from, int to) {
+        rangeCheckForSlice(from, to, size());
+        BBlobArray view = new BBlobArray(values);
+        view.offset = offset + from;
+        view.size = to - from;
+        shareStorage(view);
+        return view;
+    }
+
+    /**
+     * Replaces the first {@code to - from} elements of this array with the elements of {@code source} from index
+     * {@code from} (inclusive) to index {@code to} (exclusive).
+     *
+     * @param source array to copy the elements from
+     * @param from   index of the first element to copy
+     * @param to     index after the last element to copy
+     */
+    public void copyFrom(BBlobArray source, int from, int to) {
+        rangeCheckForSlice(from, to, source.size());
+        int length = to - from;
+        if (length == 0) {
+            return;
+        }
+        if (length >= size) {
+            // Every element of this array is replaced, so the storage of the source is shared instead of copied
+            values = source.values;
+            offset = source.offset + from;
+            size = length;
+            source.shareStorage(this);
+            return;
+        }
+        prepareForAdd(length - 1, values.length - offset);
+        System.arraycopy(source.values, source.offset + from, values, offset, length);
     }
 }
@@ -35,16 +35,26 @@ public final class BBoolean extends BValueType implements BRefType<Boolean> {
 
     /**
      * The {@code BBoolean} object corresponding to the primitive.
-     * value {@code true}.
+     * value {@code false}.
      */
     public static final BBoolean FALSE = new BBoolean(false);
 
-    private boolean value;
+    private final boolean value;
 
     public BBoolean(boolean value) {
         this.value = value;
     }
 
+    /**
+     * Returns {@link #TRUE} or {@link #FALSE} for the given value.
+     *
+     * @param value boolean value
+     * @return {@code BBoolean} of the given value
+     */
+    public static BBoolean valueOf(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
     @Override
     public long intValue() {
         return 0;
@@ -86,6 +96,6 @@ public final class BBoolean extends BValueType implements BRefType<Boolean> {
     }
 
     public BValue copy() {
-        return new BBoolean(value);
+        return this;
     }
 }
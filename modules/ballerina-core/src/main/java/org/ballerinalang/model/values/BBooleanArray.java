@@ -21,7 +21,6 @@ import org.ballerinalang.model.types.BArrayType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 
-import java.util.Arrays;
 import java.util.StringJoiner;
 
 /**
@@ -31,25 +30,30 @@ public class BBooleanArray extends BNewArray {
 
     private static BType arrayType = new BArrayType(BTypes.typeBoolean);
 
+    private static final int[] EMPTY_VALUES = new int[0];
+
     private int[] values;
 
+    // Index of the first element of this array in values, which is only non-zero for a view
+    private int offset;
+
     public BBooleanArray(int[] values) {
         this.values = values;
         this.size = values.length;
     }
 
     public BBooleanArray() {
-        values = (int[]) newArrayInstance(Integer.TYPE);
+        values = EMPTY_VALUES;
     }
 
     public void add(long index, int value) {
-        prepareForAdd(index, values.length);
-        values[(int) index] = value;
+        prepareForAdd(index, values.length - offset);
+        values[offset + (int) index] = value;
     }
 
     public int get(long index) {
         rangeCheckForGet(index, size);
-        return values[(int) index];
+        return values[offset + (int) index];
     }
 
     @Override
@@ -59,21 +63,65 @@ public class BBooleanArray extends BNewArray {
 
     @Override
     public void grow(int newLength) {
-        values = Arrays.copyOf(values, newLength);
+        int[] newValues = new int[newLength];
+        System.arraycopy(values, offset, newValues, 0, Math.min(size, newLength));
+        values = newValues;
+        offset = 0;
     }
 
     @Override
     public BValue copy() {
-        BBooleanArray booleanArray = new BBooleanArray(Arrays.copyOf(values, values.length));
-        booleanArray.size = this.size;
-        return booleanArray;
+        return slice(0, size);
+    }
+
+    /**
+     * Returns a view of the elements of this array from index {@code from} (inclusive) to index {@code to}
+     * (exclusive). The view and this array share their storage until either of them is modified.
+     *
+     * @param from index of the first element of the view
+     * @param to   index after the last element of the view
+     * @return view of the given range of this array
+     */
+    public BBooleanArray slice(int from, int to) {
+        rangeCheckForSlice(from, to, size());
+        BBooleanArray view = new BBooleanArray(values);
+        view.offset = offset + from;
+        view.size = to - from;
+        shareStorage(view);
+        return view;
+    }
+
+    /**
+     * Replaces the first {@code to - from} elements of this array with the elements of {@code source} from index
+     * {@code from} (inclusive) to index {@code to} (exclusive).
+     *
+     * @param source array to copy the elements from
+     * @param from   index of the first element to copy
+     * @param to     index after the last element to copy
+     */
+    public void copyFrom(BBooleanArray source, int from, int to) {
+        rangeCheckForSlice(from, to, source.size());
+        int length = to - from;
+        if (length == 0) {
+            return;
+        }
+        if (length >= size) {
+            // Every element of this array is replaced, so the storage of the source is shared instead of copied
+            values = source.values;
+            offset = source.offset + from;
+            size = length;
+            source.shareStorage(this);
+            return;
+        }
+        prepareForAdd(length - 1, values.length - offset);
+        System.arraycopy(source.values, source.offset + from, values, offset, length);
     }
     
     @Override
     public String stringValue() {
         StringJoiner sj = new StringJoiner(", ", "[", "]");
         for (int i = 0; i < size; i++) {
-            sj.add(Boolean.toString(values[i] == 1));
+            sj.add(Boolean.toString(values[offset + i] == 1));
         }
         return sj.toString();
     }
@@ -39,6 +39,11 @@ public final class BConnector implements BRefType, StructureType {
     private BRefType[] refFields;
 
     private BConnectorType connectorType;
+
+    /**
+     * Whether the connector is reachable by other workers, see {@link #share()}.
+     */
+    private boolean shared;
     private boolean isFilterConnector;
     //private BType connectorType;
 
@@ -150,9 +155,26 @@ public final class BConnector implements BRefType, StructureType {
 
     @Override
     public void setRefField(int index, BRefType value) {
+        if (shared) {
+            BMap.share(value);
+        }
         refFields[index] = value;
     }
 
+    /**
+     * Switch the maps reachable from this connector to the shared mode, see {@link BMap#share()}. Maps stored into
+     * the connector afterwards are shared as well.
+     */
+    public void share() {
+        if (shared) {
+            return;
+        }
+        shared = true;
+        for (BRefType value : refFields) {
+            BMap.share(value);
+        }
+    }
+
     @Override
     public BValue copy() {
         return null;
@@ -147,20 +147,20 @@ public class BDataTable implements BRefType<Object> {
         BMap<BString, BValue> returnMap = new BMap<>();
         if (arrayMap != null && !arrayMap.isEmpty()) {
             for (Map.Entry<String, Object> entry : arrayMap.entrySet()) {
-                BString key = new BString(entry.getKey());
+                BString key = BString.valueOf(entry.getKey());
                 Object obj = entry.getValue();
                 if (obj instanceof String) {
-                    returnMap.put(key, new BString(String.valueOf(obj)));
+                    returnMap.put(key, BString.valueOf(String.valueOf(obj)));
                 } else if (obj instanceof Boolean) {
-                    returnMap.put(key, new BBoolean(Boolean.valueOf(obj.toString())));
+                    returnMap.put(key, BBoolean.valueOf(Boolean.valueOf(obj.toString())));
                 } else if (obj instanceof Integer) {
-                    returnMap.put(key, new BInteger(Integer.parseInt(obj.toString())));
+                    returnMap.put(key, BInteger.valueOf(Integer.parseInt(obj.toString())));
                 } else if (obj instanceof Long) {
-                    returnMap.put(key, new BInteger(Long.parseLong(obj.toString())));
+                    returnMap.put(key, BInteger.valueOf(Long.parseLong(obj.toString())));
                 } else if (obj instanceof Float) {
-                    returnMap.put(key, new BFloat(Float.parseFloat(obj.toString())));
+                    returnMap.put(key, BFloat.valueOf(Float.parseFloat(obj.toString())));
                 } else if (obj instanceof Double) {
-                    returnMap.put(key, new BFloat(Double.parseDouble(obj.toString())));
+                    returnMap.put(key, BFloat.valueOf(Double.parseDouble(obj.toString())));
                 }
             }
         }
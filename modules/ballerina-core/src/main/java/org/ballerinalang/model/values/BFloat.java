@@ -27,12 +27,32 @@ import org.ballerinalang.model.types.BTypes;
  */
 public final class BFloat extends BValueType implements BRefType<Double> {
 
-    private double value;
+    private static final BFloat ZERO = new BFloat(0);
+    private static final BFloat ONE = new BFloat(1);
+
+    private final double value;
 
     public BFloat(double value) {
         this.value = value;
     }
 
+    /**
+     * Returns a {@code BFloat} of the given value. The common values {@code 0.0} and {@code 1.0} are shared.
+     *
+     * @param value float value
+     * @return {@code BFloat} of the given value
+     */
+    public static BFloat valueOf(double value) {
+        // Compare the bits, so that -0.0 is not mistaken for 0.0
+        long bits = Double.doubleToRawLongBits(value);
+        if (bits == 0L) {
+            return ZERO;
+        } else if (value == 1) {
+            return ONE;
+        }
+        return new BFloat(value);
+    }
+
     @Override
     public long intValue() {
         return (long) this.value;
@@ -75,6 +95,6 @@ public final class BFloat extends BValueType implements BRefType<Double> {
 
     @Override
     public BValue copy() {
-        return new BFloat(value);
+        return this;
     }
 }
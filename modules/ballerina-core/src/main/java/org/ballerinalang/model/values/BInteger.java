@@ -27,12 +27,37 @@ import org.ballerinalang.model.types.BTypes;
  */
 public final class BInteger extends BValueType implements BRefType<Long> {
 
-    private long value;
+    private static final int CACHE_LOW = -128;
+    private static final int CACHE_HIGH = 1023;
+
+    private static final BInteger[] CACHE = new BInteger[CACHE_HIGH - CACHE_LOW + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; i++) {
+            CACHE[i] = new BInteger(CACHE_LOW + i);
+        }
+    }
+
+    private final long value;
 
     public BInteger(long value) {
         this.value = value;
     }
 
+    /**
+     * Returns a {@code BInteger} of the given value. Values from -128 to 1023 are cached, like
+     * {@link Integer#valueOf(int)} does, so boxing small values does not allocate.
+     *
+     * @param value int value
+     * @return {@code BInteger} of the given value
+     */
+    public static BInteger valueOf(long value) {
+        if (value >= CACHE_LOW && value <= CACHE_HIGH) {
+            return CACHE[(int) value - CACHE_LOW];
+        }
+        return new BInteger(value);
+    }
+
     @Override
     public long intValue() {
         return this.value;
@@ -75,6 +100,6 @@ public final class BInteger extends BValueType implements BRefType<Long> {
 
     @Override
     public BValue copy() {
-        return new BInteger(value);
+        return this;
     }
 }
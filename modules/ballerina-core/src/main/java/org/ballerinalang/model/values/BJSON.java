@@ -27,9 +27,11 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.runtime.Constants;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -51,6 +53,10 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
 
     private static final JsonFactory JSON_FAC = new JsonFactory();
 
+    // Minimum size, in bytes, of the streamed JSON objects and arrays which are parsed on demand
+    private static final int LAZY_PARSE_SIZE = Integer.getInteger(Constants.SYSTEM_PROP_BAL_JSON_LAZY_PARSE_SIZE,
+            16 * 1024);
+
     private static final SerializerProvider SERIALIZER_PROVIDER = new DefaultSerializerProvider.Impl()
             .createInstance(OBJECT_MAPPER.getSerializationConfig(), OBJECT_MAPPER.getSerializerFactory());
 
@@ -63,6 +69,14 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     // Schema of this JSONType object model
     private JsonNode schema;
 
+    // Raw JSON text and the range of this value in it, kept until the value is parsed to a tree
+    private byte[] rawContent;
+    private int rawStart;
+    private int rawEnd;
+
+    // Index of the elements of the raw value, built when an element is first accessed
+    private JSONIndex rawIndex;
+
     // Output stream to write message out to the socket
     private OutputStream outputStream;
 
@@ -126,13 +140,30 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
 
     /**
      * Create a {@link BJSON} from a {@link InputStream}.
+     * <p>
+     * A large object or array is not parsed to a tree: the content is validated and the elements of the object or
+     * array are indexed, and each element is only parsed when accessed. The whole value is parsed when it is updated.
      *
      * @param in InputStream of the json content
      * @param schema Schema of the json
      */
     public BJSON(InputStream in, String schema) {
         try {
-            this.value = OBJECT_MAPPER.readTree(in);
+            byte[] content = readContent(in);
+            int start = 0;
+            while (start < content.length && Character.isWhitespace(content[start])) {
+                start++;
+            }
+
+            if (content.length >= LAZY_PARSE_SIZE && start < content.length &&
+                    (content[start] == '{' || content[start] == '[')) {
+                this.rawContent = content;
+                this.rawStart = start;
+                this.rawEnd = content.length;
+                this.rawIndex = JSONIndex.build(OBJECT_MAPPER, content, start, content.length);
+            } else {
+                this.value = OBJECT_MAPPER.readTree(new ByteArrayInputStream(content));
+            }
             if (schema != null) {
                 this.schema = OBJECT_MAPPER.readTree(schema);
             }
@@ -141,6 +172,19 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         }
     }
 
+    /**
+     * Create a {@link BJSON} for an object or an array in a raw JSON text, which is parsed on demand.
+     *
+     * @param content JSON text
+     * @param start   offset of the opening bracket of the object or array
+     * @param end     end offset of the object or array, exclusive
+     */
+    BJSON(byte[] content, int start, int end) {
+        this.rawContent = content;
+        this.rawStart = start;
+        this.rawEnd = end;
+    }
+
     /**
      * Return the string representation of this json object.
      */
@@ -155,6 +199,117 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     public void setValue(JsonNode value) {
         this.value = value;
+        this.rawContent = null;
+        this.rawIndex = null;
+    }
+
+    /**
+     * Check whether this {@link BJSON} object holds a tree, or is kept as raw text.
+     *
+     * @return true if the value of this {@link BJSON} object is parsed
+     */
+    public boolean isParsed() {
+        return this.rawContent == null;
+    }
+
+    /**
+     * Check whether this {@link BJSON} object is an object kept as raw text.
+     *
+     * @return true if this is an unparsed JSON object
+     */
+    public boolean isRawObject() {
+        return this.rawContent != null && this.rawContent[this.rawStart] == '{';
+    }
+
+    /**
+     * Check whether this {@link BJSON} object is an array kept as raw text.
+     *
+     * @return true if this is an unparsed JSON array
+     */
+    public boolean isRawArray() {
+        return this.rawContent != null && this.rawContent[this.rawStart] == '[';
+    }
+
+    /**
+     * Check whether this unparsed JSON object has an element with the given name.
+     *
+     * @param name name of the element
+     * @return true if the element exists, even if it is null
+     */
+    public boolean hasRawElement(String name) {
+        return getRawIndex().hasField(name);
+    }
+
+    /**
+     * Get an element of this unparsed JSON object, without parsing the other elements.
+     *
+     * @param name name of the element
+     * @return element with the given name, or null if the element does not exist or is null
+     */
+    public BJSON getRawElement(String name) {
+        return toElement(getRawIndex().get(name));
+    }
+
+    /**
+     * Get the size of this unparsed JSON array.
+     *
+     * @return number of elements in the array
+     */
+    public int getRawArraySize() {
+        return getRawIndex().size();
+    }
+
+    /**
+     * Get an element of this unparsed JSON array, without parsing the other elements.
+     *
+     * @param index index of the element, which must be less than the size of the array
+     * @return element at the given index, or null if the element is null
+     */
+    public BJSON getRawArrayElement(int index) {
+        return toElement(getRawIndex().get(index));
+    }
+
+    /**
+     * Use the given tree, parsed from the raw text of this {@link BJSON} object, as its value.
+     *
+     * @param node tree parsed from the raw text
+     */
+    void adoptTree(JsonNode node) {
+        if (this.rawIndex != null) {
+            this.rawIndex.shareElements(node);
+        }
+        this.value = node;
+        this.rawContent = null;
+        this.rawIndex = null;
+    }
+
+    private JSONIndex getRawIndex() {
+        if (this.rawIndex == null) {
+            try {
+                this.rawIndex = JSONIndex.build(OBJECT_MAPPER, this.rawContent, this.rawStart, this.rawEnd);
+            } catch (Throwable t) {
+                handleJsonException("failed to create json: ", t);
+            }
+        }
+        return this.rawIndex;
+    }
+
+    private static BJSON toElement(Object element) {
+        if (element == null || element instanceof BJSON) {
+            return (BJSON) element;
+        }
+        JsonNode node = (JsonNode) element;
+        return node.isNull() ? null : new BJSON(node);
+    }
+
+    private static byte[] readContent(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
     }
 
     /**
@@ -180,8 +335,8 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         try {
             /* the below order is important, where if the value is generated from a streaming data source,
              * it should be able to serialize the data out again using the value */
-            if (this.value != null) {
-                this.outputStream.write(OBJECT_MAPPER.writeValueAsBytes(this.value));  
+            if (this.value != null || this.rawContent != null) {
+                this.outputStream.write(OBJECT_MAPPER.writeValueAsBytes(this.value()));
                 this.outputStream.close();
             } else {
                 JsonGenerator gen = JSON_FAC.createGenerator(this.outputStream);
@@ -205,6 +360,13 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     @Override
     public JsonNode value() {
+        if (this.rawContent != null) {
+            try {
+                adoptTree(JSONIndex.parse(OBJECT_MAPPER, this.rawContent, this.rawStart, this.rawEnd));
+            } catch (Throwable t) {
+                handleJsonException("failed to create json: ", t);
+            }
+        }
         if (this.value == null) {
             ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
             try {
@@ -245,7 +407,7 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     @Override
     public String getMessageAsString() {
         try {
-            return this.value.toString();
+            return this.value().toString();
         } catch (Throwable t) {
             handleJsonException("failed to get json as string: ", t);
         }
@@ -25,8 +25,10 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
@@ -36,21 +38,39 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * {@code MapType} represents a map.
+ * <p>
+ * A map starts in an owner-local mode where it is only accessed by the invocation which created it and no locking
+ * is done. Once the map escapes to another worker, a global variable or a session, {@link #share()} switches it to
+ * a shared mode where all operations are guarded by a read-write lock. The owner is the invocation and not a thread,
+ * since a suspended worker may be resumed on a different thread.
+ * <p>
+ * As long as all the values of a map are ints, all are floats or all are strings, they are kept unboxed in a
+ * {@link PrimitiveValueMap}. The first value of another type moves the map to a {@code LinkedHashMap} of boxed
+ * values for good. The VM reads and writes unboxed values with {@link #getIntValue(Object, long[], int)} and
+ * {@link #putIntValue(Object, long)} and their float and string counterparts.
+ *
  * @param <K> Key
  * @param <V> Value
  * @since 0.8.0
  */
 public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implements BRefType {
 
-
-    @SuppressWarnings("unchecked")
+    /**
+     * Boxed values, {@code null} while the values are kept unboxed or the map has never had a value.
+     */
     private LinkedHashMap<K, V> map;
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Lock readLock = lock.readLock();
-    private final Lock writeLock = lock.writeLock();
+
+    /**
+     * Unboxed values, {@code null} once the map holds boxed values.
+     */
+    private PrimitiveValueMap<K> primitiveMap;
+
+    /**
+     * Lock guarding the map once it is shared, {@code null} while the map is owner-local.
+     */
+    private volatile ReadWriteLock lock;
 
     public BMap() {
-        map =  new LinkedHashMap<>();
     }
 
     /**
@@ -60,13 +80,25 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
     /**
      * Retrieve the value for the given key from map.
+     * <p>
+     * While the values are kept unboxed, the value is boxed on every call. The boxing goes through
+     * {@link BInteger#valueOf(long)}, {@link BFloat#valueOf(double)} and {@link BString#valueOf(String)}, so small
+     * ints, {@code 0.0}, {@code 1.0} and the empty string do not allocate, but any other value costs a new object
+     * per call. Hot paths read the unboxed value with {@link #getIntValue(Object, long[], int)} and its float and
+     * string counterparts instead.
+     *
      * @param key key used to get the value
      * @return value
      */
     public V get(K key) {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            return doGet(key);
+        }
+        Lock readLock = lock.readLock();
         readLock.lock();
         try {
-            return map.get(key);
+            return doGet(key);
         } finally {
             readLock.unlock();
         }
@@ -78,9 +110,146 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param value value related to the key
      */
     public void put(K key, V value) {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            doPut(key, value);
+            return;
+        }
+        // A value stored in a shared map is reachable by every worker sharing the map
+        share(value);
+        Lock writeLock = lock.writeLock();
         writeLock.lock();
         try {
-            map.put(key, value);
+            doPut(key, value);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Copy the int value of the given key into the given array, if the values of this map are unboxed ints.
+     *
+     * @param key    key used to get the value
+     * @param values array to copy the value into
+     * @param index  index of the array to copy the value into
+     * @return true if the value was copied, false if the key has no unboxed int value
+     */
+    public boolean getIntValue(K key, long[] values, int index) {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            return doGetInt(key, values, index);
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return doGetInt(key, values, index);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Copy the float value of the given key into the given array, if the values of this map are unboxed floats.
+     *
+     * @param key    key used to get the value
+     * @param values array to copy the value into
+     * @param index  index of the array to copy the value into
+     * @return true if the value was copied, false if the key has no unboxed float value
+     */
+    public boolean getFloatValue(K key, double[] values, int index) {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            return doGetFloat(key, values, index);
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return doGetFloat(key, values, index);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Copy the string value of the given key into the given array, if the values of this map are unboxed strings.
+     *
+     * @param key    key used to get the value
+     * @param values array to copy the value into
+     * @param index  index of the array to copy the value into
+     * @return true if the value was copied, false if the key has no unboxed string value
+     */
+    public boolean getStringValue(K key, String[] values, int index) {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            return doGetString(key, values, index);
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return doGetString(key, values, index);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Insert an int value into the map, without boxing it if the values of this map are unboxed.
+     *
+     * @param key   key related to the value
+     * @param value value related to the key
+     */
+    public void putIntValue(K key, long value) {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            doPutPrimitive(key, PrimitiveValueMap.INT, value);
+            return;
+        }
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            doPutPrimitive(key, PrimitiveValueMap.INT, value);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Insert a float value into the map, without boxing it if the values of this map are unboxed.
+     *
+     * @param key   key related to the value
+     * @param value value related to the key
+     */
+    public void putFloatValue(K key, double value) {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            doPutPrimitive(key, PrimitiveValueMap.FLOAT, Double.doubleToRawLongBits(value));
+            return;
+        }
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            doPutPrimitive(key, PrimitiveValueMap.FLOAT, Double.doubleToRawLongBits(value));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Insert a string value into the map, without boxing it if the values of this map are unboxed.
+     *
+     * @param key   key related to the value
+     * @param value value related to the key
+     */
+    public void putStringValue(K key, String value) {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            doPutString(key, value);
+            return;
+        }
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            doPutString(key, value);
         } finally {
             writeLock.unlock();
         }
@@ -91,7 +260,17 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return returns the size of the map
      */
     public int size() {
-        return map.size();
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            return doSize();
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return doSize();
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -99,15 +278,38 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @param key key of the item to be removed
      */
     public void remove(K key) {
-        map.remove(key);
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            doRemove(key);
+            return;
+        }
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            doRemove(key);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
-     * Retrieve the set of keys related to this map.
+     * Retrieve the set of keys related to this map. The keys of a shared map, and of a map of unboxed values, are
+     * returned as a snapshot.
      * @return returns the set of keys
      */
     public Set<K> keySet() {
-        return map.keySet();
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            return doKeySet();
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            Set<K> keySet = doKeySet();
+            return map != null ? new LinkedHashSet<>(keySet) : keySet;
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**Return true if this map is empty.
@@ -115,7 +317,55 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
      * @return Flag indicating whether the map is empty or not
      */
     public boolean isEmpty() {
-        return map.size() == 0;
+        return size() == 0;
+    }
+
+    /**
+     * Switch this map, and the maps reachable from it, to the shared mode. This has to be called by the owner
+     * before the map is handed over to another worker, so that the switch is visible to the receiver.
+     */
+    public void share() {
+        synchronized (this) {
+            if (lock != null) {
+                return;
+            }
+            lock = new ReentrantReadWriteLock();
+        }
+        if (map == null) {
+            // Unboxed values cannot refer to other maps
+            return;
+        }
+        for (V value : map.values()) {
+            share(value);
+        }
+    }
+
+    /**
+     * Returns whether this map has been switched to the shared mode.
+     *
+     * @return true if the map is shared
+     */
+    public boolean isShared() {
+        return lock != null;
+    }
+
+    /**
+     * Switch the maps reachable from the given value to the shared mode. Maps are reached through the values of
+     * maps, the fields of structs and connectors and the elements of arrays. JSON values are kept as JSON trees,
+     * which cannot refer to maps.
+     *
+     * @param value value which escapes its owner
+     */
+    public static void share(BValue value) {
+        if (value instanceof BMap) {
+            ((BMap<?, ?>) value).share();
+        } else if (value instanceof BStruct) {
+            ((BStruct) value).share();
+        } else if (value instanceof BConnector) {
+            ((BConnector) value).share();
+        } else if (value instanceof BRefValueArray) {
+            ((BRefValueArray) value).share();
+        }
     }
 
     @Override
@@ -125,6 +375,27 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
     @Override
     public String stringValue() {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            return toStringValue();
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return toStringValue();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private String toStringValue() {
+        if (primitiveMap != null) {
+            return primitiveMap.stringValue();
+        }
+        if (map == null) {
+            return "{}";
+        }
+
         StringJoiner sj = new StringJoiner(", ", "{", "}");
 
         for (Iterator<Map.Entry<K, V>> i = map.entrySet().iterator(); i.hasNext();) {
@@ -157,7 +428,29 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
 
     @Override
     public BValue copy() {
+        ReadWriteLock lock = this.lock;
+        if (lock == null) {
+            return copyMap();
+        }
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return copyMap();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private BValue copyMap() {
         BMap newMap = BTypes.typeMap.getEmptyValue();
+        if (primitiveMap != null) {
+            // Unboxed values are immutable, hence copying the storage copies the values
+            newMap.primitiveMap = primitiveMap.copy();
+            return newMap;
+        }
+        if (map == null) {
+            return newMap;
+        }
         for (Map.Entry<K, V> entry: map.entrySet()) {
             BValue value = entry.getValue();
             newMap.put(entry.getKey(), value == null ? null : value.copy());
@@ -185,5 +478,124 @@ public class BMap<K, V extends BValue> extends BallerinaMessageDataSource implem
         this.outputStream = outputStream;
     }
 
-}
+    @SuppressWarnings("unchecked")
+    private V doGet(K key) {
+        if (primitiveMap != null) {
+            return (V) primitiveMap.get(key);
+        }
+        return map == null ? null : map.get(key);
+    }
+
+    private void doPut(K key, V value) {
+        if (map == null) {
+            int kind = PrimitiveValueMap.getKind(value);
+            if (primitiveMap == null && kind != 0) {
+                primitiveMap = new PrimitiveValueMap<>(kind);
+            }
+            if (primitiveMap != null && primitiveMap.getKind() == kind) {
+                primitiveMap.put(key, value);
+                return;
+            }
+            map = toBoxedMap();
+        }
+        map.put(key, value);
+    }
+
+    private boolean doGetInt(K key, long[] values, int index) {
+        int entry = findEntry(key, PrimitiveValueMap.INT);
+        if (entry < 0) {
+            return false;
+        }
+        values[index] = primitiveMap.getPrimitive(entry);
+        return true;
+    }
 
+    private boolean doGetFloat(K key, double[] values, int index) {
+        int entry = findEntry(key, PrimitiveValueMap.FLOAT);
+        if (entry < 0) {
+            return false;
+        }
+        values[index] = Double.longBitsToDouble(primitiveMap.getPrimitive(entry));
+        return true;
+    }
+
+    private boolean doGetString(K key, String[] values, int index) {
+        int entry = findEntry(key, PrimitiveValueMap.STRING);
+        if (entry < 0) {
+            return false;
+        }
+        values[index] = primitiveMap.getString(entry);
+        return true;
+    }
+
+    // Entry of the given key if the values of this map are unboxed values of the given kind, -1 otherwise
+    private int findEntry(K key, int kind) {
+        if (primitiveMap == null || primitiveMap.getKind() != kind) {
+            return -1;
+        }
+        return primitiveMap.find(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void doPutPrimitive(K key, int kind, long value) {
+        if (map == null) {
+            if (primitiveMap == null) {
+                primitiveMap = new PrimitiveValueMap<>(kind);
+            }
+            if (primitiveMap.getKind() == kind) {
+                primitiveMap.putPrimitive(key, value);
+                return;
+            }
+        }
+        BValue boxedValue = kind == PrimitiveValueMap.INT ? BInteger.valueOf(value) :
+                BFloat.valueOf(Double.longBitsToDouble(value));
+        doPut(key, (V) boxedValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void doPutString(K key, String value) {
+        if (map == null) {
+            if (primitiveMap == null) {
+                primitiveMap = new PrimitiveValueMap<>(PrimitiveValueMap.STRING);
+            }
+            if (primitiveMap.getKind() == PrimitiveValueMap.STRING) {
+                primitiveMap.putString(key, value);
+                return;
+            }
+        }
+        doPut(key, (V) BString.valueOf(value));
+    }
+
+    private int doSize() {
+        if (primitiveMap != null) {
+            return primitiveMap.size();
+        }
+        return map == null ? 0 : map.size();
+    }
+
+    private void doRemove(K key) {
+        if (primitiveMap != null) {
+            primitiveMap.remove(key);
+        } else if (map != null) {
+            map.remove(key);
+        }
+    }
+
+    private Set<K> doKeySet() {
+        if (primitiveMap != null) {
+            return primitiveMap.keySet();
+        }
+        return map == null ? Collections.emptySet() : map.keySet();
+    }
+
+    /**
+     * Move the values of this map to boxed storage, which is used from then on.
+     *
+     * @return map of the boxed values
+     */
+    private LinkedHashMap<K, V> toBoxedMap() {
+        LinkedHashMap<K, V> boxedMap = primitiveMap == null ? new LinkedHashMap<>() : primitiveMap.toLinkedHashMap();
+        primitiveMap = null;
+        return boxedMap;
+    }
+}
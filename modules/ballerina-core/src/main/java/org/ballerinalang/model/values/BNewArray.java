@@ -21,8 +21,6 @@ import org.ballerinalang.model.types.BType;
 import org.ballerinalang.util.exceptions.BLangExceptionHelper;
 import org.ballerinalang.util.exceptions.RuntimeErrors;
 
-import java.lang.reflect.Array;
-
 /**
  * {@code BArray} represents an arrays in Ballerina.
  *
@@ -37,10 +35,20 @@ public abstract class BNewArray implements BRefType {
      * This is same as Java
      */
     protected static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
-    protected static final int DEFAULT_ARRAY_SIZE = 100;
+
+    /**
+     * The smallest capacity an array grows to once its first allocation is full.
+     */
+    protected static final int MIN_GROWN_ARRAY_SIZE = 8;
 
     protected int size = 0;
 
+    /**
+     * Whether the storage of this array is shared with a copy or a view. Shared storage is never written, so it is
+     * copied out before this array is modified.
+     */
+    protected boolean shared;
+
     public abstract void grow(int newLength);
 
     @Override
@@ -61,17 +69,23 @@ public abstract class BNewArray implements BRefType {
 
     // Private methods
 
-    protected Object newArrayInstance(Class<?> componentType) {
-        return Array.newInstance(componentType, DEFAULT_ARRAY_SIZE);
-    }
-
     protected void prepareForAdd(long index, int currentArraySize) {
         int intIndex = (int) index;
         rangeCheck(index, size);
-        ensureCapacity(intIndex + 1, currentArraySize);
+        if (shared) {
+            grow(Math.max(intIndex + 1, size));
+            shared = false;
+        } else {
+            ensureCapacity(intIndex + 1, currentArraySize);
+        }
         resetSize(intIndex);
     }
 
+    protected void shareStorage(BNewArray other) {
+        shared = true;
+        other.shared = true;
+    }
+
     protected void resetSize(int index) {
         if (index >= size) {
             size = index + 1;
@@ -98,13 +112,27 @@ public abstract class BNewArray implements BRefType {
         }
     }
 
-    protected void ensureCapacity(int requestedCapacity, int currentArraySize) {
-        if ((requestedCapacity) - currentArraySize >= 0) {
-            // Here the growth rate is 1.5. This value has been used by many other languages
-            int newArraySize = currentArraySize + (currentArraySize >> 1);
+    protected void rangeCheckForSlice(int from, int to, long size) {
+        if (from < 0 || from > to || to > size) {
+            throw BLangExceptionHelper.getRuntimeException(
+                    RuntimeErrors.ARRAY_INDEX_OUT_OF_RANGE, from < 0 || from > to ? from : to, size);
+        }
+    }
 
-            // Now get the maximum value of the calculate new array size and request capacity
-            newArraySize = Math.max(newArraySize, requestedCapacity);
+    protected void ensureCapacity(int requestedCapacity, int currentArraySize) {
+        if (requestedCapacity > currentArraySize) {
+            int newArraySize;
+            if (currentArraySize == 0) {
+                // The first allocation is exact. Array literals store their last element first, so they are never
+                // over allocated
+                newArraySize = requestedCapacity;
+            } else {
+                // Here the growth rate is 1.5. This value has been used by many other languages
+                newArraySize = currentArraySize + (currentArraySize >> 1);
+
+                // Now get the maximum value of the calculate new array size, request capacity and the minimum size
+                newArraySize = Math.max(newArraySize, Math.max(requestedCapacity, MIN_GROWN_ARRAY_SIZE));
+            }
 
             // Now get the minimum value of new array size and maximum array size
             newArraySize = Math.min(newArraySize, MAX_ARRAY_SIZE);
@@ -19,7 +19,6 @@ package org.ballerinalang.model.values;
 
 import org.ballerinalang.model.types.BType;
 
-import java.util.Arrays;
 import java.util.StringJoiner;
 
 /**
@@ -29,8 +28,16 @@ public class BRefValueArray extends BNewArray {
 
     private BType arrayType;
 
+    private static final BRefType[] EMPTY_VALUES = new BRefType[0];
+
     private BRefType[] values;
 
+    // Index of the first element of this array in values, which is only non-zero for a view
+    private int offset;
+
+    // Whether the array is reachable by other workers, see share(). Unrelated to the shared storage of BNewArray.
+    private boolean workerShared;
+
     public BRefValueArray(BRefType[] values) {
         this.values = values;
         this.size = values.length;
@@ -38,21 +45,47 @@ public class BRefValueArray extends BNewArray {
 
     public BRefValueArray(BType type) {
         this.arrayType = type;
-        values = (BRefType[]) newArrayInstance(BRefType.class);
+        values = EMPTY_VALUES;
     }
 
     public BRefValueArray() {
-        values = (BRefType[]) newArrayInstance(BRefType.class);
+        values = EMPTY_VALUES;
     }
 
     public void add(long index, BRefType value) {
-        prepareForAdd(index, values.length);
-        values[(int) index] = value;
+        if (workerShared) {
+            BMap.share(value);
+        }
+        prepareForAdd(index, values.length - offset);
+        values[offset + (int) index] = value;
     }
 
     public BRefType get(long index) {
         rangeCheckForGet(index, size);
-        return values[(int) index];
+        return values[offset + (int) index];
+    }
+
+    /**
+     * Switch the maps reachable from this array to the shared mode, see {@link BMap#share()}. Maps stored into
+     * the array afterwards are shared as well.
+     */
+    public void share() {
+        if (workerShared) {
+            return;
+        }
+        workerShared = true;
+        for (int i = 0; i < size; i++) {
+            BMap.share(values[offset + i]);
+        }
+    }
+
+    /**
+     * Returns whether this array has been made reachable by other workers, see {@link #share()}.
+     *
+     * @return true if the array is shared with other workers
+     */
+    public boolean isWorkerShared() {
+        return workerShared;
     }
 
     @Override
@@ -62,22 +95,71 @@ public class BRefValueArray extends BNewArray {
 
     @Override
     public void grow(int newLength) {
-        values = Arrays.copyOf(values, newLength);
+        BRefType[] newValues = new BRefType[newLength];
+        System.arraycopy(values, offset, newValues, 0, Math.min(size, newLength));
+        values = newValues;
+        offset = 0;
     }
 
     @Override
     public BValue copy() {
-        BRefValueArray refValueArray = new BRefValueArray(Arrays.copyOf(values, values.length));
-        refValueArray.size = this.size;
-        refValueArray.arrayType = this.arrayType;
-        return refValueArray;
+        return slice(0, size);
+    }
+
+    /**
+     * Returns a view of the elements of this array from index {@code from} (inclusive) to index {@code to}
+     * (exclusive). The view and this array share their storage until either of them is modified.
+     *
+     * @param from index of the first element of the view
+     * @param to   index after the last element of the view
+     * @return view of the given range of this array
+     */
+    public BRefValueArray slice(int from, int to) {
+        rangeCheckForSlice(from, to, size());
+        BRefValueArray view = new BRefValueArray(values);
+        view.offset = offset + from;
+        view.size = to - from;
+        view.arrayType = arrayType;
+        shareStorage(view);
+        return view;
+    }
+
+    /**
+     * Replaces the first {@code to - from} elements of this array with the elements of {@code source} from index
+     * {@code from} (inclusive) to index {@code to} (exclusive).
+     *
+     * @param source array to copy the elements from
+     * @param from   index of the first element to copy
+     * @param to     index after the last element to copy
+     */
+    public void copyFrom(BRefValueArray source, int from, int to) {
+        rangeCheckForSlice(from, to, source.size());
+        int length = to - from;
+        if (length == 0) {
+            return;
+        }
+        if (workerShared) {
+            for (int i = from; i < to; i++) {
+                BMap.share(source.values[source.offset + i]);
+            }
+        }
+        if (length >= size) {
+            // Every element of this array is replaced, so the storage of the source is shared instead of copied
+            values = source.values;
+            offset = source.offset + from;
+            size = length;
+            source.shareStorage(this);
+            return;
+        }
+        prepareForAdd(length - 1, values.length - offset);
+        System.arraycopy(source.values, source.offset + from, values, offset, length);
     }
     
     @Override
     public String stringValue() {
         StringJoiner sj = new StringJoiner(", ", "[", "]");
         for (int i = 0; i < size; i++) {
-            sj.add(values[i] == null ? "null" : values[i].stringValue());
+            sj.add(values[offset + i] == null ? "null" : values[offset + i].stringValue());
         }
         return sj.toString();
     }
@@ -28,12 +28,32 @@ import org.ballerinalang.util.exceptions.BallerinaException;
  */
 public final class BString extends BValueType implements BRefType<String> {
 
-    private String value;
+    /**
+     * The {@code BString} of the empty string.
+     */
+    public static final BString EMPTY = new BString("");
+
+    private final String value;
 
     public BString(String value) {
         this.value = value;
     }
 
+    /**
+     * Returns a {@code BString} of the given value. The empty string is shared. Strings of the constant pool are
+     * shared by their constant pool entries, see
+     * {@link org.ballerinalang.util.codegen.cpentries.StringCPEntry#getBStringValue()}.
+     *
+     * @param value string value
+     * @return {@code BString} of the given value
+     */
+    public static BString valueOf(String value) {
+        if (value != null && value.isEmpty()) {
+            return EMPTY;
+        }
+        return new BString(value);
+    }
+
     @Override
     public long intValue() {
         long result;
@@ -93,6 +113,6 @@ public final class BString extends BValueType implements BRefType<String> {
 
     @Override
     public BValue copy() {
-        return new BString(value);
+        return this;
     }
 }
@@ -0,0 +1,76 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.values;
+
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+
+/**
+ * {@code BStringBuilder} holds a string which is being built by concatenation. The compiler keeps it in a
+ * register while it builds a long concatenation, and in a hidden local variable while a loop appends to a string,
+ * so that each append only copies the appended string. It is never visible to Ballerina code.
+ * <p>
+ * The static methods are the entry points of compiled code, which cannot cast register values.
+ *
+ * @since 0.94
+ */
+public final class BStringBuilder implements BRefType<StringBuilder> {
+
+    private final StringBuilder value;
+
+    public BStringBuilder(String initialValue) {
+        // Like concatenation, a null string is rendered as "null"
+        this.value = new StringBuilder(String.valueOf(initialValue));
+    }
+
+    public void append(String value) {
+        this.value.append(value);
+    }
+
+    public static BStringBuilder create(String initialValue) {
+        return new BStringBuilder(initialValue);
+    }
+
+    public static void append(BRefType builder, String value) {
+        ((BStringBuilder) builder).value.append(value);
+    }
+
+    public static String getString(BRefType builder) {
+        return ((BStringBuilder) builder).value.toString();
+    }
+
+    @Override
+    public StringBuilder value() {
+        return value;
+    }
+
+    @Override
+    public String stringValue() {
+        return value.toString();
+    }
+
+    @Override
+    public BType getType() {
+        return BTypes.typeString;
+    }
+
+    @Override
+    public BValue copy() {
+        return new BStringBuilder(value.toString());
+    }
+}
@@ -22,8 +22,6 @@ import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
-
 import java.util.HashMap;
 import java.util.StringJoiner;
 
@@ -34,7 +32,18 @@ import java.util.StringJoiner;
  */
 public final class BStruct implements BRefType, StructureType {
 
-    private HashMap<String, Object> nativeData = new HashMap<>();
+    private static final long[] NO_LONG_FIELDS = new long[0];
+    private static final double[] NO_DOUBLE_FIELDS = new double[0];
+    private static final int[] NO_INT_FIELDS = new int[0];
+    private static final byte[][] NO_BYTE_FIELDS = new byte[0][];
+    private static final BRefType[] NO_REF_FIELDS = new BRefType[0];
+
+    // Number of native data entries kept in slots, before moving to a map
+    private static final int NATIVE_DATA_SLOTS = 4;
+
+    // Native data entries as key, value pairs. Both are allocated on first use.
+    private Object[] nativeDataSlots;
+    private HashMap<String, Object> nativeData;
 
     private long[] longFields;
     private double[] doubleFields;
@@ -45,6 +54,11 @@ public final class BStruct implements BRefType, StructureType {
 
     private BStructType structType;
 
+    /**
+     * Whether the struct is reachable by other workers, see {@link #share()}.
+     */
+    private boolean shared;
+
     /**
      * Creates a struct with a single memory block.
      *
@@ -54,13 +68,24 @@ public final class BStruct implements BRefType, StructureType {
         this.structType = structType;
 
         int[] fieldCount = this.structType.getFieldTypeCount();
-        longFields = new long[fieldCount[0]];
-        doubleFields = new double[fieldCount[1]];
-        stringFields = new String[fieldCount[2]];
-        Arrays.fill(stringFields, "");
-        intFields = new int[fieldCount[3]];
-        byteFields = new byte[fieldCount[4]][];
-        refFields = new BRefType[fieldCount[5]];
+        longFields = fieldCount[0] == 0 ? NO_LONG_FIELDS : new long[fieldCount[0]];
+        doubleFields = fieldCount[1] == 0 ? NO_DOUBLE_FIELDS : new double[fieldCount[1]];
+        stringFields = fieldCount[2] == 0 ? structType.getStringFieldDefaults() :
+                structType.getStringFieldDefaults().clone();
+        intFields = fieldCount[3] == 0 ? NO_INT_FIELDS : new int[fieldCount[3]];
+        byteFields = fieldCount[4] == 0 ? NO_BYTE_FIELDS : new byte[fieldCount[4]][];
+        refFields = fieldCount[5] == 0 ? NO_REF_FIELDS : new BRefType[fieldCount[5]];
+    }
+
+    private BStruct(BStruct struct) {
+        this.structType = struct.structType;
+        // Empty arrays are shared, and cloning keeps them so
+        longFields = struct.longFields.length == 0 ? NO_LONG_FIELDS : struct.longFields.clone();
+        doubleFields = struct.doubleFields.length == 0 ? NO_DOUBLE_FIELDS : struct.doubleFields.clone();
+        stringFields = struct.stringFields.length == 0 ? struct.stringFields : struct.stringFields.clone();
+        intFields = struct.intFields.length == 0 ? NO_INT_FIELDS : struct.intFields.clone();
+        byteFields = struct.byteFields.length == 0 ? NO_BYTE_FIELDS : struct.byteFields.clone();
+        refFields = struct.refFields.length == 0 ? NO_REF_FIELDS : struct.refFields.clone();
     }
 
     /**
@@ -170,19 +195,29 @@ public final class BStruct implements BRefType, StructureType {
 
     @Override
     public void setRefField(int index, BRefType value) {
+        if (shared) {
+            BMap.share(value);
+        }
         refFields[index] = value;
     }
 
+    /**
+     * Switch the maps reachable from this struct to the shared mode, see {@link BMap#share()}. Maps stored into
+     * the struct afterwards are shared as well.
+     */
+    public void share() {
+        if (shared) {
+            return;
+        }
+        shared = true;
+        for (BRefType value : refFields) {
+            BMap.share(value);
+        }
+    }
+
     @Override
     public BValue copy() {
-        BStruct bStruct = new BStruct(structType);
-        bStruct.longFields = Arrays.copyOf(longFields, longFields.length);
-        bStruct.doubleFields = Arrays.copyOf(doubleFields, doubleFields.length);
-        bStruct.stringFields = Arrays.copyOf(stringFields, stringFields.length);
-        bStruct.intFields = Arrays.copyOf(intFields, intFields.length);
-        bStruct.byteFields = Arrays.copyOf(byteFields, byteFields.length);
-        bStruct.refFields = Arrays.copyOf(refFields, refFields.length);
-        return bStruct;
+        return new BStruct(this);
     }
 
     /**
@@ -192,7 +227,29 @@ public final class BStruct implements BRefType, StructureType {
      * @param data data to be stored
      */
     public void addNativeData(String key, Object data) {
+        if (nativeData != null) {
+            nativeData.put(key, data);
+            return;
+        }
+        if (nativeDataSlots == null) {
+            nativeDataSlots = new Object[NATIVE_DATA_SLOTS * 2];
+        }
+        for (int i = 0; i < nativeDataSlots.length; i += 2) {
+            Object slotKey = nativeDataSlots[i];
+            if (slotKey == null || key.equals(slotKey)) {
+                nativeDataSlots[i] = key;
+                nativeDataSlots[i + 1] = data;
+                return;
+            }
+        }
+
+        // All the slots are taken, hence move to a map
+        nativeData = new HashMap<>();
+        for (int i = 0; i < nativeDataSlots.length; i += 2) {
+            nativeData.put((String) nativeDataSlots[i], nativeDataSlots[i + 1]);
+        }
         nativeData.put(key, data);
+        nativeDataSlots = null;
     }
 
     /**
@@ -202,6 +259,21 @@ public final class BStruct implements BRefType, StructureType {
      * @return data which was stored with given key or null if no value corresponding to key
      */
     public Object getNativeData(String key) {
-        return nativeData.get(key);
+        if (nativeData != null) {
+            return nativeData.get(key);
+        }
+        if (nativeDataSlots == null) {
+            return null;
+        }
+        for (int i = 0; i < nativeDataSlots.length; i += 2) {
+            Object slotKey = nativeDataSlots[i];
+            if (slotKey == null) {
+                return null;
+            }
+            if (key.equals(slotKey)) {
+                return nativeDataSlots[i + 1];
+            }
+        }
+        return null;
     }
 }
@@ -126,7 +126,7 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public BBoolean isEmpty() {
-        return new BBoolean(omNode == null);
+        return BBoolean.valueOf(omNode == null);
     }
     
     /**
@@ -134,7 +134,7 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public BBoolean isSingleton() {
-        return new BBoolean(true);
+        return BBoolean.TRUE;
     }
     
     /**
@@ -142,7 +142,7 @@ public final class BXMLItem extends BXML<OMNode> {
      */
     @Override
     public BString getItemType() {
-        return new BString(nodeType.value());
+        return BString.valueOf(nodeType.value());
     }
     
     /**
@@ -151,7 +151,7 @@ public final class BXMLItem extends BXML<OMNode> {
     @Override
     public BString getElementName() {
         if (nodeType == XMLNodeType.ELEMENT) {
-            return new BString(((OMElement) omNode).getQName().toString());
+            return BString.valueOf(((OMElement) omNode).getQName().toString());
         }
         
         return BTypes.typeString.getEmptyValue();
@@ -169,9 +169,9 @@ public final class BXMLItem extends BXML<OMNode> {
                 while (children.hasNext()) {
                     elementTextBuilder.append(getTextValue(children.next()));
                 }
-                return new BString(elementTextBuilder.toString());
+                return BString.valueOf(elementTextBuilder.toString());
             case TEXT:
-                return new BString(((OMText) omNode).getText());
+                return BString.valueOf(((OMText) omNode).getText());
             case COMMENT:
                 return BTypes.typeString.getZeroValue();
             case PI:
@@ -305,13 +305,13 @@ public final class BXMLItem extends BXML<OMNode> {
             if (prefix.isEmpty()) {
                 continue;
             }
-            attrMap.put(namespaceOfPrefix + prefix, new BString(namespace.getNamespaceURI()));
+            attrMap.put(namespaceOfPrefix + prefix, BString.valueOf(namespace.getNamespaceURI()));
         }
         
         Iterator<OMAttribute> attrIterator = ((OMElement) omNode).getAllAttributes();
         while (attrIterator.hasNext()) {
             OMAttribute attr = attrIterator.next();
-            attrMap.put(attr.getQName().toString(), new BString(attr.getAttributeValue()));
+            attrMap.put(attr.getQName().toString(), BString.valueOf(attr.getAttributeValue()));
         }
         
         return attrMap;
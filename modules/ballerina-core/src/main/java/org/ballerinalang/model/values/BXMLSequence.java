@@ -68,7 +68,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BBoolean isEmpty() {
-        return new BBoolean(sequence.size() == 0);
+        return BBoolean.valueOf(sequence.size() == 0);
     }
     
     /**
@@ -76,7 +76,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
      */
     @Override
     public BBoolean isSingleton() {
-        return new BBoolean(sequence.size() == 1);
+        return BBoolean.valueOf(sequence.size() == 1);
     }
     
     /**
@@ -112,7 +112,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
             BXMLItem item = (BXMLItem) sequence.get(i);
             seqTextBuilder.append(item.getTextValue().stringValue());
         }
-        return new BString(seqTextBuilder.toString());
+        return BString.valueOf(seqTextBuilder.toString());
     }
     
     /**
@@ -315,13 +315,7 @@ public final class BXMLSequence extends BXML<BRefValueArray> {
             throw new BallerinaException("invalid indices: " + startIndex + " < " + endIndex);
         }
         
-        int j = 0;
-        BRefValueArray elementsSeq = new BRefValueArray();
-        for (long i = startIndex; i < endIndex; i++) {
-            elementsSeq.add(j++, sequence.get(i));
-        }
-        
-        return new BXMLSequence(elementsSeq);
+        return new BXMLSequence(sequence.slice((int) startIndex, (int) endIndex));
     }
 
     /**
@@ -0,0 +1,178 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.values;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@code JSONIndex} holds the elements of a JSON object or array which is kept as raw text. It is built in one
+ * streaming pass over the text, which does not build a tree for the nested objects and arrays: they are kept as
+ * {@link BJSON} values holding their range of the text, and are only parsed when accessed.
+ * <p>
+ * Scalar elements are parsed while building the index.
+ *
+ * @since 0.94
+ */
+final class JSONIndex {
+
+    // Elements of an object by name, null for an array
+    private final Map<String, Object> fields;
+
+    // Elements of an array by position, null for an object
+    private final List<Object> elements;
+
+    private JSONIndex(boolean isArray) {
+        this.fields = isArray ? null : new HashMap<>();
+        this.elements = isArray ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Build the index of the object or array in the given range of a JSON text. The whole range is tokenized, so
+     * malformed content in nested values is reported here.
+     *
+     * @param mapper  object mapper to parse with
+     * @param content JSON text
+     * @param start   offset of the opening bracket of the object or array
+     * @param end     end offset of the range, exclusive
+     * @return index of the elements of the object or array
+     * @throws IOException if the content is not valid JSON
+     */
+    static JSONIndex build(ObjectMapper mapper, byte[] content, int start, int end) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(content, start, end - start)) {
+            JsonToken token = parser.nextToken();
+            // Depending on the parser, locations are relative to the start of the range or to the whole content
+            long base = start - parser.getTokenLocation().getByteOffset();
+            JSONIndex index = new JSONIndex(token == JsonToken.START_ARRAY);
+
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_OBJECT &&
+                    token != JsonToken.END_ARRAY) {
+                String name = null;
+                if (token == JsonToken.FIELD_NAME) {
+                    name = parser.getCurrentName();
+                    token = parser.nextToken();
+                }
+
+                Object element;
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    int elementStart = (int) (base + parser.getTokenLocation().getByteOffset());
+                    parser.skipChildren();
+                    int elementEnd = (int) (base + parser.getCurrentLocation().getByteOffset());
+                    element = new BJSON(content, elementStart, elementEnd);
+                } else if (token == JsonToken.VALUE_NULL) {
+                    element = NullNode.getInstance();
+                } else {
+                    element = mapper.readTree(parser);
+                }
+
+                if (index.fields != null) {
+                    index.fields.put(name, element);
+                } else {
+                    index.elements.add(element);
+                }
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Parse the object or array in the given range of a JSON text to a tree.
+     *
+     * @param mapper  object mapper to parse with
+     * @param content JSON text
+     * @param start   offset of the opening bracket of the object or array
+     * @param end     end offset of the range, exclusive
+     * @return parsed tree
+     * @throws IOException if the content is not valid JSON
+     */
+    static JsonNode parse(ObjectMapper mapper, byte[] content, int start, int end) throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(content, start, end - start)) {
+            return mapper.readTree(parser);
+        }
+    }
+
+    boolean isArray() {
+        return elements != null;
+    }
+
+    boolean hasField(String name) {
+        return fields.containsKey(name);
+    }
+
+    int size() {
+        return elements.size();
+    }
+
+    /**
+     * Get the element with the given name, or at the given position.
+     *
+     * @param key name of an object element, or position of an array element
+     * @return a {@link JsonNode} for a scalar, a {@link BJSON} for an object or an array, or null if there is no such
+     * element
+     */
+    Object get(Object key) {
+        return fields != null ? fields.get(key) : elements.get((Integer) key);
+    }
+
+    /**
+     * Share the objects and arrays already accessed through this index with the tree parsed from the same text, so
+     * that the updates made through either of them are visible to the other.
+     *
+     * @param node tree parsed from the text of this index
+     */
+    void shareElements(JsonNode node) {
+        if (fields != null) {
+            for (Map.Entry<String, Object> field : fields.entrySet()) {
+                if (field.getValue() instanceof BJSON) {
+                    shareElement((BJSON) field.getValue(), node.get(field.getKey()),
+                            element -> ((ObjectNode) node).set(field.getKey(), element));
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < elements.size(); i++) {
+            if (elements.get(i) instanceof BJSON) {
+                int position = i;
+                shareElement((BJSON) elements.get(i), node.get(i),
+                        element -> ((ArrayNode) node).set(position, element));
+            }
+        }
+    }
+
+    private static void shareElement(BJSON element, JsonNode parsedElement, Consumer<JsonNode> replacement) {
+        if (element.isParsed()) {
+            // The element may have been updated since it was accessed
+            replacement.accept(element.value());
+        } else {
+            element.adoptTree(parsedElement);
+        }
+    }
+}
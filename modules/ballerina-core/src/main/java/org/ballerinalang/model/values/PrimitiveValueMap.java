@@ -0,0 +1,333 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.values;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@code PrimitiveValueMap} is the storage of a {@link BMap} whose values are all ints, all floats or all strings.
+ * The values are kept unboxed in arrays which are indexed by an open addressing hash table, so an entry costs no
+ * value object and no entry node. Entries are appended to the arrays, which keeps the insertion order of the map.
+ * A removed entry is only marked as such, and the arrays are compacted when they grow.
+ *
+ * @param <K> Key
+ * @since 0.94
+ */
+final class PrimitiveValueMap<K> {
+
+    static final int INT = 1;
+    static final int FLOAT = 2;
+    static final int STRING = 3;
+
+    private static final Object REMOVED = new Object();
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final int kind;
+
+    // Keys in insertion order, REMOVED for removed entries
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+
+    // Values of int maps, and the raw bits of the values of float maps
+    private long[] primitiveValues;
+    private String[] stringValues;
+
+    // Hash table of entry index + 1, 0 for a free slot. Its size is twice the capacity of the entry arrays.
+    private int[] index = new int[INITIAL_CAPACITY * 2];
+
+    // Number of entries appended, including the removed ones
+    private int count;
+    private int size;
+
+    PrimitiveValueMap(int kind) {
+        this.kind = kind;
+        if (kind == STRING) {
+            stringValues = new String[INITIAL_CAPACITY];
+        } else {
+            primitiveValues = new long[INITIAL_CAPACITY];
+        }
+    }
+
+    /**
+     * Returns the kind of the values the given value can be stored as, or {@code 0} if it has to be boxed.
+     *
+     * @param value value to store
+     * @return value kind
+     */
+    static int getKind(BValue value) {
+        if (value == null) {
+            return 0;
+        }
+        Class<?> valueClass = value.getClass();
+        if (valueClass == BInteger.class) {
+            return INT;
+        } else if (valueClass == BFloat.class) {
+            return FLOAT;
+        } else if (valueClass == BString.class) {
+            return STRING;
+        }
+        return 0;
+    }
+
+    int getKind() {
+        return kind;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the entry of the given key, or {@code -1} if there is no such entry.
+     *
+     * @param key key to look up
+     * @return entry index
+     */
+    int find(Object key) {
+        int mask = index.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot] - 1;
+            if (entry < 0) {
+                return -1;
+            }
+            if (Objects.equals(key, keys[entry])) {
+                return entry;
+            }
+        }
+    }
+
+    long getPrimitive(int entry) {
+        return primitiveValues[entry];
+    }
+
+    String getString(int entry) {
+        return stringValues[entry];
+    }
+
+    /**
+     * Returns the boxed value of the given key, or {@code null} if there is no such entry. Values the factories of
+     * the value types do not cache are boxed into a new object on every call.
+     *
+     * @param key key to look up
+     * @return boxed value
+     */
+    BValue get(Object key) {
+        int entry = find(key);
+        return entry < 0 ? null : box(entry);
+    }
+
+    void putPrimitive(K key, long value) {
+        int entry = find(key);
+        if (entry < 0) {
+            entry = append(key);
+        }
+        primitiveValues[entry] = value;
+    }
+
+    void putString(K key, String value) {
+        int entry = find(key);
+        if (entry < 0) {
+            entry = append(key);
+        }
+        stringValues[entry] = value;
+    }
+
+    /**
+     * Store the given value, which has to be of the kind of this map.
+     *
+     * @param key   key of the value
+     * @param value value to store
+     */
+    void put(K key, BValue value) {
+        switch (kind) {
+            case INT:
+                putPrimitive(key, ((BInteger) value).intValue());
+                break;
+            case FLOAT:
+                putPrimitive(key, Double.doubleToRawLongBits(((BFloat) value).floatValue()));
+                break;
+            default:
+                putString(key, value.stringValue());
+        }
+    }
+
+    void remove(Object key) {
+        int entry = find(key);
+        if (entry < 0) {
+            return;
+        }
+        // The hash table slot keeps pointing to the entry, so that probing continues past it
+        keys[entry] = REMOVED;
+        if (stringValues != null) {
+            stringValues[entry] = null;
+        }
+        size--;
+    }
+
+    @SuppressWarnings("unchecked")
+    Set<K> keySet() {
+        Set<K> keySet = new LinkedHashSet<>();
+        for (int entry = 0; entry < count; entry++) {
+            if (keys[entry] != REMOVED) {
+                keySet.add((K) keys[entry]);
+            }
+        }
+        return keySet;
+    }
+
+    /**
+     * Box the values of this map into a {@code LinkedHashMap}, in insertion order.
+     *
+     * @param <V> Value
+     * @return map of the boxed values
+     */
+    @SuppressWarnings("unchecked")
+    <V extends BValue> LinkedHashMap<K, V> toLinkedHashMap() {
+        LinkedHashMap<K, V> map = new LinkedHashMap<>();
+        for (int entry = 0; entry < count; entry++) {
+            if (keys[entry] != REMOVED) {
+                map.put((K) keys[entry], (V) box(entry));
+            }
+        }
+        return map;
+    }
+
+    PrimitiveValueMap<K> copy() {
+        PrimitiveValueMap<K> copy = new PrimitiveValueMap<>(kind);
+        copy.keys = keys.clone();
+        copy.primitiveValues = primitiveValues == null ? null : primitiveValues.clone();
+        copy.stringValues = stringValues == null ? null : stringValues.clone();
+        copy.index = index.clone();
+        copy.count = count;
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Returns the string representation of this map, formatted the same way as a map of boxed values.
+     *
+     * @return string value
+     */
+    String stringValue() {
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (int entry = 0; entry < count; entry++) {
+            if (keys[entry] == REMOVED) {
+                continue;
+            }
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append('"').append(keys[entry]).append("\":");
+            switch (kind) {
+                case INT:
+                    sb.append(primitiveValues[entry]);
+                    break;
+                case FLOAT:
+                    sb.append(Double.longBitsToDouble(primitiveValues[entry]));
+                    break;
+                default:
+                    sb.append('"').append(stringValues[entry]).append('"');
+            }
+        }
+        return sb.append('}').toString();
+    }
+
+    private BValue box(int entry) {
+        switch (kind) {
+            case INT:
+                return BInteger.valueOf(primitiveValues[entry]);
+            case FLOAT:
+                return BFloat.valueOf(Double.longBitsToDouble(primitiveValues[entry]));
+            default:
+                return BString.valueOf(stringValues[entry]);
+        }
+    }
+
+    private int append(K key) {
+        if (count == keys.length) {
+            grow();
+        }
+        int entry = count++;
+        keys[entry] = key;
+        insert(entry);
+        size++;
+        return entry;
+    }
+
+    private void insert(int entry) {
+        int mask = index.length - 1;
+        int slot = hash(keys[entry]) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = entry + 1;
+    }
+
+    /**
+     * Compact the removed entries away and, if the arrays are still more than half full, double their capacity.
+     */
+    private void grow() {
+        int capacity = size * 2 > keys.length ? keys.length * 2 : keys.length;
+        Object[] oldKeys = keys;
+        long[] oldPrimitiveValues = primitiveValues;
+        String[] oldStringValues = stringValues;
+
+        keys = new Object[capacity];
+        if (oldPrimitiveValues != null) {
+            primitiveValues = new long[capacity];
+        } else {
+            stringValues = new String[capacity];
+        }
+        int newCount = 0;
+        for (int entry = 0; entry < count; entry++) {
+            if (oldKeys[entry] == REMOVED) {
+                continue;
+            }
+            keys[newCount] = oldKeys[entry];
+            if (oldPrimitiveValues != null) {
+                primitiveValues[newCount] = oldPrimitiveValues[entry];
+            } else {
+                stringValues[newCount] = oldStringValues[entry];
+            }
+            newCount++;
+        }
+        count = newCount;
+
+        if (index.length == capacity * 2) {
+            Arrays.fill(index, 0);
+        } else {
+            index = new int[capacity * 2];
+        }
+        for (int entry = 0; entry < count; entry++) {
+            insert(entry);
+        }
+    }
+
+    private static int hash(Object key) {
+        if (key == null) {
+            return 0;
+        }
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
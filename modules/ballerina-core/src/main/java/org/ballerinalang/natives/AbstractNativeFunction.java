@@ -19,6 +19,7 @@
 package org.ballerinalang.natives;
 
 import org.ballerinalang.bre.Context;
+import org.ballerinalang.connector.api.ConnectorFuture;
 import org.ballerinalang.model.AnnotationAttachment;
 import org.ballerinalang.model.Function;
 import org.ballerinalang.model.Identifier;
@@ -179,6 +180,30 @@ public abstract class AbstractNativeFunction implements NativeUnit, Function {
      */
     public abstract BValue[] execute(Context context);
 
+    /**
+     * Declare whether this native function completes asynchronously. Such functions are started with
+     * {@link #executeNonBlocking(Context)} instead of {@link #execute(Context)}.
+     * <p>
+     * Default is false, Override to support non-blocking behaviour.
+     *
+     * @return true, if current implementation supports non-blocking.
+     */
+    public boolean isNonBlockingFunction() {
+        return false;
+    }
+
+    /**
+     * Where the logic of a non-blocking native function is implemented. The function returns without waiting for
+     * its result, and notifies the returned future once it completes, with the first return value as the reply.
+     * Meanwhile the calling worker is suspended, and the thread executing it is released.
+     *
+     * @param context Current Context instance
+     * @return future notified once the function completes
+     */
+    public ConnectorFuture executeNonBlocking(Context context) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support non-blocking");
+    }
+
     /**
      * Execute this native function and set the values for return parameters.
      *
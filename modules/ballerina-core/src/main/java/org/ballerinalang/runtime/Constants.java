@@ -34,4 +34,57 @@ public class Constants {
 
     // Name of the system property to hold the debug port
     public static final String SYSTEM_PROP_BAL_DEBUG = "ballerina.debug";
+
+    // Name of the system property to disable superinstruction fusion when set to false
+    public static final String SYSTEM_PROP_BAL_FUSE_INSTRUCTIONS = "ballerina.vm.fuseInstructions";
+
+    // Name of the system property to hold the maximum number of cached struct equivalency results
+    public static final String SYSTEM_PROP_BAL_STRUCT_EQUIVALENCY_CACHE_SIZE =
+            "ballerina.vm.structEquivalencyCacheSize";
+
+    // Name of the system property to enable the VM profiler, either in 'sample' or in 'exact' mode
+    public static final String SYSTEM_PROP_BAL_PROFILE = "ballerina.profile";
+
+    // Name of the system property to hold the sampling interval of the VM profiler, in milliseconds
+    public static final String SYSTEM_PROP_BAL_PROFILE_INTERVAL = "ballerina.profile.interval";
+
+    // Name of the system property to hold the path prefix of the profile files written on shutdown
+    public static final String SYSTEM_PROP_BAL_PROFILE_OUT = "ballerina.profile.out";
+
+    // Name of the system property to enable the collection of VM execution statistics
+    public static final String SYSTEM_PROP_BAL_VM_STATS = "ballerina.vm.stats";
+
+    // Name of the system property to hold the path of the file the VM statistics are dumped to
+    public static final String SYSTEM_PROP_BAL_VM_STATS_FILE = "ballerina.vm.stats.file";
+
+    // Name of the system property to hold the name of the signal which triggers a dump of the VM statistics
+    public static final String SYSTEM_PROP_BAL_VM_STATS_SIGNAL = "ballerina.vm.stats.signal";
+
+    // Name of the system property to enable the compilation of hot callable units to JVM bytecode
+    public static final String SYSTEM_PROP_BAL_VM_JIT = "ballerina.vm.jit";
+
+    // Name of the system property to hold the number of execution events after which a callable unit is compiled
+    public static final String SYSTEM_PROP_BAL_VM_JIT_THRESHOLD = "ballerina.vm.jitThreshold";
+
+    // Name of the system property to back the thread pools of the runtime with virtual threads, on JDK 21 or later
+    public static final String SYSTEM_PROP_BAL_VIRTUAL_THREADS = "ballerina.threads.virtual";
+
+    // Prefix of the system properties configuring the thread pools, followed by the pool name, see ThreadPoolConfig
+    public static final String SYSTEM_PROP_BAL_THREAD_POOL = "ballerina.threadpool.";
+
+    // Name of the system property to hold the queue wait, in milliseconds, above which thread pools grow
+    // automatically. Thread pools are not resized if it is not set.
+    public static final String SYSTEM_PROP_BAL_THREAD_POOL_ADAPTIVE_WAIT = "ballerina.threadpool.adaptiveQueueWait";
+
+    // Name of the system property to hold the number of messages a worker can send ahead of the receiver, after
+    // which it waits. Worker data channels are unbounded if it is not set.
+    public static final String SYSTEM_PROP_BAL_WORKER_CHANNEL_CAPACITY = "ballerina.worker.channelCapacity";
+
+    // Name of the system property to hold the unit of fork-join timeouts, a java.util.concurrent.TimeUnit name such
+    // as MILLISECONDS. Timeouts are in seconds if it is not set.
+    public static final String SYSTEM_PROP_BAL_FORK_JOIN_TIMEOUT_UNIT = "ballerina.forkjoin.timeoutUnit";
+
+    // Name of the system property to hold the minimum size, in bytes, of the streamed JSON payloads which are parsed
+    // on demand, element by element, instead of being parsed to a tree when read
+    public static final String SYSTEM_PROP_BAL_JSON_LAZY_PARSE_SIZE = "ballerina.json.lazyParseSize";
 }
@@ -0,0 +1,191 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.threadpool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * {@code BLangThreadPoolExecutor} is a thread pool of the runtime, configured by a {@link ThreadPoolConfig}. It
+ * measures how long tasks wait in its queue and how long they run, counts rejected tasks, and exposes these through
+ * JMX as a {@link ThreadPoolMXBean}.
+ * <p>
+ * In adaptive mode the core size of the pool is adjusted periodically by {@link #adapt(long)}: it grows towards
+ * the maximum size while tasks wait longer than a target, and shrinks back to the configured core size once the
+ * pool is mostly idle.
+ *
+ * @since 0.94
+ */
+public class BLangThreadPoolExecutor extends ThreadPoolExecutor implements ThreadPoolMXBean {
+
+    public static final String OBJECT_NAME_PREFIX = "org.ballerinalang:type=ThreadPool,name=";
+
+    private static final Logger logger = LoggerFactory.getLogger(BLangThreadPoolExecutor.class);
+
+    private final String name;
+    private final int configuredCoreSize;
+
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder startedTasks = new LongAdder();
+    private final LongAdder taskNanos = new LongAdder();
+    private final LongAdder finishedTasks = new LongAdder();
+
+    // Queue waits since the last adaptation
+    private final LongAdder recentQueueWaitNanos = new LongAdder();
+    private final LongAdder recentStartedTasks = new LongAdder();
+
+    public BLangThreadPoolExecutor(ThreadPoolConfig config, ThreadFactory threadFactory) {
+        super(config.coreSize, config.maxSize, config.keepAliveMillis, TimeUnit.MILLISECONDS, config.createQueue(),
+                threadFactory, new CountingRejectionHandler(config.createRejectionHandler()));
+        this.name = config.name;
+        this.configuredCoreSize = config.coreSize;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        super.execute(new TimedTask(command));
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable runnable) {
+        super.beforeExecute(thread, runnable);
+        if (runnable instanceof TimedTask) {
+            TimedTask task = (TimedTask) runnable;
+            task.startNanos = System.nanoTime();
+            long queueWait = task.startNanos - task.submitNanos;
+            queueWaitNanos.add(queueWait);
+            startedTasks.increment();
+            recentQueueWaitNanos.add(queueWait);
+            recentStartedTasks.increment();
+        }
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable) {
+        super.afterExecute(runnable, throwable);
+        if (runnable instanceof TimedTask) {
+            taskNanos.add(System.nanoTime() - ((TimedTask) runnable).startNanos);
+            finishedTasks.increment();
+        }
+    }
+
+    /**
+     * Adjust the core size of this pool to the queue waits since the last adaptation.
+     *
+     * @param targetQueueWaitNanos queue wait above which the pool grows
+     */
+    void adapt(long targetQueueWaitNanos) {
+        long queueWait = recentQueueWaitNanos.sumThenReset();
+        long tasks = recentStartedTasks.sumThenReset();
+        long averageWait = tasks == 0 ? 0 : queueWait / tasks;
+        int coreSize = getCorePoolSize();
+        int newCoreSize = coreSize;
+        if ((averageWait > targetQueueWaitNanos || getQueue().size() > coreSize) && coreSize < getMaximumPoolSize()) {
+            newCoreSize = Math.min(getMaximumPoolSize(), coreSize + Math.max(1, coreSize / 4));
+        } else if (averageWait < targetQueueWaitNanos / 4 && getActiveCount() < coreSize / 2 &&
+                coreSize > configuredCoreSize) {
+            newCoreSize = Math.max(configuredCoreSize, coreSize - Math.max(1, coreSize / 8));
+        }
+
+        if (newCoreSize != coreSize) {
+            setCorePoolSize(newCoreSize);
+            if (logger.isDebugEnabled()) {
+                logger.debug("thread pool " + name + " resized from " + coreSize + " to " + newCoreSize +
+                        " threads, average queue wait " + averageWait / 1000 + "us");
+            }
+        }
+    }
+
+    void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME_PREFIX + name));
+        } catch (JMException e) {
+            logger.warn("unable to register the MBean of thread pool " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return getQueue().size();
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return ((CountingRejectionHandler) getRejectedExecutionHandler()).rejectedTasks.sum();
+    }
+
+    @Override
+    public double getAverageQueueWaitMillis() {
+        long tasks = startedTasks.sum();
+        return tasks == 0 ? 0 : queueWaitNanos.sum() / (tasks * 1e6);
+    }
+
+    @Override
+    public double getAverageTaskMillis() {
+        long tasks = finishedTasks.sum();
+        return tasks == 0 ? 0 : taskNanos.sum() / (tasks * 1e6);
+    }
+
+    /**
+     * Task submitted to the pool, with the time it was submitted at.
+     */
+    private static class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long submitNanos = System.nanoTime();
+        // Only accessed by the thread running the task
+        private long startNanos;
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    /**
+     * Applies the configured rejection policy, counting the rejected tasks.
+     */
+    private static class CountingRejectionHandler implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler policy;
+        private final LongAdder rejectedTasks = new LongAdder();
+
+        CountingRejectionHandler(RejectedExecutionHandler policy) {
+            this.policy = policy;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            rejectedTasks.increment();
+            policy.rejectedExecution(runnable, executor);
+        }
+    }
+}
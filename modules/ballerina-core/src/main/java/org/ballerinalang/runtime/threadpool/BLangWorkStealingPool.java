@@ -0,0 +1,237 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.threadpool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * {@code BLangWorkStealingPool} is the work-stealing pool on which workers and fork-join branches run. Each thread
+ * has a queue of its own and idle threads steal from the others, so that workers spawned by a worker are neither
+ * contended on a single queue nor starved by the tasks of other requests.
+ * <p>
+ * Threads blocking on another worker should wait through {@link #tryAcquire(Semaphore, long, TimeUnit)} or another
+ * {@link ManagedBlocker}, which let the pool start a spare thread while they are blocked. Nested fork-joins hence
+ * cannot exhaust the pool.
+ *
+ * @since 0.94
+ */
+public class BLangWorkStealingPool extends ForkJoinPool implements ThreadPoolMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(BLangWorkStealingPool.class);
+
+    private final String name;
+
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder startedTasks = new LongAdder();
+    private final LongAdder taskNanos = new LongAdder();
+    private final LongAdder finishedTasks = new LongAdder();
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    public BLangWorkStealingPool(ThreadPoolConfig config, String threadNamePrefix) {
+        super(config.coreSize, new WorkerThreadFactory(threadNamePrefix), null, true);
+        this.name = config.name;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        try {
+            super.execute(new MeasuredTask(task));
+        } catch (RejectedExecutionException e) {
+            rejectedTasks.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Acquire a permit of the given semaphore, letting the pool of the current thread compensate while it waits.
+     *
+     * @param semaphore semaphore to acquire
+     * @param timeout   maximum time to wait
+     * @param unit      unit of the timeout
+     * @return true if the permit was acquired, false if the timeout elapsed
+     * @throws InterruptedException if the current thread is interrupted
+     */
+    public static boolean tryAcquire(Semaphore semaphore, long timeout, TimeUnit unit) throws InterruptedException {
+        if (semaphore.tryAcquire()) {
+            return true;
+        }
+        TimedBlocker<Boolean> blocker = new TimedBlocker<Boolean>(unit.toNanos(timeout)) {
+            @Override
+            Boolean tryGet() {
+                return semaphore.tryAcquire() ? Boolean.TRUE : null;
+            }
+
+            @Override
+            Boolean get(long nanos) throws InterruptedException {
+                return semaphore.tryAcquire(nanos, TimeUnit.NANOSECONDS) ? Boolean.TRUE : null;
+            }
+        };
+        ForkJoinPool.managedBlock(blocker);
+        return blocker.result != null;
+    }
+
+    void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName(BLangThreadPoolExecutor.OBJECT_NAME_PREFIX + name));
+        } catch (JMException e) {
+            logger.warn("unable to register the MBean of thread pool " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int getCorePoolSize() {
+        return getParallelism();
+    }
+
+    @Override
+    public int getMaximumPoolSize() {
+        return getParallelism();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return getActiveThreadCount();
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return (int) Math.min(Integer.MAX_VALUE, getQueuedTaskCount() + getQueuedSubmissionCount());
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return finishedTasks.sum();
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return rejectedTasks.sum();
+    }
+
+    @Override
+    public double getAverageQueueWaitMillis() {
+        long tasks = startedTasks.sum();
+        return tasks == 0 ? 0 : queueWaitNanos.sum() / (tasks * 1e6);
+    }
+
+    @Override
+    public double getAverageTaskMillis() {
+        long tasks = finishedTasks.sum();
+        return tasks == 0 ? 0 : taskNanos.sum() / (tasks * 1e6);
+    }
+
+    /**
+     * Task submitted to the pool, recording how long it waited and ran.
+     */
+    private class MeasuredTask implements Runnable {
+
+        private final Runnable task;
+        private final long submitNanos = System.nanoTime();
+
+        MeasuredTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long startNanos = System.nanoTime();
+            queueWaitNanos.add(startNanos - submitNanos);
+            startedTasks.increment();
+            try {
+                task.run();
+            } finally {
+                taskNanos.add(System.nanoTime() - startNanos);
+                finishedTasks.increment();
+            }
+        }
+    }
+
+    /**
+     * Blocks until a value is available or the timeout elapses.
+     *
+     * @param <T> type of the value
+     */
+    private abstract static class TimedBlocker<T> implements ManagedBlocker {
+
+        private final long startNanos = System.nanoTime();
+        private final long timeoutNanos;
+        T result;
+
+        TimedBlocker(long timeoutNanos) {
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        private long remainingNanos() {
+            return timeoutNanos - (System.nanoTime() - startNanos);
+        }
+
+        abstract T tryGet();
+
+        abstract T get(long nanos) throws InterruptedException;
+
+        @Override
+        public boolean block() throws InterruptedException {
+            long remaining = remainingNanos();
+            if (result == null && remaining > 0) {
+                result = get(remaining);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            if (result == null) {
+                result = tryGet();
+            }
+            return result != null || remainingNanos() <= 0;
+        }
+    }
+
+    /**
+     * Creates the named threads of the pool.
+     */
+    private static class WorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+        private final String namePrefix;
+
+        WorkerThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix + "-";
+        }
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            ForkJoinWorkerThread thread = defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(namePrefix + threadNumber.getAndIncrement());
+            return thread;
+        }
+    }
+}
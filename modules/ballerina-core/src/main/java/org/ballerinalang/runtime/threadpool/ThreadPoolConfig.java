@@ -0,0 +1,134 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.threadpool;
+
+import org.ballerinalang.runtime.Constants;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * {@code ThreadPoolConfig} holds the configuration of a thread pool, read from the system properties prefixed with
+ * {@value Constants#SYSTEM_PROP_BAL_THREAD_POOL} and the name of the pool, e.g. {@code ballerina.threadpool.main.}:
+ * <ul>
+ * <li>{@code coreSize}: number of threads kept in the pool</li>
+ * <li>{@code maxSize}: maximum number of threads, reached once the queue is full or by the adaptive mode</li>
+ * <li>{@code queueSize}: capacity of the task queue, unbounded if not positive</li>
+ * <li>{@code keepAliveMillis}: idle time after which threads above the core size are stopped</li>
+ * <li>{@code rejectionPolicy}: {@code abort}, {@code caller-runs} or {@code discard}, applied once the queue is
+ * full and the pool has reached its maximum size, {@code abort} by default</li>
+ * </ul>
+ * The worker pool is a work-stealing pool, of which only {@code coreSize}, the target parallelism, is configurable.
+ * The response pool resumes suspended workers, which must not be lost, see {@link #loadLossless(String, int)}.
+ *
+ * @since 0.94
+ */
+public class ThreadPoolConfig {
+
+    private static final String CORE_SIZE = ".coreSize";
+    private static final String MAX_SIZE = ".maxSize";
+    private static final String QUEUE_SIZE = ".queueSize";
+    private static final String KEEP_ALIVE = ".keepAliveMillis";
+    private static final String REJECTION_POLICY = ".rejectionPolicy";
+
+    private static final String ABORT = "abort";
+    private static final String CALLER_RUNS = "caller-runs";
+    private static final String DISCARD = "discard";
+
+    private static final long DEFAULT_KEEP_ALIVE = 60000;
+
+    final String name;
+    final int coreSize;
+    final int maxSize;
+    final int queueSize;
+    final long keepAliveMillis;
+    final String rejectionPolicy;
+
+    private ThreadPoolConfig(String name, int coreSize, int maxSize, int queueSize, long keepAliveMillis,
+                             String rejectionPolicy) {
+        this.name = name;
+        this.coreSize = coreSize;
+        this.maxSize = maxSize;
+        this.queueSize = queueSize;
+        this.keepAliveMillis = keepAliveMillis;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /**
+     * Read the configuration of the given pool. Without configuration, the pool has a fixed number of threads and
+     * an unbounded queue.
+     *
+     * @param name        name of the pool
+     * @param defaultSize number of threads of the pool if not configured
+     * @return configuration of the pool
+     */
+    public static ThreadPoolConfig load(String name, int defaultSize) {
+        return load(name, defaultSize, ABORT);
+    }
+
+    /**
+     * Read the configuration of a pool whose tasks must not be lost, such as the tasks resuming suspended workers.
+     * Dropping such a task leaves its worker suspended forever, and aborting it throws on the thread which
+     * completed the native callable unit. Hence a bounded queue of the pool has to run rejected tasks in the
+     * caller, which is also the default policy of the pool.
+     *
+     * @param name        name of the pool
+     * @param defaultSize number of threads of the pool if not configured
+     * @return configuration of the pool
+     * @throws IllegalArgumentException if the pool has a bounded queue and a rejection policy which loses tasks
+     */
+    public static ThreadPoolConfig loadLossless(String name, int defaultSize) {
+        ThreadPoolConfig config = load(name, defaultSize, CALLER_RUNS);
+        if (config.queueSize > 0 && !CALLER_RUNS.equals(config.rejectionPolicy)) {
+            throw new IllegalArgumentException("rejection policy '" + config.rejectionPolicy + "' of thread pool " +
+                    name + " loses tasks, a bounded queue of this pool requires the '" + CALLER_RUNS + "' policy");
+        }
+        return config;
+    }
+
+    private static ThreadPoolConfig load(String name, int defaultSize, String defaultRejectionPolicy) {
+        String prefix = Constants.SYSTEM_PROP_BAL_THREAD_POOL + name;
+        int coreSize = Math.max(1, Integer.getInteger(prefix + CORE_SIZE, defaultSize));
+        int maxSize = Math.max(coreSize, Integer.getInteger(prefix + MAX_SIZE, coreSize));
+        int queueSize = Integer.getInteger(prefix + QUEUE_SIZE, 0);
+        long keepAliveMillis = Long.getLong(prefix + KEEP_ALIVE, DEFAULT_KEEP_ALIVE);
+        String rejectionPolicy = System.getProperty(prefix + REJECTION_POLICY, defaultRejectionPolicy);
+        return new ThreadPoolConfig(name, coreSize, maxSize, queueSize, keepAliveMillis, rejectionPolicy);
+    }
+
+    BlockingQueue<Runnable> createQueue() {
+        return queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new LinkedBlockingQueue<>();
+    }
+
+    RejectedExecutionHandler createRejectionHandler() {
+        switch (rejectionPolicy) {
+            case CALLER_RUNS:
+                return new ThreadPoolExecutor.CallerRunsPolicy();
+            case DISCARD:
+                return new ThreadPoolExecutor.DiscardPolicy();
+            case ABORT:
+                return new ThreadPoolExecutor.AbortPolicy();
+            default:
+                throw new IllegalArgumentException("unknown rejection policy '" + rejectionPolicy +
+                        "' of thread pool " + name);
+        }
+    }
+}
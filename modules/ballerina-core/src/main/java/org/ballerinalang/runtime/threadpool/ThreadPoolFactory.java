@@ -15,33 +15,91 @@
  * specific language governing permissions and limitations
  * under the License.
  */
-
 package org.ballerinalang.runtime.threadpool;
 
+import org.ballerinalang.runtime.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code ThreadPoolFactory} holds the thread pools in Ballerina engine.
+ * <p>
+ * The main, worker and response pools are backed by platform threads by default. Their sizes, queues and rejection
+ * policies are configured through system properties, see {@link ThreadPoolConfig}, and their metrics are exposed
+ * through JMX, see {@link ThreadPoolMXBean}. If the {@value Constants#SYSTEM_PROP_BAL_THREAD_POOL_ADAPTIVE_WAIT}
+ * system property is set, the main and response pools grow towards their maximum size while tasks wait longer than
+ * the given time. Workers run on a {@link BLangWorkStealingPool}, which manages its threads itself.
+ * <p>
+ * If the {@value Constants#SYSTEM_PROP_BAL_VIRTUAL_THREADS} system property is set and the JVM supports virtual
+ * threads (JDK 21 or later), every task runs on a virtual thread of its own instead, so that the number of
+ * concurrent resources and workers is not bounded by a pool size.
  *
  * @since 0.8.0
  */
 public class ThreadPoolFactory {
 
+    private static final Logger logger = LoggerFactory.getLogger(ThreadPoolFactory.class);
+
+    private static final String MAIN_POOL = "main";
+    private static final String WORKER_POOL = "worker";
+    private static final String RESPONSE_POOL = "response";
+
+    private static final long ADAPTATION_INTERVAL = 1000;
+
     private static ThreadPoolFactory instance = new ThreadPoolFactory();
 
-    //TODO: Make the thread count configurable.
-    // Ideally number of threads need to be calculated and spawned intelligently
-    // based on the environment and runtime status (CPU Usage, memory, etc).
-    // A configuration parameter which is user configurable is also required.
-    // Issue#1929
-    private ExecutorService executorService =  Executors.newFixedThreadPool(500, new BLangThreadFactory("BLangWorker"));
+    private final boolean virtualThreads;
+
+    private ExecutorService executorService;
+
+    private ExecutorService workerExecutor;
+
+    // Resumes workers suspended on native callable units
+    private ExecutorService responseExecutor;
+
+    private ThreadPoolFactory() {
+        ExecutorService virtualExecutor = null;
+        if (Boolean.getBoolean(Constants.SYSTEM_PROP_BAL_VIRTUAL_THREADS)) {
+            virtualExecutor = newVirtualThreadExecutor("BLangWorker");
+        }
+
+        if (virtualExecutor != null) {
+            virtualThreads = true;
+            executorService = virtualExecutor;
+            workerExecutor = newVirtualThreadExecutor("worker-thread-pool");
+            responseExecutor = newVirtualThreadExecutor("BLangResponse");
+            reportPinning();
+            return;
+        }
 
-    //TODO: Make the number of threads configurable
-    private ExecutorService workerExecutor = Executors.newFixedThreadPool(100,
-            new BLangThreadFactory(new ThreadGroup("worker"), "worker-thread-pool"));
+        virtualThreads = false;
+        BLangThreadPoolExecutor mainPool = new BLangThreadPoolExecutor(ThreadPoolConfig.load(MAIN_POOL, 500),
+                new BLangThreadFactory("BLangWorker"));
+        BLangWorkStealingPool workerPool = new BLangWorkStealingPool(ThreadPoolConfig.load(WORKER_POOL, 100),
+                "worker-thread-pool");
+        BLangThreadPoolExecutor responsePool = new BLangThreadPoolExecutor(
+                ThreadPoolConfig.loadLossless(RESPONSE_POOL, 100), new BLangThreadFactory("BLangResponse"));
+        executorService = mainPool;
+        workerExecutor = workerPool;
+        responseExecutor = responsePool;
 
-    private ThreadPoolFactory(){};
+        workerPool.registerMBean();
+        BLangThreadPoolExecutor[] pools = {mainPool, responsePool};
+        for (BLangThreadPoolExecutor pool : pools) {
+            pool.registerMBean();
+        }
+        Long adaptiveQueueWait = Long.getLong(Constants.SYSTEM_PROP_BAL_THREAD_POOL_ADAPTIVE_WAIT);
+        if (adaptiveQueueWait != null) {
+            startAdaptation(pools, TimeUnit.MILLISECONDS.toNanos(adaptiveQueueWait));
+        }
+    }
 
     public static ThreadPoolFactory getInstance() {
         return instance;
@@ -55,4 +113,66 @@ public class ThreadPoolFactory {
         return workerExecutor;
     }
 
+    /**
+     * Returns the executor which resumes workers once the native callable unit they are suspended on completes.
+     *
+     * @return executor of resumed workers
+     */
+    public ExecutorService getResponseExecutor() {
+        return responseExecutor;
+    }
+
+    /**
+     * Returns whether the thread pools are backed by virtual threads.
+     *
+     * @return true if tasks run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    private static void startAdaptation(BLangThreadPoolExecutor[] pools, long targetQueueWaitNanos) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BLangThreadPoolAdaptation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            for (BLangThreadPoolExecutor pool : pools) {
+                pool.adapt(targetQueueWaitNanos);
+            }
+        }, ADAPTATION_INTERVAL, ADAPTATION_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Create an executor which runs each task on a new virtual thread. The JDK 21 API is looked up reflectively,
+     * since the runtime is built for older JVMs.
+     *
+     * @param namePrefix prefix of the names of the threads
+     * @return the executor, or null if the JVM does not support virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix + "-", 1L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            Method newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newExecutor.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("virtual threads are not supported by this JVM, using platform thread pools: " + e);
+            return null;
+        }
+    }
+
+    /**
+     * Virtual threads which block while holding a monitor pin their carrier thread. The VM does not block within
+     * synchronized blocks, but native code may, hence point to the JVM option which reports such blocking.
+     */
+    private static void reportPinning() {
+        if (System.getProperty("jdk.tracePinnedThreads") == null) {
+            logger.info("running on virtual threads, set -Djdk.tracePinnedThreads=short to report native code " +
+                    "which pins carrier threads");
+        }
+    }
 }
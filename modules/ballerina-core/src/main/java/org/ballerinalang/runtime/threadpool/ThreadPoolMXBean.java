@@ -0,0 +1,65 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.threadpool;
+
+/**
+ * Management interface of a {@link BLangThreadPoolExecutor}. Each pool is registered under the
+ * {@value BLangThreadPoolExecutor#OBJECT_NAME_PREFIX} object name followed by the name of the pool.
+ *
+ * @since 0.94
+ */
+public interface ThreadPoolMXBean {
+
+    int getCorePoolSize();
+
+    int getMaximumPoolSize();
+
+    int getPoolSize();
+
+    int getActiveCount();
+
+    /**
+     * Returns the number of tasks waiting for a thread.
+     *
+     * @return queue depth
+     */
+    int getQueueDepth();
+
+    long getCompletedTaskCount();
+
+    /**
+     * Returns the number of tasks rejected since the pool was created, because its queue was full.
+     *
+     * @return rejected task count
+     */
+    long getRejectedTaskCount();
+
+    /**
+     * Returns the average time tasks waited in the queue before a thread picked them up.
+     *
+     * @return average queue wait, in milliseconds
+     */
+    double getAverageQueueWaitMillis();
+
+    /**
+     * Returns the average execution time of the completed tasks.
+     *
+     * @return average task latency, in milliseconds
+     */
+    double getAverageTaskMillis();
+}
@@ -0,0 +1,184 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.threadpool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@code TimerWheel} is a hashed timer wheel shared by the runtime, on which workers schedule their wake ups
+ * instead of sleeping on a thread. A single thread advances the wheel every tick, {@value #TICK_MILLIS}
+ * milliseconds for the shared wheel, and runs the expired tasks, which therefore have to be short, such as notifying
+ * a future. A timeout further away than one turn of the wheel waits in its bucket for the remaining rounds.
+ * <p>
+ * Scheduling and cancelling a timeout are constant time operations: new timeouts are handed over to the wheel
+ * thread through a queue, and cancelled ones are dropped when the wheel reaches them.
+ *
+ * @since 0.94
+ */
+public class TimerWheel {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimerWheel.class);
+
+    static final long TICK_MILLIS = 10;
+    private static final int WHEEL_SIZE = 512;
+
+    private static final TimerWheel instance = new TimerWheel();
+
+    private final long tickNanos;
+    private final int wheelSize;
+    private final Queue<Timeout> scheduledTimeouts = new ConcurrentLinkedQueue<>();
+    // Only accessed by the wheel thread
+    private final List<List<Timeout>> buckets;
+    private final long startNanos = System.nanoTime();
+    private long tick;
+    private volatile boolean stopped;
+
+    private TimerWheel() {
+        this("BLangTimer", TICK_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+    }
+
+    /**
+     * Create a timer wheel and start its thread.
+     *
+     * @param threadName name of the thread of the wheel
+     * @param tick       interval at which the wheel advances
+     * @param unit       unit of the tick
+     * @param wheelSize  number of buckets of the wheel
+     */
+    public TimerWheel(String threadName, long tick, TimeUnit unit, int wheelSize) {
+        this.tickNanos = unit.toNanos(tick);
+        this.wheelSize = wheelSize;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        Thread thread = new Thread(this::run, threadName);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static TimerWheel getInstance() {
+        return instance;
+    }
+
+    /**
+     * Schedule a task to run once the given delay elapses. The task runs on the wheel thread, at most one tick late.
+     *
+     * @param task  task to run
+     * @param delay delay after which the task runs
+     * @param unit  unit of the delay
+     * @return timeout which can be cancelled
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long now = System.nanoTime() - startNanos;
+        // Saturates rather than overflows for delays as long as a fork-join timeout may be
+        long delayNanos = Math.min(Math.max(0, unit.toNanos(delay)), Long.MAX_VALUE - now);
+        Timeout timeout = new Timeout(task, now + delayNanos);
+        scheduledTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Stop the thread of the wheel. The timeouts which have not expired yet never run.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private void run() {
+        while (!stopped) {
+            waitForNextTick();
+            transferScheduledTimeouts();
+            expireTimeouts(buckets.get((int) (tick % wheelSize)));
+            tick++;
+        }
+    }
+
+    private void waitForNextTick() {
+        long deadline = (tick + 1) * tickNanos;
+        long remaining;
+        while ((remaining = deadline - (System.nanoTime() - startNanos)) > 0) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private void transferScheduledTimeouts() {
+        Timeout timeout;
+        while ((timeout = scheduledTimeouts.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long expiryTick = Math.max(timeout.deadlineNanos / tickNanos, tick);
+            timeout.remainingRounds = (expiryTick - tick) / wheelSize;
+            buckets.get((int) (expiryTick % wheelSize)).add(timeout);
+        }
+    }
+
+    private static void expireTimeouts(List<Timeout> bucket) {
+        Iterator<Timeout> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            Timeout timeout = iterator.next();
+            if (timeout.cancelled) {
+                iterator.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                iterator.remove();
+                try {
+                    timeout.task.run();
+                } catch (Throwable e) {
+                    logger.error("error in timer task: " + e.getMessage(), e);
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+
+    /**
+     * Task scheduled on the wheel.
+     */
+    public static class Timeout {
+
+        private final Runnable task;
+        // Relative to the start of the wheel
+        private final long deadlineNanos;
+        private volatile boolean cancelled;
+        // Only accessed by the wheel thread
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Cancel the task, unless it has already run.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
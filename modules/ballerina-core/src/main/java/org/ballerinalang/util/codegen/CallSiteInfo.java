@@ -0,0 +1,108 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.util.codegen.cpentries.FunctionCallCPEntry;
+
+/**
+ * {@code CallSiteInfo} holds the resolved data of an invocation instruction, so that repeated executions of the
+ * same call site do not resolve the callee again.
+ * <p>
+ * Instances are created by the VM on the first execution of a call site and stored in
+ * {@link PackageInfo#getCallSites()}, at the index given by the call site operand of the instruction.
+ *
+ * @since 0.94
+ */
+public class CallSiteInfo {
+
+    private final CallableUnitInfo callableUnitInfo;
+    private final FunctionCallCPEntry funcCallCPEntry;
+    private final WorkerInfo workerInfo;
+    private final int codeAddrs;
+    private final int[] paramTypeTags;
+    private final boolean samePackage;
+
+    public CallSiteInfo(PackageInfo callerPackageInfo, CallableUnitInfo callableUnitInfo,
+                        FunctionCallCPEntry funcCallCPEntry) {
+        this.callableUnitInfo = callableUnitInfo;
+        this.funcCallCPEntry = funcCallCPEntry;
+        this.workerInfo = callableUnitInfo.getDefaultWorkerInfo();
+        this.codeAddrs = workerInfo.getCodeAttributeInfo().getCodeAddrs();
+        this.samePackage = callerPackageInfo == callableUnitInfo.getPackageInfo();
+
+        BType[] paramTypes = callableUnitInfo.getParamTypes();
+        this.paramTypeTags = new int[paramTypes.length];
+        for (int i = 0; i < paramTypes.length; i++) {
+            paramTypeTags[i] = paramTypes[i].getTag();
+        }
+    }
+
+    public CallableUnitInfo getCallableUnitInfo() {
+        return callableUnitInfo;
+    }
+
+    public FunctionCallCPEntry getFuncCallCPEntry() {
+        return funcCallCPEntry;
+    }
+
+    /**
+     * Returns the default worker of the callee.
+     *
+     * @return default worker of the callee
+     */
+    public WorkerInfo getWorkerInfo() {
+        return workerInfo;
+    }
+
+    /**
+     * Returns the address of the first instruction of the callee's default worker.
+     *
+     * @return code address of the callee
+     */
+    public int getCodeAddrs() {
+        return codeAddrs;
+    }
+
+    public int[] getArgRegs() {
+        return funcCallCPEntry.getArgRegs();
+    }
+
+    public int[] getRetRegs() {
+        return funcCallCPEntry.getRetRegs();
+    }
+
+    /**
+     * Returns the type tags of the callee's parameters, in parameter order.
+     *
+     * @return parameter type tags
+     */
+    public int[] getParamTypeTags() {
+        return paramTypeTags;
+    }
+
+    /**
+     * Returns whether the callee belongs to the package of the call site, in which case the constant pool and the
+     * code of the caller remain valid for the callee.
+     *
+     * @return true if the caller and the callee are in the same package
+     */
+    public boolean isSamePackage() {
+        return samePackage;
+    }
+}
@@ -22,9 +22,11 @@ import org.ballerinalang.util.codegen.attributes.AnnotationAttributeInfo;
 import org.ballerinalang.util.codegen.attributes.AttributeInfo;
 import org.ballerinalang.util.codegen.attributes.AttributeInfoPool;
 import org.ballerinalang.util.codegen.cpentries.WorkerInfoPool;
+import org.ballerinalang.util.jit.CompiledFunction;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@code CallableUnitInfo} contains common metadata of a Ballerina function/resource/action in the program file.
@@ -56,6 +58,11 @@ public class CallableUnitInfo implements AttributeInfoPool, WorkerInfoPool {
     protected WorkerInfo defaultWorkerInfo;
     protected Map<String, WorkerInfo> workerInfoMap = new HashMap<>();
 
+    // State of the tiered compiler, see TieredCompiler
+    private final AtomicInteger executionCount = new AtomicInteger();
+    private volatile boolean compilationAttempted;
+    private volatile CompiledFunction compiledFunction;
+
     public String getName() {
         return name;
     }
@@ -168,6 +175,38 @@ public class CallableUnitInfo implements AttributeInfoPool, WorkerInfoPool {
         return workerInfoMap.values().toArray(new WorkerInfo[0]);
     }
 
+    /**
+     * Increment the number of execution events counted by the tiered compiler. Workers on other threads may run
+     * the same callable unit, hence the counter is atomic. It is only incremented until the callable unit has been
+     * compiled.
+     *
+     * @return the incremented count
+     */
+    public int incrementExecutionCount() {
+        return executionCount.incrementAndGet();
+    }
+
+    public boolean isCompilationAttempted() {
+        return compilationAttempted;
+    }
+
+    public void setCompilationAttempted(boolean compilationAttempted) {
+        this.compilationAttempted = compilationAttempted;
+    }
+
+    /**
+     * Returns the compiled code of this callable unit.
+     *
+     * @return compiled code, or null if this callable unit is only interpreted
+     */
+    public CompiledFunction getCompiledFunction() {
+        return compiledFunction;
+    }
+
+    public void setCompiledFunction(CompiledFunction compiledFunction) {
+        this.compiledFunction = compiledFunction;
+    }
+
     @Override
     public AttributeInfo getAttributeInfo(AttributeInfo.Kind attributeKind) {
         return attributeInfoMap.get(attributeKind);
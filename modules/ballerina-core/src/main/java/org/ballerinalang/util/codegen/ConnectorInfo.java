@@ -72,11 +72,7 @@ public class ConnectorInfo extends StructureTypeInfo {
     }
 
     public ConnectorInfo getMethodTypeStructure(BConnectorType connectorType) {
-        if (methodTableType.containsKey(connectorType)) {
-            return methodTableType.get(connectorType);
-        } else {
-            return null;
-        }
+        return methodTableType.get(connectorType);
     }
 
     public boolean isFilterConnector() {
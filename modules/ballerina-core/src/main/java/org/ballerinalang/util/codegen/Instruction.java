@@ -26,6 +26,24 @@ import java.util.Arrays;
  */
 public class Instruction {
 
+    /**
+     * Maximum number of operands of an instruction.
+     */
+    public static final int MAX_OPERAND_COUNT = 4;
+
+    /**
+     * Number of int slots an instruction occupies in the packed code of a package. The first slot holds the
+     * opcode and the remaining slots hold the operands. Every instruction occupies the same number of slots, so
+     * the instruction at index {@code ip} always starts at {@code ip * SLOT_SIZE}.
+     */
+    public static final int SLOT_SIZE = MAX_OPERAND_COUNT + 1;
+
+    /**
+     * Operand slot of an invocation instruction which holds the index of its entry in the call site cache of the
+     * package. Invocation instructions have two operands, so this slot is otherwise unused in the packed code.
+     */
+    public static final int CALL_SITE_OPERAND = 2;
+
     int opcode;
     int[] operands;
 
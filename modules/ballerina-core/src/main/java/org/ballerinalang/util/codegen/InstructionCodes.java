@@ -245,6 +245,10 @@ public interface InstructionCodes {
     int NEWJSON = 213;
     int NEWDATATABLE = 215;
 
+    int NEWSB = 216;
+    int SBAPPEND = 217;
+    int SB2S = 218;
+
     int IRET = 231;
     int FRET = 232;
     int SRET = 233;
@@ -272,5 +276,31 @@ public interface InstructionCodes {
     int TEQ = 252;
     int TNE = 253;
 
-    int INSTRUCTION_CODE_COUNT = 254;
+    // Runtime-only opcodes. A program file stores an opcode in a single byte, hence opcodes from
+    // RUNTIME_OPCODE_START on can never be emitted by the compiler. They are only produced in the code of a
+    // loaded package, and new ones are added at the end of this range without renumbering the others.
+    int RUNTIME_OPCODE_START = 256;
+
+    // Patched over the first instruction of a line by the debugger, the original
+    // opcode is kept by the PackageInfo of the instruction.
+    int BREAKPOINT = 256;
+
+    // Superinstructions, produced by the InstructionFuser when a package is loaded.
+    int IEQ_BR_FALSE = 257;
+    int IGT_BR_FALSE = 258;
+    int IGE_BR_FALSE = 259;
+    int ILT_BR_FALSE = 260;
+    int ILE_BR_FALSE = 261;
+    int ILOAD_ILOAD = 262;
+    int IADD_ISTORE = 263;
+    int SCONST_MAPLOAD = 264;
+    int MAPLOAD_ANY2I = 265;
+    int MAPLOAD_ANY2F = 266;
+    int MAPLOAD_ANY2S = 267;
+    int I2ANY_MAPSTORE = 268;
+    int F2ANY_MAPSTORE = 269;
+    int S2ANY_MAPSTORE = 270;
+    int SCONST_S2ANY = 271;
+
+    int INSTRUCTION_CODE_COUNT = 272;
 }
@@ -0,0 +1,235 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.codegen;
+
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.attributes.AttributeInfo;
+import org.ballerinalang.util.codegen.attributes.LineNumberTableAttributeInfo;
+
+import java.util.BitSet;
+
+/**
+ * {@code InstructionFuser} rewrites frequent pairs of instructions in the packed code of a package into
+ * superinstructions, so that the VM dispatches once instead of twice.
+ * <p>
+ * Fusion only replaces the opcode of the first instruction of a pair. The second instruction is left intact in its
+ * own slot, and the superinstruction handler reads its operands from there. Hence instruction indices do not change,
+ * and jump targets, error table entries and line numbers remain valid without remapping. A pair is not fused if the
+ * second instruction starts a new source line, so that the debugger and error line numbers see the same
+ * instruction boundaries as before.
+ * <p>
+ * The fused pairs are the ones the code generator emits for int comparisons in conditions, int arithmetic on local
+ * variables and typed map accesses. The pairs executed by a program can be measured with the VM statistics, see
+ * {@link org.ballerinalang.util.profiler.VMStats}, with fusion disabled.
+ *
+ * @since 0.94
+ */
+public class InstructionFuser {
+
+    private static final boolean FUSION_ENABLED = !Boolean.FALSE.toString().equalsIgnoreCase(
+            System.getProperty(Constants.SYSTEM_PROP_BAL_FUSE_INSTRUCTIONS)) &&
+            System.getProperty(Constants.SYSTEM_PROP_BAL_DEBUG) == null;
+
+    private InstructionFuser() {
+    }
+
+    /**
+     * Fuse the instructions of the given package, if fusion is enabled.
+     *
+     * @param packageInfo package whose code has been packed
+     */
+    public static void process(PackageInfo packageInfo) {
+        if (FUSION_ENABLED) {
+            fuse(packageInfo);
+        }
+    }
+
+    /**
+     * Rewrite fusible instruction pairs of the given package into superinstructions.
+     *
+     * @param packageInfo package whose code has been packed
+     * @return number of pairs fused
+     */
+    public static int fuse(PackageInfo packageInfo) {
+        int[] code = packageInfo.getCode();
+        int instructionCount = code.length / Instruction.SLOT_SIZE;
+        BitSet lineStarts = getLineStarts(packageInfo);
+
+        int fusedCount = 0;
+        int ip = 0;
+        while (ip < instructionCount - 1) {
+            int pc = ip * Instruction.SLOT_SIZE;
+            int nextPc = pc + Instruction.SLOT_SIZE;
+            int fusedOpcode = lineStarts.get(ip + 1) ? -1 : getFusedOpcode(code, pc, nextPc);
+            if (fusedOpcode < 0) {
+                ip++;
+                continue;
+            }
+
+            code[pc] = fusedOpcode;
+            fusedCount++;
+            // The second instruction is now covered by the superinstruction, hence it cannot start another pair.
+            ip += 2;
+        }
+        return fusedCount;
+    }
+
+    /**
+     * Returns the opcode of the first instruction covered by the given opcode. The second instruction of a
+     * superinstruction keeps its own opcode in the code, hence a superinstruction can be treated as its first
+     * instruction followed by its second one.
+     *
+     * @param opcode opcode of an instruction
+     * @return the original opcode of a superinstruction, or the given opcode otherwise
+     */
+    public static int getBaseOpcode(int opcode) {
+        switch (opcode) {
+            case InstructionCodes.IEQ_BR_FALSE:
+                return InstructionCodes.IEQ;
+            case InstructionCodes.IGT_BR_FALSE:
+                return InstructionCodes.IGT;
+            case InstructionCodes.IGE_BR_FALSE:
+                return InstructionCodes.IGE;
+            case InstructionCodes.ILT_BR_FALSE:
+                return InstructionCodes.ILT;
+            case InstructionCodes.ILE_BR_FALSE:
+                return InstructionCodes.ILE;
+            case InstructionCodes.ILOAD_ILOAD:
+                return InstructionCodes.ILOAD;
+            case InstructionCodes.IADD_ISTORE:
+                return InstructionCodes.IADD;
+            case InstructionCodes.SCONST_MAPLOAD:
+            case InstructionCodes.SCONST_S2ANY:
+                return InstructionCodes.SCONST;
+            case InstructionCodes.MAPLOAD_ANY2I:
+            case InstructionCodes.MAPLOAD_ANY2F:
+            case InstructionCodes.MAPLOAD_ANY2S:
+                return InstructionCodes.MAPLOAD;
+            case InstructionCodes.I2ANY_MAPSTORE:
+                return InstructionCodes.I2ANY;
+            case InstructionCodes.F2ANY_MAPSTORE:
+                return InstructionCodes.F2ANY;
+            case InstructionCodes.S2ANY_MAPSTORE:
+                return InstructionCodes.S2ANY;
+            default:
+                return opcode;
+        }
+    }
+
+    private static int getFusedOpcode(int[] code, int pc, int nextPc) {
+        int nextOpcode = code[nextPc];
+        switch (code[pc]) {
+            case InstructionCodes.IEQ:
+            case InstructionCodes.IGT:
+            case InstructionCodes.IGE:
+            case InstructionCodes.ILT:
+            case InstructionCodes.ILE:
+                // Only fuse if the branch tests the result of the comparison.
+                if (nextOpcode != InstructionCodes.BR_FALSE || code[pc + 3] != code[nextPc + 1]) {
+                    return -1;
+                }
+                return getCmpBranchOpcode(code[pc]);
+            case InstructionCodes.ILOAD:
+                return nextOpcode == InstructionCodes.ILOAD ? InstructionCodes.ILOAD_ILOAD : -1;
+            case InstructionCodes.IADD:
+                return nextOpcode == InstructionCodes.ISTORE ? InstructionCodes.IADD_ISTORE : -1;
+            case InstructionCodes.SCONST:
+                // A map load which unboxes its value or a map store which does not box it saves an allocation,
+                // hence it takes precedence over the constant.
+                if (nextPc + Instruction.SLOT_SIZE < code.length &&
+                        getFusedOpcode(code, nextPc, nextPc + Instruction.SLOT_SIZE) >= 0) {
+                    return -1;
+                }
+                if (nextOpcode == InstructionCodes.MAPLOAD) {
+                    return InstructionCodes.SCONST_MAPLOAD;
+                }
+                // Boxing the constant uses the BString of its constant pool entry.
+                return nextOpcode == InstructionCodes.S2ANY && code[pc + 2] == code[nextPc + 1] ?
+                        InstructionCodes.SCONST_S2ANY : -1;
+            case InstructionCodes.MAPLOAD:
+                // The map value register is a temporary which is only read by the cast, so it need not be written.
+                if (code[pc + 3] != code[nextPc + 1]) {
+                    return -1;
+                }
+                return getMapLoadCastOpcode(nextOpcode);
+            case InstructionCodes.I2ANY:
+            case InstructionCodes.F2ANY:
+            case InstructionCodes.S2ANY:
+                // Likewise, the boxed value register is only read by the map store.
+                if (nextOpcode != InstructionCodes.MAPSTORE || code[pc + 2] != code[nextPc + 3]) {
+                    return -1;
+                }
+                return getBoxMapStoreOpcode(code[pc]);
+            default:
+                return -1;
+        }
+    }
+
+    private static int getMapLoadCastOpcode(int castOpcode) {
+        switch (castOpcode) {
+            case InstructionCodes.ANY2I:
+                return InstructionCodes.MAPLOAD_ANY2I;
+            case InstructionCodes.ANY2F:
+                return InstructionCodes.MAPLOAD_ANY2F;
+            case InstructionCodes.ANY2S:
+                return InstructionCodes.MAPLOAD_ANY2S;
+            default:
+                return -1;
+        }
+    }
+
+    private static int getBoxMapStoreOpcode(int boxOpcode) {
+        switch (boxOpcode) {
+            case InstructionCodes.I2ANY:
+                return InstructionCodes.I2ANY_MAPSTORE;
+            case InstructionCodes.F2ANY:
+                return InstructionCodes.F2ANY_MAPSTORE;
+            default:
+                return InstructionCodes.S2ANY_MAPSTORE;
+        }
+    }
+
+    private static int getCmpBranchOpcode(int cmpOpcode) {
+        switch (cmpOpcode) {
+            case InstructionCodes.IEQ:
+                return InstructionCodes.IEQ_BR_FALSE;
+            case InstructionCodes.IGT:
+                return InstructionCodes.IGT_BR_FALSE;
+            case InstructionCodes.IGE:
+                return InstructionCodes.IGE_BR_FALSE;
+            case InstructionCodes.ILT:
+                return InstructionCodes.ILT_BR_FALSE;
+            default:
+                return InstructionCodes.ILE_BR_FALSE;
+        }
+    }
+
+    private static BitSet getLineStarts(PackageInfo packageInfo) {
+        BitSet lineStarts = new BitSet();
+        LineNumberTableAttributeInfo lineNumberTableAttributeInfo = (LineNumberTableAttributeInfo) packageInfo
+                .getAttributeInfo(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE);
+        if (lineNumberTableAttributeInfo == null) {
+            return lineStarts;
+        }
+
+        for (LineNumberInfo lineNumberInfo : lineNumberTableAttributeInfo.getLineNumberInfoList()) {
+            lineStarts.set(lineNumberInfo.getIp());
+        }
+        return lineStarts;
+    }
+}
@@ -109,17 +109,33 @@ public class LineNumberInfo {
         return isDebugPoint;
     }
 
+    /**
+     * Mark or unmark this line as a debug point. The first instruction of a debug point line is patched with a
+     * {@link InstructionCodes#BREAKPOINT}, so that the VM only checks for debug points where one is set.
+     *
+     * @param debugPoint whether the line is a debug point
+     */
     public void setDebugPoint(boolean debugPoint) {
         isDebugPoint = debugPoint;
+        if (packageInfo == null || packageInfo.getCode() == null || ip < 0) {
+            return;
+        }
+
+        if (debugPoint) {
+            packageInfo.setBreakPoint(ip);
+        } else {
+            packageInfo.clearBreakPoint(ip);
+        }
     }
 
     public void setEndIp(int endIp) {
         this.endIp = endIp;
     }
 
-    public boolean checkIpRangeForInstructionCode(Instruction[] codes, int matchingCode) {
+    public boolean checkIpRangeForInstructionCode(int[] code, int matchingCode) {
         for (int i = ip; i < endIp; i++) {
-            if (codes[i].getOpcode() == matchingCode) {
+            int opcode = packageInfo != null ? packageInfo.getOpcode(i) : code[i * Instruction.SLOT_SIZE];
+            if (opcode == matchingCode) {
                 return true;
             }
         }
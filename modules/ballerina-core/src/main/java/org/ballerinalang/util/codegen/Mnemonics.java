@@ -23,7 +23,8 @@ import org.wso2.ballerinalang.programfile.InstructionCodes;
  * @since 0.87
  */
 public class Mnemonics {
-    private static final String[] mnemonics = new String[InstructionCodes.INSTRUCTION_CODE_COUNT];
+    private static final String[] mnemonics =
+            new String[org.ballerinalang.util.codegen.InstructionCodes.INSTRUCTION_CODE_COUNT];
 
     static {
         mnemonics[InstructionCodes.ICONST] = "iconst";
@@ -231,6 +232,10 @@ public class Mnemonics {
         mnemonics[InstructionCodes.NEWJSON] = "newjson";
         mnemonics[InstructionCodes.NEWDATATABLE] = "newdatatable";
 
+        mnemonics[InstructionCodes.NEWSB] = "newsb";
+        mnemonics[InstructionCodes.SBAPPEND] = "sbappend";
+        mnemonics[InstructionCodes.SB2S] = "sb2s";
+
 
         mnemonics[InstructionCodes.IRET] = "iret";
         mnemonics[InstructionCodes.FRET] = "fret";
@@ -255,6 +260,23 @@ public class Mnemonics {
         mnemonics[InstructionCodes.S2XML] = "s2xml";
         mnemonics[InstructionCodes.XML2S] = "xml2s";
         mnemonics[InstructionCodes.S2JSONX] = "s2jsonx";
+
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.BREAKPOINT] = "breakpoint";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.IEQ_BR_FALSE] = "ieq_br_false";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.IGT_BR_FALSE] = "igt_br_false";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.IGE_BR_FALSE] = "ige_br_false";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.ILT_BR_FALSE] = "ilt_br_false";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.ILE_BR_FALSE] = "ile_br_false";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.ILOAD_ILOAD] = "iload_iload";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.IADD_ISTORE] = "iadd_istore";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.SCONST_MAPLOAD] = "sconst_mapload";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.MAPLOAD_ANY2I] = "mapload_any2i";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.MAPLOAD_ANY2F] = "mapload_any2f";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.MAPLOAD_ANY2S] = "mapload_any2s";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.I2ANY_MAPSTORE] = "i2any_mapstore";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.F2ANY_MAPSTORE] = "f2any_mapstore";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.S2ANY_MAPSTORE] = "s2any_mapstore";
+        mnemonics[org.ballerinalang.util.codegen.InstructionCodes.SCONST_S2ANY] = "sconst_s2any";
     }
 
     public static String getMnem(int opcode) {
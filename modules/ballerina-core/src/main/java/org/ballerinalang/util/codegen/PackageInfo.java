@@ -24,10 +24,12 @@ import org.ballerinalang.util.codegen.cpentries.ConstantPool;
 import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * {@code PackageInfo} contains metadata of a Ballerina package entry in the program file.
@@ -43,6 +45,12 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
     private ConstantPoolEntry[] constPool;
     private List<ConstantPoolEntry> constantPoolEntries = new ArrayList<>();
 
+    // Instructions of the package packed into a single array. See Instruction#SLOT_SIZE for the layout.
+    private int[] code;
+    private byte[] operandCounts;
+    private CallSiteInfo[] callSites;
+    // Original opcodes of the instructions patched with a breakpoint, keyed by instruction index
+    private final Map<Integer, Integer> breakPointOpcodes = new ConcurrentHashMap<>();
     private Instruction[] instructions;
     private List<Instruction> instructionList = new ArrayList<>();
 
@@ -187,11 +195,90 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
         return instructionList.size() - 1;
     }
 
+    /**
+     * Returns the instructions of this package as objects. These are decoded from the packed code on first use and
+     * are meant for tooling such as tracing. The VM executes the packed code returned by {@link #getCode()}.
+     *
+     * @return instructions of this package
+     */
     public Instruction[] getInstructions() {
+        if (instructions == null) {
+            instructions = unpackInstructions();
+        }
         return instructions;
     }
 
+    /**
+     * Returns the instructions of this package packed into a single array, with the opcode of each instruction
+     * followed by its operands.
+     *
+     * @return packed code of this package
+     */
+    public int[] getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the resolved call sites of this package. The entry of a call site is indexed by operand
+     * {@link Instruction#CALL_SITE_OPERAND} of its invocation instruction, and is null until the VM resolves it.
+     *
+     * @return call site cache of this package
+     */
+    public CallSiteInfo[] getCallSites() {
+        return callSites;
+    }
+
+    /**
+     * Returns the opcode of the instruction at the given index, as loaded. This is the opcode a breakpoint has
+     * been patched over, if any.
+     *
+     * @param ip index of the instruction
+     * @return opcode of the instruction
+     */
+    public int getOpcode(int ip) {
+        int opcode = code[ip * Instruction.SLOT_SIZE];
+        if (opcode != InstructionCodes.BREAKPOINT) {
+            return opcode;
+        }
+
+        Integer originalOpcode = breakPointOpcodes.get(ip);
+        // The breakpoint may have been cleared in the meantime, in which case the code has been restored
+        return originalOpcode != null ? originalOpcode : code[ip * Instruction.SLOT_SIZE];
+    }
+
+    /**
+     * Patch the instruction at the given index with a {@link InstructionCodes#BREAKPOINT}.
+     *
+     * @param ip index of the instruction
+     */
+    public synchronized void setBreakPoint(int ip) {
+        if (ip >= getInstructionCount() || breakPointOpcodes.containsKey(ip)) {
+            return;
+        }
+        int pc = ip * Instruction.SLOT_SIZE;
+        breakPointOpcodes.put(ip, code[pc]);
+        code[pc] = InstructionCodes.BREAKPOINT;
+    }
+
+    /**
+     * Restore the instruction at the given index, if it has been patched with a breakpoint.
+     *
+     * @param ip index of the instruction
+     */
+    public synchronized void clearBreakPoint(int ip) {
+        Integer originalOpcode = breakPointOpcodes.get(ip);
+        if (originalOpcode == null) {
+            return;
+        }
+        // Restore the code before dropping the entry, see getOpcode
+        code[ip * Instruction.SLOT_SIZE] = originalOpcode;
+        breakPointOpcodes.remove(ip);
+    }
+
     public int getInstructionCount() {
+        if (code != null) {
+            return code.length / Instruction.SLOT_SIZE;
+        }
         return instructionList.size();
     }
 
@@ -243,7 +330,54 @@ public class PackageInfo implements ConstantPool, AttributeInfoPool {
 
     public void complete() {
         this.constPool = constantPoolEntries.toArray(new ConstantPoolEntry[0]);
-        this.instructions = instructionList.toArray(new Instruction[0]);
+        packInstructions();
+    }
+
+    private void packInstructions() {
+        int instructionCount = instructionList.size();
+        this.code = new int[instructionCount * Instruction.SLOT_SIZE];
+        this.operandCounts = new byte[instructionCount];
+        int callSiteCount = 0;
+        for (int i = 0; i < instructionCount; i++) {
+            Instruction instruction = instructionList.get(i);
+            int[] operands = instruction.getOperands();
+            int offset = i * Instruction.SLOT_SIZE;
+            code[offset] = instruction.getOpcode();
+            System.arraycopy(operands, 0, code, offset + 1, operands.length);
+            operandCounts[i] = (byte) operands.length;
+
+            if (isCallSite(instruction.getOpcode())) {
+                // The call site index lives in an unused slot, hence it is not part of the decoded operands.
+                code[offset + 1 + Instruction.CALL_SITE_OPERAND] = callSiteCount++;
+            }
+        }
+        this.callSites = new CallSiteInfo[callSiteCount];
+
+        // Instruction objects are no longer needed once the code is packed.
+        this.instructionList = null;
+    }
+
+    private static boolean isCallSite(int opcode) {
+        switch (opcode) {
+            case InstructionCodes.CALL:
+            case InstructionCodes.NCALL:
+            case InstructionCodes.ACALL:
+            case InstructionCodes.NACALL:
+            case InstructionCodes.FPCALL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private Instruction[] unpackInstructions() {
+        Instruction[] unpacked = new Instruction[operandCounts.length];
+        for (int i = 0; i < unpacked.length; i++) {
+            int offset = i * Instruction.SLOT_SIZE;
+            unpacked[i] = new Instruction(getOpcode(i),
+                    Arrays.copyOfRange(code, offset + 1, offset + 1 + operandCounts[i]));
+        }
+        return unpacked;
     }
 
     @Override
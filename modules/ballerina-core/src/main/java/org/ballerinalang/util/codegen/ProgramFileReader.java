@@ -371,6 +371,9 @@ public class ProgramFileReader {
         readInstructions(dataInStream, packageInfo);
 
         packageInfo.complete();
+
+        // Rewrite frequent instruction pairs into superinstructions
+        InstructionFuser.process(packageInfo);
     }
 
     private void readStructInfoEntries(DataInputStream dataInStream,
@@ -1331,6 +1334,9 @@ public class ProgramFileReader {
                 case InstructionCodes.JSONNEWARRAY:
                 case InstructionCodes.NEWSTRUCT:
                 case InstructionCodes.NEWCONNECTOR:
+                case InstructionCodes.NEWSB:
+                case InstructionCodes.SBAPPEND:
+                case InstructionCodes.SB2S:
                 case InstructionCodes.IRET:
                 case InstructionCodes.FRET:
                 case InstructionCodes.SRET:
@@ -1563,10 +1569,10 @@ public class ProgramFileReader {
 
             Map<Integer, Integer> methodTableInteger = connectorInfo.getMethodTableIndex();
             Map<BConnectorType, ConnectorInfo> methodTableType = new HashMap<>();
-            for (Integer key : methodTableInteger.keySet()) {
-                int keyType = methodTableInteger.get(key);
-                TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) packageInfo.getCPEntry(key);
-                StructureRefCPEntry structureRefCPEntry = (StructureRefCPEntry) packageInfo.getCPEntry(keyType);
+            for (Map.Entry<Integer, Integer> methodTableEntry : methodTableInteger.entrySet()) {
+                TypeRefCPEntry typeRefCPEntry = (TypeRefCPEntry) packageInfo.getCPEntry(methodTableEntry.getKey());
+                StructureRefCPEntry structureRefCPEntry = (StructureRefCPEntry)
+                        packageInfo.getCPEntry(methodTableEntry.getValue());
                 ConnectorInfo connectorInfoType = (ConnectorInfo) structureRefCPEntry.getStructureTypeInfo();
                 methodTableType.put((BConnectorType) typeRefCPEntry.getType(), connectorInfoType);
             }
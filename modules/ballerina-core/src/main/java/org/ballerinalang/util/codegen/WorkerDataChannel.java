@@ -0,0 +1,327 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.codegen;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * {@code WorkerDataChannel} is a lock-free channel carrying messages between workers.
+ * <p>
+ * Each message is stored unboxed in a slot, as a primitive value (an int, the bits of a float or a boolean) and a
+ * reference (a string, a blob or a reference value, or a {@link Values} holder for multi-value messages). Slots are
+ * allocated in segments, and a sender and a receiver claim the slots in order with a single atomic increment each.
+ * A receiver waiting on an empty slot parks until the sender of that slot unparks it, or instead of waiting registers
+ * a {@link Receiver} which the sender hands the message to.
+ * <p>
+ * The channel is unbounded by default. If a capacity is given, a sender waits until the message it sent
+ * {@code capacity} messages earlier has been received.
+ *
+ * @since 0.94
+ */
+public class WorkerDataChannel {
+
+    static final int SEGMENT_SIZE = 64;
+
+    // Spins on an empty slot before the receiver parks
+    private static final int SPINS = 64;
+    private static final long MAX_SEND_BACKOFF = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final Object FULL = new Object();
+    private static final Object CANCELLED = new Object();
+    private static final BooleanSupplier NEVER = () -> false;
+
+    private final int capacity;
+
+    private final AtomicLong sendIndex = new AtomicLong();
+    private final AtomicLong receiveIndex = new AtomicLong();
+    private final AtomicReference<Segment> sendSegment;
+    private final AtomicReference<Segment> receiveSegment;
+
+    public WorkerDataChannel() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public WorkerDataChannel(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("invalid channel capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        Segment first = new Segment(0);
+        this.sendSegment = new AtomicReference<>(first);
+        this.receiveSegment = new AtomicReference<>(first);
+    }
+
+    /**
+     * Send a message.
+     *
+     * @param primitive primitive value of the message
+     * @param reference reference value of the message
+     */
+    public void send(long primitive, Object reference) {
+        while (true) {
+            Segment segment = sendSegment.get();
+            long index = sendIndex.getAndIncrement();
+            if (capacity != Integer.MAX_VALUE) {
+                awaitCapacity(index);
+            }
+            segment = findSegment(sendSegment, segment, index);
+            int slot = (int) (index % SEGMENT_SIZE);
+            segment.primitives[slot] = primitive;
+            segment.references[slot] = reference;
+            Object state = segment.states.getAndSet(slot, FULL);
+            if (state == null) {
+                return;
+            }
+            if (state instanceof Receiver) {
+                segment.references[slot] = null;
+                ((Receiver) state).onReceive(primitive, reference);
+                return;
+            }
+            if (state != CANCELLED) {
+                LockSupport.unpark((Thread) state);
+                return;
+            }
+            // The receiver of this slot timed out, so send the message again in a later slot
+            segment.references[slot] = null;
+        }
+    }
+
+    /**
+     * Receive the next message.
+     *
+     * @param message holder the message is received into
+     * @param timeout maximum time to wait for a message
+     * @param unit    unit of the timeout
+     * @return true if a message was received, false if the timeout elapsed
+     */
+    public boolean receive(Message message, long timeout, TimeUnit unit) {
+        return receive(message, timeout, unit, NEVER);
+    }
+
+    /**
+     * Receive the next message, unless the wait is aborted. A thread setting the abort condition has to unpark the
+     * receiving thread afterwards.
+     *
+     * @param message holder the message is received into
+     * @param timeout maximum time to wait for a message
+     * @param unit    unit of the timeout
+     * @param abort   condition on which to stop waiting
+     * @return true if a message was received, false if the timeout elapsed or the wait was aborted
+     */
+    public boolean receive(Message message, long timeout, TimeUnit unit, BooleanSupplier abort) {
+        Segment segment = receiveSegment.get();
+        long index = receiveIndex.getAndIncrement();
+        segment = findSegment(receiveSegment, segment, index);
+        int slot = (int) (index % SEGMENT_SIZE);
+        for (int i = 0; i < SPINS && segment.states.get(slot) != FULL; i++) {
+            Thread.yield();
+        }
+        if (segment.states.get(slot) != FULL) {
+            Thread receiver = Thread.currentThread();
+            if (segment.states.compareAndSet(slot, null, receiver) &&
+                    !await(segment, slot, unit.toNanos(timeout), abort) &&
+                    segment.states.compareAndSet(slot, receiver, CANCELLED)) {
+                return false;
+            }
+        }
+        message.primitive = segment.primitives[slot];
+        message.reference = segment.references[slot];
+        segment.references[slot] = null;
+        return true;
+    }
+
+    /**
+     * Receive the next message if it has already been sent. Otherwise register the given receiver instead of
+     * waiting, which gets the message once it is sent unless it gives up first.
+     *
+     * @param message  holder the message is received into
+     * @param receiver receiver to register if the message has not been sent yet
+     * @return true if a message was received, false if the receiver has been registered
+     */
+    public boolean receive(Message message, Receiver receiver) {
+        Segment segment = receiveSegment.get();
+        long index = receiveIndex.getAndIncrement();
+        segment = findSegment(receiveSegment, segment, index);
+        int slot = (int) (index % SEGMENT_SIZE);
+        if (segment.states.get(slot) != FULL) {
+            receiver.slot = slot;
+            receiver.segment = segment;
+            if (segment.states.compareAndSet(slot, null, receiver)) {
+                return false;
+            }
+        }
+        message.primitive = segment.primitives[slot];
+        message.reference = segment.references[slot];
+        segment.references[slot] = null;
+        return true;
+    }
+
+    /**
+     * Returns the number of messages sent and not yet received.
+     *
+     * @return number of pending messages
+     */
+    public long size() {
+        return Math.max(0, sendIndex.get() - receiveIndex.get());
+    }
+
+    private static boolean await(Segment segment, int slot, long timeoutNanos, BooleanSupplier abort) {
+        SlotBlocker blocker = new SlotBlocker(segment, slot, timeoutNanos, abort);
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return segment.states.get(slot) == FULL;
+    }
+
+    private void awaitCapacity(long index) {
+        long backoff = 1000;
+        while (index - receiveIndex.get() >= capacity) {
+            LockSupport.parkNanos(this, backoff);
+            backoff = Math.min(MAX_SEND_BACKOFF, backoff * 2);
+        }
+    }
+
+    private static Segment findSegment(AtomicReference<Segment> pointer, Segment start, long index) {
+        long id = index / SEGMENT_SIZE;
+        Segment segment = start;
+        while (segment.id < id) {
+            Segment next = segment.next.get();
+            if (next == null) {
+                segment.next.compareAndSet(null, new Segment(segment.id + 1));
+                next = segment.next.get();
+            }
+            segment = next;
+        }
+        Segment current = pointer.get();
+        while (current.id < segment.id && !pointer.compareAndSet(current, segment)) {
+            current = pointer.get();
+        }
+        return segment;
+    }
+
+    /**
+     * Holder a message is received into.
+     */
+    public static class Message {
+
+        public long primitive;
+        public Object reference;
+    }
+
+    /**
+     * Values of a message carrying more than one value.
+     */
+    public static class Values {
+
+        public final long[] primitives;
+        public final Object[] references;
+
+        public Values(int count) {
+            this.primitives = new long[count];
+            this.references = new Object[count];
+        }
+    }
+
+    /**
+     * Receiver of a message which has not been sent yet, registered in place of a waiting thread, see
+     * {@link #receive(Message, Receiver)}.
+     */
+    public abstract static class Receiver {
+
+        private volatile Segment segment;
+        private int slot;
+
+        /**
+         * Called on the sending thread once the message is sent. It delays the sender, so it has to be short, such
+         * as handing the message over to another thread.
+         *
+         * @param primitive primitive value of the message
+         * @param reference reference value of the message
+         */
+        protected abstract void onReceive(long primitive, Object reference);
+
+        /**
+         * Stop waiting for the message, unless it has already been sent. The message is then sent to the next
+         * receive of the channel instead.
+         *
+         * @return true if the receiver gave up, false if it gets the message
+         */
+        public boolean giveUp() {
+            Segment registered = segment;
+            return registered != null && registered.states.compareAndSet(slot, this, CANCELLED);
+        }
+    }
+
+    /**
+     * Fixed number of message slots. A slot is empty, holds the waiting receiver, or is full or cancelled.
+     */
+    private static class Segment {
+
+        private final long id;
+        private final long[] primitives = new long[SEGMENT_SIZE];
+        private final Object[] references = new Object[SEGMENT_SIZE];
+        private final AtomicReferenceArray<Object> states = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        private final AtomicReference<Segment> next = new AtomicReference<>();
+
+        Segment(long id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Parks the receiver of a slot until the slot is full, the timeout elapses or the wait is aborted.
+     */
+    private static class SlotBlocker implements ForkJoinPool.ManagedBlocker {
+
+        private final Segment segment;
+        private final int slot;
+        private final long timeoutNanos;
+        private final BooleanSupplier abort;
+        private final long startNanos = System.nanoTime();
+
+        SlotBlocker(Segment segment, int slot, long timeoutNanos, BooleanSupplier abort) {
+            this.segment = segment;
+            this.slot = slot;
+            this.timeoutNanos = timeoutNanos;
+            this.abort = abort;
+        }
+
+        @Override
+        public boolean block() {
+            long remaining = timeoutNanos - (System.nanoTime() - startNanos);
+            if (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            return isReleasable();
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return segment.states.get(slot) == FULL || timeoutNanos - (System.nanoTime() - startNanos) <= 0 ||
+                    abort.getAsBoolean();
+        }
+    }
+}
@@ -18,12 +18,10 @@
 package org.ballerinalang.util.codegen;
 
 import org.ballerinalang.model.types.BType;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.ballerinalang.runtime.Constants;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 /**
  * {@code WorkerDataChannelInfo} represents data channels used in Ballerina in order to communicate between workers.
@@ -43,38 +41,63 @@ public class WorkerDataChannelInfo {
 
     private int dataChannelRefIndex;
 
-    private BlockingQueue<Object[]> channel;
-    private BType[] types;
-    private static final Logger log = LoggerFactory.getLogger(WorkerDataChannelInfo.class);
+    private static final int CHANNEL_CAPACITY =
+            Integer.getInteger(Constants.SYSTEM_PROP_BAL_WORKER_CHANNEL_CAPACITY, Integer.MAX_VALUE);
+    // In seconds
+    public static final long RECEIVE_TIMEOUT = 60;
+
+    private WorkerDataChannel channel;
+    private volatile BType[] types;
 
     public WorkerDataChannelInfo(int sourceCPIndex, String source, int targetCPIndex, String target) {
         this.sourceCPIndex = sourceCPIndex;
         this.source = source;
         this.targetCPIndex = targetCPIndex;
         this.target = target;
-        this.channel =  new LinkedBlockingQueue<>();
-    }
-
-    public void putData(Object[] data) {
-        try {
-            if (data != null) {
-                channel.put(data);
-            }
-        } catch (InterruptedException e) {
-            // Handle the error properly
-            log.error("Error occurred when inserting data to the channel");
-        }
-    }
-
-    public Object[] takeData() {
-        Object[] data = null;
-        try {
-            data = channel.poll(60, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            // Handle the error properly
-            log.error("Error occurred when taking data from the channel");
-        }
-        return data;
+        this.channel = new WorkerDataChannel(CHANNEL_CAPACITY);
+    }
+
+    /**
+     * Send a message to the target worker.
+     *
+     * @param primitive primitive value of the message
+     * @param reference reference value of the message
+     */
+    public void putData(long primitive, Object reference) {
+        channel.send(primitive, reference);
+    }
+
+    /**
+     * Receive a message from the source worker, waiting for a minute at most.
+     *
+     * @param message holder the message is received into
+     * @return true if a message was received
+     */
+    public boolean takeData(WorkerDataChannel.Message message) {
+        return channel.receive(message, RECEIVE_TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Receive a message from the source worker, waiting for a minute at most, unless the wait is aborted.
+     *
+     * @param message holder the message is received into
+     * @param abort   condition on which to stop waiting, see {@link WorkerDataChannel#receive}
+     * @return true if a message was received
+     */
+    public boolean takeData(WorkerDataChannel.Message message, BooleanSupplier abort) {
+        return channel.receive(message, RECEIVE_TIMEOUT, TimeUnit.SECONDS, abort);
+    }
+
+    /**
+     * Receive a message from the source worker if it has already been sent, or register the given receiver to get
+     * it once it is sent. The receiver has to give up after {@link #RECEIVE_TIMEOUT} seconds itself.
+     *
+     * @param message  holder the message is received into
+     * @param receiver receiver to register if the message has not been sent yet
+     * @return true if a message was received, false if the receiver has been registered
+     */
+    public boolean takeData(WorkerDataChannel.Message message, WorkerDataChannel.Receiver receiver) {
+        return channel.receive(message, receiver);
     }
 
     public String getChannelName() {
@@ -17,6 +17,8 @@
 */
 package org.ballerinalang.util.codegen.cpentries;
 
+import org.ballerinalang.model.values.BString;
+
 /**
  * {@code StringCPEntry} represents a Ballerina string value in the constant pool.
  *
@@ -29,6 +31,8 @@ public class StringCPEntry implements ConstantPoolEntry {
 
     private String value;
 
+    private BString bStringValue;
+
     public StringCPEntry(int stringCPIndex, String value) {
         this.stringCPIndex = stringCPIndex;
         this.value = value;
@@ -38,6 +42,22 @@ public class StringCPEntry implements ConstantPoolEntry {
         return value;
     }
 
+    /**
+     * Returns the {@code BString} of this constant. It is created once, so boxing a constant string does not
+     * allocate.
+     *
+     * @return {@code BString} of this constant
+     */
+    public BString getBStringValue() {
+        BString bString = bStringValue;
+        if (bString == null) {
+            // Racing threads may each create one, which is harmless as they are equal and immutable
+            bString = BString.valueOf(value);
+            bStringValue = bString;
+        }
+        return bString;
+    }
+
     public int getStringCPIndex() {
         return stringCPIndex;
     }
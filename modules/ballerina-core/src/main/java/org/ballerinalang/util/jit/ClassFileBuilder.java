@@ -0,0 +1,551 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.jit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ClassFileBuilder} assembles a JVM class file with public methods. It supports just what the
+ * {@link FunctionCompiler} needs: a constant pool, method bodies with forward and backward branches, and
+ * table switches.
+ * <p>
+ * Classes are emitted with class file version 50, which the JVM verifies by type inference. Hence no stack map
+ * frames have to be computed for the generated code.
+ *
+ * @since 0.94
+ */
+class ClassFileBuilder {
+
+    // JVM opcodes used by the compiler
+    static final int ACONST_NULL = 1;
+    static final int ICONST_0 = 3;
+    static final int ICONST_1 = 4;
+    static final int LCONST_0 = 9;
+    static final int LCONST_1 = 10;
+    static final int DCONST_0 = 14;
+    static final int DCONST_1 = 15;
+    static final int BIPUSH = 16;
+    static final int SIPUSH = 17;
+    static final int LDC = 18;
+    static final int LDC_W = 19;
+    static final int LDC2_W = 20;
+    static final int ILOAD = 21;
+    static final int ALOAD = 25;
+    static final int IALOAD = 46;
+    static final int LALOAD = 47;
+    static final int DALOAD = 49;
+    static final int AALOAD = 50;
+    static final int ASTORE = 58;
+    static final int IASTORE = 79;
+    static final int LASTORE = 80;
+    static final int DASTORE = 82;
+    static final int AASTORE = 83;
+    static final int LADD = 97;
+    static final int DADD = 99;
+    static final int LSUB = 101;
+    static final int DSUB = 103;
+    static final int LMUL = 105;
+    static final int DMUL = 107;
+    static final int LDIV = 109;
+    static final int DDIV = 111;
+    static final int LREM = 113;
+    static final int DREM = 115;
+    static final int LNEG = 117;
+    static final int DNEG = 119;
+    static final int IXOR = 130;
+    static final int I2L = 133;
+    static final int I2D = 135;
+    static final int L2D = 138;
+    static final int D2L = 143;
+    static final int LCMP = 148;
+    static final int DCMPL = 151;
+    static final int DCMPG = 152;
+    static final int IFEQ = 153;
+    static final int IFNE = 154;
+    static final int IFLT = 155;
+    static final int IFGE = 156;
+    static final int IFGT = 157;
+    static final int IFLE = 158;
+    static final int IF_ICMPEQ = 159;
+    static final int IF_ICMPNE = 160;
+    static final int IF_ACMPEQ = 165;
+    static final int IF_ACMPNE = 166;
+    static final int GOTO = 167;
+    static final int TABLESWITCH = 170;
+    static final int IRETURN = 172;
+    static final int RETURN = 177;
+    static final int INVOKEVIRTUAL = 182;
+    static final int INVOKESPECIAL = 183;
+    static final int INVOKESTATIC = 184;
+    static final int IFNULL = 198;
+    static final int IFNONNULL = 199;
+
+    private static final int CLASS_FILE_MAGIC = 0xCAFEBABE;
+    private static final int CLASS_FILE_VERSION = 50;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final String className;
+    private final String superClassName;
+
+    private final ByteArrayOutputStream constPoolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constPool = new DataOutputStream(constPoolBytes);
+    private final Map<String, Integer> constPoolIndexes = new HashMap<>();
+    private int constPoolCount = 1;
+
+    private final List<byte[]> methods = new ArrayList<>();
+
+    /**
+     * Create a builder of a public final class.
+     *
+     * @param className      internal name of the class
+     * @param superClassName internal name of the super class
+     */
+    ClassFileBuilder(String className, String superClassName) {
+        this.className = className;
+        this.superClassName = superClassName;
+    }
+
+    CodeBuffer newCode() {
+        return new CodeBuffer();
+    }
+
+    /**
+     * Add a public method.
+     *
+     * @param name       name of the method
+     * @param descriptor descriptor of the method
+     * @param code       body of the method
+     * @param maxStack   maximum operand stack depth of the body
+     * @param maxLocals  number of local variable slots of the body, including the parameters
+     */
+    void addMethod(String name, String descriptor, CodeBuffer code, int maxStack, int maxLocals) {
+        byte[] bytecode = code.toByteArray();
+        ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(methodBytes);
+        try {
+            out.writeShort(ACC_PUBLIC);
+            out.writeShort(utf8(name));
+            out.writeShort(utf8(descriptor));
+            // The Code attribute is the only attribute of the method
+            out.writeShort(1);
+            out.writeShort(utf8("Code"));
+            out.writeInt(12 + bytecode.length);
+            out.writeShort(maxStack);
+            out.writeShort(maxLocals);
+            out.writeInt(bytecode.length);
+            out.write(bytecode);
+            // No exception table and no attributes
+            out.writeShort(0);
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        methods.add(methodBytes.toByteArray());
+    }
+
+    /**
+     * Add a public constructor without parameters, which calls the constructor without parameters of the
+     * super class.
+     */
+    void addDefaultConstructor() {
+        CodeBuffer code = new CodeBuffer();
+        code.aload(0);
+        code.op(INVOKESPECIAL);
+        code.u2(methodRef(superClassName, "<init>", "()V"));
+        code.op(RETURN);
+        addMethod("<init>", "()V", code, 1, 1);
+    }
+
+    byte[] toByteArray() {
+        int thisClassIndex = classRef(className);
+        int superClassIndex = classRef(superClassName);
+
+        ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(classBytes);
+        try {
+            out.writeInt(CLASS_FILE_MAGIC);
+            out.writeShort(0);
+            out.writeShort(CLASS_FILE_VERSION);
+            out.writeShort(constPoolCount);
+            constPool.flush();
+            out.write(constPoolBytes.toByteArray());
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClassIndex);
+            out.writeShort(superClassIndex);
+            // No interfaces and no fields
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(methods.size());
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+            // No class attributes
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return classBytes.toByteArray();
+    }
+
+    int integer(int value) {
+        Integer index = constPoolIndexes.get("I" + value);
+        if (index != null) {
+            return index;
+        }
+        try {
+            constPool.writeByte(CONSTANT_INTEGER);
+            constPool.writeInt(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry("I" + value, 1);
+    }
+
+    int longConstant(long value) {
+        Integer index = constPoolIndexes.get("J" + value);
+        if (index != null) {
+            return index;
+        }
+        try {
+            constPool.writeByte(CONSTANT_LONG);
+            constPool.writeLong(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        // Long and double constants take two constant pool slots
+        return addEntry("J" + value, 2);
+    }
+
+    int doubleConstant(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        Integer index = constPoolIndexes.get("D" + bits);
+        if (index != null) {
+            return index;
+        }
+        try {
+            constPool.writeByte(CONSTANT_DOUBLE);
+            constPool.writeLong(bits);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry("D" + bits, 2);
+    }
+
+    int string(String value) {
+        Integer index = constPoolIndexes.get("S" + value);
+        if (index != null) {
+            return index;
+        }
+        int utf8Index = utf8(value);
+        try {
+            constPool.writeByte(CONSTANT_STRING);
+            constPool.writeShort(utf8Index);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry("S" + value, 1);
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        String key = "M" + owner + '.' + name + descriptor;
+        Integer index = constPoolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        int classIndex = classRef(owner);
+        int nameAndTypeIndex = nameAndType(name, descriptor);
+        try {
+            constPool.writeByte(CONSTANT_METHODREF);
+            constPool.writeShort(classIndex);
+            constPool.writeShort(nameAndTypeIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry(key, 1);
+    }
+
+    private int classRef(String internalName) {
+        Integer index = constPoolIndexes.get("C" + internalName);
+        if (index != null) {
+            return index;
+        }
+        int nameIndex = utf8(internalName);
+        try {
+            constPool.writeByte(CONSTANT_CLASS);
+            constPool.writeShort(nameIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry("C" + internalName, 1);
+    }
+
+    private int nameAndType(String name, String descriptor) {
+        String key = "N" + name + ' ' + descriptor;
+        Integer index = constPoolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        try {
+            constPool.writeByte(CONSTANT_NAME_AND_TYPE);
+            constPool.writeShort(nameIndex);
+            constPool.writeShort(descriptorIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry(key, 1);
+    }
+
+    private int utf8(String value) {
+        Integer index = constPoolIndexes.get("U" + value);
+        if (index != null) {
+            return index;
+        }
+        try {
+            // Modified UTF-8, as required by the class file format
+            constPool.writeByte(CONSTANT_UTF8);
+            constPool.writeUTF(value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return addEntry("U" + value, 1);
+    }
+
+    private int addEntry(String key, int slots) {
+        int index = constPoolCount;
+        constPoolCount += slots;
+        if (constPoolCount > 0xFFFF) {
+            throw new IllegalStateException("constant pool of " + className + " is too large");
+        }
+        constPoolIndexes.put(key, index);
+        return index;
+    }
+
+    /**
+     * A branch target in a {@link CodeBuffer}.
+     */
+    static class Label {
+        private int position = -1;
+        private final List<int[]> references = new ArrayList<>();
+    }
+
+    /**
+     * Bytecode of a method body.
+     */
+    class CodeBuffer {
+
+        // Branch offsets of the class file format are signed 16 bit values, except in switches
+        private static final int MAX_CODE_LENGTH = Short.MAX_VALUE;
+
+        private byte[] bytes = new byte[1024];
+        private int length;
+        private final List<Label> labels = new ArrayList<>();
+
+        int length() {
+            return length;
+        }
+
+        Label newLabel() {
+            Label label = new Label();
+            labels.add(label);
+            return label;
+        }
+
+        void mark(Label label) {
+            label.position = length;
+        }
+
+        void op(int opcode) {
+            u1(opcode);
+        }
+
+        void u1(int value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void u2(int value) {
+            u1(value >>> 8);
+            u1(value);
+        }
+
+        void u4(int value) {
+            u2(value >>> 16);
+            u2(value);
+        }
+
+        void aload(int local) {
+            op(ALOAD);
+            u1(local);
+        }
+
+        void astore(int local) {
+            op(ASTORE);
+            u1(local);
+        }
+
+        void iload(int local) {
+            op(ILOAD);
+            u1(local);
+        }
+
+        void pushInt(int value) {
+            if (value >= -1 && value <= 5) {
+                op(ICONST_0 + value);
+            } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                op(BIPUSH);
+                u1(value);
+            } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                op(SIPUSH);
+                u2(value);
+            } else {
+                ldc(integer(value));
+            }
+        }
+
+        void pushLong(long value) {
+            if (value == 0 || value == 1) {
+                op(LCONST_0 + (int) value);
+            } else {
+                op(LDC2_W);
+                u2(longConstant(value));
+            }
+        }
+
+        void pushDouble(double value) {
+            if (Double.doubleToRawLongBits(value) == 0L || value == 1.0) {
+                op(value == 0 ? DCONST_0 : DCONST_1);
+            } else {
+                op(LDC2_W);
+                u2(doubleConstant(value));
+            }
+        }
+
+        void pushString(String value) {
+            if (value == null) {
+                op(ACONST_NULL);
+            } else {
+                ldc(string(value));
+            }
+        }
+
+        void invoke(int opcode, String owner, String name, String descriptor) {
+            op(opcode);
+            u2(methodRef(owner, name, descriptor));
+        }
+
+        /**
+         * Emit a branch instruction to the given label.
+         *
+         * @param opcode branch opcode
+         * @param target branch target
+         */
+        void jump(int opcode, Label target) {
+            int opcodePosition = length;
+            op(opcode);
+            target.references.add(new int[]{opcodePosition, length, 2});
+            u2(0);
+        }
+
+        /**
+         * Emit a table switch on the int value on top of the operand stack.
+         *
+         * @param low           value of the first target
+         * @param targets       targets of the consecutive values starting from {@code low}
+         * @param defaultTarget target of the values out of range
+         */
+        void tableSwitch(int low, Label[] targets, Label defaultTarget) {
+            int opcodePosition = length;
+            op(TABLESWITCH);
+            // Operands are aligned to four bytes from the start of the method body
+            while (length % 4 != 0) {
+                u1(0);
+            }
+            defaultTarget.references.add(new int[]{opcodePosition, length, 4});
+            u4(0);
+            u4(low);
+            u4(low + targets.length - 1);
+            for (Label target : targets) {
+                target.references.add(new int[]{opcodePosition, length, 4});
+                u4(0);
+            }
+        }
+
+        /**
+         * Returns the bytecode with resolved branch offsets.
+         *
+         * @return bytecode of the method body
+         * @throws IllegalStateException if the body exceeds the size supported by the branch instructions
+         */
+        byte[] toByteArray() {
+            if (length > MAX_CODE_LENGTH) {
+                throw new IllegalStateException("method of " + className + " is too large");
+            }
+            for (Label label : labels) {
+                if (label.references.isEmpty()) {
+                    continue;
+                }
+                if (label.position < 0) {
+                    throw new IllegalStateException("unresolved label in " + className);
+                }
+                for (int[] reference : label.references) {
+                    int offset = label.position - reference[0];
+                    int at = reference[1];
+                    if (reference[2] == 4) {
+                        bytes[at++] = (byte) (offset >>> 24);
+                        bytes[at++] = (byte) (offset >>> 16);
+                    }
+                    bytes[at++] = (byte) (offset >>> 8);
+                    bytes[at] = (byte) offset;
+                }
+            }
+            return Arrays.copyOf(bytes, length);
+        }
+
+        private void ldc(int constPoolIndex) {
+            if (constPoolIndex <= 0xFF) {
+                op(LDC);
+                u1(constPoolIndex);
+            } else {
+                op(LDC_W);
+                u2(constPoolIndex);
+            }
+        }
+    }
+}
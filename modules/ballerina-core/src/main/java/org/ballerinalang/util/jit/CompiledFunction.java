@@ -0,0 +1,91 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.jit;
+
+import org.ballerinalang.bre.bvm.StackFrame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code CompiledFunction} is the base class of the JVM classes generated by the {@link FunctionCompiler} for the
+ * instructions of a callable unit.
+ * <p>
+ * Compiled code operates on the registers and local variables of a {@link StackFrame}, exactly as the interpreter
+ * does. The state of the frame is therefore complete at every instruction boundary, and the VM can switch between
+ * interpreting and executing compiled code at any instruction.
+ *
+ * @since 0.94
+ */
+public abstract class CompiledFunction {
+
+    // Number of cancelled workers which have not stopped yet
+    private static final AtomicInteger pendingSafepoints = new AtomicInteger();
+
+    private int startIP;
+    private int endIP;
+
+    protected CompiledFunction() {
+    }
+
+    /**
+     * Make compiled code return to the interpreter at loop back edges, until {@link #releaseSafepoint()} is called,
+     * so that the interpreter can stop a cancelled worker.
+     */
+    public static void requestSafepoint() {
+        pendingSafepoints.incrementAndGet();
+    }
+
+    public static void releaseSafepoint() {
+        pendingSafepoints.decrementAndGet();
+    }
+
+    /**
+     * Returns whether compiled code has to return to the interpreter at loop back edges. Called by compiled code.
+     *
+     * @return true if a safepoint has been requested
+     */
+    public static boolean isSafepointRequested() {
+        return pendingSafepoints.get() != 0;
+    }
+
+    void setCodeRange(int startIP, int endIP) {
+        this.startIP = startIP;
+        this.endIP = endIP;
+    }
+
+    /**
+     * Returns whether the instruction at the given index has been compiled into this function.
+     *
+     * @param ip index of the instruction
+     * @return true if the instruction can be executed by {@link #execute(StackFrame, int)}
+     */
+    public boolean contains(int ip) {
+        return ip >= startIP && ip < endIP;
+    }
+
+    /**
+     * Execute compiled instructions on the given frame, starting from the given instruction. Execution stops at the
+     * first instruction which is not supported by the compiled code, such as invocations and returns, or which has
+     * to raise an error, and at the first branch which leaves the compiled instructions.
+     *
+     * @param sf frame to execute the instructions on
+     * @param ip index of the first instruction to execute
+     * @return index of the next instruction, which is to be executed by the interpreter
+     */
+    public abstract int execute(StackFrame sf, int ip);
+}
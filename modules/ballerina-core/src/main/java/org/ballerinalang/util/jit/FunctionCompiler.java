@@ -0,0 +1,606 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.jit;
+
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.InstructionFuser;
+import org.ballerinalang.util.codegen.cpentries.ConstantPoolEntry;
+import org.ballerinalang.util.codegen.cpentries.FloatCPEntry;
+import org.ballerinalang.util.codegen.cpentries.IntegerCPEntry;
+import org.ballerinalang.util.codegen.cpentries.StringCPEntry;
+import org.ballerinalang.util.jit.ClassFileBuilder.CodeBuffer;
+import org.ballerinalang.util.jit.ClassFileBuilder.Label;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.ballerinalang.util.jit.ClassFileBuilder.AASTORE;
+import static org.ballerinalang.util.jit.ClassFileBuilder.AALOAD;
+import static org.ballerinalang.util.jit.ClassFileBuilder.ACONST_NULL;
+import static org.ballerinalang.util.jit.ClassFileBuilder.D2L;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DADD;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DALOAD;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DASTORE;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DCMPG;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DCMPL;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DDIV;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DMUL;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DNEG;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DREM;
+import static org.ballerinalang.util.jit.ClassFileBuilder.DSUB;
+import static org.ballerinalang.util.jit.ClassFileBuilder.GOTO;
+import static org.ballerinalang.util.jit.ClassFileBuilder.I2D;
+import static org.ballerinalang.util.jit.ClassFileBuilder.I2L;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IALOAD;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IASTORE;
+import static org.ballerinalang.util.jit.ClassFileBuilder.ICONST_0;
+import static org.ballerinalang.util.jit.ClassFileBuilder.ICONST_1;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IFEQ;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IFGE;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IFGT;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IFLE;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IFLT;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IFNE;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IFNONNULL;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IFNULL;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IF_ACMPEQ;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IF_ACMPNE;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IF_ICMPEQ;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IF_ICMPNE;
+import static org.ballerinalang.util.jit.ClassFileBuilder.INVOKESTATIC;
+import static org.ballerinalang.util.jit.ClassFileBuilder.INVOKEVIRTUAL;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IRETURN;
+import static org.ballerinalang.util.jit.ClassFileBuilder.IXOR;
+import static org.ballerinalang.util.jit.ClassFileBuilder.L2D;
+import static org.ballerinalang.util.jit.ClassFileBuilder.LADD;
+import static org.ballerinalang.util.jit.ClassFileBuilder.LALOAD;
+import static org.ballerinalang.util.jit.ClassFileBuilder.LASTORE;
+import static org.ballerinalang.util.jit.ClassFileBuilder.LCMP;
+import static org.ballerinalang.util.jit.ClassFileBuilder.LDIV;
+import static org.ballerinalang.util.jit.ClassFileBuilder.LMUL;
+import static org.ballerinalang.util.jit.ClassFileBuilder.LNEG;
+import static org.ballerinalang.util.jit.ClassFileBuilder.LREM;
+import static org.ballerinalang.util.jit.ClassFileBuilder.LSUB;
+
+/**
+ * {@code FunctionCompiler} translates a range of instructions of a package into a JVM class extending
+ * {@link CompiledFunction}.
+ * <p>
+ * Each instruction is translated into the equivalent JVM code on the register and local variable arrays of the
+ * frame, with its operands and constants embedded. An instruction which is not supported is translated into a
+ * return of its index, so that it is executed by the interpreter. Instructions which may raise an error check
+ * their error condition and return to the interpreter as well when it holds, so that errors are always raised
+ * by the interpreter.
+ *
+ * @since 0.94
+ */
+class FunctionCompiler {
+
+    static final String COMPILED_FUNCTION_CLASS = "org/ballerinalang/util/jit/CompiledFunction";
+
+    private static final String STACK_FRAME_CLASS = "org/ballerinalang/bre/bvm/StackFrame";
+    private static final String REF_ARRAY_DESCRIPTOR = "[Lorg/ballerinalang/model/values/BRefType;";
+    private static final String STRING_ARRAY_DESCRIPTOR = "[Ljava/lang/String;";
+    private static final String STRING_BUILDER_CLASS = "org/ballerinalang/model/values/BStringBuilder";
+
+    // Local variable slots of the generated method. The arrays of the frame are loaded once, on entry.
+    private static final int LOCAL_SF = 1;
+    private static final int LOCAL_IP = 2;
+    private static final int LONG_REGS = 3;
+    private static final int LONG_VARS = 4;
+    private static final int DOUBLE_REGS = 5;
+    private static final int DOUBLE_VARS = 6;
+    private static final int STRING_REGS = 7;
+    private static final int STRING_VARS = 8;
+    private static final int INT_REGS = 9;
+    private static final int INT_VARS = 10;
+    private static final int REF_REGS = 11;
+    private static final int REF_VARS = 12;
+    private static final int MAX_LOCALS = 13;
+    private static final int MAX_STACK = 8;
+
+    private final int[] code;
+    private final ConstantPoolEntry[] constPool;
+    private final int startIP;
+    private final int endIP;
+
+    private final ClassFileBuilder classFile;
+    private final CodeBuffer buf;
+    private final Label[] instructionLabels;
+    // Returns to the interpreter for branch targets outside of the compiled range, keyed by the target
+    private final Map<Integer, Label> exitLabels = new TreeMap<>();
+
+    private FunctionCompiler(String className, int[] code, ConstantPoolEntry[] constPool, int startIP, int endIP) {
+        this.code = code;
+        this.constPool = constPool;
+        this.startIP = startIP;
+        this.endIP = endIP;
+        this.classFile = new ClassFileBuilder(className, COMPILED_FUNCTION_CLASS);
+        this.buf = classFile.newCode();
+        this.instructionLabels = new Label[endIP - startIP];
+        for (int i = 0; i < instructionLabels.length; i++) {
+            instructionLabels[i] = buf.newLabel();
+        }
+    }
+
+    /**
+     * Compile the given range of instructions.
+     *
+     * @param className internal name of the class to generate
+     * @param code      packed code of the package
+     * @param constPool constant pool of the package
+     * @param startIP   index of the first instruction to compile
+     * @param endIP     index after the last instruction to compile
+     * @return the class file, or null if none of the instructions can be compiled
+     * @throws IllegalStateException if the generated code exceeds the limits of a JVM method
+     */
+    static byte[] compile(String className, int[] code, ConstantPoolEntry[] constPool, int startIP, int endIP) {
+        FunctionCompiler compiler = new FunctionCompiler(className, code, constPool, startIP, endIP);
+        if (!compiler.translate()) {
+            return null;
+        }
+        compiler.classFile.addDefaultConstructor();
+        compiler.classFile.addMethod("execute", "(L" + STACK_FRAME_CLASS + ";I)I", compiler.buf, MAX_STACK,
+                MAX_LOCALS);
+        return compiler.classFile.toByteArray();
+    }
+
+    private boolean translate() {
+        loadFrameArray("getLongRegs", "[J", LONG_REGS);
+        loadFrameArray("getLongLocalVars", "[J", LONG_VARS);
+        loadFrameArray("getDoubleRegs", "[D", DOUBLE_REGS);
+        loadFrameArray("getDoubleLocalVars", "[D", DOUBLE_VARS);
+        loadFrameArray("getStringRegs", STRING_ARRAY_DESCRIPTOR, STRING_REGS);
+        loadFrameArray("getStringLocalVars", STRING_ARRAY_DESCRIPTOR, STRING_VARS);
+        loadFrameArray("getIntRegs", "[I", INT_REGS);
+        loadFrameArray("getIntLocalVars", "[I", INT_VARS);
+        loadFrameArray("getRefRegs", REF_ARRAY_DESCRIPTOR, REF_REGS);
+        loadFrameArray("getRefLocalVars", REF_ARRAY_DESCRIPTOR, REF_VARS);
+
+        // Execution may start at any instruction of the range
+        Label outOfRange = buf.newLabel();
+        buf.iload(LOCAL_IP);
+        buf.tableSwitch(startIP, instructionLabels, outOfRange);
+        buf.mark(outOfRange);
+        buf.iload(LOCAL_IP);
+        buf.op(IRETURN);
+
+        int compiledCount = 0;
+        for (int ip = startIP; ip < endIP; ip++) {
+            buf.mark(instructionLabels[ip - startIP]);
+            if (translateInstruction(ip)) {
+                compiledCount++;
+            } else {
+                returnToInterpreter(ip);
+            }
+        }
+        returnToInterpreter(endIP);
+
+        for (Map.Entry<Integer, Label> exit : exitLabels.entrySet()) {
+            buf.mark(exit.getValue());
+            returnToInterpreter(exit.getKey());
+        }
+        return compiledCount > 0;
+    }
+
+    private boolean translateInstruction(int ip) {
+        int pc = ip * Instruction.SLOT_SIZE;
+        int op = pc + 1;
+        // Superinstructions are compiled as their first instruction. The second one is compiled on its own.
+        int opcode = InstructionFuser.getBaseOpcode(code[pc]);
+        switch (opcode) {
+            case InstructionCodes.NOP:
+                return true;
+
+            case InstructionCodes.ICONST:
+                storeTo(LONG_REGS, code[op + 1]);
+                buf.pushLong(((IntegerCPEntry) constPool[code[op]]).getValue());
+                buf.op(LASTORE);
+                return true;
+            case InstructionCodes.FCONST:
+                storeTo(DOUBLE_REGS, code[op + 1]);
+                buf.pushDouble(((FloatCPEntry) constPool[code[op]]).getValue());
+                buf.op(DASTORE);
+                return true;
+            case InstructionCodes.SCONST:
+                storeTo(STRING_REGS, code[op + 1]);
+                buf.pushString(((StringCPEntry) constPool[code[op]]).getValue());
+                buf.op(AASTORE);
+                return true;
+            case InstructionCodes.ICONST_0:
+            case InstructionCodes.ICONST_1:
+            case InstructionCodes.ICONST_2:
+            case InstructionCodes.ICONST_3:
+            case InstructionCodes.ICONST_4:
+            case InstructionCodes.ICONST_5:
+                storeTo(LONG_REGS, code[op]);
+                buf.pushLong(opcode - InstructionCodes.ICONST_0);
+                buf.op(LASTORE);
+                return true;
+            case InstructionCodes.FCONST_0:
+            case InstructionCodes.FCONST_1:
+            case InstructionCodes.FCONST_2:
+            case InstructionCodes.FCONST_3:
+            case InstructionCodes.FCONST_4:
+            case InstructionCodes.FCONST_5:
+                storeTo(DOUBLE_REGS, code[op]);
+                buf.pushDouble(opcode - InstructionCodes.FCONST_0);
+                buf.op(DASTORE);
+                return true;
+            case InstructionCodes.BCONST_0:
+            case InstructionCodes.BCONST_1:
+                storeTo(INT_REGS, code[op]);
+                buf.op(opcode == InstructionCodes.BCONST_0 ? ICONST_0 : ICONST_1);
+                buf.op(IASTORE);
+                return true;
+            case InstructionCodes.RCONST_NULL:
+                storeTo(REF_REGS, code[op]);
+                buf.op(ACONST_NULL);
+                buf.op(AASTORE);
+                return true;
+
+            case InstructionCodes.ILOAD:
+                move(LONG_VARS, code[op], LONG_REGS, code[op + 1], LALOAD, LASTORE);
+                return true;
+            case InstructionCodes.FLOAD:
+                move(DOUBLE_VARS, code[op], DOUBLE_REGS, code[op + 1], DALOAD, DASTORE);
+                return true;
+            case InstructionCodes.SLOAD:
+                move(STRING_VARS, code[op], STRING_REGS, code[op + 1], AALOAD, AASTORE);
+                return true;
+            case InstructionCodes.BLOAD:
+                move(INT_VARS, code[op], INT_REGS, code[op + 1], IALOAD, IASTORE);
+                return true;
+            case InstructionCodes.RLOAD:
+                move(REF_VARS, code[op], REF_REGS, code[op + 1], AALOAD, AASTORE);
+                return true;
+            case InstructionCodes.ISTORE:
+                move(LONG_REGS, code[op], LONG_VARS, code[op + 1], LALOAD, LASTORE);
+                return true;
+            case InstructionCodes.FSTORE:
+                move(DOUBLE_REGS, code[op], DOUBLE_VARS, code[op + 1], DALOAD, DASTORE);
+                return true;
+            case InstructionCodes.SSTORE:
+                move(STRING_REGS, code[op], STRING_VARS, code[op + 1], AALOAD, AASTORE);
+                return true;
+            case InstructionCodes.BSTORE:
+                move(INT_REGS, code[op], INT_VARS, code[op + 1], IALOAD, IASTORE);
+                return true;
+            case InstructionCodes.RSTORE:
+                move(REF_REGS, code[op], REF_VARS, code[op + 1], AALOAD, AASTORE);
+                return true;
+
+            case InstructionCodes.IADD:
+                binaryOp(LONG_REGS, op, LALOAD, LADD, LASTORE);
+                return true;
+            case InstructionCodes.ISUB:
+                binaryOp(LONG_REGS, op, LALOAD, LSUB, LASTORE);
+                return true;
+            case InstructionCodes.IMUL:
+                binaryOp(LONG_REGS, op, LALOAD, LMUL, LASTORE);
+                return true;
+            case InstructionCodes.IDIV:
+            case InstructionCodes.IMOD:
+                // Division by zero is raised by the interpreter
+                loadFrom(LONG_REGS, code[op + 1], LALOAD);
+                buf.pushLong(0);
+                buf.op(LCMP);
+                returnToInterpreterIf(IFEQ, ip);
+                binaryOp(LONG_REGS, op, LALOAD, opcode == InstructionCodes.IDIV ? LDIV : LREM, LASTORE);
+                return true;
+            case InstructionCodes.INEG:
+                storeTo(LONG_REGS, code[op + 1]);
+                loadFrom(LONG_REGS, code[op], LALOAD);
+                buf.op(LNEG);
+                buf.op(LASTORE);
+                return true;
+            case InstructionCodes.FADD:
+                binaryOp(DOUBLE_REGS, op, DALOAD, DADD, DASTORE);
+                return true;
+            case InstructionCodes.FSUB:
+                binaryOp(DOUBLE_REGS, op, DALOAD, DSUB, DASTORE);
+                return true;
+            case InstructionCodes.FMUL:
+                binaryOp(DOUBLE_REGS, op, DALOAD, DMUL, DASTORE);
+                return true;
+            case InstructionCodes.FDIV:
+            case InstructionCodes.FMOD:
+                loadFrom(DOUBLE_REGS, code[op + 1], DALOAD);
+                buf.pushDouble(0);
+                buf.op(DCMPL);
+                returnToInterpreterIf(IFEQ, ip);
+                binaryOp(DOUBLE_REGS, op, DALOAD, opcode == InstructionCodes.FDIV ? DDIV : DREM, DASTORE);
+                return true;
+            case InstructionCodes.FNEG:
+                storeTo(DOUBLE_REGS, code[op + 1]);
+                loadFrom(DOUBLE_REGS, code[op], DALOAD);
+                buf.op(DNEG);
+                buf.op(DASTORE);
+                return true;
+            case InstructionCodes.SADD:
+                // String concatenation renders null as "null", as String.valueOf does
+                storeTo(STRING_REGS, code[op + 2]);
+                loadFrom(STRING_REGS, code[op], AALOAD);
+                buf.invoke(INVOKESTATIC, "java/lang/String", "valueOf", "(Ljava/lang/Object;)Ljava/lang/String;");
+                loadFrom(STRING_REGS, code[op + 1], AALOAD);
+                buf.invoke(INVOKESTATIC, "java/lang/String", "valueOf", "(Ljava/lang/Object;)Ljava/lang/String;");
+                buf.invoke(INVOKEVIRTUAL, "java/lang/String", "concat", "(Ljava/lang/String;)Ljava/lang/String;");
+                buf.op(AASTORE);
+                return true;
+            case InstructionCodes.NEWSB:
+                storeTo(REF_REGS, code[op + 1]);
+                loadFrom(STRING_REGS, code[op], AALOAD);
+                buf.invoke(INVOKESTATIC, STRING_BUILDER_CLASS, "create",
+                        "(Ljava/lang/String;)L" + STRING_BUILDER_CLASS + ";");
+                buf.op(AASTORE);
+                return true;
+            case InstructionCodes.SBAPPEND:
+                loadFrom(REF_REGS, code[op], AALOAD);
+                loadFrom(STRING_REGS, code[op + 1], AALOAD);
+                buf.invoke(INVOKESTATIC, STRING_BUILDER_CLASS, "append",
+                        "(Lorg/ballerinalang/model/values/BRefType;Ljava/lang/String;)V");
+                return true;
+            case InstructionCodes.SB2S:
+                storeTo(STRING_REGS, code[op + 1]);
+                loadFrom(REF_REGS, code[op], AALOAD);
+                buf.invoke(INVOKESTATIC, STRING_BUILDER_CLASS, "getString",
+                        "(Lorg/ballerinalang/model/values/BRefType;)Ljava/lang/String;");
+                buf.op(AASTORE);
+                return true;
+
+            case InstructionCodes.IEQ:
+                compare(LONG_REGS, op, LALOAD, LCMP, IFNE);
+                return true;
+            case InstructionCodes.INE:
+                compare(LONG_REGS, op, LALOAD, LCMP, IFEQ);
+                return true;
+            case InstructionCodes.IGT:
+                compare(LONG_REGS, op, LALOAD, LCMP, IFLE);
+                return true;
+            case InstructionCodes.IGE:
+                compare(LONG_REGS, op, LALOAD, LCMP, IFLT);
+                return true;
+            case InstructionCodes.ILT:
+                compare(LONG_REGS, op, LALOAD, LCMP, IFGE);
+                return true;
+            case InstructionCodes.ILE:
+                compare(LONG_REGS, op, LALOAD, LCMP, IFGT);
+                return true;
+            // NaN compares false with the same choice of dcmpl and dcmpg as javac
+            case InstructionCodes.FEQ:
+                compare(DOUBLE_REGS, op, DALOAD, DCMPL, IFNE);
+                return true;
+            case InstructionCodes.FNE:
+                compare(DOUBLE_REGS, op, DALOAD, DCMPL, IFEQ);
+                return true;
+            case InstructionCodes.FGT:
+                compare(DOUBLE_REGS, op, DALOAD, DCMPL, IFLE);
+                return true;
+            case InstructionCodes.FGE:
+                compare(DOUBLE_REGS, op, DALOAD, DCMPL, IFLT);
+                return true;
+            case InstructionCodes.FLT:
+                compare(DOUBLE_REGS, op, DALOAD, DCMPG, IFGE);
+                return true;
+            case InstructionCodes.FLE:
+                compare(DOUBLE_REGS, op, DALOAD, DCMPG, IFGT);
+                return true;
+            case InstructionCodes.BEQ:
+                compare(INT_REGS, op, IALOAD, -1, IF_ICMPNE);
+                return true;
+            case InstructionCodes.BNE:
+                compare(INT_REGS, op, IALOAD, -1, IF_ICMPEQ);
+                return true;
+            case InstructionCodes.REQ:
+                compare(REF_REGS, op, AALOAD, -1, IF_ACMPNE);
+                return true;
+            case InstructionCodes.RNE:
+                compare(REF_REGS, op, AALOAD, -1, IF_ACMPEQ);
+                return true;
+            case InstructionCodes.SEQ:
+            case InstructionCodes.SNE:
+                // A null left hand side raises an error in the interpreter
+                loadFrom(STRING_REGS, code[op], AALOAD);
+                returnToInterpreterIf(IFNULL, ip);
+                storeTo(INT_REGS, code[op + 2]);
+                loadFrom(STRING_REGS, code[op], AALOAD);
+                loadFrom(STRING_REGS, code[op + 1], AALOAD);
+                buf.invoke(INVOKEVIRTUAL, "java/lang/String", "equals", "(Ljava/lang/Object;)Z");
+                if (opcode == InstructionCodes.SNE) {
+                    buf.op(ICONST_1);
+                    buf.op(IXOR);
+                }
+                buf.op(IASTORE);
+                return true;
+            case InstructionCodes.BNOT:
+                storeTo(INT_REGS, code[op + 1]);
+                loadFrom(INT_REGS, code[op], IALOAD);
+                pushBoolean(IFNE);
+                buf.op(IASTORE);
+                return true;
+
+            case InstructionCodes.I2F:
+                storeTo(DOUBLE_REGS, code[op + 1]);
+                loadFrom(LONG_REGS, code[op], LALOAD);
+                buf.op(L2D);
+                buf.op(DASTORE);
+                return true;
+            case InstructionCodes.I2B:
+                storeTo(INT_REGS, code[op + 1]);
+                loadFrom(LONG_REGS, code[op], LALOAD);
+                buf.pushLong(0);
+                buf.op(LCMP);
+                pushBoolean(IFEQ);
+                buf.op(IASTORE);
+                return true;
+            case InstructionCodes.F2I:
+                storeTo(LONG_REGS, code[op + 1]);
+                loadFrom(DOUBLE_REGS, code[op], DALOAD);
+                buf.op(D2L);
+                buf.op(LASTORE);
+                return true;
+            case InstructionCodes.F2B:
+                storeTo(INT_REGS, code[op + 1]);
+                loadFrom(DOUBLE_REGS, code[op], DALOAD);
+                buf.pushDouble(0);
+                buf.op(DCMPL);
+                pushBoolean(IFEQ);
+                buf.op(IASTORE);
+                return true;
+            case InstructionCodes.B2I:
+                storeTo(LONG_REGS, code[op + 1]);
+                loadFrom(INT_REGS, code[op], IALOAD);
+                buf.op(I2L);
+                buf.op(LASTORE);
+                return true;
+            case InstructionCodes.B2F:
+                storeTo(DOUBLE_REGS, code[op + 1]);
+                loadFrom(INT_REGS, code[op], IALOAD);
+                buf.op(I2D);
+                buf.op(DASTORE);
+                return true;
+
+            case InstructionCodes.BR_TRUE:
+                loadFrom(INT_REGS, code[op], IALOAD);
+                buf.op(ICONST_1);
+                buf.jump(IF_ICMPEQ, getBranchTarget(code[op + 1]));
+                return true;
+            case InstructionCodes.BR_FALSE:
+                loadFrom(INT_REGS, code[op], IALOAD);
+                buf.jump(IFEQ, getBranchTarget(code[op + 1]));
+                return true;
+            case InstructionCodes.REQ_NULL:
+                loadFrom(REF_REGS, code[op], AALOAD);
+                buf.jump(IFNULL, getBranchTarget(code[op + 1]));
+                return true;
+            case InstructionCodes.RNE_NULL:
+                loadFrom(REF_REGS, code[op], AALOAD);
+                buf.jump(IFNONNULL, getBranchTarget(code[op + 1]));
+                return true;
+            case InstructionCodes.GOTO:
+                if (code[op] <= ip) {
+                    // Loop back edges return to the interpreter while a cancelled worker has to be stopped
+                    buf.invoke(INVOKESTATIC, COMPILED_FUNCTION_CLASS, "isSafepointRequested", "()Z");
+                    buf.jump(IFNE, exitLabels.computeIfAbsent(code[op], target -> buf.newLabel()));
+                }
+                buf.jump(GOTO, getBranchTarget(code[op]));
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    private void loadFrameArray(String getterName, String arrayDescriptor, int local) {
+        buf.aload(LOCAL_SF);
+        buf.invoke(INVOKEVIRTUAL, STACK_FRAME_CLASS, getterName, "()" + arrayDescriptor);
+        buf.astore(local);
+    }
+
+    private void loadFrom(int arrayLocal, int index, int arrayLoadOpcode) {
+        buf.aload(arrayLocal);
+        buf.pushInt(index);
+        buf.op(arrayLoadOpcode);
+    }
+
+    /**
+     * Push the array and index of a store, which is completed by an array store instruction once the value has
+     * been pushed.
+     */
+    private void storeTo(int arrayLocal, int index) {
+        buf.aload(arrayLocal);
+        buf.pushInt(index);
+    }
+
+    private void move(int fromArray, int fromIndex, int toArray, int toIndex, int arrayLoadOpcode,
+                      int arrayStoreOpcode) {
+        storeTo(toArray, toIndex);
+        loadFrom(fromArray, fromIndex, arrayLoadOpcode);
+        buf.op(arrayStoreOpcode);
+    }
+
+    private void binaryOp(int regs, int op, int arrayLoadOpcode, int arithmeticOpcode, int arrayStoreOpcode) {
+        storeTo(regs, code[op + 2]);
+        loadFrom(regs, code[op], arrayLoadOpcode);
+        loadFrom(regs, code[op + 1], arrayLoadOpcode);
+        buf.op(arithmeticOpcode);
+        buf.op(arrayStoreOpcode);
+    }
+
+    /**
+     * Store 1 in the boolean register of the instruction if its operands compare as expected, or 0 otherwise.
+     *
+     * @param regs            registers of the operands
+     * @param op              offset of the first operand of the instruction
+     * @param arrayLoadOpcode array load opcode of the operands
+     * @param compareOpcode   opcode comparing the operands into an int, or -1 if the branch compares them
+     * @param falseBranch     branch opcode which is taken when the comparison is false
+     */
+    private void compare(int regs, int op, int arrayLoadOpcode, int compareOpcode, int falseBranch) {
+        storeTo(INT_REGS, code[op + 2]);
+        loadFrom(regs, code[op], arrayLoadOpcode);
+        loadFrom(regs, code[op + 1], arrayLoadOpcode);
+        if (compareOpcode >= 0) {
+            buf.op(compareOpcode);
+        }
+        pushBoolean(falseBranch);
+        buf.op(IASTORE);
+    }
+
+    private void pushBoolean(int falseBranch) {
+        Label falseLabel = buf.newLabel();
+        Label endLabel = buf.newLabel();
+        buf.jump(falseBranch, falseLabel);
+        buf.op(ICONST_1);
+        buf.jump(GOTO, endLabel);
+        buf.mark(falseLabel);
+        buf.op(ICONST_0);
+        buf.mark(endLabel);
+    }
+
+    private Label getBranchTarget(int targetIP) {
+        if (targetIP >= startIP && targetIP < endIP) {
+            return instructionLabels[targetIP - startIP];
+        }
+        return exitLabels.computeIfAbsent(targetIP, ip -> buf.newLabel());
+    }
+
+    private void returnToInterpreter(int ip) {
+        buf.pushInt(ip);
+        buf.op(IRETURN);
+    }
+
+    private void returnToInterpreterIf(int branchOpcode, int ip) {
+        Label continueLabel = buf.newLabel();
+        buf.jump(invert(branchOpcode), continueLabel);
+        returnToInterpreter(ip);
+        buf.mark(continueLabel);
+    }
+
+    private static int invert(int branchOpcode) {
+        switch (branchOpcode) {
+            case IFEQ:
+                return IFNE;
+            case IFNULL:
+                return IFNONNULL;
+            default:
+                throw new IllegalArgumentException("unsupported branch opcode " + branchOpcode);
+        }
+    }
+}
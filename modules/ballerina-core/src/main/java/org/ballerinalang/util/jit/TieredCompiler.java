@@ -0,0 +1,190 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.jit;
+
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.ConnectorInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.ServiceInfo;
+import org.ballerinalang.util.codegen.WorkerInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@code TieredCompiler} is the second execution tier of the VM. It counts the execution events of callable units,
+ * which are their invocations, returns into them and loop back edges, and compiles a callable unit into a
+ * {@link CompiledFunction} once its count reaches a threshold.
+ * <p>
+ * The tier is enabled with the {@value Constants#SYSTEM_PROP_BAL_VM_JIT} system property, and the threshold can be
+ * configured with the {@value Constants#SYSTEM_PROP_BAL_VM_JIT_THRESHOLD} system property.
+ *
+ * @since 0.94
+ */
+public class TieredCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredCompiler.class);
+
+    private static final int DEFAULT_THRESHOLD = 1000;
+
+    // Bounds the size of the generated methods, the remaining instructions are interpreted
+    private static final int MAX_COMPILED_INSTRUCTIONS = 1500;
+
+    private static final String GENERATED_CLASS_PREFIX = "org/ballerinalang/util/jit/generated/";
+
+    private static final TieredCompiler instance = createCompiler();
+
+    private final int threshold;
+    private final AtomicInteger generatedClassCount = new AtomicInteger();
+
+    private TieredCompiler(int threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns the tiered compiler of this runtime.
+     *
+     * @return the compiler, or null if the compilation of callable units is not enabled
+     */
+    public static TieredCompiler getInstance() {
+        return instance;
+    }
+
+    private static TieredCompiler createCompiler() {
+        if (!Boolean.getBoolean(Constants.SYSTEM_PROP_BAL_VM_JIT)) {
+            return null;
+        }
+        return new TieredCompiler(Integer.getInteger(Constants.SYSTEM_PROP_BAL_VM_JIT_THRESHOLD, DEFAULT_THRESHOLD));
+    }
+
+    /**
+     * Count an execution event of the given callable unit, and returns its compiled code.
+     *
+     * @param callableUnitInfo callable unit being executed
+     * @return compiled code of the callable unit, or null if it is not compiled
+     */
+    public CompiledFunction getCompiledFunction(CallableUnitInfo callableUnitInfo) {
+        CompiledFunction compiledFunction = callableUnitInfo.getCompiledFunction();
+        if (compiledFunction != null || callableUnitInfo.isCompilationAttempted()) {
+            return compiledFunction;
+        }
+        if (callableUnitInfo.incrementExecutionCount() < threshold) {
+            return null;
+        }
+        return compile(callableUnitInfo);
+    }
+
+    private CompiledFunction compile(CallableUnitInfo callableUnitInfo) {
+        synchronized (callableUnitInfo) {
+            if (callableUnitInfo.isCompilationAttempted()) {
+                return callableUnitInfo.getCompiledFunction();
+            }
+            callableUnitInfo.setCompilationAttempted(true);
+
+            WorkerInfo workerInfo = callableUnitInfo.getDefaultWorkerInfo();
+            PackageInfo packageInfo = callableUnitInfo.getPackageInfo();
+            if (callableUnitInfo.isNative() || workerInfo == null || packageInfo == null) {
+                return null;
+            }
+
+            int startIP = workerInfo.getCodeAttributeInfo().getCodeAddrs();
+            if (startIP < 0) {
+                return null;
+            }
+            int endIP = Math.min(getCodeEnd(packageInfo, startIP), startIP + MAX_COMPILED_INSTRUCTIONS);
+
+            String className = GENERATED_CLASS_PREFIX + "F" + generatedClassCount.incrementAndGet() + "_" +
+                    callableUnitInfo.getName().replaceAll("[^A-Za-z0-9_$]", "_");
+            try {
+                byte[] classFile = FunctionCompiler.compile(className, packageInfo.getCode(),
+                        packageInfo.getConstPoolEntries(), startIP, endIP);
+                if (classFile == null) {
+                    return null;
+                }
+
+                Class<?> compiledClass = new CompiledFunctionLoader().define(className.replace('/', '.'), classFile);
+                CompiledFunction compiledFunction = (CompiledFunction) compiledClass.newInstance();
+                compiledFunction.setCodeRange(startIP, endIP);
+                callableUnitInfo.setCompiledFunction(compiledFunction);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("compiled " + callableUnitInfo.getPkgPath() + ":" + callableUnitInfo.getName() +
+                            ", instructions " + startIP + " to " + (endIP - 1));
+                }
+                return compiledFunction;
+            } catch (IllegalStateException | ReflectiveOperationException | LinkageError e) {
+                logger.warn("unable to compile " + callableUnitInfo.getPkgPath() + ":" + callableUnitInfo.getName() +
+                        ", it will be interpreted: " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Returns the index after the last instruction of the code starting at the given index. Code of the callable
+     * units of a package is laid out contiguously, hence it ends where the code of the next worker starts.
+     */
+    private static int getCodeEnd(PackageInfo packageInfo, int startIP) {
+        List<CallableUnitInfo> callableUnitInfos = new ArrayList<>();
+        Collections.addAll(callableUnitInfos, packageInfo.getFunctionInfoEntries());
+        for (ConnectorInfo connectorInfo : packageInfo.getConnectorInfoEntries()) {
+            Collections.addAll(callableUnitInfos, connectorInfo.getActionInfoEntries());
+        }
+        for (ServiceInfo serviceInfo : packageInfo.getServiceInfoEntries()) {
+            Collections.addAll(callableUnitInfos, serviceInfo.getResourceInfoEntries());
+            if (serviceInfo.getInitFunctionInfo() != null) {
+                callableUnitInfos.add(serviceInfo.getInitFunctionInfo());
+            }
+        }
+
+        int endIP = packageInfo.getInstructionCount();
+        for (CallableUnitInfo callableUnitInfo : callableUnitInfos) {
+            endIP = getCodeEnd(callableUnitInfo.getDefaultWorkerInfo(), startIP, endIP);
+            for (WorkerInfo workerInfo : callableUnitInfo.getWorkerInfoEntries()) {
+                endIP = getCodeEnd(workerInfo, startIP, endIP);
+            }
+        }
+        return endIP;
+    }
+
+    private static int getCodeEnd(WorkerInfo workerInfo, int startIP, int endIP) {
+        if (workerInfo == null || workerInfo.getCodeAttributeInfo() == null) {
+            return endIP;
+        }
+        int codeAddrs = workerInfo.getCodeAttributeInfo().getCodeAddrs();
+        return codeAddrs > startIP && codeAddrs < endIP ? codeAddrs : endIP;
+    }
+
+    /**
+     * Class loader of a single generated class, so that the class can be unloaded with the program.
+     */
+    private static class CompiledFunctionLoader extends ClassLoader {
+
+        CompiledFunctionLoader() {
+            super(CompiledFunction.class.getClassLoader());
+        }
+
+        Class<?> define(String name, byte[] classFile) {
+            return defineClass(name, classFile, 0, classFile.length);
+        }
+    }
+}
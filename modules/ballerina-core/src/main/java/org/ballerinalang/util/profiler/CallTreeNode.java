@@ -0,0 +1,83 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.profiler;
+
+import org.ballerinalang.util.codegen.ActionInfo;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@code CallTreeNode} is a node of the call tree built by the profiler. Each node represents a callable unit
+ * reached through the call path from the root, and holds the cost measured while it was on top of the stack.
+ *
+ * @since 0.94
+ */
+class CallTreeNode {
+
+    private final CallableUnitInfo callableUnitInfo;
+    private final Map<CallableUnitInfo, CallTreeNode> children = new IdentityHashMap<>();
+
+    // Instructions executed or samples taken while this node was on top of the stack
+    long selfCount;
+    long allocationCount;
+
+    CallTreeNode(CallableUnitInfo callableUnitInfo) {
+        this.callableUnitInfo = callableUnitInfo;
+    }
+
+    CallableUnitInfo getCallableUnitInfo() {
+        return callableUnitInfo;
+    }
+
+    Map<CallableUnitInfo, CallTreeNode> getChildren() {
+        return children;
+    }
+
+    CallTreeNode getChild(CallableUnitInfo childInfo) {
+        CallTreeNode child = children.get(childInfo);
+        if (child == null) {
+            child = new CallTreeNode(childInfo);
+            children.put(childInfo, child);
+        }
+        return child;
+    }
+
+    void merge(CallTreeNode other) {
+        selfCount += other.selfCount;
+        allocationCount += other.allocationCount;
+        for (CallTreeNode otherChild : other.children.values()) {
+            getChild(otherChild.callableUnitInfo).merge(otherChild);
+        }
+    }
+
+    static String getName(CallableUnitInfo callableUnitInfo) {
+        if (callableUnitInfo == null) {
+            return "<package>";
+        }
+
+        String name = callableUnitInfo.getName();
+        if (callableUnitInfo instanceof ActionInfo) {
+            name = ((ActionInfo) callableUnitInfo).getConnectorInfo().getName() + "." + name;
+        }
+
+        String pkgPath = callableUnitInfo.getPkgPath();
+        return (pkgPath == null || pkgPath.equals(".")) ? name : pkgPath + ":" + name;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.profiler;
+
+import org.ballerinalang.bre.bvm.StackFrame;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.PackageInfo;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@code ProfileRecorder} collects the profile of a single VM run. It is only accessed by the thread executing the
+ * VM, except for the sample request flag which is set by the sampler thread. The collected data is merged into the
+ * {@link VMProfiler} when the run ends.
+ *
+ * @since 0.94
+ */
+public class ProfileRecorder {
+
+    private static final boolean[] ALLOCATING_OPCODES = new boolean[InstructionCodes.INSTRUCTION_CODE_COUNT];
+
+    static {
+        int[] allocatingOpcodes = {InstructionCodes.INEWARRAY, InstructionCodes.FNEWARRAY,
+                InstructionCodes.SNEWARRAY, InstructionCodes.BNEWARRAY, InstructionCodes.LNEWARRAY,
+                InstructionCodes.RNEWARRAY, InstructionCodes.JSONNEWARRAY, InstructionCodes.NEWSTRUCT,
+                InstructionCodes.NEWCONNECTOR, InstructionCodes.NEWMAP, InstructionCodes.NEWJSON,
+                InstructionCodes.NEWDATATABLE, InstructionCodes.NEWQNAME, InstructionCodes.NEWXMLELEMENT,
+                InstructionCodes.NEWXMLCOMMENT, InstructionCodes.NEWXMLTEXT, InstructionCodes.NEWXMLPI,
+                InstructionCodes.NEWSB};
+        for (int opcode : allocatingOpcodes) {
+            ALLOCATING_OPCODES[opcode] = true;
+        }
+    }
+
+    private final boolean exact;
+
+    // Set by the sampler thread, cleared by the VM thread once the sample is taken
+    private volatile boolean sampleRequested;
+
+    final CallTreeNode root = new CallTreeNode(null);
+    final Map<PackageInfo, long[]> ipCounts = new IdentityHashMap<>();
+    final Map<PackageInfo, long[]> ipAllocationCounts = new IdentityHashMap<>();
+
+    private StackFrame lastFrame;
+    private CallTreeNode lastNode;
+    private PackageInfo lastPackageInfo;
+    private long[] lastIpCounts;
+
+    private StackFrame[] frameBuffer = new StackFrame[16];
+
+    ProfileRecorder(boolean exact) {
+        this.exact = exact;
+    }
+
+    /**
+     * Record the execution of an instruction. In exact mode every instruction is counted, while in sampling mode
+     * only the instruction executed after a sample request is counted.
+     *
+     * @param sf     frame executing the instruction
+     * @param ip     index of the instruction
+     * @param opcode opcode of the instruction
+     */
+    public void onInstruction(StackFrame sf, int ip, int opcode) {
+        if (exact) {
+            record(sf, ip);
+            if (opcode < ALLOCATING_OPCODES.length && ALLOCATING_OPCODES[opcode]) {
+                lastNode.allocationCount++;
+                getIpCounts(ipAllocationCounts, sf.getPackageInfo())[ip]++;
+            }
+        } else if (sampleRequested) {
+            sampleRequested = false;
+            record(sf, ip);
+        }
+    }
+
+    void requestSample() {
+        sampleRequested = true;
+    }
+
+    private void record(StackFrame sf, int ip) {
+        if (sf != lastFrame) {
+            // Frames only change on calls and returns, hence the call path is resolved once per frame change.
+            lastNode = getNode(sf);
+            lastFrame = sf;
+        }
+        lastNode.selfCount++;
+
+        PackageInfo packageInfo = sf.getPackageInfo();
+        if (packageInfo != lastPackageInfo) {
+            lastIpCounts = getIpCounts(ipCounts, packageInfo);
+            lastPackageInfo = packageInfo;
+        }
+        lastIpCounts[ip]++;
+    }
+
+    private CallTreeNode getNode(StackFrame sf) {
+        int depth = 0;
+        for (StackFrame frame = sf; frame != null; frame = frame.prevStackFrame) {
+            if (depth == frameBuffer.length) {
+                frameBuffer = Arrays.copyOf(frameBuffer, depth * 2);
+            }
+            frameBuffer[depth++] = frame;
+        }
+
+        CallTreeNode node = root;
+        for (int i = depth - 1; i >= 0; i--) {
+            node = node.getChild(frameBuffer[i].getCallableUnitInfo());
+            frameBuffer[i] = null;
+        }
+        return node;
+    }
+
+    private static long[] getIpCounts(Map<PackageInfo, long[]> countsMap, PackageInfo packageInfo) {
+        long[] counts = countsMap.get(packageInfo);
+        if (counts == null) {
+            counts = new long[packageInfo.getInstructionCount()];
+            countsMap.put(packageInfo, counts);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.profiler;
+
+import org.ballerinalang.bre.bvm.StackFrame;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.InstructionCodes;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@code StatsRecorder} counts the executed opcodes, the executed opcode pairs and the pushed frames of a single VM
+ * run. It is only accessed by the thread executing the VM. The counts are merged into {@link VMStats} when the run
+ * ends.
+ *
+ * @since 0.94
+ */
+public class StatsRecorder {
+
+    final long[] opcodeCounts = new long[InstructionCodes.INSTRUCTION_CODE_COUNT];
+    final Map<CallableUnitInfo, long[]> framePushes = new IdentityHashMap<>();
+
+    // Execution counts of the instructions executed right after the instruction in the previous slot of the same
+    // frame, indexed by the opcode of the previous instruction and then by the opcode of the instruction. Rows are
+    // allocated on first use.
+    final long[][] opcodePairCounts = new long[InstructionCodes.INSTRUCTION_CODE_COUNT][];
+
+    private StackFrame lastFrame;
+    private int lastIp = -1;
+    private int lastOpcode;
+
+    StatsRecorder() {
+    }
+
+    /**
+     * Record the execution of an instruction.
+     *
+     * @param sf     frame executing the instruction
+     * @param ip     index of the instruction
+     * @param opcode opcode of the instruction
+     */
+    public void onInstruction(StackFrame sf, int ip, int opcode) {
+        opcodeCounts[opcode]++;
+        if (sf == lastFrame && ip == lastIp + 1) {
+            long[] pairCounts = opcodePairCounts[lastOpcode];
+            if (pairCounts == null) {
+                pairCounts = new long[InstructionCodes.INSTRUCTION_CODE_COUNT];
+                opcodePairCounts[lastOpcode] = pairCounts;
+            }
+            pairCounts[opcode]++;
+        }
+        lastIp = ip;
+        lastOpcode = opcode;
+
+        if (sf != lastFrame) {
+            // A frame which is entered on top of the previously executing frame has been pushed by a call.
+            if (lastFrame != null && sf.prevStackFrame == lastFrame) {
+                long[] count = framePushes.get(sf.getCallableUnitInfo());
+                if (count == null) {
+                    count = new long[1];
+                    framePushes.put(sf.getCallableUnitInfo(), count);
+                }
+                count[0]++;
+            }
+            lastFrame = sf;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.profiler;
+
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.LineNumberInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code VMProfiler} attributes the execution cost of a Ballerina program to callable units and source lines.
+ * <p>
+ * The profiler is enabled by setting the {@value Constants#SYSTEM_PROP_BAL_PROFILE} system property to one of
+ * <ul>
+ * <li>{@code sample} - a background thread periodically requests each running VM to record its current stack.
+ * The cost is reported as sampled time.</li>
+ * <li>{@code exact} - every executed instruction and allocating instruction is recorded. The cost is reported as
+ * instruction counts.</li>
+ * </ul>
+ * On shutdown, a collapsed-stack file that can be fed to flame graph tools and a top-N table of functions and
+ * lines are written, using the path given by {@value Constants#SYSTEM_PROP_BAL_PROFILE_OUT} as the file prefix.
+ *
+ * @since 0.94
+ */
+public class VMProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(VMProfiler.class);
+
+    private static final String MODE_SAMPLE = "sample";
+    private static final String MODE_EXACT = "exact";
+    private static final String DEFAULT_OUTPUT_PREFIX = "ballerina-profile";
+    private static final long DEFAULT_SAMPLING_INTERVAL = 10;
+    private static final int REPORT_SIZE = 20;
+
+    private static final VMProfiler instance = createProfiler();
+
+    private final boolean exact;
+    private final long samplingInterval;
+    private final String outputPrefix;
+
+    private final Set<ProfileRecorder> activeRecorders = ConcurrentHashMap.newKeySet();
+
+    // Merged data of the completed VM runs, guarded by this profiler
+    private final CallTreeNode root = new CallTreeNode(null);
+    private final Map<PackageInfo, long[]> ipCounts = new IdentityHashMap<>();
+    private final Map<PackageInfo, long[]> ipAllocationCounts = new IdentityHashMap<>();
+
+    private VMProfiler(boolean exact, long samplingInterval, String outputPrefix) {
+        this.exact = exact;
+        this.samplingInterval = samplingInterval;
+        this.outputPrefix = outputPrefix;
+    }
+
+    /**
+     * Returns the profiler of this runtime.
+     *
+     * @return the profiler, or null if profiling is not enabled
+     */
+    public static VMProfiler getInstance() {
+        return instance;
+    }
+
+    private static VMProfiler createProfiler() {
+        String mode = System.getProperty(Constants.SYSTEM_PROP_BAL_PROFILE);
+        if (mode == null) {
+            return null;
+        }
+
+        mode = mode.trim().toLowerCase(Locale.ENGLISH);
+        if (!MODE_SAMPLE.equals(mode) && !MODE_EXACT.equals(mode)) {
+            logger.error("invalid profiler mode '" + mode + "', expected '" + MODE_SAMPLE + "' or '" +
+                    MODE_EXACT + "'");
+            return null;
+        }
+
+        long samplingInterval = Long.getLong(Constants.SYSTEM_PROP_BAL_PROFILE_INTERVAL, DEFAULT_SAMPLING_INTERVAL);
+        String outputPrefix = System.getProperty(Constants.SYSTEM_PROP_BAL_PROFILE_OUT, DEFAULT_OUTPUT_PREFIX);
+        VMProfiler profiler = new VMProfiler(MODE_EXACT.equals(mode), samplingInterval, outputPrefix);
+        profiler.start();
+        return profiler;
+    }
+
+    private void start() {
+        if (!exact) {
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "BLangProfiler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sampler.scheduleAtFixedRate(() -> activeRecorders.forEach(ProfileRecorder::requestSample),
+                    samplingInterval, samplingInterval, TimeUnit.MILLISECONDS);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(this::writeReports, "BLangProfilerReport"));
+    }
+
+    /**
+     * Start recording a VM run.
+     *
+     * @return recorder to be notified by the VM
+     */
+    public ProfileRecorder startRecording() {
+        ProfileRecorder recorder = new ProfileRecorder(exact);
+        activeRecorders.add(recorder);
+        return recorder;
+    }
+
+    /**
+     * Stop recording a VM run and merge the recorded data into the profile.
+     *
+     * @param recorder recorder returned by {@link #startRecording()}
+     */
+    public void stopRecording(ProfileRecorder recorder) {
+        activeRecorders.remove(recorder);
+        synchronized (this) {
+            root.merge(recorder.root);
+            mergeIpCounts(ipCounts, recorder.ipCounts);
+            mergeIpCounts(ipAllocationCounts, recorder.ipAllocationCounts);
+        }
+    }
+
+    private static void mergeIpCounts(Map<PackageInfo, long[]> target, Map<PackageInfo, long[]> source) {
+        for (Map.Entry<PackageInfo, long[]> entry : source.entrySet()) {
+            long[] counts = target.get(entry.getKey());
+            if (counts == null) {
+                target.put(entry.getKey(), entry.getValue().clone());
+                continue;
+            }
+
+            long[] sourceCounts = entry.getValue();
+            for (int i = 0; i < sourceCounts.length; i++) {
+                counts[i] += sourceCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Write the reports of the VM runs completed so far. The reports are written again on shutdown.
+     */
+    public synchronized void writeReports() {
+        Path collapsedStacksFile = Paths.get(outputPrefix + ".collapsed");
+        Path summaryFile = Paths.get(outputPrefix + ".txt");
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(collapsedStacksFile,
+                StandardCharsets.UTF_8))) {
+            writeCollapsedStacks(writer, root, new StringBuilder());
+        } catch (IOException e) {
+            logger.error("error writing profile to " + collapsedStacksFile + ": " + e.getMessage(), e);
+        }
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(summaryFile, StandardCharsets.UTF_8))) {
+            writeSummary(writer);
+        } catch (IOException e) {
+            logger.error("error writing profile to " + summaryFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void writeCollapsedStacks(PrintWriter writer, CallTreeNode node, StringBuilder stack) {
+        int stackLength = stack.length();
+        for (CallTreeNode child : node.getChildren().values()) {
+            if (stackLength > 0) {
+                stack.append(';');
+            }
+            stack.append(CallTreeNode.getName(child.getCallableUnitInfo()));
+            if (child.selfCount > 0) {
+                writer.println(stack + " " + child.selfCount);
+            }
+            writeCollapsedStacks(writer, child, stack);
+            stack.setLength(stackLength);
+        }
+    }
+
+    private void writeSummary(PrintWriter writer) {
+        Map<String, long[]> functionCosts = new HashMap<>();
+        long totalCount = collectFunctionCosts(root, functionCosts, new HashMap<>());
+        String unit = exact ? "instructions" : "ms";
+        long scale = exact ? 1 : samplingInterval;
+
+        writer.println("Ballerina VM profile, mode: " + (exact ? MODE_EXACT : MODE_SAMPLE) +
+                (exact ? "" : ", sampling interval: " + samplingInterval + " ms"));
+        writer.println("Total: " + totalCount * scale + " " + unit);
+        writer.println();
+
+        writer.println(String.format("Top %d functions by self cost (%s)", REPORT_SIZE, unit));
+        writer.println(String.format("%12s %7s %12s %7s %12s  %s", "self", "self%", "total", "total%",
+                "allocations", "function"));
+        List<Map.Entry<String, long[]>> functions = new ArrayList<>(functionCosts.entrySet());
+        functions.sort((e1, e2) -> Long.compare(e2.getValue()[0], e1.getValue()[0]));
+        for (int i = 0; i < functions.size() && i < REPORT_SIZE; i++) {
+            long[] costs = functions.get(i).getValue();
+            writer.println(String.format("%12d %6.2f%% %12d %6.2f%% %12s  %s", costs[0] * scale,
+                    percentage(costs[0], totalCount), costs[1] * scale, percentage(costs[1], totalCount),
+                    exact ? Long.toString(costs[2]) : "-", functions.get(i).getKey()));
+        }
+        writer.println();
+
+        Map<String, Long> lineCosts = getLineCosts(ipCounts);
+        Map<String, Long> lineAllocations = getLineCosts(ipAllocationCounts);
+        writer.println(String.format("Top %d lines by cost (%s)", REPORT_SIZE, unit));
+        writer.println(String.format("%12s %7s %12s  %s", "cost", "cost%", "allocations", "line"));
+        List<Map.Entry<String, Long>> lines = new ArrayList<>(lineCosts.entrySet());
+        lines.sort((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+        for (int i = 0; i < lines.size() && i < REPORT_SIZE; i++) {
+            Map.Entry<String, Long> line = lines.get(i);
+            writer.println(String.format("%12d %6.2f%% %12s  %s", line.getValue() * scale,
+                    percentage(line.getValue(), totalCount),
+                    exact ? Long.toString(lineAllocations.getOrDefault(line.getKey(), 0L)) : "-", line.getKey()));
+        }
+    }
+
+    /**
+     * Accumulate the self cost, total cost and allocations of each function of the given subtree. The total cost
+     * of a recursive function is only counted once per call path.
+     */
+    private long collectFunctionCosts(CallTreeNode node, Map<String, long[]> functionCosts,
+                                      Map<String, Integer> functionsOnPath) {
+        long subtreeCount = node.selfCount;
+        for (CallTreeNode child : node.getChildren().values()) {
+            String name = CallTreeNode.getName(child.getCallableUnitInfo());
+            functionsOnPath.merge(name, 1, Integer::sum);
+            subtreeCount += collectFunctionCosts(child, functionCosts, functionsOnPath);
+            functionsOnPath.merge(name, -1, Integer::sum);
+        }
+
+        CallableUnitInfo callableUnitInfo = node.getCallableUnitInfo();
+        if (node != root) {
+            String name = CallTreeNode.getName(callableUnitInfo);
+            long[] costs = functionCosts.computeIfAbsent(name, key -> new long[3]);
+            costs[0] += node.selfCount;
+            costs[2] += node.allocationCount;
+            // The name is on the path once for this node itself
+            if (functionsOnPath.get(name) == 1) {
+                costs[1] += subtreeCount;
+            }
+        }
+        return subtreeCount;
+    }
+
+    private static Map<String, Long> getLineCosts(Map<PackageInfo, long[]> ipCountsMap) {
+        Map<String, Long> lineCosts = new HashMap<>();
+        for (Map.Entry<PackageInfo, long[]> entry : ipCountsMap.entrySet()) {
+            PackageInfo packageInfo = entry.getKey();
+            long[] counts = entry.getValue();
+            for (int ip = 0; ip < counts.length; ip++) {
+                if (counts[ip] == 0) {
+                    continue;
+                }
+                LineNumberInfo lineNumberInfo = packageInfo.getLineNumberInfo(ip);
+                String line = lineNumberInfo == null ? packageInfo.getPkgPath() + ":<ip " + ip + ">" :
+                        lineNumberInfo.getFileName() + ":" + lineNumberInfo.getLineNumber();
+                lineCosts.merge(line, counts[ip], Long::sum);
+            }
+        }
+        return lineCosts;
+    }
+
+    private static double percentage(long count, long totalCount) {
+        return totalCount == 0 ? 0 : count * 100.0 / totalCount;
+    }
+}
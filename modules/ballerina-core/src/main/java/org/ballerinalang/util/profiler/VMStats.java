@@ -0,0 +1,327 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.profiler;
+
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.codegen.CallableUnitInfo;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.Mnemonics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * {@code VMStats} collects execution statistics of the Ballerina VM: the execution count of each opcode and of each
+ * pair of adjacent opcodes, the frames pushed per callable unit, native function and action invocations, and worker
+ * spawns.
+ * <p>
+ * The statistics are collected when the {@value Constants#SYSTEM_PROP_BAL_VM_STATS} system property is set to
+ * true. VM runs are then executed by the instrumented loop of the VM. They are exposed through the
+ * {@value #OBJECT_NAME} MBean, and are written to the file given by {@value Constants#SYSTEM_PROP_BAL_VM_STATS_FILE}
+ * on shutdown and whenever the process receives the signal given by
+ * {@value Constants#SYSTEM_PROP_BAL_VM_STATS_SIGNAL}.
+ *
+ * @since 0.94
+ */
+public class VMStats implements VMStatsMXBean {
+
+    public static final String OBJECT_NAME = "org.ballerinalang:type=VMStats";
+
+    private static final Logger logger = LoggerFactory.getLogger(VMStats.class);
+
+    private static final String DEFAULT_DUMP_FILE = "ballerina-vm-stats.txt";
+    private static final String DEFAULT_DUMP_SIGNAL = "USR2";
+
+    private static final int OPCODE_PAIR_REPORT_SIZE = 50;
+
+    private static final VMStats instance = createStats();
+
+    private final String dumpFile;
+
+    private final LongAdder vmRuns = new LongAdder();
+    private final LongAdder nativeFunctionInvocations = new LongAdder();
+    private final LongAdder blockingActionInvocations = new LongAdder();
+    private final LongAdder nonBlockingActionInvocations = new LongAdder();
+    private final LongAdder workerSpawns = new LongAdder();
+
+    // Merged counts of the completed VM runs, guarded by this instance
+    private final long[] opcodeCounts = new long[InstructionCodes.INSTRUCTION_CODE_COUNT];
+    private final long[][] opcodePairCounts = new long[InstructionCodes.INSTRUCTION_CODE_COUNT][];
+    private final Map<CallableUnitInfo, long[]> framePushes = new IdentityHashMap<>();
+
+    private VMStats(String dumpFile) {
+        this.dumpFile = dumpFile;
+    }
+
+    /**
+     * Returns the VM statistics of this runtime.
+     *
+     * @return the statistics, or null if the collection of statistics is not enabled
+     */
+    public static VMStats getInstance() {
+        return instance;
+    }
+
+    private static VMStats createStats() {
+        if (!Boolean.getBoolean(Constants.SYSTEM_PROP_BAL_VM_STATS)) {
+            return null;
+        }
+
+        VMStats stats = new VMStats(System.getProperty(Constants.SYSTEM_PROP_BAL_VM_STATS_FILE, DEFAULT_DUMP_FILE));
+        stats.registerMBean();
+        stats.registerDumpSignal(System.getProperty(Constants.SYSTEM_PROP_BAL_VM_STATS_SIGNAL, DEFAULT_DUMP_SIGNAL));
+        Runtime.getRuntime().addShutdownHook(new Thread(stats::dump, "BLangVMStatsDump"));
+        return stats;
+    }
+
+    private void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            logger.warn("unable to register the VM statistics MBean: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Register a handler which dumps the statistics on the given signal. The signal API is not part of the public
+     * Java API, hence it is looked up reflectively and the dump signal is simply not available where it is missing.
+     */
+    private void registerDumpSignal(String signalName) {
+        try {
+            Class<?> signalClass = Class.forName("sun.misc.Signal");
+            Class<?> handlerClass = Class.forName("sun.misc.SignalHandler");
+            Object signal = signalClass.getConstructor(String.class).newInstance(signalName);
+            Object handler = Proxy.newProxyInstance(handlerClass.getClassLoader(), new Class<?>[]{handlerClass},
+                    (proxy, method, args) -> {
+                        if (method.getDeclaringClass() == Object.class) {
+                            return method.invoke(this, args);
+                        }
+                        dump();
+                        return null;
+                    });
+            signalClass.getMethod("handle", signalClass, handlerClass).invoke(null, signal, handler);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("unable to register the VM statistics dump on signal " + signalName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Start recording a VM run.
+     *
+     * @return recorder to be notified by the VM
+     */
+    public StatsRecorder startRecording() {
+        vmRuns.increment();
+        return new StatsRecorder();
+    }
+
+    /**
+     * Stop recording a VM run and merge the recorded counts into the statistics.
+     *
+     * @param recorder recorder returned by {@link #startRecording()}
+     */
+    public synchronized void stopRecording(StatsRecorder recorder) {
+        long[] recordedOpcodeCounts = recorder.opcodeCounts;
+        for (int i = 0; i < recordedOpcodeCounts.length; i++) {
+            opcodeCounts[i] += recordedOpcodeCounts[i];
+        }
+        for (int i = 0; i < recorder.opcodePairCounts.length; i++) {
+            long[] recordedPairCounts = recorder.opcodePairCounts[i];
+            if (recordedPairCounts == null) {
+                continue;
+            }
+            if (opcodePairCounts[i] == null) {
+                opcodePairCounts[i] = new long[InstructionCodes.INSTRUCTION_CODE_COUNT];
+            }
+            for (int j = 0; j < recordedPairCounts.length; j++) {
+                opcodePairCounts[i][j] += recordedPairCounts[j];
+            }
+        }
+        for (Map.Entry<CallableUnitInfo, long[]> entry : recorder.framePushes.entrySet()) {
+            framePushes.computeIfAbsent(entry.getKey(), key -> new long[1])[0] += entry.getValue()[0];
+        }
+    }
+
+    public void onNativeFunctionInvocation() {
+        nativeFunctionInvocations.increment();
+    }
+
+    public void onNativeActionInvocation(boolean nonBlocking) {
+        if (nonBlocking) {
+            nonBlockingActionInvocations.increment();
+        } else {
+            blockingActionInvocations.increment();
+        }
+    }
+
+    public void onWorkerSpawn() {
+        workerSpawns.increment();
+    }
+
+    @Override
+    public long getVMRuns() {
+        return vmRuns.sum();
+    }
+
+    @Override
+    public synchronized long getExecutedInstructions() {
+        long total = 0;
+        for (long count : opcodeCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized Map<String, Long> getOpcodeCounts() {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        for (int opcode = 0; opcode < opcodeCounts.length; opcode++) {
+            if (opcodeCounts[opcode] > 0) {
+                counts.add(new AbstractMap.SimpleEntry<>(Mnemonics.getMnem(opcode),
+                        opcodeCounts[opcode]));
+            }
+        }
+        return sortByCount(counts);
+    }
+
+    @Override
+    public synchronized Map<String, Long> getOpcodePairCounts() {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        for (int first = 0; first < opcodePairCounts.length; first++) {
+            if (opcodePairCounts[first] == null) {
+                continue;
+            }
+            for (int second = 0; second < opcodePairCounts[first].length; second++) {
+                if (opcodePairCounts[first][second] > 0) {
+                    counts.add(new AbstractMap.SimpleEntry<>(Mnemonics.getMnem(first) + " " +
+                            Mnemonics.getMnem(second), opcodePairCounts[first][second]));
+                }
+            }
+        }
+        counts.sort((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+        return sortByCount(counts.subList(0, Math.min(counts.size(), OPCODE_PAIR_REPORT_SIZE)));
+    }
+
+    @Override
+    public synchronized Map<String, Long> getFramePushes() {
+        List<Map.Entry<String, Long>> counts = new ArrayList<>();
+        for (Map.Entry<CallableUnitInfo, long[]> entry : framePushes.entrySet()) {
+            counts.add(new AbstractMap.SimpleEntry<>(CallTreeNode.getName(entry.getKey()),
+                    entry.getValue()[0]));
+        }
+        return sortByCount(counts);
+    }
+
+    @Override
+    public long getNativeFunctionInvocations() {
+        return nativeFunctionInvocations.sum();
+    }
+
+    @Override
+    public long getBlockingActionInvocations() {
+        return blockingActionInvocations.sum();
+    }
+
+    @Override
+    public long getNonBlockingActionInvocations() {
+        return nonBlockingActionInvocations.sum();
+    }
+
+    @Override
+    public long getWorkerSpawns() {
+        return workerSpawns.sum();
+    }
+
+    @Override
+    public synchronized String dump() {
+        Path path = Paths.get(dumpFile);
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            long executedInstructions = getExecutedInstructions();
+            writer.println("Ballerina VM statistics");
+            writer.println(String.format("%-32s %d", "VM runs", getVMRuns()));
+            writer.println(String.format("%-32s %d", "Executed instructions", executedInstructions));
+            writer.println(String.format("%-32s %d", "Native function invocations", getNativeFunctionInvocations()));
+            writer.println(String.format("%-32s %d", "Blocking action invocations", getBlockingActionInvocations()));
+            writer.println(String.format("%-32s %d", "Non-blocking action invocations",
+                    getNonBlockingActionInvocations()));
+            writer.println(String.format("%-32s %d", "Worker spawns", getWorkerSpawns()));
+            writer.println();
+
+            writer.println("Opcode executions");
+            for (Map.Entry<String, Long> entry : getOpcodeCounts().entrySet()) {
+                writer.println(String.format("%14d %6.2f%%  %s", entry.getValue(),
+                        executedInstructions == 0 ? 0 : entry.getValue() * 100.0 / executedInstructions,
+                        entry.getKey()));
+            }
+            writer.println();
+
+            writer.println("Adjacent opcode pair executions");
+            for (Map.Entry<String, Long> entry : getOpcodePairCounts().entrySet()) {
+                writer.println(String.format("%14d  %s", entry.getValue(), entry.getKey()));
+            }
+            writer.println();
+
+            writer.println("Frame pushes");
+            for (Map.Entry<String, Long> entry : getFramePushes().entrySet()) {
+                writer.println(String.format("%14d  %s", entry.getValue(), entry.getKey()));
+            }
+        } catch (IOException e) {
+            logger.error("error writing VM statistics to " + path + ": " + e.getMessage(), e);
+        }
+        return path.toAbsolutePath().toString();
+    }
+
+    @Override
+    public synchronized void reset() {
+        vmRuns.reset();
+        nativeFunctionInvocations.reset();
+        blockingActionInvocations.reset();
+        nonBlockingActionInvocations.reset();
+        workerSpawns.reset();
+        Arrays.fill(opcodeCounts, 0);
+        Arrays.fill(opcodePairCounts, null);
+        framePushes.clear();
+    }
+
+    private static Map<String, Long> sortByCount(List<Map.Entry<String, Long>> counts) {
+        counts.sort((e1, e2) -> Long.compare(e2.getValue(), e1.getValue()));
+        Map<String, Long> sortedCounts = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : counts) {
+            sortedCounts.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+        return sortedCounts;
+    }
+}
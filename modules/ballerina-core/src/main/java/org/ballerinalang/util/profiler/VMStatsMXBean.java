@@ -0,0 +1,75 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.profiler;
+
+import java.util.Map;
+
+/**
+ * Management interface of the {@link VMStats}. Opcode and frame counts include completed VM runs only.
+ *
+ * @since 0.94
+ */
+public interface VMStatsMXBean {
+
+    long getVMRuns();
+
+    long getExecutedInstructions();
+
+    /**
+     * Returns the execution count of each executed opcode, keyed by its mnemonic.
+     *
+     * @return opcode execution counts, in descending order
+     */
+    Map<String, Long> getOpcodeCounts();
+
+    /**
+     * Returns the execution count of the most frequent pairs of instructions executed one after the other from
+     * adjacent instructions of the same frame, keyed by the mnemonics of both opcodes. A fused pair executes as a
+     * single superinstruction, hence fusion should be disabled to measure the pairs worth fusing.
+     *
+     * @return opcode pair execution counts, in descending order
+     */
+    Map<String, Long> getOpcodePairCounts();
+
+    /**
+     * Returns the number of frames pushed for each called function, action or resource.
+     *
+     * @return frame push counts, in descending order
+     */
+    Map<String, Long> getFramePushes();
+
+    long getNativeFunctionInvocations();
+
+    long getBlockingActionInvocations();
+
+    long getNonBlockingActionInvocations();
+
+    long getWorkerSpawns();
+
+    /**
+     * Write the statistics to the dump file.
+     *
+     * @return path of the dump file
+     */
+    String dump();
+
+    /**
+     * Reset all statistics.
+     */
+    void reset();
+}
@@ -244,17 +244,17 @@ public class BLangFunctions {
             BType retType = retTypes[i];
             switch (retType.getTag()) {
                 case TypeTags.INT_TAG:
-                    returnValues[i] = new BInteger(callerSF.getLongRegs()[longRegCount++]);
+                    returnValues[i] = BInteger.valueOf(callerSF.getLongRegs()[longRegCount++]);
                     break;
                 case TypeTags.FLOAT_TAG:
-                    returnValues[i] = new BFloat(callerSF.getDoubleRegs()[doubleRegCount++]);
+                    returnValues[i] = BFloat.valueOf(callerSF.getDoubleRegs()[doubleRegCount++]);
                     break;
                 case TypeTags.STRING_TAG:
-                    returnValues[i] = new BString(callerSF.getStringRegs()[stringRegCount++]);
+                    returnValues[i] = BString.valueOf(callerSF.getStringRegs()[stringRegCount++]);
                     break;
                 case TypeTags.BOOLEAN_TAG:
                     boolean boolValue = callerSF.getIntRegs()[intRegCount++] == 1;
-                    returnValues[i] = new BBoolean(boolValue);
+                    returnValues[i] = BBoolean.valueOf(boolValue);
                     break;
                 case TypeTags.BLOB_TAG:
                     returnValues[i] = new BBlob(callerSF.getByteRegs()[byteRegCount++]);
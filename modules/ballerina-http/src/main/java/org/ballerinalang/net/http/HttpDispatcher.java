@@ -110,7 +110,7 @@ public class HttpDispatcher {
         for (int i = 2; i < paramDetails.size(); i++) {
             //No need for validation(validation already happened at deployment time),
             //only string parameters can be found here,
-            bValues[i] = new BString(resourceArgumentValues.get(paramDetails.get(i).getVarName()));
+            bValues[i] = BString.valueOf(resourceArgumentValues.get(paramDetails.get(i).getVarName()));
         }
         return bValues;
     }
@@ -140,7 +140,7 @@ public class HttpUtil {
 //            TODO: should NOT handle error for null headers, need to return `ballerina null`
 //            ErrorHandler.handleUndefineHeader(headerName);
 //        }
-        return abstractNativeFunction.getBValues(new BString(headerValue));
+        return abstractNativeFunction.getBValues(BString.valueOf(headerValue));
     }
 
     public static BValue[] getJsonPayload(Context context,
@@ -187,7 +187,7 @@ public class HttpUtil {
         }
 
         if (propertyValue instanceof String) {
-            return abstractNativeFunction.getBValues(new BString((String) propertyValue));
+            return abstractNativeFunction.getBValues(BString.valueOf((String) propertyValue));
         } else {
             throw new BallerinaException("Property value is of unknown type : " + propertyValue.getClass().getName());
         }
@@ -201,14 +201,14 @@ public class HttpUtil {
             HTTPCarbonMessage httpCarbonMessage = HttpUtil
                     .getCarbonMsg(requestStruct, HttpUtil.createHttpCarbonMessage(isRequest));
             if (httpCarbonMessage.isAlreadyRead()) {
-                result = new BString(httpCarbonMessage.getMessageDataSource().getMessageAsString());
+                result = BString.valueOf(httpCarbonMessage.getMessageDataSource().getMessageAsString());
             } else {
                 if (httpCarbonMessage.isEmpty() && httpCarbonMessage.isEndOfMsgAdded()) {
-                    return abstractNativeFunction.getBValues(new BString(""));
+                    return abstractNativeFunction.getBValues(BString.EMPTY);
                 }
                 String payload = MessageUtils.getStringFromInputStream(new HttpMessageDataStreamer(httpCarbonMessage)
                         .getInputStream());
-                result = new BString(payload);
+                result = BString.valueOf(payload);
                 httpCarbonMessage.setMessageDataSource(new StringDataSource(payload));
                 httpCarbonMessage.setAlreadyRead(true);
             }
@@ -398,7 +398,7 @@ public class HttpUtil {
         } catch (NumberFormatException e) {
             throw new BallerinaException("Invalid content length");
         }
-        return abstractNativeFunction.getBValues(new BInteger(contentLength));
+        return abstractNativeFunction.getBValues(BInteger.valueOf(contentLength));
     }
 
     public static BValue[] setContentLength(Context context,
@@ -424,10 +424,10 @@ public class HttpUtil {
                 String name = entry.substring(0, index).trim();
                 String value = URLDecoder.decode(entry.substring(index + 1).trim(), "UTF-8");
                 if (value.matches("")) {
-                    params.put(name, new BString(""));
+                    params.put(name, BString.EMPTY);
                     continue;
                 }
-                params.put(name, new BString(value));
+                params.put(name, BString.valueOf(value));
             }
         }
         return params;
@@ -145,6 +145,11 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
                     HttpConnectionManager.getInstance().getHTTPHttpClientConnector(scheme, bConnector);
             HttpResponseFuture future = clientConnector.send(httpRequestMsg);
             future.setHttpConnectorListener(httpClientConnectorLister);
+            ballerinaFuture.setCancelHandler(() -> {
+                // Nobody waits for the response anymore, so stop listening for it
+                httpClientConnectorLister.cancel();
+                future.removeHttpListener();
+            });
         } catch (BallerinaConnectorException e) {
             throw new BallerinaException(e.getMessage(), e, context);
         } catch (Exception e) {
@@ -162,6 +167,7 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
         private Context context;
         private ClientConnectorFuture ballerinaFuture;
+        private volatile boolean cancelled;
         // Reference for post validation.
 
         private HTTPClientConnectorLister(Context context, ClientConnectorFuture ballerinaFuture) {
@@ -169,8 +175,16 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
             this.ballerinaFuture = ballerinaFuture;
         }
 
+        private void cancel() {
+            cancelled = true;
+        }
+
         @Override
         public void onMessage(HTTPCarbonMessage httpCarbonMessage) {
+            if (cancelled) {
+                logger.debug("dropping the response of a cancelled request");
+                return;
+            }
             if (httpCarbonMessage.getMessagingException() == null) {
                 BStruct response = createResponseStruct(this.context);
                 response.addNativeData("transport_message", httpCarbonMessage);
@@ -185,6 +199,9 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
         @Override
         public void onError(Throwable throwable) {
+            if (cancelled) {
+                return;
+            }
             BallerinaConnectorException ex = new BallerinaConnectorException(throwable.getMessage(), throwable);
             ballerinaFuture.notifyFailure(ex);
         }
@@ -51,6 +51,6 @@ public class GetMethod extends AbstractNativeFunction {
         if (httpCarbonMessage.getProperty(Constants.HTTP_METHOD) != null) {
             httpMethod = httpCarbonMessage.getProperty(Constants.HTTP_METHOD).toString();
         }
-        return getBValues(new BString(httpMethod));
+        return getBValues(BString.valueOf(httpMethod));
     }
 }
@@ -52,6 +52,6 @@ public class GetRequestURL extends AbstractNativeFunction {
         if (requestURLPropertyObject != null) {
             requestURL = requestURLPropertyObject.toString();
         }
-        return getBValues(new BString(requestURL));
+        return getBValues(BString.valueOf(requestURL));
     }
 }
@@ -56,6 +56,6 @@ public class GetStatusCode extends AbstractNativeFunction {
         } catch (NumberFormatException e) {
             throw new BallerinaException("Invalid status code found");
         }
-        return getBValues(new BInteger(statusCode));
+        return getBValues(BInteger.valueOf(statusCode));
     }
 }
@@ -51,7 +51,7 @@ public class GetCreationTime extends AbstractNativeFunction {
             BStruct sessionStruct  = ((BStruct) getRefArgument(context, 0));
             Session session = (Session) sessionStruct.getNativeData(Constants.HTTP_SESSION);
             if (session != null && session.isValid()) {
-                return getBValues(new BInteger(session.getCreationTime()));
+                return getBValues(BInteger.valueOf(session.getCreationTime()));
             } else {
                 throw new IllegalStateException("Failed to get creation time: No such session in progress");
             }
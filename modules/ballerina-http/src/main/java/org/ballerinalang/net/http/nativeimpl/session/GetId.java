@@ -51,7 +51,7 @@ public class GetId extends AbstractNativeFunction {
             BStruct sessionStruct  = ((BStruct) getRefArgument(context, 0));
             Session session = (Session) sessionStruct.getNativeData(Constants.HTTP_SESSION);
             if (session != null && session.isValid()) {
-                return getBValues(new BString(session.getId()));
+                return getBValues(BString.valueOf(session.getId()));
             } else {
                 throw new IllegalStateException("Failed to get session id: No such session in progress");
             }
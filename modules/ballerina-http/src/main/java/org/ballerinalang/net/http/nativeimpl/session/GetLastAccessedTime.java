@@ -51,7 +51,7 @@ public class GetLastAccessedTime extends AbstractNativeFunction {
             BStruct sessionStruct  = ((BStruct) getRefArgument(context, 0));
             Session session = (Session) sessionStruct.getNativeData(Constants.HTTP_SESSION);
             if (session != null  && session.isValid()) {
-                return getBValues(new BInteger(session.getLastAccessedTime()));
+                return getBValues(BInteger.valueOf(session.getLastAccessedTime()));
             } else {
                 throw new IllegalStateException("Failed to get last accessed time: No such session in progress");
             }
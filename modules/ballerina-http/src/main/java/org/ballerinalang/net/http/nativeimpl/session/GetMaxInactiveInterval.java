@@ -51,7 +51,7 @@ public class GetMaxInactiveInterval extends AbstractNativeFunction {
             BStruct sessionStruct  = ((BStruct) getRefArgument(context, 0));
             Session session = (Session) sessionStruct.getNativeData(Constants.HTTP_SESSION);
             if (session != null && session.isValid()) {
-                return getBValues(new BInteger(session.getMaxInactiveInterval()));
+                return getBValues(BInteger.valueOf(session.getMaxInactiveInterval()));
             } else {
                 throw new IllegalStateException("Failed to get max inactive interval: No such session in progress");
             }
@@ -51,7 +51,7 @@ public class IsNew extends AbstractNativeFunction {
             BStruct sessionStruct = ((BStruct) getRefArgument(context, 0));
             Session session = (Session) sessionStruct.getNativeData(Constants.HTTP_SESSION);
             if (session != null && session.isValid()) {
-                return getBValues(new BBoolean(session.isNew()));
+                return getBValues(BBoolean.valueOf(session.isNew()));
             } else {
                 throw new IllegalStateException("Failed to get session status: No such session in progress");
             }
@@ -20,6 +20,7 @@ package org.ballerinalang.net.http.nativeimpl.session;
 
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeKind;
+import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.AbstractNativeFunction;
@@ -61,6 +62,8 @@ public class SetAttribute extends AbstractNativeFunction {
                         + attributeKey + "Attribute Value: " + attributeValue);
             }
             if (session != null && session.isValid()) {
+                // Session attributes are visible to every request of the session
+                BMap.share(attributeValue);
                 session.setAttribute(attributeKey, attributeValue);
             } else {
                 throw new IllegalStateException("Failed to set attribute: No such session in progress");
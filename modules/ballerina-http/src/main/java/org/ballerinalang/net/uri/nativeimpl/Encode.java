@@ -58,7 +58,7 @@ public class Encode extends AbstractNativeFunction {
         } catch (Throwable e) {
             throw new BallerinaException("Error while encoding the url. " + e.getMessage(), context);
         }
-        return getBValues(new BString(encodeURL));
+        return getBValues(BString.valueOf(encodeURL));
     }
 
     private String encode(String url) throws UnsupportedEncodingException {
@@ -71,7 +71,7 @@ public class BallerinaWsServerConnectorListener implements WebSocketConnectorLis
             BMap<String, BString> bUpgradeHeaders = new BMap<>();
             upgradeHeaders.entrySet().forEach(
                     upgradeHeader -> bUpgradeHeaders.put(upgradeHeader.getKey(),
-                                                         new BString(upgradeHeader.getValue()))
+                                                         BString.valueOf(upgradeHeader.getValue()))
             );
             handshakeStruct.setRefField(0, bUpgradeHeaders);
 
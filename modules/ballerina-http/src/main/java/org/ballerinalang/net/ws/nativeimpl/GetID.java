@@ -52,6 +52,6 @@ public class GetID extends AbstractNativeFunction {
         BStruct wsConnection = (BStruct) getRefArgument(context, 0);
         Session session = (Session) wsConnection.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION);
         String id = session.getId();
-        return getBValues(new BString(id));
+        return getBValues(BString.valueOf(id));
     }
 }
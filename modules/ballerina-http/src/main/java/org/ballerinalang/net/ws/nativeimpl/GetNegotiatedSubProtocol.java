@@ -52,6 +52,6 @@ public class GetNegotiatedSubProtocol extends AbstractNativeFunction {
         BStruct wsConnection = (BStruct) getRefArgument(context, 0);
         Session session = (Session) wsConnection.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION);
         String negotiatedSubProtocol = session.getNegotiatedSubprotocol();
-        return getBValues(new BString(negotiatedSubProtocol));
+        return getBValues(BString.valueOf(negotiatedSubProtocol));
     }
 }
@@ -54,8 +54,8 @@ public class GetUpgradeHeaders extends AbstractNativeFunction {
         Map<String, String> upgradeHeaders =
                 (Map<String, String>) wsConnection.getNativeData(Constants.NATIVE_DATA_UPGRADE_HEADERS);
         BMap<String, BString> bUpgradeHeaders = new BMap<>();
-        upgradeHeaders.entrySet().forEach(
-                upgradeHeader -> bUpgradeHeaders.put(upgradeHeader.getKey(), new BString(upgradeHeader.getValue())));
+        upgradeHeaders.entrySet().forEach(upgradeHeader ->
+                bUpgradeHeaders.put(upgradeHeader.getKey(), BString.valueOf(upgradeHeader.getValue())));
         return getBValues(bUpgradeHeaders);
     }
 }
@@ -52,6 +52,6 @@ public class IsOpen extends AbstractNativeFunction {
         BStruct wsConnection = (BStruct) getRefArgument(context, 0);
         Session session = (Session) wsConnection.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION);
         boolean isOpen = session.isOpen();
-        return getBValues(new BBoolean(isOpen));
+        return getBValues(BBoolean.valueOf(isOpen));
     }
 }
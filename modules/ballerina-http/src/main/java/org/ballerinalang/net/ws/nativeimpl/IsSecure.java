@@ -52,6 +52,6 @@ public class IsSecure extends AbstractNativeFunction {
         BStruct wsConnection = (BStruct) getRefArgument(context, 0);
         Session session = (Session) wsConnection.getNativeData(Constants.NATIVE_DATA_WEBSOCKET_SESSION);
         boolean isSecuredConnection = session.isSecure();
-        return getBValues(new BBoolean(isSecuredConnection));
+        return getBValues(BBoolean.valueOf(isSecuredConnection));
     }
 }
@@ -181,6 +181,7 @@ import org.wso2.ballerinalang.programfile.cpentries.WrkrInteractionArgsCPEntry;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -203,6 +204,10 @@ public class CodeGenerator extends BLangNodeVisitor {
 
     private static final CompilerContext.Key<CodeGenerator> CODE_GENERATOR_KEY =
             new CompilerContext.Key<>();
+
+    // Minimum number of operands of a concatenation chain which is built in a string builder
+    private static final int MIN_CONCAT_BUILDER_OPERANDS = 4;
+
     /**
      * This structure holds current package-level variable indexes.
      */
@@ -260,6 +265,12 @@ public class CodeGenerator extends BLangNodeVisitor {
     private int workerChannelCount = 0;
     private int forkJoinCount = 0;
 
+    // Depth of the try and transaction blocks being generated, where an error may expose a loop accumulator
+    private int protectedBlockDepth = 0;
+
+    // Local variable indexes of the string builders holding the loop accumulators being generated
+    private Map<BVarSymbol, Integer> stringBuilderVarIndexes = new IdentityHashMap<>();
+
     private static final String MAIN_FUNCTION_NAME = "main";
 
     public static CodeGenerator getInstance(CompilerContext context) {
@@ -605,11 +616,13 @@ public class CodeGenerator extends BLangNodeVisitor {
         arrayLiteral.regIndex = arrayVarRegIndex;
         emit(opcode, arrayVarRegIndex, typeCPindex);
 
-        // Emit instructions populate initial array values;
-        for (int i = 0; i < arrayLiteral.exprs.size(); i++) {
-            BLangExpression argExpr = arrayLiteral.exprs.get(i);
+        // Emit instructions populate initial array values. The values are evaluated in order, but stored from the
+        // last one, so that the array is allocated with its exact size by the first store
+        for (BLangExpression argExpr : arrayLiteral.exprs) {
             genNode(argExpr, this.env);
-
+        }
+        for (int i = arrayLiteral.exprs.size() - 1; i >= 0; i--) {
+            BLangExpression argExpr = arrayLiteral.exprs.get(i);
             BLangLiteral indexLiteral = new BLangLiteral();
             indexLiteral.pos = arrayLiteral.pos;
             indexLiteral.value = new Long(i);
@@ -908,6 +921,9 @@ public class CodeGenerator extends BLangNodeVisitor {
             visitAndExpression(binaryExpr);
         } else if (OperatorKind.OR.equals(binaryExpr.opKind)) {
             visitOrExpression(binaryExpr);
+        } else if (StringConcatAnalyzer.isConcat(binaryExpr) &&
+                StringConcatAnalyzer.getConcatOperands(binaryExpr).size() >= MIN_CONCAT_BUILDER_OPERANDS) {
+            visitConcatChain(binaryExpr);
         } else {
             genNode(binaryExpr.lhsExpr, this.env);
             genNode(binaryExpr.rhsExpr, this.env);
@@ -920,6 +936,26 @@ public class CodeGenerator extends BLangNodeVisitor {
         }
     }
 
+    private void visitConcatChain(BLangBinaryExpr binaryExpr) {
+        List<BLangExpression> operands = StringConcatAnalyzer.getConcatOperands(binaryExpr);
+        genNode(operands.get(0), this.env);
+        int builderRegIndex = ++regIndexes.tRef;
+        emit(InstructionCodes.NEWSB, operands.get(0).regIndex, builderRegIndex);
+        appendConcatOperands(operands, builderRegIndex);
+
+        int exprIndex = getNextIndex(TypeTags.STRING, regIndexes);
+        binaryExpr.regIndex = exprIndex;
+        emit(InstructionCodes.SB2S, builderRegIndex, exprIndex);
+    }
+
+    private void appendConcatOperands(List<BLangExpression> operands, int builderRegIndex) {
+        for (int i = 1; i < operands.size(); i++) {
+            BLangExpression operand = operands.get(i);
+            genNode(operand, this.env);
+            emit(InstructionCodes.SBAPPEND, builderRegIndex, operand.regIndex);
+        }
+    }
+
     private void visitAndExpression(BLangBinaryExpr binaryExpr) {
         // Generate code for the left hand side
         genNode(binaryExpr.lhsExpr, this.env);
@@ -2294,6 +2330,16 @@ public class CodeGenerator extends BLangNodeVisitor {
                         localVarAttrInfo.localVars.add(localVarInfo);
                     });
         }
+
+        BVarSymbol appendedVariable = StringConcatAnalyzer.getAppendedVariable(assignNode);
+        if (appendedVariable != null && stringBuilderVarIndexes.containsKey(appendedVariable)) {
+            // Append to the string builder of the loop accumulator, the variable is assigned when the loop exits
+            int builderRegIndex = ++regIndexes.tRef;
+            emit(InstructionCodes.RLOAD, stringBuilderVarIndexes.get(appendedVariable), builderRegIndex);
+            appendConcatOperands(StringConcatAnalyzer.getConcatOperands(assignNode.expr), builderRegIndex);
+            return;
+        }
+
         genNode(assignNode.expr, this.env);
         int[] rhsExprRegIndexes;
         if (assignNode.expr.isMultiReturnExpr()) {
@@ -2348,6 +2394,19 @@ public class CodeGenerator extends BLangNodeVisitor {
     }
 
     public void visit(BLangWhile whileNode) {
+        List<BVarSymbol> accumulators = protectedBlockDepth == 0 ?
+                StringConcatAnalyzer.getAccumulators(whileNode) : new ArrayList<>();
+        accumulators.removeIf(stringBuilderVarIndexes::containsKey);
+        for (BVarSymbol accumulator : accumulators) {
+            int valueRegIndex = getNextIndex(TypeTags.STRING, regIndexes);
+            int builderRegIndex = ++regIndexes.tRef;
+            int builderVarIndex = ++lvIndexes.tRef;
+            emit(InstructionCodes.SLOAD, accumulator.varIndex, valueRegIndex);
+            emit(InstructionCodes.NEWSB, valueRegIndex, builderRegIndex);
+            emit(InstructionCodes.RSTORE, builderRegIndex, builderVarIndex);
+            stringBuilderVarIndexes.put(accumulator, builderVarIndex);
+        }
+
         Instruction gotoTopJumpInstr = InstructionFactory.get(InstructionCodes.GOTO, this.nextIP());
         this.genNode(whileNode.expr, this.env);
         Instruction whileCondJumpInstr = InstructionFactory.get(InstructionCodes.BR_FALSE,
@@ -2363,9 +2422,23 @@ public class CodeGenerator extends BLangNodeVisitor {
         int endIP = this.nextIP();
         whileCondJumpInstr.setOperand(1, endIP);
         exitLoopJumpInstr.setOperand(0, endIP);
+
+        // Assign the built strings to the accumulators, and release the string builders
+        for (BVarSymbol accumulator : accumulators) {
+            int builderVarIndex = stringBuilderVarIndexes.remove(accumulator);
+            int builderRegIndex = ++regIndexes.tRef;
+            int valueRegIndex = getNextIndex(TypeTags.STRING, regIndexes);
+            int nullRegIndex = ++regIndexes.tRef;
+            emit(InstructionCodes.RLOAD, builderVarIndex, builderRegIndex);
+            emit(InstructionCodes.SB2S, builderRegIndex, valueRegIndex);
+            emit(InstructionCodes.SSTORE, valueRegIndex, accumulator.varIndex);
+            emit(InstructionCodes.RCONST_NULL, nullRegIndex);
+            emit(InstructionCodes.RSTORE, nullRegIndex, builderVarIndex);
+        }
     }
 
     public void visit(BLangTransaction transactionNode) {
+        ++protectedBlockDepth;
         ++transactionIndex;
         int retryCountAvailable = 0;
         if (transactionNode.retryCount != null) {
@@ -2433,6 +2506,7 @@ public class CodeGenerator extends BLangNodeVisitor {
         ErrorTableEntry errorTableEntry = new ErrorTableEntry(startIP, endIP, errorTargetIP, 0, -1);
         errorTable.addErrorTableEntry(errorTableEntry);
         emit(InstructionFactory.get(InstructionCodes.TR_END, 1));
+        --protectedBlockDepth;
     }
 
     public void visit(BLangAbort abortNode) {
@@ -2650,6 +2724,7 @@ public class CodeGenerator extends BLangNodeVisitor {
     }
 
     public void visit(BLangTryCatchFinally tryNode) {
+        ++protectedBlockDepth;
         Instruction instructGotoTryCatchEnd = InstructionFactory.get(InstructionCodes.GOTO, -1);
         List<int[]> unhandledErrorRangeList = new ArrayList<>();
         ErrorTableAttributeInfo errorTable = createErrorTableIfAbsent(currentPkgInfo);
@@ -2702,6 +2777,7 @@ public class CodeGenerator extends BLangNodeVisitor {
             emit(InstructionFactory.get(InstructionCodes.THROW, -1));
         }
         instructGotoTryCatchEnd.setOperand(0, nextIP());
+        --protectedBlockDepth;
     }
 
     public void visit(BLangCatch bLangCatch) {
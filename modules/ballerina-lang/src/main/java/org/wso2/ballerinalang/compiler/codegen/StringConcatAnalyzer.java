@@ -0,0 +1,250 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.wso2.ballerinalang.compiler.codegen;
+
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangArrayLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangBinaryExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangExpression;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangFieldBasedAccess;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangIndexBasedAccess;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangInvocation;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangRecordLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangRecordLiteral.BLangRecordKeyValue;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangSimpleVarRef;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangSimpleVarRef.BLangLocalVarRef;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangStringTemplateLiteral;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangTernaryExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangTypeCastExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangTypeConversionExpr;
+import org.wso2.ballerinalang.compiler.tree.expressions.BLangUnaryExpr;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangAssignment;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangBlockStmt;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangBreak;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangComment;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangExpressionStmt;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangIf;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangNext;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangReturn;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangReturn.BLangWorkerReturn;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangStatement;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangThrow;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangVariableDef;
+import org.wso2.ballerinalang.compiler.tree.statements.BLangWhile;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.programfile.InstructionCodes;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code StringConcatAnalyzer} finds the string concatenations which the code generator builds in a string builder,
+ * instead of creating a string for each concatenation.
+ * <p>
+ * These are chains of concatenations in an expression, and the accumulators of a loop. An accumulator is a local
+ * string variable which is only used by assignments of the form {@code s = s + e1 + ... + en} in the loop, so that
+ * its value only has to be built in the loop and assigned once the loop exits. The body of a loop is checked
+ * conservatively: a statement or an expression which is not known to this class disqualifies all variables.
+ *
+ * @since 0.94
+ */
+class StringConcatAnalyzer {
+
+    private final Map<BVarSymbol, Integer> referenceCounts = new IdentityHashMap<>();
+    private final Map<BVarSymbol, Integer> appendCounts = new IdentityHashMap<>();
+    private boolean supported = true;
+
+    private StringConcatAnalyzer() {
+    }
+
+    /**
+     * Returns whether the given expression is a string concatenation.
+     *
+     * @param expr expression to check
+     * @return true if the expression concatenates two strings
+     */
+    static boolean isConcat(BLangExpression expr) {
+        return expr instanceof BLangBinaryExpr && ((BLangBinaryExpr) expr).opSymbol != null &&
+                ((BLangBinaryExpr) expr).opSymbol.opcode == InstructionCodes.SADD;
+    }
+
+    /**
+     * Returns the operands of a chain of string concatenations, in evaluation order.
+     *
+     * @param expr string concatenation
+     * @return operands which are not concatenations themselves
+     */
+    static List<BLangExpression> getConcatOperands(BLangExpression expr) {
+        List<BLangExpression> operands = new ArrayList<>();
+        addConcatOperands(expr, operands);
+        return operands;
+    }
+
+    /**
+     * Returns the variable which the given assignment appends to, if it is of the form {@code s = s + e1 + ... + en}
+     * for a local string variable {@code s}.
+     *
+     * @param assignNode assignment to check
+     * @return symbol of the variable appended to, or null if the assignment is not an append
+     */
+    static BVarSymbol getAppendedVariable(BLangAssignment assignNode) {
+        if (assignNode.declaredWithVar || assignNode.varRefs.size() != 1 || !isConcat(assignNode.expr)) {
+            return null;
+        }
+
+        BLangExpression varRef = assignNode.varRefs.get(0);
+        if (!(varRef instanceof BLangLocalVarRef) || varRef.type.tag != TypeTags.STRING) {
+            return null;
+        }
+
+        BVarSymbol symbol = ((BLangLocalVarRef) varRef).symbol;
+        BLangExpression firstOperand = getConcatOperands(assignNode.expr).get(0);
+        if (!(firstOperand instanceof BLangLocalVarRef) || ((BLangLocalVarRef) firstOperand).symbol != symbol) {
+            return null;
+        }
+        return symbol;
+    }
+
+    /**
+     * Returns the accumulators of the given loop.
+     *
+     * @param whileNode loop to analyze
+     * @return symbols of the local string variables which are only appended to in the loop
+     */
+    static List<BVarSymbol> getAccumulators(BLangWhile whileNode) {
+        StringConcatAnalyzer analyzer = new StringConcatAnalyzer();
+        analyzer.analyzeExpr(whileNode.expr);
+        analyzer.analyzeStmt(whileNode.body);
+
+        List<BVarSymbol> accumulators = new ArrayList<>();
+        if (!analyzer.supported) {
+            return accumulators;
+        }
+
+        // Each append refers to the variable twice, any other reference disqualifies it
+        for (Map.Entry<BVarSymbol, Integer> entry : analyzer.appendCounts.entrySet()) {
+            if (analyzer.referenceCounts.get(entry.getKey()) == 2 * entry.getValue()) {
+                accumulators.add(entry.getKey());
+            }
+        }
+        return accumulators;
+    }
+
+    private static void addConcatOperands(BLangExpression expr, List<BLangExpression> operands) {
+        if (!isConcat(expr)) {
+            operands.add(expr);
+            return;
+        }
+
+        BLangBinaryExpr binaryExpr = (BLangBinaryExpr) expr;
+        addConcatOperands(binaryExpr.lhsExpr, operands);
+        addConcatOperands(binaryExpr.rhsExpr, operands);
+    }
+
+    private void analyzeStmt(BLangStatement stmt) {
+        if (stmt instanceof BLangBlockStmt) {
+            ((BLangBlockStmt) stmt).stmts.forEach(this::analyzeStmt);
+        } else if (stmt instanceof BLangAssignment) {
+            BLangAssignment assignNode = (BLangAssignment) stmt;
+            BVarSymbol appendedVariable = getAppendedVariable(assignNode);
+            if (appendedVariable != null) {
+                appendCounts.merge(appendedVariable, 1, Integer::sum);
+            }
+            assignNode.varRefs.forEach(this::analyzeExpr);
+            analyzeExpr(assignNode.expr);
+        } else if (stmt instanceof BLangVariableDef) {
+            BLangVariableDef varDefNode = (BLangVariableDef) stmt;
+            addReference(varDefNode.var.symbol);
+            analyzeExpr(varDefNode.var.expr);
+        } else if (stmt instanceof BLangExpressionStmt) {
+            analyzeExpr(((BLangExpressionStmt) stmt).expr);
+        } else if (stmt instanceof BLangIf) {
+            BLangIf ifNode = (BLangIf) stmt;
+            analyzeExpr(ifNode.expr);
+            analyzeStmt(ifNode.body);
+            analyzeStmt(ifNode.elseStmt);
+        } else if (stmt instanceof BLangWhile) {
+            analyzeExpr(((BLangWhile) stmt).expr);
+            analyzeStmt(((BLangWhile) stmt).body);
+        } else if (stmt instanceof BLangReturn && !(stmt instanceof BLangWorkerReturn)) {
+            BLangReturn returnNode = (BLangReturn) stmt;
+            // A return without expressions returns the named return variables
+            if (returnNode.exprs.isEmpty() && returnNode.namedReturnVariables != null &&
+                    !returnNode.namedReturnVariables.isEmpty()) {
+                supported = false;
+            }
+            returnNode.exprs.forEach(this::analyzeExpr);
+        } else if (stmt instanceof BLangThrow) {
+            analyzeExpr(((BLangThrow) stmt).expr);
+        } else if (stmt != null && !(stmt instanceof BLangBreak || stmt instanceof BLangNext ||
+                stmt instanceof BLangComment)) {
+            supported = false;
+        }
+    }
+
+    private void analyzeExpr(BLangExpression expr) {
+        if (expr == null || expr instanceof BLangLiteral) {
+            return;
+        }
+
+        if (expr instanceof BLangSimpleVarRef) {
+            if (expr instanceof BLangLocalVarRef) {
+                addReference(((BLangLocalVarRef) expr).symbol);
+            }
+        } else if (expr instanceof BLangIndexBasedAccess) {
+            analyzeExpr(((BLangIndexBasedAccess) expr).expr);
+            analyzeExpr(((BLangIndexBasedAccess) expr).indexExpr);
+        } else if (expr instanceof BLangFieldBasedAccess) {
+            analyzeExpr(((BLangFieldBasedAccess) expr).expr);
+        } else if (expr instanceof BLangInvocation) {
+            analyzeExpr(((BLangInvocation) expr).expr);
+            ((BLangInvocation) expr).argExprs.forEach(this::analyzeExpr);
+        } else if (expr instanceof BLangBinaryExpr) {
+            analyzeExpr(((BLangBinaryExpr) expr).lhsExpr);
+            analyzeExpr(((BLangBinaryExpr) expr).rhsExpr);
+        } else if (expr instanceof BLangUnaryExpr) {
+            analyzeExpr(((BLangUnaryExpr) expr).expr);
+        } else if (expr instanceof BLangTernaryExpr) {
+            analyzeExpr(((BLangTernaryExpr) expr).expr);
+            analyzeExpr(((BLangTernaryExpr) expr).thenExpr);
+            analyzeExpr(((BLangTernaryExpr) expr).elseExpr);
+        } else if (expr instanceof BLangTypeCastExpr) {
+            analyzeExpr(((BLangTypeCastExpr) expr).expr);
+        } else if (expr instanceof BLangTypeConversionExpr) {
+            analyzeExpr(((BLangTypeConversionExpr) expr).expr);
+        } else if (expr instanceof BLangArrayLiteral) {
+            ((BLangArrayLiteral) expr).exprs.forEach(this::analyzeExpr);
+        } else if (expr instanceof BLangRecordLiteral) {
+            for (BLangRecordKeyValue keyValue : ((BLangRecordLiteral) expr).keyValuePairs) {
+                analyzeExpr(keyValue.key.expr);
+                analyzeExpr(keyValue.valueExpr);
+            }
+        } else if (expr instanceof BLangStringTemplateLiteral) {
+            analyzeExpr(((BLangStringTemplateLiteral) expr).concatExpr);
+        } else {
+            supported = false;
+        }
+    }
+
+    private void addReference(BVarSymbol symbol) {
+        referenceCounts.merge(symbol, 1, Integer::sum);
+    }
+}
@@ -245,6 +245,10 @@ public interface InstructionCodes {
     int NEWJSON = 213;
     int NEWDATATABLE = 215;
 
+    int NEWSB = 216;
+    int SBAPPEND = 217;
+    int SB2S = 218;
+
     int REP = 230;
     int IRET = 231;
     int FRET = 232;
@@ -227,6 +227,10 @@ public class Mnemonics {
         mnemonics[InstructionCodes.NEWJSON] = "newjson";
         mnemonics[InstructionCodes.NEWDATATABLE] = "newdatatable";
 
+        mnemonics[InstructionCodes.NEWSB] = "newsb";
+        mnemonics[InstructionCodes.SBAPPEND] = "sbappend";
+        mnemonics[InstructionCodes.SB2S] = "sb2s";
+
 
         mnemonics[InstructionCodes.REP] = "rep";
         mnemonics[InstructionCodes.IRET] = "iret";
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.benchmark;
+
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BStruct;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+/**
+ * Allocation benchmark of {@link BStruct}, comparing it with the eagerly allocated layout it replaced. It reports the
+ * bytes allocated per struct for a struct without fields carrying a transport message, as request and response
+ * structs do, and for a datatable row like struct. Run its main method, optionally with the number of structs
+ * to allocate per measurement as argument.
+ * <p>
+ * No TestNG suite runs it, since the allocated bytes depend on the JVM rather than on a pass or fail condition.
+ * Run {@code org.ballerinalang.test.benchmark.BStructAllocationBenchmark} from the test classpath instead.
+ */
+public class BStructAllocationBenchmark {
+
+    private static final PrintStream out = System.out;
+    private static final int ROUNDS = 5;
+    private static final String TRANSPORT_MESSAGE = "transport_message";
+
+    private static Object sink;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        BStructType requestType = createType("Request", new int[]{0, 0, 0, 0, 0, 0});
+        BStructType rowType = createType("Row", new int[]{2, 1, 3, 1, 0, 1});
+        Object message = new Object();
+        for (int round = 0; round < ROUNDS; round++) {
+            double eagerRequest = measure(count, () -> {
+                EagerStruct struct = new EagerStruct(requestType);
+                struct.nativeData.put(TRANSPORT_MESSAGE, message);
+                return struct;
+            });
+            double request = measure(count, () -> {
+                BStruct struct = new BStruct(requestType);
+                struct.addNativeData(TRANSPORT_MESSAGE, message);
+                return struct;
+            });
+            double eagerRow = measure(count, () -> new EagerStruct(rowType));
+            double row = measure(count, () -> new BStruct(rowType));
+            out.printf("round %d: request struct %.0f bytes (eager %.0f), row struct %.0f bytes (eager %.0f)%n",
+                    round, request, eagerRequest, row, eagerRow);
+        }
+    }
+
+    private static BStructType createType(String name, int[] fieldCount) {
+        BStructType structType = new BStructType(name, ".");
+        structType.setStructFields(new BStructType.StructField[0]);
+        structType.setFieldTypeCount(fieldCount);
+        return structType;
+    }
+
+    private static double measure(int count, Supplier<Object> allocation) {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < count; i++) {
+            sink = allocation.get();
+        }
+        return (double) (threadMXBean.getThreadAllocatedBytes(threadId) - start) / count;
+    }
+
+    /**
+     * The struct layout before native data and empty field arrays were allocated lazily.
+     */
+    private static class EagerStruct {
+
+        private final HashMap<String, Object> nativeData = new HashMap<>();
+        private final long[] longFields;
+        private final double[] doubleFields;
+        private final String[] stringFields;
+        private final int[] intFields;
+        private final byte[][] byteFields;
+        private final BRefType[] refFields;
+
+        EagerStruct(BStructType structType) {
+            int[] fieldCount = structType.getFieldTypeCount();
+            longFields = new long[fieldCount[0]];
+            doubleFields = new double[fieldCount[1]];
+            stringFields = new String[fieldCount[2]];
+            Arrays.fill(stringFields, "");
+            intFields = new int[fieldCount[3]];
+            byteFields = new byte[fieldCount[4]][];
+            refFields = new BRefType[fieldCount[5]];
+        }
+    }
+}
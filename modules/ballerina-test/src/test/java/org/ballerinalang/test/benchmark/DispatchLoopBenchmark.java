@@ -0,0 +1,78 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.benchmark;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+
+import java.io.PrintStream;
+
+/**
+ * Benchmark of the instruction dispatch of the VM. It times two Ballerina loops. The hot loop only runs opcodes the
+ * core loop of {@code BLangVM} handles inline: integer arithmetic, comparisons, branches and calls. The cold loop
+ * runs conversions and casts, which go through the handlers of the rarer opcode families. Run its main method,
+ * optionally with the number of loop iterations per measurement as argument.
+ * <p>
+ * The dispatch only pays off once HotSpot compiles it, which it does not do for a method above its huge method
+ * limit. To see whether the limit matters, compare a run with the default flags with a run with
+ * {@code -XX:-DontCompileHugeMethods}, which compiles huge methods as well. Close timings mean the dispatch is
+ * compiled either way. To compare with another dispatch loop, run the benchmark on a build of it. Leave the
+ * {@code ballerina.vm.jit} system property unset, or the loops run as compiled functions rather than through the
+ * dispatch.
+ * <p>
+ * No TestNG suite runs it, since the timings depend on the machine rather than on a pass or fail condition. Run
+ * {@code org.ballerinalang.test.benchmark.DispatchLoopBenchmark} from the test classpath instead.
+ */
+public class DispatchLoopBenchmark {
+
+    private static final PrintStream out = System.out;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        long iterations = args.length > 0 ? Long.parseLong(args[0]) : 2_000_000;
+        CompileResult result = BCompileUtil.compile("test-src/benchmark/dispatch-loop.bal");
+        if (result.getErrorCount() > 0) {
+            throw new IllegalStateException("compilation of the benchmark failed: " + result.getErrorCount() +
+                    " errors");
+        }
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            measure(result, "hotLoop", iterations);
+            measure(result, "coldLoop", iterations);
+        }
+        for (int round = 0; round < ROUNDS; round++) {
+            double hot = measure(result, "hotLoop", iterations);
+            double cold = measure(result, "coldLoop", iterations);
+            out.printf("round %d: hot loop %.1f ns/iteration, cold loop %.1f ns/iteration%n", round, hot, cold);
+        }
+    }
+
+    private static double measure(CompileResult result, String functionName, long iterations) {
+        long start = System.nanoTime();
+        BValue[] returns = BRunUtil.invoke(result, functionName, new BValue[]{new BInteger(iterations)});
+        long elapsed = System.nanoTime() - start;
+        sink += ((BInteger) returns[0]).intValue();
+        return (double) elapsed / iterations;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.test.benchmark;
+
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.WorkerDataChannel;
+
+import java.io.PrintStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmark of worker data channels, comparing {@link WorkerDataChannel} with the blocking queue of boxed
+ * values it replaced. Run its main method, optionally with the number of messages per producer as argument.
+ * <p>
+ * The benchmark is not part of the TestNG suites. It runs from the test classpath, such as with
+ * {@code mvn exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.ballerinalang.test.benchmark.WorkerDataChannelBenchmark}.
+ */
+public class WorkerDataChannelBenchmark {
+
+    private static final PrintStream out = System.out;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int[][] configurations = {{1, 1}, {4, 1}, {4, 4}};
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int[] configuration : configurations) {
+                int producers = configuration[0];
+                int consumers = configuration[1];
+                long queueNanos = run(new QueueChannel(), producers, consumers, messages);
+                long channelNanos = run(new RingChannel(new WorkerDataChannel()), producers, consumers, messages);
+                long boundedNanos = run(new RingChannel(new WorkerDataChannel(1024)), producers, consumers, messages);
+                out.printf("round %d, %d producers, %d consumers: queue %.1f, channel %.1f, bounded channel %.1f " +
+                                "million messages/s%n", round, producers, consumers,
+                        throughput(producers, messages, queueNanos), throughput(producers, messages, channelNanos),
+                        throughput(producers, messages, boundedNanos));
+            }
+        }
+    }
+
+    private static double throughput(int producers, int messages, long nanos) {
+        return (double) producers * messages * 1000 / nanos;
+    }
+
+    private static long run(Channel channel, int producers, int consumers, int messages) throws InterruptedException {
+        long total = (long) producers * messages;
+        CountDownLatch done = new CountDownLatch(producers + consumers);
+        long start = System.nanoTime();
+        for (int i = 0; i < producers; i++) {
+            new Thread(() -> {
+                for (int j = 0; j < messages; j++) {
+                    channel.send(j);
+                }
+                done.countDown();
+            }).start();
+        }
+        for (int i = 0; i < consumers; i++) {
+            long share = total / consumers + (i < total % consumers ? 1 : 0);
+            new Thread(() -> {
+                long sum = 0;
+                for (long j = 0; j < share; j++) {
+                    sum += channel.receive();
+                }
+                if (sum < 0) {
+                    out.println(sum);
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        return System.nanoTime() - start;
+    }
+
+    private interface Channel {
+
+        void send(long value);
+
+        long receive();
+    }
+
+    /**
+     * Messages boxed into arrays of Ballerina values, passed through a blocking queue.
+     */
+    private static class QueueChannel implements Channel {
+
+        private final BlockingQueue<Object[]> queue = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(long value) {
+            try {
+                queue.put(new BValue[]{new BInteger(value)});
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public long receive() {
+            try {
+                return ((BInteger) queue.poll(60, TimeUnit.SECONDS)[0]).intValue();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Unboxed messages passed through a worker data channel.
+     */
+    private static class RingChannel implements Channel {
+
+        private final WorkerDataChannel channel;
+
+        RingChannel(WorkerDataChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void send(long value) {
+            channel.send(value, null);
+        }
+
+        @Override
+        public long receive() {
+            WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+            if (!channel.receive(message, 60, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("timed out");
+            }
+            return message.primitive;
+        }
+    }
+}
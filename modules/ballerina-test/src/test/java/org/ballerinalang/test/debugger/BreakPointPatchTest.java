@@ -0,0 +1,109 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.debugger;
+
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.InstructionFactory;
+import org.ballerinalang.util.codegen.InstructionFuser;
+import org.ballerinalang.util.codegen.LineNumberInfo;
+import org.ballerinalang.util.codegen.Mnemonics;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.attributes.AttributeInfo;
+import org.ballerinalang.util.codegen.attributes.LineNumberTableAttributeInfo;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests patching breakpoints into the code of a package.
+ */
+public class BreakPointPatchTest {
+
+    private PackageInfo packageInfo;
+
+    @BeforeMethod
+    public void setup() {
+        packageInfo = new PackageInfo(0, "breakpoints");
+        LineNumberTableAttributeInfo lineNumberTable = new LineNumberTableAttributeInfo(0);
+        lineNumberTable.addLineNumberInfo(new LineNumberInfo(1, 0, "breakpoints.bal", 0));
+        lineNumberTable.addLineNumberInfo(new LineNumberInfo(2, 0, "breakpoints.bal", 2));
+        packageInfo.addAttributeInfo(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE, lineNumberTable);
+        packageInfo.addInstruction(InstructionFactory.get(InstructionCodes.ILOAD, 0, 0));
+        packageInfo.addInstruction(InstructionFactory.get(InstructionCodes.ILOAD, 1, 1));
+        packageInfo.addInstruction(InstructionFactory.get(InstructionCodes.IADD, 0, 1, 2));
+        packageInfo.complete();
+        Assert.assertEquals(InstructionFuser.fuse(packageInfo), 1);
+    }
+
+    @Test(description = "Test that clearing a breakpoint restores the superinstruction it was patched over")
+    public void testClearBreakPointOverFusedInstruction() {
+        assertPatchRestored(0, InstructionCodes.ILOAD_ILOAD, 0, 0);
+    }
+
+    @Test(description = "Test that clearing a breakpoint restores the instruction it was patched over")
+    public void testClearBreakPoint() {
+        assertPatchRestored(2, InstructionCodes.IADD, 0, 1, 2);
+    }
+
+    @Test(description = "Test that setting a breakpoint twice does not lose the original opcode")
+    public void testSetBreakPointTwice() {
+        packageInfo.setBreakPoint(2);
+        packageInfo.setBreakPoint(2);
+        Assert.assertEquals(packageInfo.getOpcode(2), InstructionCodes.IADD);
+        packageInfo.clearBreakPoint(2);
+        Assert.assertEquals(packageInfo.getCode()[2 * Instruction.SLOT_SIZE], InstructionCodes.IADD);
+
+        // Clearing it again leaves the code as it is
+        packageInfo.clearBreakPoint(2);
+        Assert.assertEquals(packageInfo.getCode()[2 * Instruction.SLOT_SIZE], InstructionCodes.IADD);
+    }
+
+    @Test(description = "Test that runtime-only opcodes are out of the range a program file can hold")
+    public void testRuntimeOnlyOpcodeRange() {
+        int[] runtimeOnlyOpcodes = {InstructionCodes.BREAKPOINT, InstructionCodes.IEQ_BR_FALSE,
+                InstructionCodes.ILOAD_ILOAD, InstructionCodes.SCONST_S2ANY};
+        for (int opcode : runtimeOnlyOpcodes) {
+            Assert.assertTrue(opcode >= InstructionCodes.RUNTIME_OPCODE_START, "opcode " + opcode);
+            Assert.assertTrue(opcode < InstructionCodes.INSTRUCTION_CODE_COUNT, "opcode " + opcode);
+        }
+        // Opcodes are written to a program file as unsigned bytes
+        Assert.assertTrue(InstructionCodes.RUNTIME_OPCODE_START > 0xFF);
+        for (int opcode = InstructionCodes.RUNTIME_OPCODE_START; opcode < InstructionCodes.INSTRUCTION_CODE_COUNT;
+             opcode++) {
+            Assert.assertNotNull(Mnemonics.getMnem(opcode));
+        }
+    }
+
+    private void assertPatchRestored(int ip, int opcode, int... operands) {
+        int pc = ip * Instruction.SLOT_SIZE;
+        int[] code = packageInfo.getCode();
+        Assert.assertEquals(code[pc], opcode);
+
+        packageInfo.setBreakPoint(ip);
+        Assert.assertEquals(code[pc], InstructionCodes.BREAKPOINT);
+        Assert.assertEquals(packageInfo.getOpcode(ip), opcode);
+
+        packageInfo.clearBreakPoint(ip);
+        Assert.assertEquals(code[pc], opcode);
+        Assert.assertEquals(packageInfo.getOpcode(ip), opcode);
+        for (int i = 0; i < operands.length; i++) {
+            Assert.assertEquals(code[pc + 1 + i], operands[i]);
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package org.ballerinalang.test.expressions.typecast;
 
 
+import org.ballerinalang.bre.bvm.StructEquivalencyCache;
 import org.ballerinalang.launcher.util.BAssertUtil;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
@@ -546,6 +547,16 @@ public class TypeCastExprTest {
         Assert.assertNull(returns[0]);
     }
 
+    @Test(description = "Test casting a struct stored as any to an equivalent struct repeatedly")
+    public void testStructAsAnyToEquivalentStruct() {
+        long hitCount = StructEquivalencyCache.getHitCount();
+        BValue[] args = {new BInteger(10)};
+        BValue[] returns = BRunUtil.invoke(result, "testStructAsAnyToEquivalentStruct", args);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 10);
+        // Only the first cast needs to check the struct fields.
+        Assert.assertTrue(StructEquivalencyCache.getHitCount() - hitCount >= 9);
+    }
+
     @Test(description = "Test casting a null stored as any to map")
     public void testAnyNullToMap() {
         BValue[] returns = BRunUtil.invoke(result, "testAnyNullToMap", new BValue[]{});
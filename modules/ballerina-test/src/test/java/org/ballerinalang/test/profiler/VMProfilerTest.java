@@ -0,0 +1,127 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.profiler;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.util.profiler.VMProfiler;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the reports of the {@link VMProfiler} in exact mode.
+ * <p>
+ * The profiler is enabled by system properties, hence these tests only run with the instrumentation suite, see the
+ * surefire configuration.
+ */
+public class VMProfilerTest {
+
+    private List<String> collapsedStacks;
+    private List<String> summary;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        VMProfiler profiler = VMProfiler.getInstance();
+        if (profiler == null) {
+            throw new SkipException("the profiler is not enabled");
+        }
+
+        CompileResult result = BCompileUtil.compile("test-src/profiler/profiler.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+        BValue[] returns = BRunUtil.invoke(result, "testProfile", new BValue[0]);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 499546);
+
+        profiler.writeReports();
+        String outputPrefix = System.getProperty(Constants.SYSTEM_PROP_BAL_PROFILE_OUT);
+        collapsedStacks = Files.readAllLines(Paths.get(outputPrefix + ".collapsed"), StandardCharsets.UTF_8);
+        summary = Files.readAllLines(Paths.get(outputPrefix + ".txt"), StandardCharsets.UTF_8);
+    }
+
+    @Test(description = "Test the collapsed stacks attribute instructions to their call path")
+    public void testCollapsedStacks() {
+        long hot = getStackCount("testProfile;profileHot");
+        long cold = getStackCount("testProfile;profileCold");
+        long allocate = getStackCount("testProfile;profileAllocate");
+        // Each loop iteration executes a few instructions, even when fused
+        Assert.assertTrue(hot >= 3000, "profileHot executed " + hot + " instructions");
+        Assert.assertTrue(cold > 0 && cold < 10, "profileCold executed " + cold + " instructions");
+        Assert.assertTrue(allocate > cold && allocate < hot, "profileAllocate executed " + allocate + " instructions");
+    }
+
+    @Test(description = "Test the summary reports self cost, total cost and allocations per function")
+    public void testFunctionSummary() {
+        Assert.assertTrue(summary.get(0).startsWith("Ballerina VM profile, mode: exact"), summary.get(0));
+
+        String[] hot = getFunctionRow("profileHot");
+        String[] allocate = getFunctionRow("profileAllocate");
+        String[] caller = getFunctionRow("testProfile");
+        Assert.assertEquals(hot[0], String.valueOf(getStackCount("testProfile;profileHot")));
+        Assert.assertEquals(hot[0], hot[2], "a leaf function has its self cost as total cost");
+        Assert.assertEquals(hot[4], "0");
+        Assert.assertEquals(allocate[4], "10");
+        Assert.assertTrue(Long.parseLong(caller[2]) > Long.parseLong(hot[2]) + Long.parseLong(allocate[2]),
+                "total cost of the caller does not include its callees");
+    }
+
+    @Test(description = "Test the summary reports the cost of source lines")
+    public void testLineSummary() {
+        int linesHeader = summary.indexOf(summary.stream().filter(line -> line.startsWith("Top ") &&
+                line.contains("lines")).findFirst().orElse(null));
+        Assert.assertTrue(linesHeader > 0, "no line costs reported");
+        Assert.assertTrue(summary.subList(linesHeader, summary.size()).stream()
+                .anyMatch(line -> line.contains("profiler.bal:")), "no line of profiler.bal reported");
+    }
+
+    private long getStackCount(String stackSuffix) {
+        Pattern pattern = Pattern.compile("(^|;)" + Pattern.quote(stackSuffix) + " (\\d+)$");
+        for (String line : collapsedStacks) {
+            Matcher matcher = pattern.matcher(line);
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(2));
+            }
+        }
+        Assert.fail("no collapsed stack ends with " + stackSuffix);
+        return 0;
+    }
+
+    private String[] getFunctionRow(String functionName) {
+        for (String line : summary) {
+            String[] columns = line.trim().split("\\s+");
+            if (columns.length == 6 && (columns[5].equals(functionName) || columns[5].endsWith(":" +
+                    functionName))) {
+                return columns;
+            }
+        }
+        Assert.fail("no summary row for " + functionName);
+        return null;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.profiler;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.Mnemonics;
+import org.ballerinalang.util.profiler.VMStats;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import javax.management.ObjectName;
+
+/**
+ * Tests the statistics collected by {@link VMStats}.
+ * <p>
+ * The statistics are enabled by a system property, hence these tests only run with the instrumentation suite, see
+ * the surefire configuration. The statistics are reset before each test.
+ */
+public class VMStatsTest {
+
+    private static final int CALLS = 25;
+
+    private VMStats stats;
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        stats = VMStats.getInstance();
+        if (stats == null) {
+            throw new SkipException("the VM statistics are not enabled");
+        }
+        result = BCompileUtil.compile("test-src/profiler/vm-stats.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @BeforeMethod
+    public void reset() {
+        stats.reset();
+    }
+
+    @Test(description = "Test the opcode counts add up to the executed instructions")
+    public void testOpcodeCounts() {
+        BValue[] returns = BRunUtil.invoke(result, "testCalls", new BValue[]{new BInteger(CALLS)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), CALLS);
+
+        Assert.assertTrue(stats.getVMRuns() >= 1);
+        Map<String, Long> opcodeCounts = stats.getOpcodeCounts();
+        long total = 0;
+        long previous = Long.MAX_VALUE;
+        for (long count : opcodeCounts.values()) {
+            Assert.assertTrue(count <= previous, "opcode counts are not in descending order");
+            previous = count;
+            total += count;
+        }
+        Assert.assertEquals(total, stats.getExecutedInstructions());
+        Assert.assertEquals(opcodeCounts.get(Mnemonics.getMnem(InstructionCodes.CALL)), Long.valueOf(CALLS));
+    }
+
+    @Test(description = "Test the pairs of opcodes executed from adjacent instructions")
+    public void testOpcodePairCounts() {
+        BRunUtil.invoke(result, "testCalls", new BValue[]{new BInteger(CALLS)});
+
+        Map<String, Long> pairCounts = stats.getOpcodePairCounts();
+        Assert.assertFalse(pairCounts.isEmpty());
+        Assert.assertTrue(pairCounts.size() <= 50);
+        long total = 0;
+        long previous = Long.MAX_VALUE;
+        for (Map.Entry<String, Long> entry : pairCounts.entrySet()) {
+            Assert.assertEquals(entry.getKey().split(" ").length, 2, entry.getKey());
+            Assert.assertTrue(entry.getValue() <= previous, "opcode pair counts are not in descending order");
+            previous = entry.getValue();
+            total += entry.getValue();
+        }
+        // Every pair is counted on its second instruction, and the first instruction of a frame starts no pair
+        Assert.assertTrue(total < stats.getExecutedInstructions());
+        // The loop body is executed once per call
+        Assert.assertTrue(pairCounts.values().iterator().next() >= CALLS);
+    }
+
+    @Test(description = "Test the frames pushed per callable unit")
+    public void testFramePushes() {
+        BRunUtil.invoke(result, "testCalls", new BValue[]{new BInteger(CALLS)});
+
+        Assert.assertEquals(stats.getFramePushes().get("statsCallee"), Long.valueOf(CALLS));
+        Assert.assertEquals(stats.getNativeFunctionInvocations(), 0);
+    }
+
+    @Test(description = "Test native function invocations are counted")
+    public void testNativeFunctionInvocations() {
+        BValue[] returns = BRunUtil.invoke(result, "testNativeCalls", new BValue[]{new BInteger(CALLS)});
+        Assert.assertEquals(returns[0].stringValue(), "stats");
+
+        Assert.assertEquals(stats.getNativeFunctionInvocations(), CALLS);
+        Assert.assertEquals(stats.getOpcodeCounts().get(Mnemonics.getMnem(InstructionCodes.NCALL)),
+                Long.valueOf(CALLS));
+    }
+
+    @Test(description = "Test the workers spawned by a fork-join are counted")
+    public void testWorkerSpawns() {
+        BValue[] returns = BRunUtil.invoke(result, "testFork", new BValue[0]);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 100);
+
+        Assert.assertEquals(stats.getWorkerSpawns(), 2);
+    }
+
+    @Test(description = "Test resetting the statistics")
+    public void testReset() {
+        BRunUtil.invoke(result, "testCalls", new BValue[]{new BInteger(CALLS)});
+        Assert.assertTrue(stats.getExecutedInstructions() > 0);
+
+        stats.reset();
+        Assert.assertEquals(stats.getVMRuns(), 0);
+        Assert.assertEquals(stats.getExecutedInstructions(), 0);
+        Assert.assertTrue(stats.getOpcodeCounts().isEmpty());
+        Assert.assertTrue(stats.getOpcodePairCounts().isEmpty());
+        Assert.assertTrue(stats.getFramePushes().isEmpty());
+    }
+
+    @Test(description = "Test the statistics are exposed by the MBean")
+    public void testMBean() throws Exception {
+        BRunUtil.invoke(result, "testCalls", new BValue[]{new BInteger(CALLS)});
+
+        ObjectName objectName = new ObjectName(VMStats.OBJECT_NAME);
+        Object executedInstructions = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(objectName, "ExecutedInstructions");
+        Assert.assertEquals(executedInstructions, stats.getExecutedInstructions());
+    }
+
+    @Test(description = "Test dumping the statistics to a file")
+    public void testDump() throws Exception {
+        BRunUtil.invoke(result, "testCalls", new BValue[]{new BInteger(CALLS)});
+
+        List<String> lines = Files.readAllLines(Paths.get(stats.dump()), StandardCharsets.UTF_8);
+        Assert.assertEquals(lines.get(0), "Ballerina VM statistics");
+        Assert.assertTrue(lines.contains("Adjacent opcode pair executions"));
+        Assert.assertTrue(lines.stream().anyMatch(line -> line.trim().equals(CALLS + "  statsCallee")),
+                "no frame pushes of statsCallee in the dump");
+    }
+}
@@ -460,4 +460,25 @@ public class ArrayTest {
         BRefValueArray bXmlArray = new BRefValueArray(xmlArray);
         Assert.assertEquals(bXmlArray.stringValue(), "[<foo/>, <bar>hello</bar>]");
     }
+
+    @Test
+    public void testArraySliceAndCopyAreIndependent() {
+        BIntArray bIntArray = new BIntArray(new long[] { 0, 1, 2, 3, 4, 5 });
+        BIntArray slice = bIntArray.slice(1, 4);
+        BIntArray copy = (BIntArray) bIntArray.copy();
+        Assert.assertEquals(slice.stringValue(), "[1, 2, 3]");
+
+        slice.add(0, 10);
+        bIntArray.add(2, 20);
+        copy.add(6, 6);
+        Assert.assertEquals(bIntArray.stringValue(), "[0, 1, 20, 3, 4, 5]");
+        Assert.assertEquals(slice.stringValue(), "[10, 2, 3]");
+        Assert.assertEquals(copy.stringValue(), "[0, 1, 2, 3, 4, 5, 6]");
+
+        BIntArray target = new BIntArray();
+        target.copyFrom(bIntArray, 3, 5);
+        target.add(2, 7);
+        Assert.assertEquals(target.stringValue(), "[3, 4, 7]");
+        Assert.assertEquals(bIntArray.get(5), 5);
+    }
 }
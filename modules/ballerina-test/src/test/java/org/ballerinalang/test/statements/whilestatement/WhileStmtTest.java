@@ -99,6 +99,19 @@ public class WhileStmtTest {
         Assert.assertEquals(sum.floatValue(), 30.0, "mismatched output value");
     }
 
+    @Test(description = "Test appending to strings in a while loop")
+    public void testWhileStringAccumulation() {
+        BValue[] args = {new BInteger(3)};
+        BValue[] returns = BRunUtil.invoke(positiveCompileResult, "testWhileStringAccumulation", args);
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertEquals(returns[0].stringValue(), "012", "mismatched output value");
+        Assert.assertEquals(returns[1].stringValue(), "[a0bca1bca2bc]", "mismatched output value");
+
+        args = new BValue[]{new BInteger(10)};
+        returns = BRunUtil.invoke(positiveCompileResult, "testWhileStringAccumulation", args);
+        Assert.assertEquals(returns[0].stringValue(), "0123456", "mismatched output value");
+    }
+
     @Test(description = "Test while statement with incompatible types",
           dependsOnMethods = {"testWhileStmtConditionFalse", "testWhileStmtConditionTrue"})
     public void testMapAccessWithIndex() {
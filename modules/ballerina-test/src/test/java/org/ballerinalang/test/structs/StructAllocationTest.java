@@ -0,0 +1,154 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.structs;
+
+import org.ballerinalang.model.types.BStructType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests the fields and native data of structs, which are only allocated once they are used.
+ */
+public class StructAllocationTest {
+
+    private BStructType emptyType;
+    private BStructType rowType;
+
+    @BeforeClass
+    public void setup() {
+        emptyType = new BStructType("Request", ".");
+        emptyType.setStructFields(new BStructType.StructField[0]);
+        emptyType.setFieldTypeCount(new int[]{0, 0, 0, 0, 0, 0});
+
+        rowType = new BStructType("Row", ".");
+        rowType.setStructFields(new BStructType.StructField[]{
+                new BStructType.StructField(BTypes.typeInt, "id"),
+                new BStructType.StructField(BTypes.typeFloat, "price"),
+                new BStructType.StructField(BTypes.typeString, "name"),
+                new BStructType.StructField(BTypes.typeString, "code"),
+                new BStructType.StructField(BTypes.typeBoolean, "active"),
+                new BStructType.StructField(BTypes.typeBlob, "data"),
+                new BStructType.StructField(BTypes.typeMap, "attributes")});
+        rowType.setFieldTypeCount(new int[]{1, 1, 2, 1, 1, 1});
+    }
+
+    @Test(description = "Test that the fields of a new struct have their default values")
+    public void testDefaultFieldValues() {
+        BStruct struct = new BStruct(rowType);
+        Assert.assertEquals(struct.getIntField(0), 0);
+        Assert.assertEquals(struct.getFloatField(0), 0.0);
+        Assert.assertEquals(struct.getStringField(0), "");
+        Assert.assertEquals(struct.getStringField(1), "");
+        Assert.assertEquals(struct.getBooleanField(0), 0);
+        Assert.assertNull(struct.getBlobField(0));
+        Assert.assertNull(struct.getRefField(0));
+    }
+
+    @Test(description = "Test that setting a string field does not change the defaults of other structs")
+    public void testStringFieldDefaultsNotShared() {
+        BStruct struct = new BStruct(rowType);
+        struct.setStringField(0, "changed");
+        Assert.assertEquals(new BStruct(rowType).getStringField(0), "");
+        Assert.assertEquals(rowType.getStringFieldDefaults()[0], "");
+    }
+
+    @Test(description = "Test the string value of structs which have never been modified")
+    public void testStringValueOfUntouchedStructs() {
+        Assert.assertEquals(new BStruct(emptyType).stringValue(), "{}");
+        Assert.assertEquals(new BStruct(rowType).stringValue(),
+                "{id:0, price:0.0, name:\"\", code:\"\", active:false, data:null, attributes:null}");
+    }
+
+    @Test(description = "Test copying structs which have never been modified")
+    public void testCopyOfUntouchedStructs() {
+        BStruct empty = new BStruct(emptyType);
+        BValue emptyCopy = empty.copy();
+        Assert.assertNotSame(emptyCopy, empty);
+        Assert.assertEquals(emptyCopy.stringValue(), "{}");
+
+        BStruct row = new BStruct(rowType);
+        BStruct rowCopy = (BStruct) row.copy();
+        Assert.assertNotSame(rowCopy, row);
+        Assert.assertEquals(rowCopy.stringValue(), row.stringValue());
+    }
+
+    @Test(description = "Test that a copy of a struct is independent of the struct")
+    public void testCopyIsIndependent() {
+        BStruct row = new BStruct(rowType);
+        row.setIntField(0, 1);
+        row.setStringField(0, "first");
+        row.setBlobField(0, "blob".getBytes(StandardCharsets.UTF_8));
+        row.setRefField(0, new BMap<>());
+
+        BStruct copy = (BStruct) row.copy();
+        copy.setIntField(0, 2);
+        copy.setStringField(0, "second");
+        copy.setBooleanField(0, 1);
+        Assert.assertEquals(row.getIntField(0), 1);
+        Assert.assertEquals(row.getStringField(0), "first");
+        Assert.assertEquals(row.getBooleanField(0), 0);
+        Assert.assertEquals(copy.getIntField(0), 2);
+        Assert.assertEquals(copy.getStringField(0), "second");
+        Assert.assertEquals(copy.getStringField(1), "");
+        Assert.assertEquals(new String(copy.getBlobField(0), StandardCharsets.UTF_8), "blob");
+        Assert.assertSame(copy.getRefField(0), row.getRefField(0));
+    }
+
+    @Test(description = "Test that native data reads as empty until it is added")
+    public void testEmptyNativeData() {
+        BStruct struct = new BStruct(emptyType);
+        Assert.assertNull(struct.getNativeData("transport_message"));
+        struct.addNativeData("transport_message", "message");
+        Assert.assertEquals(struct.getNativeData("transport_message"), "message");
+        Assert.assertNull(struct.getNativeData("other"));
+    }
+
+    @Test(description = "Test native data beyond the inline slots and replacing native data")
+    public void testNativeData() {
+        BStruct struct = new BStruct(emptyType);
+        for (int i = 0; i < 10; i++) {
+            struct.addNativeData("key" + i, i);
+            Assert.assertEquals(struct.getNativeData("key" + i), i);
+        }
+        struct.addNativeData("key0", "replaced");
+        struct.addNativeData("key9", null);
+        Assert.assertEquals(struct.getNativeData("key0"), "replaced");
+        Assert.assertNull(struct.getNativeData("key9"));
+        for (int i = 1; i < 9; i++) {
+            Assert.assertEquals(struct.getNativeData("key" + i), i);
+        }
+        Assert.assertNull(struct.getNativeData("key10"));
+    }
+
+    @Test(description = "Test replacing native data held in the inline slots")
+    public void testReplaceInlineNativeData() {
+        BStruct struct = new BStruct(emptyType);
+        struct.addNativeData("first", 1);
+        struct.addNativeData("second", 2);
+        struct.addNativeData("first", 3);
+        Assert.assertEquals(struct.getNativeData("first"), 3);
+        Assert.assertEquals(struct.getNativeData("second"), 2);
+    }
+}
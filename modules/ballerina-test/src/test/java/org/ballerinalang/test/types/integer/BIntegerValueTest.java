@@ -117,4 +117,13 @@ public class BIntegerValueTest {
         BInteger intValue = (BInteger) returns[0];
         Assert.assertEquals(intValue.intValue(), 5, "Invalid int value returned.");
     }
+
+    @Test(description = "Test caching of small int values")
+    public void testIntegerValueCache() {
+        Assert.assertSame(BInteger.valueOf(10), BInteger.valueOf(10));
+        Assert.assertSame(BInteger.valueOf(-128), BInteger.valueOf(-128));
+        Assert.assertNotSame(BInteger.valueOf(1024), BInteger.valueOf(1024));
+        Assert.assertEquals(BInteger.valueOf(1024).intValue(), 1024);
+        Assert.assertEquals(BInteger.valueOf(Long.MIN_VALUE).intValue(), Long.MIN_VALUE);
+    }
 }
@@ -18,11 +18,13 @@
 package org.ballerinalang.test.types.json;
 
 import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.apache.axiom.om.OMNode;
 import org.apache.axiom.om.OMText;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.util.JSONUtils;
 import org.ballerinalang.model.values.BJSON;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStringArray;
@@ -34,6 +36,9 @@ import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
 /**
  * Test Native functions in ballerina.model.json.
  */
@@ -450,4 +455,28 @@ public class JSONTest {
         Assert.assertTrue(returns[3] instanceof BStringArray);
         Assert.assertEquals(((BStringArray) returns[3]).size(), 0);
     }
+
+    @Test(description = "Test accessing and updating the elements of a large streamed JSON payload")
+    public void testLargeStreamedJSON() {
+        StringBuilder payload = new StringBuilder("{'items':[");
+        for (int i = 0; i < 10000; i++) {
+            payload.append(i == 0 ? "" : ",").append("{'id':").append(i).append(",'tags':['a','b']}");
+        }
+        payload.append("],'name':'store','owner':null}");
+        BJSON json = new BJSON(new ByteArrayInputStream(payload.toString().getBytes(StandardCharsets.UTF_8)));
+
+        Assert.assertEquals(JSONUtils.getElement(json, "name").stringValue(), "store");
+        Assert.assertNull(JSONUtils.getElement(json, "owner"));
+        Assert.assertTrue(JSONUtils.hasElement(json, "owner"));
+        BJSON items = JSONUtils.getElement(json, "items");
+        Assert.assertEquals(JSONUtils.getJSONArrayLength(items), 10000);
+        BJSON item = JSONUtils.getArrayElement(items, 4321);
+        Assert.assertEquals(JSONUtils.getElement(item, "id").value().asInt(), 4321);
+
+        // Updates through an element are visible in the whole payload, and the other way around
+        JSONUtils.setElement(item, "id", new BJSON("-1"));
+        Assert.assertEquals(json.value().get("items").get(4321).get("id").asInt(), -1);
+        ((ObjectNode) json.value().get("items").get(4321)).put("sold", true);
+        Assert.assertTrue(item.value().get("sold").asBoolean());
+    }
 }
@@ -20,9 +20,11 @@ package org.ballerinalang.test.types.map;
 import org.ballerinalang.launcher.util.BCompileUtil;
 import org.ballerinalang.launcher.util.BRunUtil;
 import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BFloat;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BRefType;
+import org.ballerinalang.model.values.BRefValueArray;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXMLItem;
@@ -86,6 +88,96 @@ public class BMapValueTest {
         assertEquals(map.size(), 101);
     }
 
+    @Test
+    public void testSharedBMap() {
+        BMap<String, BRefType> nested = new BMap<>();
+        BMap<String, BRefType> map = new BMap<>();
+        map.put("nested", nested);
+        map.put("key1", new BString("foo"));
+        Assert.assertFalse(map.isShared());
+
+        map.share();
+        Assert.assertTrue(map.isShared());
+        Assert.assertTrue(nested.isShared());
+
+        BMap<String, BRefType> added = new BMap<>();
+        map.put("added", added);
+        Assert.assertTrue(added.isShared());
+
+        Set<String> keys = map.keySet();
+        map.remove("key1");
+        assertEquals(keys.size(), 3);
+        assertEquals(map.size(), 2);
+        Assert.assertNull(map.get("key1"));
+    }
+
+    @Test
+    public void testSharedBRefValueArray() {
+        BMap<String, BRefType> element = new BMap<>();
+        BRefValueArray array = new BRefValueArray();
+        array.add(0, element);
+        Assert.assertFalse(array.isWorkerShared());
+        BMap.share(array);
+        Assert.assertTrue(array.isWorkerShared());
+        Assert.assertTrue(element.isShared());
+
+        BMap<String, BRefType> added = new BMap<>();
+        array.add(1, added);
+        Assert.assertTrue(added.isShared());
+    }
+
+    @Test
+    public void testSharedBRefValueArrayCopyOnWrite() {
+        BMap<String, BRefType> element = new BMap<>();
+        BRefValueArray array = new BRefValueArray();
+        array.add(0, element);
+        array.share();
+
+        // The view shares the storage of the array, which has to be copied out before either of them is modified
+        BRefValueArray view = array.slice(0, 1);
+        BMap<String, BRefType> replacement = new BMap<>();
+        array.add(0, replacement);
+        Assert.assertSame(view.get(0), element);
+        Assert.assertSame(array.get(0), replacement);
+        Assert.assertTrue(replacement.isShared());
+        Assert.assertFalse(view.isWorkerShared());
+    }
+
+    @Test
+    public void testUnboxedBMap() {
+        BMap<String, BRefType> map = new BMap<>();
+        map.putIntValue("key1", 1);
+        map.put("key2", new BInteger(2));
+        long[] values = new long[1];
+        Assert.assertTrue(map.getIntValue("key2", values, 0));
+        assertEquals(values[0], 2);
+        Assert.assertFalse(map.getIntValue("key3", values, 0));
+
+        map.put("key3", new BString("foo"));
+        Assert.assertFalse(map.getIntValue("key1", values, 0));
+        assertEquals(map.get("key1"), new BInteger(1));
+        assertEquals(map.stringValue(), "{\"key1\":1, \"key2\":2, \"key3\":\"foo\"}");
+    }
+
+    @Test
+    public void testUnboxedBMapGet() {
+        BMap<String, BRefType> map = new BMap<>();
+        map.putIntValue("small", 7);
+        map.putIntValue("large", 1L << 40);
+        // Small values are boxed into the cached instances of BInteger.valueOf
+        Assert.assertSame(map.get("small"), BInteger.valueOf(7));
+        Assert.assertSame(map.get("small"), map.get("small"));
+        assertEquals(map.get("large"), new BInteger(1L << 40));
+
+        BMap<String, BRefType> floats = new BMap<>();
+        floats.putFloatValue("zero", 0.0);
+        Assert.assertSame(floats.get("zero"), BFloat.valueOf(0.0));
+
+        BMap<String, BRefType> strings = new BMap<>();
+        strings.putStringValue("empty", "");
+        Assert.assertSame(strings.get("empty"), BString.valueOf(""));
+    }
+
     @Test
     void testGrammar() {
         programFile = BCompileUtil.compile("test-src/types/map/map-value.bal");
@@ -224,9 +316,26 @@ public class BMapValueTest {
 
     }
 
+    @Test(dependsOnMethods = "testGrammar")
+    public void testMapCounters() {
+        BValue[] returnVals = BRunUtil.invoke(programFile, "testMapCounters", new BValue[0]);
+        assertEquals(((BInteger) returnVals[0]).intValue(), 10);
+        assertEquals(((BFloat) returnVals[1]).floatValue(), 5.0);
+        assertEquals(returnVals[2].stringValue(), "ab");
+        assertEquals(returnVals[3].stringValue(), "text");
+    }
+
     @Test(dependsOnMethods = "testGrammar")
     public void testMapSynchronization() {
         BValue[] returnVals = BRunUtil.invoke(programFile, "testMapSynchronization", new BValue[0]);
         Assert.assertEquals(((BInteger) returnVals[0]).intValue(), 2000);
         }
+
+    @Test(dependsOnMethods = "testGrammar")
+    public void testStructMapSynchronization() {
+        BValue[] returnVals = BRunUtil.invoke(programFile, "testStructMapSynchronization", new BValue[0]);
+        Assert.assertEquals(((BInteger) returnVals[0]).intValue(), 2000);
+        // The map is reachable by both workers through the struct, hence it has been shared
+        Assert.assertTrue(((BMap) returnVals[1]).isShared());
+    }
 }
@@ -0,0 +1,165 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.types.TypeTags;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.CallSiteInfo;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tests the call site cache, which holds the resolved callee of each invocation instruction of a package.
+ */
+public class CallSiteCacheTest {
+
+    private CompileResult result;
+    private PackageInfo entryPackageInfo;
+
+    @BeforeMethod
+    public void setup() {
+        result = BCompileUtil.compile("test-src/vm/call-site-cache.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+        entryPackageInfo = result.getProgFile().getPackageInfo(result.getProgFile().getEntryPkgName());
+    }
+
+    @Test(description = "Test each invocation instruction has its own entry in the call site cache")
+    public void testCallSiteIndexes() {
+        for (PackageInfo packageInfo : result.getProgFile().getPackageInfoEntries()) {
+            int[] code = packageInfo.getCode();
+            CallSiteInfo[] callSites = packageInfo.getCallSites();
+            Set<Integer> indexes = new HashSet<>();
+            for (int ip = 0; ip < code.length / Instruction.SLOT_SIZE; ip++) {
+                if (!isInvocation(packageInfo.getOpcode(ip))) {
+                    continue;
+                }
+                int index = code[ip * Instruction.SLOT_SIZE + 1 + Instruction.CALL_SITE_OPERAND];
+                Assert.assertTrue(index >= 0 && index < callSites.length, "call site index out of range " + index);
+                Assert.assertTrue(indexes.add(index), "call site index " + index + " is shared");
+            }
+            Assert.assertEquals(indexes.size(), callSites.length);
+        }
+    }
+
+    @Test(description = "Test call sites are resolved on their first execution and reused afterwards")
+    public void testSamePackageCall() {
+        Assert.assertTrue(getResolvedCallSites("add").isEmpty());
+
+        BValue[] returns = BRunUtil.invoke(result, "testSamePackageCall", new BValue[]{new BInteger(10)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 45);
+
+        List<CallSiteInfo> callSites = getResolvedCallSites("add");
+        Assert.assertEquals(callSites.size(), 1);
+        CallSiteInfo callSiteInfo = callSites.get(0);
+        FunctionInfo addInfo = entryPackageInfo.getFunctionInfo("add");
+        Assert.assertSame(callSiteInfo.getCallableUnitInfo(), addInfo);
+        Assert.assertSame(callSiteInfo.getWorkerInfo(), addInfo.getDefaultWorkerInfo());
+        Assert.assertEquals(callSiteInfo.getCodeAddrs(),
+                addInfo.getDefaultWorkerInfo().getCodeAttributeInfo().getCodeAddrs());
+        Assert.assertTrue(callSiteInfo.isSamePackage());
+        Assert.assertEquals(callSiteInfo.getArgRegs().length, 2);
+        Assert.assertEquals(callSiteInfo.getRetRegs().length, 1);
+
+        returns = BRunUtil.invoke(result, "testSamePackageCall", new BValue[]{new BInteger(100)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 4950);
+        Assert.assertSame(getResolvedCallSites("add").get(0), callSiteInfo);
+    }
+
+    @Test(description = "Test the call site of a native function of another package")
+    public void testNativeCall() {
+        BValue[] returns = BRunUtil.invoke(result, "testNativeCall", new BValue[]{new BString("  foo  ")});
+        Assert.assertEquals(returns[0].stringValue(), "foo");
+
+        List<CallSiteInfo> callSites = getResolvedCallSites("string.trim");
+        Assert.assertEquals(callSites.size(), 1);
+        Assert.assertFalse(callSites.get(0).isSamePackage());
+        Assert.assertEquals(Arrays.toString(callSites.get(0).getParamTypeTags()),
+                Arrays.toString(new int[]{TypeTags.STRING_TAG}));
+
+        returns = BRunUtil.invoke(result, "testNativeCall", new BValue[]{new BString(" bar")});
+        Assert.assertEquals(returns[0].stringValue(), "bar");
+        Assert.assertSame(getResolvedCallSites("string.trim").get(0), callSites.get(0));
+    }
+
+    @Test(description = "Test the call site of a function pointer follows the function it points to")
+    public void testFunctionPointer() {
+        BValue[] returns = BRunUtil.invoke(result, "testFunctionPointer", new BValue[]{new BInteger(4)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), -20);
+        List<CallSiteInfo> callSites = getResolvedCallSites("sub");
+        Assert.assertEquals(callSites.size(), 1);
+        Assert.assertTrue(getResolvedCallSites("add").isEmpty());
+
+        returns = BRunUtil.invoke(result, "testFunctionPointer", new BValue[]{new BInteger(1)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
+        Assert.assertTrue(getResolvedCallSites("sub").isEmpty());
+        Assert.assertEquals(getResolvedCallSites("add").size(), 1);
+
+        returns = BRunUtil.invoke(result, "testFunctionPointer", new BValue[]{new BInteger(5)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 20);
+    }
+
+    @Test(description = "Test the parameter type tags of a call site")
+    public void testParamTypeTags() {
+        BValue[] returns = BRunUtil.invoke(result, "testMixedParams", new BValue[0]);
+        Assert.assertEquals(returns[0].stringValue(), "a:7");
+
+        List<CallSiteInfo> callSites = getResolvedCallSites("describe");
+        Assert.assertEquals(callSites.size(), 1);
+        Assert.assertEquals(Arrays.toString(callSites.get(0).getParamTypeTags()), Arrays.toString(
+                new int[]{TypeTags.STRING_TAG, TypeTags.FLOAT_TAG, TypeTags.BOOLEAN_TAG, TypeTags.INT_TAG}));
+    }
+
+    private List<CallSiteInfo> getResolvedCallSites(String calleeName) {
+        List<CallSiteInfo> callSites = new ArrayList<>();
+        for (CallSiteInfo callSiteInfo : entryPackageInfo.getCallSites()) {
+            if (callSiteInfo != null && callSiteInfo.getCallableUnitInfo().getName().equals(calleeName)) {
+                callSites.add(callSiteInfo);
+            }
+        }
+        return callSites;
+    }
+
+    private static boolean isInvocation(int opcode) {
+        switch (opcode) {
+            case InstructionCodes.CALL:
+            case InstructionCodes.NCALL:
+            case InstructionCodes.ACALL:
+            case InstructionCodes.NACALL:
+            case InstructionCodes.FPCALL:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
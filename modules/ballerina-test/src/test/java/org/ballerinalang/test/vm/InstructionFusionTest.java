@@ -0,0 +1,202 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.InstructionFactory;
+import org.ballerinalang.util.codegen.InstructionFuser;
+import org.ballerinalang.util.codegen.LineNumberInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.attributes.AttributeInfo;
+import org.ballerinalang.util.codegen.attributes.LineNumberTableAttributeInfo;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the fusion of instruction pairs into superinstructions.
+ */
+public class InstructionFusionTest {
+
+    private static final String SOURCE = "test-src/vm/instruction-fusion.bal";
+
+    private CompileResult fusedResult;
+    private CompileResult unfusedResult;
+
+    @BeforeClass
+    public void setup() {
+        fusedResult = BCompileUtil.compile(SOURCE);
+        Assert.assertEquals(fusedResult.getErrorCount(), 0);
+        unfusedResult = BCompileUtil.compile(SOURCE);
+        Assert.assertEquals(unfusedResult.getErrorCount(), 0);
+
+        // Turn each superinstruction back into its first instruction, the second one is still in its own slot
+        int superinstructions = 0;
+        for (PackageInfo packageInfo : unfusedResult.getProgFile().getPackageInfoEntries()) {
+            int[] code = packageInfo.getCode();
+            for (int pc = 0; pc < code.length; pc += Instruction.SLOT_SIZE) {
+                int baseOpcode = InstructionFuser.getBaseOpcode(code[pc]);
+                if (baseOpcode != code[pc]) {
+                    code[pc] = baseOpcode;
+                    superinstructions++;
+                }
+            }
+        }
+        Assert.assertTrue(superinstructions > 0, "no instruction pair has been fused");
+    }
+
+    @Test(description = "Test a loop with branches, next and break with and without fusion")
+    public void testLoopWithJumps() {
+        for (int limit : new int[]{0, 3, 5, 10}) {
+            BValue[] args = {new BInteger(limit)};
+            assertSameResults(BRunUtil.invoke(fusedResult, "testLoopWithJumps", args),
+                    BRunUtil.invoke(unfusedResult, "testLoopWithJumps", args));
+        }
+        BValue[] returns = BRunUtil.invoke(fusedResult, "testLoopWithJumps", new BValue[]{new BInteger(10)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 4);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 18);
+    }
+
+    @Test(description = "Test int comparisons and additions with and without fusion")
+    public void testComparisons() {
+        int[][] operands = {{1, 2}, {2, 1}, {2, 2}, {-5, 3}};
+        for (int[] pair : operands) {
+            BValue[] args = {new BInteger(pair[0]), new BInteger(pair[1])};
+            assertSameResults(BRunUtil.invoke(fusedResult, "testComparisons", args),
+                    BRunUtil.invoke(unfusedResult, "testComparisons", args));
+        }
+        BValue[] returns = BRunUtil.invoke(fusedResult, "testComparisons",
+                new BValue[]{new BInteger(2), new BInteger(2)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 1116);
+    }
+
+    @Test(description = "Test typed map stores and loads with and without fusion")
+    public void testMapValues() {
+        BValue[] args = {new BInteger(7), new BFloat(1.5), new BString("value")};
+        BValue[] returns = BRunUtil.invoke(fusedResult, "testMapValues", args);
+        assertSameResults(returns, BRunUtil.invoke(unfusedResult, "testMapValues", args));
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 7);
+        Assert.assertEquals(((BFloat) returns[1]).floatValue(), 1.5);
+        Assert.assertEquals(returns[2].stringValue(), "value");
+        Assert.assertEquals(returns[3].stringValue(), "constant");
+    }
+
+    @Test(description = "Test that no superinstruction covers an instruction which starts a line")
+    public void testLineStartsOfLoadedCode() {
+        for (PackageInfo packageInfo : fusedResult.getProgFile().getPackageInfoEntries()) {
+            LineNumberTableAttributeInfo lineNumberTable = (LineNumberTableAttributeInfo) packageInfo
+                    .getAttributeInfo(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE);
+            if (lineNumberTable == null) {
+                continue;
+            }
+            int[] code = packageInfo.getCode();
+            for (LineNumberInfo lineNumberInfo : lineNumberTable.getLineNumberInfoList()) {
+                int ip = lineNumberInfo.getIp();
+                if (ip > 0) {
+                    int opcode = code[(ip - 1) * Instruction.SLOT_SIZE];
+                    Assert.assertEquals(InstructionFuser.getBaseOpcode(opcode), opcode,
+                            "instruction " + ip + " of " + packageInfo.getPkgPath() + " is fused");
+                }
+            }
+        }
+    }
+
+    @Test(description = "Test that fusion keeps the second instruction of a pair, which jumps may target")
+    public void testSecondInstructionKept() {
+        PackageInfo packageInfo = createPackage(new int[]{0},
+                InstructionFactory.get(InstructionCodes.ILOAD, 0, 0),
+                InstructionFactory.get(InstructionCodes.ILOAD, 1, 1),
+                InstructionFactory.get(InstructionCodes.ILT, 0, 1, 0),
+                InstructionFactory.get(InstructionCodes.BR_FALSE, 0, 0));
+        Assert.assertEquals(InstructionFuser.fuse(packageInfo), 2);
+
+        int[] code = packageInfo.getCode();
+        assertInstruction(code, 0, InstructionCodes.ILOAD_ILOAD, 0, 0);
+        assertInstruction(code, 1, InstructionCodes.ILOAD, 1, 1);
+        assertInstruction(code, 2, InstructionCodes.ILT_BR_FALSE, 0, 1, 0);
+        assertInstruction(code, 3, InstructionCodes.BR_FALSE, 0, 0);
+    }
+
+    @Test(description = "Test that a pair is not fused if its second instruction starts a line")
+    public void testLineStartNotFused() {
+        PackageInfo packageInfo = createPackage(new int[]{0, 1},
+                InstructionFactory.get(InstructionCodes.ILOAD, 0, 0),
+                InstructionFactory.get(InstructionCodes.ILOAD, 1, 1));
+        Assert.assertEquals(InstructionFuser.fuse(packageInfo), 0);
+        assertInstruction(packageInfo.getCode(), 0, InstructionCodes.ILOAD, 0, 0);
+    }
+
+    @Test(description = "Test that a branch on another register than the comparison result is not fused")
+    public void testUnrelatedBranchNotFused() {
+        PackageInfo packageInfo = createPackage(new int[]{0},
+                InstructionFactory.get(InstructionCodes.IEQ, 0, 1, 0),
+                InstructionFactory.get(InstructionCodes.BR_FALSE, 1, 0));
+        Assert.assertEquals(InstructionFuser.fuse(packageInfo), 0);
+        assertInstruction(packageInfo.getCode(), 0, InstructionCodes.IEQ, 0, 1, 0);
+    }
+
+    @Test(description = "Test that the second instruction of a pair does not start another pair")
+    public void testPairsDoNotOverlap() {
+        PackageInfo packageInfo = createPackage(new int[]{0},
+                InstructionFactory.get(InstructionCodes.ILOAD, 0, 0),
+                InstructionFactory.get(InstructionCodes.ILOAD, 1, 1),
+                InstructionFactory.get(InstructionCodes.ILOAD, 2, 2));
+        Assert.assertEquals(InstructionFuser.fuse(packageInfo), 1);
+        int[] code = packageInfo.getCode();
+        assertInstruction(code, 0, InstructionCodes.ILOAD_ILOAD, 0, 0);
+        assertInstruction(code, 1, InstructionCodes.ILOAD, 1, 1);
+        assertInstruction(code, 2, InstructionCodes.ILOAD, 2, 2);
+    }
+
+    private static PackageInfo createPackage(int[] lineStartIps, Instruction... instructions) {
+        PackageInfo packageInfo = new PackageInfo(0, "fusion");
+        LineNumberTableAttributeInfo lineNumberTable = new LineNumberTableAttributeInfo(0);
+        for (int ip : lineStartIps) {
+            lineNumberTable.addLineNumberInfo(new LineNumberInfo(ip + 1, 0, "fusion.bal", ip));
+        }
+        packageInfo.addAttributeInfo(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE, lineNumberTable);
+        for (Instruction instruction : instructions) {
+            packageInfo.addInstruction(instruction);
+        }
+        packageInfo.complete();
+        return packageInfo;
+    }
+
+    private static void assertInstruction(int[] code, int ip, int opcode, int... operands) {
+        int pc = ip * Instruction.SLOT_SIZE;
+        Assert.assertEquals(code[pc], opcode, "opcode of instruction " + ip);
+        for (int i = 0; i < operands.length; i++) {
+            Assert.assertEquals(code[pc + 1 + i], operands[i], "operand " + i + " of instruction " + ip);
+        }
+    }
+
+    private static void assertSameResults(BValue[] fused, BValue[] unfused) {
+        Assert.assertEquals(fused.length, unfused.length);
+        for (int i = 0; i < fused.length; i++) {
+            Assert.assertEquals(fused[i].stringValue(), unfused[i].stringValue(), "return value " + i);
+        }
+    }
+}
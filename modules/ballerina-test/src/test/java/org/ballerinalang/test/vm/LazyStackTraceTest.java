@@ -0,0 +1,132 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+
+/**
+ * Tests the stack trace of an error, which is captured as the callable units and instruction pointers of the frames
+ * and only turned into {@code StackFrame} structs when it is first accessed.
+ */
+public class LazyStackTraceTest {
+
+    private static final String FILE_NAME = "lazy-stack-trace.bal";
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/vm/lazy-stack-trace.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test(description = "Test the stack trace of an error is not materialized until it is accessed")
+    public void testCapturedUntilAccessed() throws Exception {
+        BRefValueArray trace = getStackTrace(BRunUtil.invoke(result, "testCatchError", new BValue[]{new BInteger(2)}));
+        Assert.assertTrue(isCaptured(trace), "stack trace was materialized without being accessed");
+
+        // The frames of the VM are gone by now, the captured stack trace must not depend on them
+        Assert.assertEquals(trace.size(), 4);
+        Assert.assertFalse(isCaptured(trace));
+        assertFrame(trace, 0, "throwError", 11);
+        assertFrame(trace, 1, "throwError", 7);
+        assertFrame(trace, 2, "throwError", 7);
+        assertFrame(trace, 3, "testCatchError", 17);
+    }
+
+    @Test(description = "Test reading the stack trace of an error within Ballerina")
+    public void testReadStackTrace() {
+        BValue[] returns = BRunUtil.invoke(result, "testReadStackTrace", new BValue[0]);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 3);
+        Assert.assertEquals(returns[1].stringValue(), "throwError");
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 11);
+    }
+
+    @Test(description = "Test the stack trace of an error raised by the VM")
+    public void testRuntimeError() throws Exception {
+        BRefValueArray trace = getStackTrace(BRunUtil.invoke(result, "testRuntimeError", new BValue[0]));
+        Assert.assertTrue(isCaptured(trace));
+        Assert.assertEquals(trace.size(), 2);
+        assertFrame(trace, 0, "dereference", 35);
+        assertFrame(trace, 1, "testRuntimeError", 42);
+    }
+
+    @Test(description = "Test copying and slicing a stack trace before it is accessed")
+    public void testCopyBeforeAccess() throws Exception {
+        BRefValueArray trace = getStackTrace(BRunUtil.invoke(result, "testCatchError", new BValue[]{new BInteger(1)}));
+        BRefValueArray copy = (BRefValueArray) trace.copy();
+        Assert.assertEquals(copy.size(), 3);
+        assertFrame(copy, 0, "throwError", 11);
+        assertFrame(copy, 2, "testCatchError", 17);
+
+        trace = getStackTrace(BRunUtil.invoke(result, "testCatchError", new BValue[]{new BInteger(1)}));
+        BRefValueArray slice = trace.slice(1, 3);
+        Assert.assertEquals(slice.size(), 2);
+        assertFrame(slice, 0, "throwError", 7);
+        assertFrame(slice, 1, "testCatchError", 17);
+
+        trace = getStackTrace(BRunUtil.invoke(result, "testCatchError", new BValue[]{new BInteger(0)}));
+        Assert.assertTrue(isCaptured(trace));
+        BRefValueArray target = new BRefValueArray();
+        target.copyFrom(trace, 0, 2);
+        assertFrame(target, 0, "throwError", 11);
+        assertFrame(target, 1, "testCatchError", 17);
+    }
+
+    @Test(description = "Test the printable stack trace of an uncaught error",
+          expectedExceptions = BLangRuntimeException.class,
+          expectedExceptionsMessageRegExp = "error: error, message: lazy\n" +
+                  "\tat throwError\\(" + FILE_NAME + ":11\\)\n" +
+                  "\tat testUncaughtError\\(" + FILE_NAME + ":50\\)")
+    public void testUncaughtError() {
+        BRunUtil.invoke(result, "testUncaughtError", new BValue[0]);
+    }
+
+    private static BRefValueArray getStackTrace(BValue[] returns) {
+        Assert.assertTrue(returns[0] instanceof BStruct);
+        return (BRefValueArray) ((BStruct) returns[0]).getRefField(1);
+    }
+
+    private static void assertFrame(BRefValueArray trace, int index, String caller, int lineNumber) {
+        BStruct frame = (BStruct) trace.get(index);
+        Assert.assertEquals(frame.getStringField(0), caller);
+        Assert.assertEquals(frame.getStringField(2), FILE_NAME);
+        Assert.assertEquals(frame.getIntField(0), lineNumber, "line number of " + caller);
+    }
+
+    /**
+     * Returns whether the frames of the given stack trace are still held as callable units and instruction pointers.
+     */
+    private static boolean isCaptured(BRefValueArray trace) throws ReflectiveOperationException {
+        Field callableUnitInfos = trace.getClass().getDeclaredField("callableUnitInfos");
+        callableUnitInfos.setAccessible(true);
+        return callableUnitInfos.get(trace) != null;
+    }
+}
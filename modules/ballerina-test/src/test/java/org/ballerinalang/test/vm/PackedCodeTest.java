@@ -0,0 +1,167 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.util.codegen.Instruction;
+import org.ballerinalang.util.codegen.InstructionCodes;
+import org.ballerinalang.util.codegen.InstructionFactory;
+import org.ballerinalang.util.codegen.InstructionFuser;
+import org.ballerinalang.util.codegen.LineNumberInfo;
+import org.ballerinalang.util.codegen.PackageInfo;
+import org.ballerinalang.util.codegen.attributes.AttributeInfo;
+import org.ballerinalang.util.codegen.attributes.LineNumberTableAttributeInfo;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the packed code of a package, in which every instruction occupies {@link Instruction#SLOT_SIZE} ints: its
+ * opcode followed by its operands.
+ */
+public class PackedCodeTest {
+
+    @Test(description = "Test the instructions of a package are packed into fixed size slots and unpacked again")
+    public void testRoundTrip() {
+        Instruction[] instructions = {
+                InstructionFactory.get(InstructionCodes.HALT),
+                InstructionFactory.get(InstructionCodes.GOTO, 7),
+                InstructionFactory.get(InstructionCodes.ILOAD, 1, 2),
+                InstructionFactory.get(InstructionCodes.IADD, 3, 4, 5),
+                InstructionFactory.get(InstructionCodes.ISTORE, 5, 6)};
+        PackageInfo packageInfo = createPackage(instructions);
+
+        Assert.assertEquals(packageInfo.getInstructionCount(), instructions.length);
+        int[] code = packageInfo.getCode();
+        Assert.assertEquals(code.length, instructions.length * Instruction.SLOT_SIZE);
+        for (int ip = 0; ip < instructions.length; ip++) {
+            assertSlot(code, ip, instructions[ip].getOpcode(), instructions[ip].getOperands());
+        }
+
+        Instruction[] unpacked = packageInfo.getInstructions();
+        Assert.assertEquals(unpacked.length, instructions.length);
+        for (int ip = 0; ip < instructions.length; ip++) {
+            Assert.assertEquals(unpacked[ip].getOpcode(), instructions[ip].getOpcode(), "opcode of " + ip);
+            Assert.assertEquals(unpacked[ip].getOperands(), instructions[ip].getOperands(), "operands of " + ip);
+        }
+    }
+
+    @Test(description = "Test invocations get a call site index in a slot which is not part of their operands")
+    public void testCallSites() {
+        PackageInfo packageInfo = createPackage(
+                InstructionFactory.get(InstructionCodes.CALL, 4, 5),
+                InstructionFactory.get(InstructionCodes.ILOAD, 1, 2),
+                InstructionFactory.get(InstructionCodes.CALL, 6, 7));
+
+        int[] code = packageInfo.getCode();
+        Assert.assertEquals(code[1 + Instruction.CALL_SITE_OPERAND], 0);
+        Assert.assertEquals(code[2 * Instruction.SLOT_SIZE + 1 + Instruction.CALL_SITE_OPERAND], 1);
+        Assert.assertEquals(packageInfo.getCallSites().length, 2);
+
+        Instruction[] unpacked = packageInfo.getInstructions();
+        Assert.assertEquals(unpacked[0].getOperands(), new int[]{4, 5});
+        Assert.assertEquals(unpacked[2].getOperands(), new int[]{6, 7});
+    }
+
+    @Test(description = "Test the opcode of plain and fused slots")
+    public void testGetOpcode() {
+        PackageInfo packageInfo = createFusedPackage();
+
+        Assert.assertEquals(packageInfo.getOpcode(0), InstructionCodes.ILOAD_ILOAD);
+        // The second instruction of the pair keeps its own opcode, jumps may target it
+        Assert.assertEquals(packageInfo.getOpcode(1), InstructionCodes.ILOAD);
+        Assert.assertEquals(packageInfo.getOpcode(2), InstructionCodes.HALT);
+        Assert.assertEquals(packageInfo.getInstructions()[0].getOpcode(), InstructionCodes.ILOAD_ILOAD);
+    }
+
+    @Test(description = "Test setting and clearing a breakpoint on a fused slot")
+    public void testBreakPointOnFusedSlot() {
+        PackageInfo packageInfo = createFusedPackage();
+        int[] code = packageInfo.getCode();
+
+        packageInfo.setBreakPoint(0);
+        Assert.assertEquals(code[0], InstructionCodes.BREAKPOINT);
+        Assert.assertEquals(packageInfo.getOpcode(0), InstructionCodes.ILOAD_ILOAD);
+        assertSlot(code, 0, InstructionCodes.BREAKPOINT, 0, 0);
+        Assert.assertEquals(packageInfo.getInstructions()[0].getOpcode(), InstructionCodes.ILOAD_ILOAD);
+
+        // Setting the breakpoint again must not record the breakpoint as the original opcode
+        packageInfo.setBreakPoint(0);
+        packageInfo.clearBreakPoint(0);
+        assertSlot(code, 0, InstructionCodes.ILOAD_ILOAD, 0, 0);
+        Assert.assertEquals(packageInfo.getOpcode(0), InstructionCodes.ILOAD_ILOAD);
+
+        // Clearing again, or clearing a slot without a breakpoint, changes nothing
+        packageInfo.clearBreakPoint(0);
+        packageInfo.clearBreakPoint(1);
+        assertSlot(code, 0, InstructionCodes.ILOAD_ILOAD, 0, 0);
+        assertSlot(code, 1, InstructionCodes.ILOAD, 1, 1);
+    }
+
+    @Test(description = "Test a breakpoint on the second instruction of a pair leaves the fused slot intact")
+    public void testBreakPointAfterFusedSlot() {
+        PackageInfo packageInfo = createFusedPackage();
+        int[] code = packageInfo.getCode();
+
+        packageInfo.setBreakPoint(1);
+        Assert.assertEquals(code[0], InstructionCodes.ILOAD_ILOAD);
+        Assert.assertEquals(code[Instruction.SLOT_SIZE], InstructionCodes.BREAKPOINT);
+        Assert.assertEquals(packageInfo.getOpcode(1), InstructionCodes.ILOAD);
+
+        packageInfo.clearBreakPoint(1);
+        assertSlot(code, 1, InstructionCodes.ILOAD, 1, 1);
+    }
+
+    @Test(description = "Test a breakpoint beyond the last instruction is ignored")
+    public void testBreakPointOutOfRange() {
+        PackageInfo packageInfo = createFusedPackage();
+        int[] code = packageInfo.getCode().clone();
+        packageInfo.setBreakPoint(packageInfo.getInstructionCount());
+        Assert.assertEquals(packageInfo.getCode(), code);
+    }
+
+    /**
+     * Create a package whose first two instructions are fused into an {@link InstructionCodes#ILOAD_ILOAD}.
+     */
+    private static PackageInfo createFusedPackage() {
+        PackageInfo packageInfo = createPackage(
+                InstructionFactory.get(InstructionCodes.ILOAD, 0, 0),
+                InstructionFactory.get(InstructionCodes.ILOAD, 1, 1),
+                InstructionFactory.get(InstructionCodes.HALT));
+        Assert.assertEquals(InstructionFuser.fuse(packageInfo), 1);
+        return packageInfo;
+    }
+
+    private static PackageInfo createPackage(Instruction... instructions) {
+        PackageInfo packageInfo = new PackageInfo(0, "packed");
+        LineNumberTableAttributeInfo lineNumberTable = new LineNumberTableAttributeInfo(0);
+        lineNumberTable.addLineNumberInfo(new LineNumberInfo(1, 0, "packed.bal", 0));
+        packageInfo.addAttributeInfo(AttributeInfo.Kind.LINE_NUMBER_TABLE_ATTRIBUTE, lineNumberTable);
+        for (Instruction instruction : instructions) {
+            packageInfo.addInstruction(instruction);
+        }
+        packageInfo.complete();
+        return packageInfo;
+    }
+
+    private static void assertSlot(int[] code, int ip, int opcode, int... operands) {
+        int pc = ip * Instruction.SLOT_SIZE;
+        Assert.assertEquals(code[pc], opcode, "opcode of instruction " + ip);
+        for (int i = 0; i < operands.length; i++) {
+            Assert.assertEquals(code[pc + 1 + i], operands[i], "operand " + i + " of instruction " + ip);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BRefValueArray;
+import org.ballerinalang.model.values.BStruct;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the reuse of callee stack frames by the BVM.
+ */
+public class StackFrameReuseTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        this.result = BCompileUtil.compile("test-src/vm/stack-frame-reuse.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test(description = "Test recursive calls reusing the frames of a previous call")
+    public void testRecursiveCalls() {
+        BValue[] returns = BRunUtil.invoke(result, "testRecursiveCalls", new BValue[0]);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 55);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 6);
+    }
+
+    @Test(description = "Test a reused frame starting with default local values")
+    public void testFreshLocals() {
+        BValue[] returns = BRunUtil.invoke(result, "testFreshLocals", new BValue[0]);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 5);
+        Assert.assertEquals(returns[1].stringValue(), "set");
+        Assert.assertEquals(((BInteger) returns[2]).intValue(), 0);
+        Assert.assertEquals(returns[3].stringValue(), "");
+    }
+
+    @Test(description = "Test calls made by fork-join workers")
+    public void testCallsInForkJoin() {
+        BValue[] returns = BRunUtil.invoke(result, "testCallsInForkJoin", new BValue[0]);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 25);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 9);
+    }
+
+    @Test(description = "Test calls made by the workers of a function")
+    public void testCallsInWorkers() {
+        BValue[] returns = BRunUtil.invoke(result, "testCallsInWorkers", new BValue[0]);
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 15);
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 6);
+    }
+
+    @Test(description = "Test stack traces captured from frames which are reused afterwards")
+    public void testStackTracesOfReusedFrames() {
+        BValue[] returns = BRunUtil.invoke(result, "testStackTracesOfReusedFrames", new BValue[0]);
+        assertTrace((BRefValueArray) returns[0], 4);
+        assertTrace((BRefValueArray) returns[1], 2);
+    }
+
+    private void assertTrace(BRefValueArray trace, int failAtFrames) {
+        Assert.assertEquals(trace.size(), failAtFrames + 2);
+        for (int i = 0; i < failAtFrames; i++) {
+            Assert.assertEquals(((BStruct) trace.get(i)).getStringField(0), "failAt");
+        }
+        Assert.assertEquals(((BStruct) trace.get(failAtFrames)).getStringField(0), "traceOf");
+        Assert.assertEquals(((BStruct) trace.get(failAtFrames + 1)).getStringField(0),
+                "testStackTracesOfReusedFrames");
+    }
+}
@@ -0,0 +1,175 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.connector.api.BallerinaConnectorException;
+import org.ballerinalang.connector.api.ConnectorFuture;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.actions.ClientConnectorFuture;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests workers suspended on a native function whose future completes on another thread.
+ * <p>
+ * The native function behind {@code string.trim} is replaced with one which completes its future from a separate
+ * thread, once the thread which called it has released the worker. The worker is then resumed on a pool thread.
+ */
+public class SuspendedNativeCallTest {
+
+    private static final long COMPLETION_WAIT_MILLIS = 5000;
+
+    private final ExecutorService completer = Executors.newCachedThreadPool();
+    private CompileResult result;
+    private DeferredTrim deferredTrim;
+
+    @BeforeMethod
+    public void setup() {
+        result = BCompileUtil.compile("test-src/vm/suspended-native-call.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+        FunctionInfo trimInfo = result.getProgFile().getPackageInfo("ballerina.builtin")
+                .getFunctionInfo("string.trim");
+        deferredTrim = new DeferredTrim();
+        trimInfo.setNativeFunction(deferredTrim);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        completer.shutdownNow();
+    }
+
+    @Test(description = "Test resuming a worker with the reply of a native function completed on another thread")
+    public void testResume() {
+        BValue[] returns = BRunUtil.invoke(result, "testResume", new BValue[]{new BString("  foo ")});
+        Assert.assertEquals(returns[0].stringValue(), "foo");
+        Assert.assertEquals(returns[1].stringValue(), "foo");
+
+        List<Thread> callers = deferredTrim.callers;
+        Assert.assertEquals(callers.size(), 2);
+        Assert.assertSame(callers.get(0), Thread.currentThread());
+        Assert.assertNotSame(callers.get(1), Thread.currentThread(), "worker was not resumed on another thread");
+    }
+
+    @Test(description = "Test the frames of a worker are intact after each resumption")
+    public void testResumeWithLocals() {
+        BValue[] returns = BRunUtil.invoke(result, "testResumeWithLocals",
+                new BValue[]{new BString("bar"), new BInteger(20)});
+        Assert.assertEquals(returns[0].stringValue(), "bar");
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 190);
+        Assert.assertEquals(deferredTrim.callers.size(), 20);
+    }
+
+    @Test(description = "Test continuing on the calling thread when the future completes before suspension")
+    public void testCompletedInline() {
+        deferredTrim.inline = true;
+        BValue[] returns = BRunUtil.invoke(result, "testResume", new BValue[]{new BString(" baz")});
+        Assert.assertEquals(returns[0].stringValue(), "baz");
+        Assert.assertEquals(returns[1].stringValue(), "baz");
+        for (Thread caller : deferredTrim.callers) {
+            Assert.assertSame(caller, Thread.currentThread());
+        }
+    }
+
+    @Test(description = "Test an uncaught failure notified to a suspended worker",
+          expectedExceptions = BLangRuntimeException.class,
+          expectedExceptionsMessageRegExp = ".*trim failed.*")
+    public void testFailure() {
+        deferredTrim.failure = true;
+        BRunUtil.invoke(result, "testFailure", new BValue[]{new BString(" foo")});
+    }
+
+    @Test(description = "Test catching a failure notified to a suspended worker")
+    public void testCatchFailure() {
+        deferredTrim.failure = true;
+        BValue[] returns = BRunUtil.invoke(result, "testCatchFailure", new BValue[]{new BString(" foo")});
+        Assert.assertEquals(returns[0].stringValue(), "caught: trim failed");
+    }
+
+    /**
+     * Trims its argument, completing the future on another thread.
+     */
+    private class DeferredTrim extends AbstractNativeFunction {
+
+        private final List<Thread> callers = new CopyOnWriteArrayList<>();
+        private volatile boolean inline;
+        private volatile boolean failure;
+
+        @Override
+        public BValue[] execute(Context context) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isNonBlockingFunction() {
+            return true;
+        }
+
+        @Override
+        public ConnectorFuture executeNonBlocking(Context context) {
+            Thread caller = Thread.currentThread();
+            callers.add(caller);
+            String value = getStringArgument(context, 0);
+            ClientConnectorFuture future = new ClientConnectorFuture();
+            if (inline) {
+                complete(future, value);
+                return future;
+            }
+            completer.execute(() -> {
+                awaitRelease(caller);
+                complete(future, value);
+            });
+            return future;
+        }
+
+        private void complete(ClientConnectorFuture future, String value) {
+            if (failure) {
+                future.notifyFailure(new BallerinaConnectorException("trim failed"));
+            } else {
+                future.notifyReply(new BString(value.trim()));
+            }
+        }
+
+        private void awaitRelease(Thread caller) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(COMPLETION_WAIT_MILLIS);
+            while (System.nanoTime() < deadline) {
+                Thread.State state = caller.getState();
+                if (state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING) {
+                    return;
+                }
+                Thread.yield();
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.vm;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.codegen.FunctionInfo;
+import org.ballerinalang.util.exceptions.BLangRuntimeException;
+import org.ballerinalang.util.jit.TieredCompiler;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the results of callable units executed by the {@link TieredCompiler}.
+ * <p>
+ * The tests assert the results of the interpreter. They run with the default suite, where callable units are only
+ * interpreted, and with the tiered compiler suite, where the {@code ballerina.vm.jit} system property is set and
+ * the compilation threshold is 1, so that callable units are compiled on their first execution event. Each
+ * function is invoked more than once, so that it also runs once it has been compiled.
+ */
+public class TieredCompilerTest {
+
+    private static final int INVOCATIONS = 3;
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/vm/tiered-compiler.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test(description = "Test int arithmetic")
+    public void testIntArithmetic() {
+        assertResults("testIntArithmetic", new BValue[]{new BInteger(17), new BInteger(5)}, "22", "12", "85", "3", "2");
+        assertResults("testIntArithmetic", new BValue[]{new BInteger(-17), new BInteger(5)},
+                "-12", "-22", "-85", "-3", "-2");
+        assertCompiled("testIntArithmetic");
+    }
+
+    @Test(description = "Test float arithmetic")
+    public void testFloatArithmetic() {
+        assertResults("testFloatArithmetic", new BValue[]{new BFloat(7.5), new BFloat(2.5)},
+                "10.0", "5.0", "18.75", "3.0");
+        assertCompiled("testFloatArithmetic");
+    }
+
+    @Test(description = "Test a loop with a conditional next")
+    public void testLoop() {
+        assertResults("testLoop", new BValue[]{new BInteger(0)}, "0");
+        assertResults("testLoop", new BValue[]{new BInteger(10)}, "54");
+        assertResults("testLoop", new BValue[]{new BInteger(1000)}, "665334");
+        assertCompiled("testLoop");
+    }
+
+    @Test(description = "Test branches on int, float and boolean conditions")
+    public void testBranches() {
+        assertResults("testBranches", new BValue[]{new BInteger(20), new BFloat(2.0), new BBoolean(true)},
+                "big-high");
+        assertResults("testBranches", new BValue[]{new BInteger(5), new BFloat(1.0), new BBoolean(true)}, "medium");
+        assertResults("testBranches", new BValue[]{new BInteger(-1), new BFloat(1.5), new BBoolean(true)},
+                "small-high");
+        assertResults("testBranches", new BValue[]{new BInteger(20), new BFloat(0.0), new BBoolean(false)},
+                "small");
+        assertCompiled("testBranches");
+    }
+
+    @Test(description = "Test recursive calls, which return to the interpreter")
+    public void testCalls() {
+        assertResults("testCalls", new BValue[]{new BInteger(15)}, "610");
+        assertCompiled("fib");
+    }
+
+    @Test(description = "Test instructions which are not compiled and are executed by the interpreter")
+    public void testUnsupportedInstructions() {
+        assertResults("testUnsupportedInstructions", new BValue[]{new BInteger(5)}, "10", "01234");
+        assertResults("testUnsupportedInstructions", new BValue[]{new BInteger(0)}, "0", "");
+        assertCompiled("testUnsupportedInstructions");
+    }
+
+    @Test(description = "Test a division by zero, which is raised by the interpreter")
+    public void testDivideByZero() {
+        assertResults("testDivideByZero", new BValue[]{new BInteger(10), new BInteger(3)}, "3");
+        for (int i = 0; i < INVOCATIONS; i++) {
+            try {
+                BRunUtil.invoke(result, "testDivideByZero", new BValue[]{new BInteger(10), new BInteger(0)});
+                Assert.fail("division by zero did not fail");
+            } catch (BLangRuntimeException e) {
+                Assert.assertTrue(e.getMessage().contains("/ by zero"), e.getMessage());
+            }
+        }
+        assertCompiled("testDivideByZero");
+    }
+
+    @Test(description = "Test that no execution event is lost when a callable unit runs on several threads")
+    public void testConcurrentExecutionCount() throws InterruptedException {
+        FunctionInfo functionInfo = new FunctionInfo(0, ".", 0, "counted");
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    functionInfo.incrementExecutionCount();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(functionInfo.incrementExecutionCount(), 40001);
+    }
+
+    private void assertResults(String function, BValue[] args, String... expected) {
+        for (int i = 0; i < INVOCATIONS; i++) {
+            BValue[] returns = BRunUtil.invoke(result, function, args);
+            Assert.assertEquals(returns.length, expected.length);
+            for (int j = 0; j < expected.length; j++) {
+                Assert.assertEquals(returns[j].stringValue(), expected[j],
+                        "return value " + j + " of invocation " + i + " of " + function);
+            }
+        }
+    }
+
+    /**
+     * Assert that the given function has been compiled, if the tiered compiler is enabled.
+     */
+    private void assertCompiled(String function) {
+        if (TieredCompiler.getInstance() == null) {
+            return;
+        }
+        FunctionInfo functionInfo = result.getProgFile().getEntryPackage().getFunctionInfo(function);
+        Assert.assertTrue(functionInfo.isCompilationAttempted(), function);
+        Assert.assertNotNull(functionInfo.getCompiledFunction(), function);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the workers of a fork-join which are still running once the join completes or times out are stopped.
+ * <p>
+ * The losing workers keep incrementing a counter in a map shared with the test. Once stopped, their counters no
+ * longer change. A worker no thread has started yet is dropped, and never sets its counter.
+ */
+public class ForkJoinCancellationTest {
+
+    // Time given to the losing workers to notice they have been cancelled
+    private static final long STOP_GRACE_MILLIS = 200;
+    private static final long OBSERVATION_MILLIS = 300;
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/workers/fork-join-cancellation.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test(description = "Test the workers still running once a some join completes are stopped")
+    public void testSomeJoinStopsLosers() throws InterruptedException {
+        BValue[] returns = BRunUtil.invoke(result, "testSomeJoinStopsLosers", new BValue[0]);
+        BMap<String, BValue> map = getMap(returns);
+        Assert.assertEquals(map.get("joined").stringValue(), "true");
+        Assert.assertNull(map.get("timedOut"));
+        assertStopped(map, "spinner", "sleeper");
+    }
+
+    @Test(description = "Test the workers still running once a join times out are stopped")
+    public void testTimedJoinStopsLosers() throws InterruptedException {
+        BValue[] returns = BRunUtil.invoke(result, "testTimedJoinStopsLosers", new BValue[0]);
+        BMap<String, BValue> map = getMap(returns);
+        Assert.assertEquals(map.get("timedOut").stringValue(), "true");
+        Assert.assertNull(map.get("joined"));
+        assertStopped(map, "spinner", "sleeper");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BMap<String, BValue> getMap(BValue[] returns) {
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertTrue(returns[0] instanceof BMap);
+        return (BMap<String, BValue>) returns[0];
+    }
+
+    private static void assertStopped(BMap<String, BValue> map, String... counters) throws InterruptedException {
+        Thread.sleep(STOP_GRACE_MILLIS);
+        String[] before = new String[counters.length];
+        for (int i = 0; i < counters.length; i++) {
+            before[i] = getCounter(map, counters[i]);
+        }
+        Thread.sleep(OBSERVATION_MILLIS);
+        for (int i = 0; i < counters.length; i++) {
+            Assert.assertEquals(getCounter(map, counters[i]), before[i],
+                    "worker " + counters[i] + " is still running");
+        }
+    }
+
+    private static String getCounter(BMap<String, BValue> map, String counter) {
+        BValue value = map.get(counter);
+        return value == null ? null : value.stringValue();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.runtime.Constants;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Tests fork-join timeouts in milliseconds.
+ * <p>
+ * The unit of fork-join timeouts is read once per JVM from the
+ * {@value Constants#SYSTEM_PROP_BAL_FORK_JOIN_TIMEOUT_UNIT} system property, hence these tests only run with the
+ * fork-join timeout unit suite, see the surefire configuration.
+ */
+public class ForkJoinTimeoutUnitTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        if (!"MILLISECONDS".equals(System.getProperty(Constants.SYSTEM_PROP_BAL_FORK_JOIN_TIMEOUT_UNIT))) {
+            throw new SkipException("fork-join timeouts are not in milliseconds");
+        }
+        result = BCompileUtil.compile("test-src/workers/fork-join-timeout-unit.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test(description = "Test a timeout of less than a second, which also stops a sleeping worker")
+    @SuppressWarnings("unchecked")
+    public void testMillisecondTimeout() {
+        long start = System.currentTimeMillis();
+        BValue[] returns = BRunUtil.invoke(result, "testMillisecondTimeout", new BValue[0]);
+        long elapsed = System.currentTimeMillis() - start;
+        Assert.assertTrue(returns[0] instanceof BMap);
+        BMap<String, BValue> map = (BMap<String, BValue>) returns[0];
+        Assert.assertEquals(map.get("timedOut").stringValue(), "true");
+        Assert.assertEquals(map.get("quickDone").stringValue(), "true");
+        Assert.assertEquals(map.get("slowDone").stringValue(), "false");
+        Assert.assertNull(map.get("joined"));
+        Assert.assertTrue(elapsed >= 450, "timed out after " + elapsed + "ms");
+        Assert.assertTrue(elapsed < 10000, "timed out after " + elapsed + "ms");
+    }
+}
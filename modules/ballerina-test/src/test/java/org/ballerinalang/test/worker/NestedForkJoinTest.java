@@ -0,0 +1,97 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tests nested fork-joins, whose joining workers wait on the worker pool for the workers they forked.
+ * <p>
+ * Each leaf of the tree of fork-joins calls {@code string.trim}, whose native function is replaced with one which
+ * records the thread it runs on.
+ */
+public class NestedForkJoinTest {
+
+    private static final int DEPTH = 7;
+    private static final int LEAVES = 1 << DEPTH;
+
+    private CompileResult result;
+    private RecordingTrim recordingTrim;
+
+    @BeforeMethod
+    public void setup() {
+        result = BCompileUtil.compile("test-src/workers/nested-fork-join.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+        recordingTrim = new RecordingTrim();
+        result.getProgFile().getPackageInfo("ballerina.builtin").getFunctionInfo("string.trim")
+                .setNativeFunction(recordingTrim);
+    }
+
+    @Test(description = "Test nested joins of all workers, which run the workers no pool thread has started yet")
+    public void testNestedJoinAll() {
+        BValue[] returns = BRunUtil.invoke(result, "countLeaves", new BValue[]{new BInteger(DEPTH)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), LEAVES);
+        assertLeaves();
+    }
+
+    @Test(description = "Test nested joins with a timeout, which only wait for the workers they forked")
+    public void testNestedTimedJoin() {
+        BValue[] returns = BRunUtil.invoke(result, "countLeavesTimed", new BValue[]{new BInteger(DEPTH)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), LEAVES);
+        assertLeaves();
+    }
+
+    /**
+     * Assert each leaf ran exactly once, either on a thread of the worker pool or on the thread which joined it.
+     */
+    private void assertLeaves() {
+        List<Thread> threads = recordingTrim.threads;
+        Assert.assertEquals(threads.size(), LEAVES);
+        for (Thread thread : threads) {
+            Assert.assertTrue(thread == Thread.currentThread() || thread.getName().startsWith("worker-thread-pool-"),
+                    "leaf ran on " + thread.getName());
+        }
+    }
+
+    /**
+     * Trims its argument, recording the thread it runs on.
+     */
+    private static class RecordingTrim extends AbstractNativeFunction {
+
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public BValue[] execute(Context context) {
+            threads.add(Thread.currentThread());
+            return getBValues(new BString(getStringArgument(context, 0).trim()));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests workers suspended on a receive or a fork-join join, instead of waiting on their thread.
+ * <p>
+ * The native function behind {@code string.trim} is replaced with one which records the thread it runs on. A worker
+ * trims a string before it waits, on the thread of the test, and another one once it is resumed on a pool thread.
+ */
+public class SuspendedWorkerTest {
+
+    private static final String RESUME_THREAD_PREFIX = "BLangResponse-";
+
+    private CompileResult result;
+    private RecordingTrim recordingTrim;
+
+    @BeforeMethod
+    public void setup() {
+        result = BCompileUtil.compile("test-src/workers/suspended-worker.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+        recordingTrim = new RecordingTrim();
+        result.getProgFile().getPackageInfo("ballerina.builtin").getFunctionInfo("string.trim")
+                .setNativeFunction(recordingTrim);
+    }
+
+    @Test(description = "Test a worker receiving values which have not been sent yet is resumed on a pool thread")
+    public void testReceive() {
+        BValue[] returns = BRunUtil.invoke(result, "testReceive", new BValue[]{new BInteger(100)});
+        Assert.assertEquals(returns[0].stringValue(), "beforereceivedafter");
+        assertResumed();
+    }
+
+    @Test(description = "Test the frames of a worker are intact after each receive it is resumed from")
+    public void testReceiveLoop() {
+        BValue[] returns = BRunUtil.invoke(result, "testReceiveLoop", new BValue[]{new BInteger(20)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 190);
+    }
+
+    @Test(description = "Test a worker joining a fork-join is resumed on a pool thread from the join block")
+    public void testJoin() {
+        BValue[] returns = BRunUtil.invoke(result, "testJoin", new BValue[]{new BInteger(100)});
+        BMap<String, BValue> map = getMap(returns);
+        Assert.assertEquals(map.get("before").stringValue(), "before");
+        Assert.assertEquals(map.get("joined").stringValue(), "joined");
+        Assert.assertEquals(map.get("quickDone").stringValue(), "true");
+        Assert.assertEquals(map.get("slowDone").stringValue(), "true");
+        Assert.assertNull(map.get("timedOut"));
+        assertResumed();
+    }
+
+    @Test(description = "Test a worker joining a fork-join is resumed on a pool thread from the timeout block")
+    public void testJoinTimeout() {
+        long start = System.nanoTime();
+        BValue[] returns = BRunUtil.invoke(result, "testJoinTimeout", new BValue[0]);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        BMap<String, BValue> map = getMap(returns);
+        Assert.assertEquals(map.get("timedOut").stringValue(), "timedOut");
+        Assert.assertEquals(map.get("slowDone").stringValue(), "false");
+        Assert.assertNull(map.get("joined"));
+        Assert.assertTrue(elapsedMillis >= 900 && elapsedMillis < 10000, "timed out after " + elapsedMillis + "ms");
+
+        List<Thread> threads = recordingTrim.threads;
+        Assert.assertEquals(threads.size(), 1);
+        Assert.assertTrue(threads.get(0).getName().startsWith(RESUME_THREAD_PREFIX),
+                "resumed on " + threads.get(0).getName());
+    }
+
+    /**
+     * Assert the worker trimmed a string on the thread of the test before it was suspended, and another one on a
+     * pool thread once it was resumed.
+     */
+    private void assertResumed() {
+        List<Thread> threads = recordingTrim.threads;
+        Assert.assertEquals(threads.size(), 2);
+        Assert.assertSame(threads.get(0), Thread.currentThread());
+        Assert.assertTrue(threads.get(1).getName().startsWith(RESUME_THREAD_PREFIX),
+                "resumed on " + threads.get(1).getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BMap<String, BValue> getMap(BValue[] returns) {
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertTrue(returns[0] instanceof BMap);
+        return (BMap<String, BValue>) returns[0];
+    }
+
+    /**
+     * Trims its argument, recording the thread it runs on.
+     */
+    private static class RecordingTrim extends AbstractNativeFunction {
+
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public BValue[] execute(Context context) {
+            threads.add(Thread.currentThread());
+            return getBValues(new BString(getStringArgument(context, 0).trim()));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.runtime.threadpool.BLangThreadFactory;
+import org.ballerinalang.runtime.threadpool.BLangThreadPoolExecutor;
+import org.ballerinalang.runtime.threadpool.ThreadPoolConfig;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests the rejection policies of the thread pools.
+ */
+public class ThreadPoolRejectionTest {
+
+    private final List<String> properties = new ArrayList<>();
+    private CountDownLatch release;
+    private BLangThreadPoolExecutor pool;
+
+    @BeforeMethod
+    public void setup() {
+        release = new CountDownLatch(1);
+    }
+
+    @AfterMethod
+    public void tearDown() throws InterruptedException {
+        release.countDown();
+        if (pool != null) {
+            pool.shutdown();
+            Assert.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+            pool = null;
+        }
+        for (String property : properties) {
+            System.clearProperty(property);
+        }
+        properties.clear();
+    }
+
+    @Test(description = "Test that the abort policy throws once the pool and its queue are full",
+          expectedExceptions = RejectedExecutionException.class)
+    public void testAbortPolicy() {
+        pool = createFullPool(ThreadPoolConfig.load(configure("test-abort", "abort"), 1));
+        try {
+            pool.execute(() -> { });
+        } finally {
+            Assert.assertEquals(pool.getRejectedTaskCount(), 1);
+        }
+    }
+
+    @Test(description = "Test that the discard policy drops the task once the pool and its queue are full")
+    public void testDiscardPolicy() throws InterruptedException {
+        pool = createFullPool(ThreadPoolConfig.load(configure("test-discard", "discard"), 1));
+        AtomicBoolean ran = new AtomicBoolean();
+        pool.execute(() -> ran.set(true));
+        Assert.assertEquals(pool.getRejectedTaskCount(), 1);
+
+        release.countDown();
+        pool.shutdown();
+        Assert.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertFalse(ran.get());
+    }
+
+    @Test(description = "Test that the caller-runs policy runs the task in the caller once the pool is full")
+    public void testCallerRunsPolicy() {
+        pool = createFullPool(ThreadPoolConfig.load(configure("test-caller-runs", "caller-runs"), 1));
+        assertRunsInCaller(pool);
+    }
+
+    @Test(description = "Test that a pool which must not lose tasks runs them in the caller by default")
+    public void testLosslessPoolDefaultPolicy() {
+        pool = createFullPool(ThreadPoolConfig.loadLossless(configure("test-lossless", null), 1));
+        assertRunsInCaller(pool);
+    }
+
+    @Test(description = "Test that a lossy policy is rejected for a bounded queue of a pool which must not lose tasks",
+          expectedExceptions = IllegalArgumentException.class)
+    public void testLosslessPoolWithDiscardPolicy() {
+        ThreadPoolConfig.loadLossless(configure("test-lossless-discard", "discard"), 1);
+    }
+
+    @Test(description = "Test that the abort policy is rejected for a bounded queue of a pool which must not lose " +
+            "tasks", expectedExceptions = IllegalArgumentException.class)
+    public void testLosslessPoolWithAbortPolicy() {
+        ThreadPoolConfig.loadLossless(configure("test-lossless-abort", "abort"), 1);
+    }
+
+    @Test(description = "Test that any policy is accepted for an unbounded queue of a pool which must not lose tasks")
+    public void testLosslessPoolWithUnboundedQueue() throws InterruptedException {
+        String name = "test-lossless-unbounded";
+        setProperty(name + ".rejectionPolicy", "abort");
+        pool = new BLangThreadPoolExecutor(ThreadPoolConfig.loadLossless(name, 1), new BLangThreadFactory(name));
+        CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            pool.execute(done::countDown);
+        }
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+        Assert.assertEquals(pool.getRejectedTaskCount(), 0);
+    }
+
+    /**
+     * Configure a pool of one thread and a queue of one task with the given rejection policy.
+     */
+    private String configure(String name, String rejectionPolicy) {
+        setProperty(name + ".coreSize", "1");
+        setProperty(name + ".maxSize", "1");
+        setProperty(name + ".queueSize", "1");
+        if (rejectionPolicy != null) {
+            setProperty(name + ".rejectionPolicy", rejectionPolicy);
+        }
+        return name;
+    }
+
+    private void setProperty(String key, String value) {
+        String property = Constants.SYSTEM_PROP_BAL_THREAD_POOL + key;
+        System.setProperty(property, value);
+        properties.add(property);
+    }
+
+    /**
+     * Create a pool from the given configuration, with its thread blocked and its queue full.
+     */
+    private BLangThreadPoolExecutor createFullPool(ThreadPoolConfig config) {
+        BLangThreadPoolExecutor pool = new BLangThreadPoolExecutor(config, new BLangThreadFactory("test-pool"));
+        CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try {
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        pool.execute(() -> { });
+        Assert.assertEquals(pool.getQueueDepth(), 1);
+        return pool;
+    }
+
+    private static void assertRunsInCaller(BLangThreadPoolExecutor pool) {
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        pool.execute(() -> thread.set(Thread.currentThread()));
+        Assert.assertSame(thread.get(), Thread.currentThread());
+        Assert.assertEquals(pool.getRejectedTaskCount(), 1);
+    }
+}
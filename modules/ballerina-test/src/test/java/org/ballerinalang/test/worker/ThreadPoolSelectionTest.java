@@ -0,0 +1,127 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.runtime.Constants;
+import org.ballerinalang.runtime.threadpool.BLangThreadPoolExecutor;
+import org.ballerinalang.runtime.threadpool.BLangWorkStealingPool;
+import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the thread pools selected by {@link ThreadPoolFactory}.
+ * <p>
+ * The pools are selected once per JVM from the {@value Constants#SYSTEM_PROP_BAL_VIRTUAL_THREADS} system property.
+ * These tests run with platform threads in the default suite, and with the property set in the virtual threads
+ * suite, see the surefire configuration. On a JVM without virtual threads, the latter falls back to platform threads.
+ */
+public class ThreadPoolSelectionTest {
+
+    // More concurrent tasks than the default size of the main pool
+    private static final int CONCURRENT_TASKS = 600;
+
+    private ThreadPoolFactory factory;
+    private boolean expectVirtualThreads;
+
+    @BeforeClass
+    public void setup() {
+        factory = ThreadPoolFactory.getInstance();
+        expectVirtualThreads = Boolean.getBoolean(Constants.SYSTEM_PROP_BAL_VIRTUAL_THREADS) &&
+                isVirtualThreadsSupported();
+    }
+
+    @Test(description = "Test the executors of the selected kind of threads")
+    public void testExecutors() {
+        Assert.assertEquals(factory.isVirtualThreads(), expectVirtualThreads);
+        if (expectVirtualThreads) {
+            Assert.assertFalse(factory.getExecutor() instanceof BLangThreadPoolExecutor);
+            Assert.assertFalse(factory.getWorkerExecutor() instanceof BLangWorkStealingPool);
+            Assert.assertFalse(factory.getResponseExecutor() instanceof BLangThreadPoolExecutor);
+        } else {
+            Assert.assertTrue(factory.getExecutor() instanceof BLangThreadPoolExecutor);
+            Assert.assertTrue(factory.getWorkerExecutor() instanceof BLangWorkStealingPool);
+            Assert.assertTrue(factory.getResponseExecutor() instanceof BLangThreadPoolExecutor);
+        }
+        Assert.assertNotSame(factory.getResponseExecutor(), factory.getExecutor());
+        Assert.assertNotSame(factory.getWorkerExecutor(), factory.getExecutor());
+    }
+
+    @Test(description = "Test the tasks of each executor run on the selected kind of threads")
+    public void testThreads() throws Exception {
+        assertThread(factory.getExecutor(), "BLangWorker-");
+        assertThread(factory.getWorkerExecutor(), "worker-thread-pool-");
+        assertThread(factory.getResponseExecutor(), "BLangResponse-");
+    }
+
+    @Test(description = "Test the number of concurrent tasks is not bounded by a pool size on virtual threads")
+    public void testUnboundedConcurrency() throws InterruptedException {
+        if (!expectVirtualThreads) {
+            throw new SkipException("the thread pools are not backed by virtual threads");
+        }
+        CountDownLatch started = new CountDownLatch(CONCURRENT_TASKS);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < CONCURRENT_TASKS; i++) {
+                factory.getExecutor().execute(() -> {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS),
+                    (CONCURRENT_TASKS - started.getCount()) + " of " + CONCURRENT_TASKS + " tasks started");
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private void assertThread(ExecutorService executor, String namePrefix) throws Exception {
+        Future<Thread> future = executor.submit(Thread::currentThread);
+        Thread thread = future.get(10, TimeUnit.SECONDS);
+        Assert.assertNotSame(thread, Thread.currentThread());
+        Assert.assertTrue(thread.getName().startsWith(namePrefix), thread.getName());
+        Assert.assertEquals(isVirtual(thread), expectVirtualThreads, thread.getName());
+    }
+
+    private static boolean isVirtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        if (!isVirtualThreadsSupported()) {
+            return false;
+        }
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.launcher.util.BCompileUtil;
+import org.ballerinalang.launcher.util.BRunUtil;
+import org.ballerinalang.launcher.util.CompileResult;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.runtime.threadpool.TimerWheel;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests the {@link TimerWheel} and the sleeps which are suspended on it.
+ * <p>
+ * The wheel tests use a wheel of {@value #WHEEL_SIZE} buckets of {@value #TICK_MILLIS} milliseconds, so that the
+ * delays longer than one turn of the wheel run after the right number of rounds. A task running a round early or
+ * late is off by a whole turn, which is well beyond the allowed scheduling delay.
+ */
+public class TimerWheelTest {
+
+    private static final long TICK_MILLIS = 50;
+    private static final int WHEEL_SIZE = 4;
+    // Allowed delay of the wheel thread on top of the tick a task may run late
+    private static final long SCHEDULING_DELAY_MILLIS = 150;
+    private static final long WAIT_SECONDS = 10;
+
+    private TimerWheel wheel;
+
+    @BeforeMethod
+    public void setup() {
+        wheel = new TimerWheel("test-timer", TICK_MILLIS, TimeUnit.MILLISECONDS, WHEEL_SIZE);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        wheel.stop();
+    }
+
+    @Test(description = "Test timeouts run once their delay elapses, within and beyond one turn of the wheel")
+    public void testRounds() throws InterruptedException {
+        long turnMillis = TICK_MILLIS * WHEEL_SIZE;
+        long[] delays = {0, 30, turnMillis, turnMillis + 30, 3 * turnMillis + 30};
+        AtomicLong[] elapsed = new AtomicLong[delays.length];
+        CountDownLatch done = new CountDownLatch(delays.length);
+        long start = System.nanoTime();
+        for (int i = 0; i < delays.length; i++) {
+            AtomicLong taskElapsed = new AtomicLong();
+            elapsed[i] = taskElapsed;
+            wheel.schedule(() -> {
+                taskElapsed.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                done.countDown();
+            }, delays[i], TimeUnit.MILLISECONDS);
+        }
+
+        Assert.assertTrue(done.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        for (int i = 0; i < delays.length; i++) {
+            long taskElapsed = elapsed[i].get();
+            Assert.assertTrue(taskElapsed >= delays[i], "delay of " + delays[i] + "ms ran after " + taskElapsed + "ms");
+            Assert.assertTrue(taskElapsed < delays[i] + TICK_MILLIS + SCHEDULING_DELAY_MILLIS,
+                    "delay of " + delays[i] + "ms ran after " + taskElapsed + "ms");
+        }
+    }
+
+    @Test(description = "Test a timeout whose delay has already elapsed runs on the next tick")
+    public void testNegativeDelay() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        long start = System.nanoTime();
+        wheel.schedule(done::countDown, -1, TimeUnit.SECONDS);
+        Assert.assertTrue(done.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertTrue(elapsedMillis < TICK_MILLIS + SCHEDULING_DELAY_MILLIS, "ran after " + elapsedMillis + "ms");
+    }
+
+    @Test(description = "Test cancelled timeouts do not run, whether or not the wheel has reached them yet")
+    public void testCancel() throws InterruptedException {
+        AtomicBoolean cancelledBeforeTransfer = new AtomicBoolean();
+        AtomicBoolean cancelledInBucket = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        long turnMillis = TICK_MILLIS * WHEEL_SIZE;
+        wheel.schedule(() -> cancelledBeforeTransfer.set(true), TICK_MILLIS, TimeUnit.MILLISECONDS).cancel();
+        TimerWheel.Timeout timeout = wheel.schedule(() -> cancelledInBucket.set(true), turnMillis + TICK_MILLIS,
+                TimeUnit.MILLISECONDS);
+        // Runs after both cancelled timeouts would have
+        wheel.schedule(done::countDown, 2 * turnMillis, TimeUnit.MILLISECONDS);
+
+        // Let the wheel move the second timeout into its bucket before cancelling it
+        Thread.sleep(2 * TICK_MILLIS);
+        timeout.cancel();
+
+        Assert.assertTrue(done.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertFalse(cancelledBeforeTransfer.get());
+        Assert.assertFalse(cancelledInBucket.get());
+    }
+
+    @Test(description = "Test a failing task does not stop the wheel")
+    public void testFailingTask() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        wheel.schedule(() -> {
+            throw new IllegalStateException("failing timer task");
+        }, 0, TimeUnit.MILLISECONDS);
+        wheel.schedule(done::countDown, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(done.await(WAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test(description = "Test a worker sleeping on the shared wheel is resumed on a pool thread")
+    public void testSleep() {
+        assertResumedAfterSleep("testSleep");
+    }
+
+    @Test(description = "Test a worker sleeping through the runtime package is resumed on a pool thread")
+    public void testSleepCurrentThread() {
+        assertResumedAfterSleep("testSleepCurrentThread");
+    }
+
+    private static void assertResumedAfterSleep(String functionName) {
+        CompileResult result = BCompileUtil.compile("test-src/workers/timer-sleep.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+        RecordingTrim recordingTrim = new RecordingTrim();
+        result.getProgFile().getPackageInfo("ballerina.builtin").getFunctionInfo("string.trim")
+                .setNativeFunction(recordingTrim);
+
+        long start = System.nanoTime();
+        BValue[] returns = BRunUtil.invoke(result, functionName, new BValue[]{new BInteger(100)});
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertEquals(returns[0].stringValue(), "beforeafter");
+        Assert.assertTrue(elapsedMillis >= 100, "slept for " + elapsedMillis + "ms");
+
+        List<Thread> threads = recordingTrim.threads;
+        Assert.assertEquals(threads.size(), 2);
+        Assert.assertSame(threads.get(0), Thread.currentThread());
+        Assert.assertTrue(threads.get(1).getName().startsWith("BLangResponse-"),
+                "resumed on " + threads.get(1).getName());
+    }
+
+    /**
+     * Trims its argument, recording the thread it runs on.
+     */
+    private static class RecordingTrim extends AbstractNativeFunction {
+
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public BValue[] execute(Context context) {
+            threads.add(Thread.currentThread());
+            return getBValues(new BString(getStringArgument(context, 0).trim()));
+        }
+    }
+}
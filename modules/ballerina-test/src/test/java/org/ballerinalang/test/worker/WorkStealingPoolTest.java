@@ -0,0 +1,163 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.runtime.threadpool.BLangWorkStealingPool;
+import org.ballerinalang.runtime.threadpool.ThreadPoolConfig;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the work-stealing pool of workers, and the waits which let it start spare threads while its threads block.
+ * <p>
+ * The pools have a parallelism of one, so that a task waiting for another task of the same pool only completes if
+ * the pool compensates for the blocked thread.
+ */
+public class WorkStealingPoolTest {
+
+    private static final String THREAD_NAME_PREFIX = "test-work-stealing";
+    private static final long WAIT_SECONDS = 10;
+
+    private BLangWorkStealingPool pool;
+
+    @BeforeMethod
+    public void setup() {
+        pool = new BLangWorkStealingPool(ThreadPoolConfig.load("test-work-stealing", 1), THREAD_NAME_PREFIX);
+    }
+
+    @AfterMethod
+    public void tearDown() throws InterruptedException {
+        pool.shutdownNow();
+        Assert.assertTrue(pool.awaitTermination(WAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test(description = "Test a task waiting for a later task of the same pool lets the pool run it")
+    public void testCompensation() throws InterruptedException {
+        Semaphore semaphore = new Semaphore(0);
+        AtomicBoolean acquired = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        pool.execute(() -> {
+            try {
+                acquired.set(BLangWorkStealingPool.tryAcquire(semaphore, WAIT_SECONDS, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        });
+        pool.execute(semaphore::release);
+
+        Assert.assertTrue(done.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertTrue(acquired.get(), "the waiting task timed out");
+        Assert.assertEquals(pool.getCorePoolSize(), 1);
+    }
+
+    @Test(description = "Test nested tasks which each wait for their children cannot exhaust the pool")
+    public void testNestedWaits() throws InterruptedException {
+        AtomicInteger leaves = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        Semaphore root = new Semaphore(0);
+        pool.execute(() -> runTree(4, root, leaves, threadNames));
+
+        Assert.assertTrue(BLangWorkStealingPool.tryAcquire(root, WAIT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertEquals(leaves.get(), 16);
+        Assert.assertTrue(threadNames.size() > 1, "the pool did not start spare threads");
+        for (String threadName : threadNames) {
+            Assert.assertTrue(threadName.startsWith(THREAD_NAME_PREFIX + "-"), threadName);
+        }
+    }
+
+    @Test(description = "Test acquiring an available permit does not block")
+    public void testTryAcquireAvailable() throws InterruptedException {
+        Semaphore semaphore = new Semaphore(1);
+        Assert.assertTrue(BLangWorkStealingPool.tryAcquire(semaphore, 0, TimeUnit.SECONDS));
+        Assert.assertEquals(semaphore.availablePermits(), 0);
+    }
+
+    @Test(description = "Test waiting for a permit times out")
+    public void testTryAcquireTimeout() throws InterruptedException {
+        long start = System.nanoTime();
+        Assert.assertFalse(BLangWorkStealingPool.tryAcquire(new Semaphore(0), 100, TimeUnit.MILLISECONDS));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertTrue(elapsedMillis >= 100, "timed out after " + elapsedMillis + "ms");
+    }
+
+    @Test(description = "Test the metrics of the pool")
+    public void testMetrics() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            pool.execute(done::countDown);
+        }
+        Assert.assertTrue(done.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        pool.shutdown();
+        Assert.assertTrue(pool.awaitTermination(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        Assert.assertEquals(pool.getCompletedTaskCount(), 10);
+        Assert.assertEquals(pool.getQueueDepth(), 0);
+        Assert.assertEquals(pool.getRejectedTaskCount(), 0);
+        Assert.assertTrue(pool.getAverageQueueWaitMillis() >= 0);
+    }
+
+    @Test(description = "Test tasks are rejected and counted once the pool is shut down")
+    public void testRejection() {
+        pool.shutdown();
+        try {
+            pool.execute(() -> { });
+            Assert.fail("task was not rejected");
+        } catch (RejectedExecutionException e) {
+            Assert.assertEquals(pool.getRejectedTaskCount(), 1);
+        }
+    }
+
+    /**
+     * Run a binary tree of tasks of the given depth, each of which waits for its children before it completes.
+     */
+    private void runTree(int depth, Semaphore completion, AtomicInteger leaves, Set<String> threadNames) {
+        threadNames.add(Thread.currentThread().getName());
+        try {
+            if (depth == 0) {
+                leaves.incrementAndGet();
+                return;
+            }
+            Semaphore children = new Semaphore(0);
+            for (int i = 0; i < 2; i++) {
+                pool.execute(() -> runTree(depth - 1, children, leaves, threadNames));
+            }
+            for (int i = 0; i < 2; i++) {
+                if (!BLangWorkStealingPool.tryAcquire(children, WAIT_SECONDS, TimeUnit.SECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            completion.release();
+        }
+    }
+}
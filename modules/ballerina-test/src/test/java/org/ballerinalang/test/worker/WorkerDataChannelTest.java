@@ -0,0 +1,253 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.test.worker;
+
+import org.ballerinalang.util.codegen.WorkerDataChannel;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tests the {@link WorkerDataChannel} carrying messages between workers.
+ */
+public class WorkerDataChannelTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @Test(description = "Test receiving messages which have been sent before")
+    public void testSendBeforeReceive() {
+        WorkerDataChannel channel = new WorkerDataChannel();
+        channel.send(1, "a");
+        channel.send(2, null);
+        Assert.assertEquals(channel.size(), 2);
+
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        Assert.assertTrue(channel.receive(message, 0, TimeUnit.SECONDS));
+        Assert.assertEquals(message.primitive, 1);
+        Assert.assertEquals(message.reference, "a");
+        Assert.assertTrue(channel.receive(message, 0, TimeUnit.SECONDS));
+        Assert.assertEquals(message.primitive, 2);
+        Assert.assertNull(message.reference);
+        Assert.assertEquals(channel.size(), 0);
+    }
+
+    @Test(description = "Test a receiver waiting for a message which is sent afterwards")
+    public void testReceiveBeforeSend() throws InterruptedException {
+        WorkerDataChannel channel = new WorkerDataChannel();
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        AtomicBoolean received = new AtomicBoolean();
+        Thread receiver = startThread(() -> received.set(channel.receive(message, TIMEOUT_SECONDS, TimeUnit.SECONDS)));
+        awaitWaiting(receiver);
+
+        channel.send(42, "value");
+        receiver.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertTrue(received.get());
+        Assert.assertEquals(message.primitive, 42);
+        Assert.assertEquals(message.reference, "value");
+    }
+
+    @Test(description = "Test that a receive times out, and that the next message goes to the next receive")
+    public void testReceiveTimeout() {
+        WorkerDataChannel channel = new WorkerDataChannel();
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        Assert.assertFalse(channel.receive(message, 10, TimeUnit.MILLISECONDS));
+
+        channel.send(7, "late");
+        Assert.assertTrue(channel.receive(message, 0, TimeUnit.SECONDS));
+        Assert.assertEquals(message.primitive, 7);
+        Assert.assertEquals(message.reference, "late");
+    }
+
+    @Test(description = "Test that aborting a waiting receive wakes the receiver up without losing messages")
+    public void testAbortWakesReceiver() throws InterruptedException {
+        WorkerDataChannel channel = new WorkerDataChannel();
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<Boolean> received = new AtomicReference<>();
+        Thread receiver = startThread(() -> received.set(channel.receive(message, TIMEOUT_SECONDS, TimeUnit.SECONDS,
+                cancelled::get)));
+        awaitWaiting(receiver);
+
+        long start = System.nanoTime();
+        cancelled.set(true);
+        LockSupport.unpark(receiver);
+        receiver.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        Assert.assertEquals(received.get(), Boolean.FALSE);
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS));
+
+        // The slot of the aborted receive is skipped by the sender
+        channel.send(3, "after abort");
+        Assert.assertTrue(channel.receive(message, 0, TimeUnit.SECONDS));
+        Assert.assertEquals(message.primitive, 3);
+        Assert.assertEquals(message.reference, "after abort");
+    }
+
+    @Test(description = "Test a registered receiver gets a message which is sent afterwards, on the sending thread")
+    public void testRegisteredReceiver() {
+        WorkerDataChannel channel = new WorkerDataChannel();
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        RecordingReceiver receiver = new RecordingReceiver();
+        Assert.assertFalse(channel.receive(message, receiver));
+        Assert.assertNull(receiver.thread);
+
+        channel.send(42, "value");
+        Assert.assertSame(receiver.thread, Thread.currentThread());
+        Assert.assertEquals(receiver.primitive, 42);
+        Assert.assertEquals(receiver.reference, "value");
+        Assert.assertFalse(receiver.giveUp());
+        Assert.assertEquals(channel.size(), 0);
+    }
+
+    @Test(description = "Test a receiver is not registered for a message which has been sent before")
+    public void testReceiverNotRegisteredWhenSent() {
+        WorkerDataChannel channel = new WorkerDataChannel();
+        channel.send(1, "a");
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        RecordingReceiver receiver = new RecordingReceiver();
+        Assert.assertTrue(channel.receive(message, receiver));
+        Assert.assertEquals(message.primitive, 1);
+        Assert.assertEquals(message.reference, "a");
+
+        channel.send(2, "b");
+        Assert.assertNull(receiver.thread);
+        Assert.assertTrue(channel.receive(message, 0, TimeUnit.SECONDS));
+        Assert.assertEquals(message.primitive, 2);
+    }
+
+    @Test(description = "Test the next message goes to the next receive once a registered receiver gives up")
+    public void testReceiverGivesUp() {
+        WorkerDataChannel channel = new WorkerDataChannel();
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        RecordingReceiver receiver = new RecordingReceiver();
+        Assert.assertFalse(receiver.giveUp());
+        Assert.assertFalse(channel.receive(message, receiver));
+        Assert.assertTrue(receiver.giveUp());
+        Assert.assertFalse(receiver.giveUp());
+
+        channel.send(3, "after give up");
+        Assert.assertNull(receiver.thread);
+        Assert.assertTrue(channel.receive(message, 0, TimeUnit.SECONDS));
+        Assert.assertEquals(message.primitive, 3);
+        Assert.assertEquals(message.reference, "after give up");
+    }
+
+    @Test(description = "Test that the messages of each sender are received in order, across segments")
+    public void testOrderingWithSeveralSenders() throws InterruptedException {
+        assertOrdering(new WorkerDataChannel(), 4, 1000);
+    }
+
+    @Test(description = "Test that the messages of each sender are received in order by a bounded channel")
+    public void testOrderingWithCapacity() throws InterruptedException {
+        assertOrdering(new WorkerDataChannel(2), 3, 200);
+    }
+
+    @Test(description = "Test that a sender waits while a bounded channel is full")
+    public void testSendWaitsForCapacity() throws InterruptedException {
+        WorkerDataChannel channel = new WorkerDataChannel(1);
+        channel.send(1, null);
+        CountDownLatch sent = new CountDownLatch(1);
+        startThread(() -> {
+            channel.send(2, null);
+            sent.countDown();
+        });
+        Assert.assertFalse(sent.await(50, TimeUnit.MILLISECONDS));
+
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        Assert.assertTrue(channel.receive(message, 0, TimeUnit.SECONDS));
+        Assert.assertEquals(message.primitive, 1);
+        Assert.assertTrue(sent.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        Assert.assertTrue(channel.receive(message, 0, TimeUnit.SECONDS));
+        Assert.assertEquals(message.primitive, 2);
+    }
+
+    @Test(description = "Test that an invalid capacity is rejected",
+          expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        new WorkerDataChannel(0);
+    }
+
+    /**
+     * Send messages from several threads, each tagging its messages with its index in the reference and a sequence
+     * number in the primitive, and check that every message is received and the sequence of each sender is kept.
+     */
+    private static void assertOrdering(WorkerDataChannel channel, int senderCount, int messageCount)
+            throws InterruptedException {
+        List<Thread> senders = new ArrayList<>();
+        for (int i = 0; i < senderCount; i++) {
+            Integer sender = i;
+            senders.add(startThread(() -> {
+                for (int j = 0; j < messageCount; j++) {
+                    channel.send(j, sender);
+                }
+            }));
+        }
+
+        long[] nextSequence = new long[senderCount];
+        WorkerDataChannel.Message message = new WorkerDataChannel.Message();
+        for (int i = 0; i < senderCount * messageCount; i++) {
+            Assert.assertTrue(channel.receive(message, TIMEOUT_SECONDS, TimeUnit.SECONDS), "message " + i);
+            int sender = (Integer) message.reference;
+            Assert.assertEquals(message.primitive, nextSequence[sender], "message of sender " + sender);
+            nextSequence[sender]++;
+        }
+        for (Thread thread : senders) {
+            thread.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        }
+        Assert.assertEquals(channel.size(), 0);
+        Assert.assertFalse(channel.receive(message, 0, TimeUnit.SECONDS));
+    }
+
+    private static Thread startThread(Runnable task) {
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Assert.assertEquals(thread.getState(), Thread.State.TIMED_WAITING);
+    }
+
+    /**
+     * Records the message it receives and the thread it receives it on.
+     */
+    private static class RecordingReceiver extends WorkerDataChannel.Receiver {
+
+        private Thread thread;
+        private long primitive;
+        private Object reference;
+
+        @Override
+        protected void onReceive(long primitive, Object reference) {
+            this.thread = Thread.currentThread();
+            this.primitive = primitive;
+            this.reference = reference;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+function hotLoop (int n) (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        sum = add(sum, i % 7);
+        if (sum > 1000000) {
+            sum = sum - 1000000;
+        }
+        i = i + 1;
+    }
+    return sum;
+}
+
+function coldLoop (int n) (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < n) {
+        float f = <float>(i % 7);
+        any a = f;
+        var g, _ = (float) a;
+        sum = sum + <int>(g);
+        i = i + 1;
+    }
+    return sum;
+}
+
+function add (int a, int b) (int) {
+    return a + b;
+}
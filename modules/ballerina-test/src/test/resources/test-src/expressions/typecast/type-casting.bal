@@ -153,6 +153,23 @@ function testStructAsAnyToStruct() (Person) {
     return p2;
 }
 
+function testStructAsAnyToEquivalentStruct(int count) (int) {
+    Person p = { name:"Supun", age:25, marks:[24, 81] };
+    any a = p;
+    int castCount = 0;
+    int i = 0;
+    while (i < count) {
+        Student s;
+        TypeCastError e;
+        s, e = (Student) a;
+        if (e == null && s.name == "Supun") {
+            castCount = castCount + 1;
+        }
+        i = i + 1;
+    }
+    return castCount;
+}
+
 function testAnyToStruct() (Person) {
     any a = { name:"Supun",
                 age:25,
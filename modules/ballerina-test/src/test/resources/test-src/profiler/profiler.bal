@@ -0,0 +1,33 @@
+struct ProfiledPoint {
+    int x;
+    int y;
+}
+
+function profileHot(int n) (int) {
+    int i = 0;
+    int sum = 0;
+    while (i < n) {
+        sum = sum + i;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function profileCold() (int) {
+    return 1;
+}
+
+function profileAllocate(int n) (int) {
+    int i = 0;
+    int sum = 0;
+    while (i < n) {
+        ProfiledPoint p = {x:i, y:i};
+        sum = sum + p.x;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function testProfile() (int) {
+    return profileHot(1000) + profileCold() + profileAllocate(10);
+}
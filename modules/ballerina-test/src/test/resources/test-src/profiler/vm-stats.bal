@@ -0,0 +1,40 @@
+function statsCallee(int a) (int) {
+    return a + 1;
+}
+
+function testCalls(int n) (int) {
+    int i = 0;
+    int sum = 0;
+    while (i < n) {
+        sum = statsCallee(sum);
+        i = i + 1;
+    }
+    return sum;
+}
+
+function testNativeCalls(int n) (string) {
+    int i = 0;
+    string s = "  stats  ";
+    while (i < n) {
+        s = s.trim();
+        i = i + 1;
+    }
+    return s;
+}
+
+function testFork() (int) {
+    int x;
+    fork {
+        worker W1 {
+            100 -> fork;
+        }
+        worker W2 {
+            200 -> fork;
+        }
+    } join (all) (map results) {
+        any[] w1;
+        w1, _ = (any[]) results["W1"];
+        x, _ = (int) w1[0];
+    }
+    return x;
+}
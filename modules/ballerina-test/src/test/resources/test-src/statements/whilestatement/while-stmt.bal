@@ -44,4 +44,19 @@ function testWhileScopeWithIf()(int, float) {
         j = j + 1;
     }
     return j, sum;
-}
\ No newline at end of file
+}
+
+function testWhileStringAccumulation(int count)(string, string) {
+    string digits = "";
+    string letters = "[";
+    int i = 0;
+    while (i < count) {
+        if (i == 7) {
+            break;
+        }
+        digits = digits + i;
+        letters = letters + "a" + i + "b" + "c";
+        i = i + 1;
+    }
+    return digits, letters + "]";
+}
@@ -65,6 +65,35 @@ function testMapOrder() (map)
 
 }
 
+function testMapCounters() (int, float, string, any) {
+    map counts = {};
+    map sums = {};
+    map names = {"first":"a"};
+    int i = 0;
+    while (i < 100) {
+        string key = "k" + (i % 10);
+        int count;
+        count, _ = (int) counts[key];
+        counts[key] = count + 1;
+        float sum;
+        sum, _ = (float) sums[key];
+        sums[key] = sum + 0.5;
+        i = i + 1;
+    }
+    string name;
+    name, _ = (string) names["first"];
+    names["first"] = name + "b";
+    counts["mixed"] = "text";
+
+    int count;
+    count, _ = (int) counts["k3"];
+    float sum;
+    sum, _ = (float) sums["k7"];
+    string first;
+    first, _ = (string) names["first"];
+    return count, sum, first, counts["mixed"];
+}
+
 function testEcho(string value)(string){
     return value;
 }
@@ -102,3 +131,35 @@ function testMapSynchronization()(int)
         return m.length();
     }
 }
+
+struct MapHolder {
+    map counts;
+}
+
+function testStructMapSynchronization()(int, map)
+{
+    MapHolder holder = {counts:{}};
+
+    fork {
+        worker w2 {
+            int i = 0;
+            while (i < 1000) {
+                map counts = holder.counts;
+                string key = "a" + i;
+                counts[key] = i;
+                i = i + 1;
+            }
+        }
+        worker w3 {
+            int j = 0;
+            while (j < 1000) {
+                map counts = holder.counts;
+                string key = "b" + j;
+                counts[key] = j;
+                j = j + 1;
+            }
+        }
+    } join (all) (map results) {
+        return holder.counts.length(), holder.counts;
+    }
+}
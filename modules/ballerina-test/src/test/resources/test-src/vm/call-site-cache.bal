@@ -0,0 +1,48 @@
+function add(int a, int b) (int) {
+    return a + b;
+}
+
+function sub(int a, int b) (int) {
+    return a - b;
+}
+
+function describe(string s, float f, boolean b, int i) (string) {
+    if (b && f > 1.0) {
+        return s + ":" + i;
+    }
+    return s;
+}
+
+function testSamePackageCall(int n) (int) {
+    int i = 0;
+    int sum = 0;
+    while (i < n) {
+        sum = add(sum, i);
+        i = i + 1;
+    }
+    return sum;
+}
+
+function testNativeCall(string s) (string) {
+    return s.trim();
+}
+
+function testFunctionPointer(int n) (int) {
+    function (int, int) returns (int) op = add;
+    int i = 0;
+    int result = 0;
+    while (i < n) {
+        if (i % 2 == 0) {
+            op = add;
+        } else {
+            op = sub;
+        }
+        result = op(result, i * 10);
+        i = i + 1;
+    }
+    return result;
+}
+
+function testMixedParams() (string) {
+    return describe("a", 1.5, true, 7);
+}
@@ -0,0 +1,56 @@
+function testLoopWithJumps(int limit) (int, int) {
+    int i = 0;
+    int evens = 0;
+    int sum = 0;
+    while (i < limit) {
+        if (i == 3) {
+            i = i + 1;
+            next;
+        }
+        if (i >= 7) {
+            break;
+        }
+        int rem = i % 2;
+        if (rem == 0) {
+            evens = evens + 1;
+        }
+        sum = sum + i;
+        i = i + 1;
+    }
+    return evens, sum;
+}
+
+function testComparisons(int a, int b) (int) {
+    int result = 0;
+    if (a > b) {
+        result = result + 1;
+    }
+    if (a >= b) {
+        result = result + 10;
+    }
+    if (a <= b) {
+        result = result + 100;
+    }
+    if (a == b) {
+        result = result + 1000;
+    }
+    int c = a + b; int d = c + a;
+    return d + result;
+}
+
+function testMapValues(int i, float f, string s) (int, float, string, string) {
+    map m = {};
+    m["i"] = i;
+    m["f"] = f;
+    m["s"] = s;
+    m["c"] = "constant";
+    int ri;
+    float rf;
+    string rs;
+    string rc;
+    ri, _ = (int) m["i"];
+    rf, _ = (float) m["f"];
+    rs, _ = (string) m["s"];
+    rc, _ = (string) m["c"];
+    return ri, rf, rs, rc;
+}
@@ -0,0 +1,51 @@
+struct Holder {
+    string name;
+}
+
+function throwError (int depth) {
+    if (depth > 0) {
+        throwError(depth - 1);
+        return;
+    }
+    error e = {msg:"lazy"};
+    throw e;
+}
+
+function testCatchError (int depth) (error) {
+    error caught;
+    try {
+        throwError(depth);
+    } catch (error e) {
+        caught = e;
+    }
+    return caught;
+}
+
+function testReadStackTrace () (int, string, int) {
+    StackFrame[] trace;
+    try {
+        throwError(1);
+    } catch (error e) {
+        trace = e.stackTrace;
+    }
+    return lengthof trace, trace[1].caller, trace[0].lineNumber;
+}
+
+function dereference (Holder h) (string) {
+    return h.name;
+}
+
+function testRuntimeError () (error) {
+    Holder h;
+    error caught;
+    try {
+        _ = dereference(h);
+    } catch (error e) {
+        caught = e;
+    }
+    return caught;
+}
+
+function testUncaughtError () {
+    throwError(0);
+}
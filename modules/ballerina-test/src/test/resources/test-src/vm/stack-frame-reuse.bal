@@ -0,0 +1,108 @@
+function sumTo(int n) (int) {
+    if (n == 0) {
+        return 0;
+    }
+    return n + sumTo(n - 1);
+}
+
+function testRecursiveCalls() (int, int) {
+    int first = sumTo(10);
+    int second = sumTo(3);
+    return first, second;
+}
+
+function readLocals(int seed) (int, string) {
+    int i;
+    string s;
+    if (seed > 0) {
+        i = seed;
+        s = "set";
+    }
+    return i, s;
+}
+
+function testFreshLocals() (int, string, int, string) {
+    int i1;
+    string s1;
+    int i2;
+    string s2;
+    i1, s1 = readLocals(5);
+    i2, s2 = readLocals(0);
+    return i1, s1, i2, s2;
+}
+
+function forkedSum(int n) (int) {
+    int total = 0;
+    fork {
+        worker w1 {
+            int a = sumTo(n);
+            a -> fork;
+        }
+        worker w2 {
+            int b = sumTo(n + 1);
+            b -> fork;
+        }
+    } join (all) (map results) {
+        any[] r1;
+        any[] r2;
+        r1, _ = (any[]) results["w1"];
+        r2, _ = (any[]) results["w2"];
+        int x;
+        int y;
+        x, _ = (int) r1[0];
+        y, _ = (int) r2[0];
+        total = x + y;
+    }
+    return total;
+}
+
+function testCallsInForkJoin() (int, int) {
+    int first = forkedSum(4);
+    int second = forkedSum(2);
+    return first, second;
+}
+
+function workerSum(int n) (int) {
+    worker default {
+        n -> w1;
+        int result;
+        result <- w1;
+        return result;
+    }
+    worker w1 {
+        int m;
+        m <- default;
+        int r = sumTo(m);
+        r -> default;
+    }
+}
+
+function testCallsInWorkers() (int, int) {
+    int first = workerSum(5);
+    int second = workerSum(3);
+    return first, second;
+}
+
+function failAt(int depth) (int) {
+    if (depth == 0) {
+        error e = {msg:"failed"};
+        throw e;
+    }
+    return failAt(depth - 1);
+}
+
+function traceOf(int depth) (StackFrame[]) {
+    StackFrame[] trace;
+    try {
+        _ = failAt(depth);
+    } catch (error e) {
+        trace = e.stackTrace;
+    }
+    return trace;
+}
+
+function testStackTracesOfReusedFrames() (StackFrame[], StackFrame[]) {
+    StackFrame[] deep = traceOf(3);
+    StackFrame[] shallow = traceOf(1);
+    return deep, shallow;
+}
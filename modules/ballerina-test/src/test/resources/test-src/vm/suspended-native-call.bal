@@ -0,0 +1,32 @@
+function testResume(string s) (string, string) {
+    string first = s.trim();
+    string second = (first + "  ").trim();
+    return first, second;
+}
+
+function testResumeWithLocals(string s, int n) (string, int) {
+    int i = 0;
+    int sum = 0;
+    string result = s;
+    while (i < n) {
+        sum = sum + i;
+        result = (result + " ").trim();
+        i = i + 1;
+    }
+    return result, sum;
+}
+
+function testFailure(string s) (string) {
+    string result = s.trim();
+    return result;
+}
+
+function testCatchFailure(string s) (string) {
+    string result = "none";
+    try {
+        result = s.trim();
+    } catch (error e) {
+        result = "caught: " + e.msg;
+    }
+    return result;
+}
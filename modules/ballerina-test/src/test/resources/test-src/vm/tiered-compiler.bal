@@ -0,0 +1,79 @@
+function testIntArithmetic(int a, int b) (int, int, int, int, int) {
+    return a + b, a - b, a * b, a / b, a % b;
+}
+
+function testFloatArithmetic(float a, float b) (float, float, float, float) {
+    return a + b, a - b, a * b, a / b;
+}
+
+function testLoop(int n) (int) {
+    int i = 0;
+    int sum = 0;
+    while (i < n) {
+        if (i % 3 == 0) {
+            i = i + 1;
+            next;
+        }
+        sum = sum + i * 2;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function testBranches(int a, float f, boolean flag) (string) {
+    string result;
+    if (a > 10 && flag) {
+        result = "big";
+    } else if (a < 0 || !flag) {
+        result = "small";
+    } else {
+        result = "medium";
+    }
+    if (f >= 1.5) {
+        result = result + "-high";
+    }
+    return result;
+}
+
+function fib(int n) (int) {
+    if (n < 2) {
+        return n;
+    }
+    return fib(n - 1) + fib(n - 2);
+}
+
+function testCalls(int n) (int) {
+    return fib(n);
+}
+
+function testUnsupportedInstructions(int n) (int, string) {
+    map m = {};
+    string s = "";
+    int i = 0;
+    while (i < n) {
+        string key = "k" + i;
+        m[key] = i;
+        s = s + i;
+        i = i + 1;
+    }
+    int total = 0;
+    i = 0;
+    while (i < n) {
+        string key = "k" + i;
+        int value;
+        value, _ = (int) m[key];
+        total = total + value;
+        i = i + 1;
+    }
+    return total, s;
+}
+
+function testDivideByZero(int a, int b) (int) {
+    int i = 0;
+    int quotient = 0;
+    while (i < 3) {
+        quotient = a / b;
+        i = i + 1;
+    }
+    return quotient;
+}
@@ -0,0 +1,54 @@
+function testSomeJoinStopsLosers() (map) {
+    map m = {};
+    fork {
+        worker winner {
+            "done" -> fork;
+        }
+        worker spinner {
+            int i = 0;
+            while (true) {
+                i = i + 1;
+                m["spinner"] = i;
+            }
+        }
+        worker sleeper {
+            int i = 0;
+            while (true) {
+                i = i + 1;
+                m["sleeper"] = i;
+                sleep(10);
+            }
+        }
+    } join (some 1) (map results) {
+        m["joined"] = true;
+    } timeout (60) (map results) {
+        m["timedOut"] = true;
+    }
+    return m;
+}
+
+function testTimedJoinStopsLosers() (map) {
+    map m = {};
+    fork {
+        worker spinner {
+            int i = 0;
+            while (true) {
+                i = i + 1;
+                m["spinner"] = i;
+            }
+        }
+        worker sleeper {
+            int i = 0;
+            while (true) {
+                i = i + 1;
+                m["sleeper"] = i;
+                sleep(10);
+            }
+        }
+    } join (all) (map results) {
+        m["joined"] = true;
+    } timeout (1) (map results) {
+        m["timedOut"] = true;
+    }
+    return m;
+}
@@ -0,0 +1,20 @@
+function testMillisecondTimeout() (map) {
+    map m = {};
+    fork {
+        worker quick {
+            sleep(50);
+            "quick" -> fork;
+        }
+        worker slow {
+            sleep(60000);
+            "slow" -> fork;
+        }
+    } join (all) (map results) {
+        m["joined"] = true;
+    } timeout (500) (map results) {
+        m["timedOut"] = true;
+        m["quickDone"] = results["quick"] != null;
+        m["slowDone"] = results["slow"] != null;
+    }
+    return m;
+}
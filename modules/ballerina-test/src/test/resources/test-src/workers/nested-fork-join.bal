@@ -0,0 +1,62 @@
+function countLeaves (int depth) (int) {
+    if (depth == 0) {
+        return leaf();
+    }
+    int left;
+    int right;
+    fork {
+        worker L {
+            int count = countLeaves(depth - 1);
+            count -> fork;
+        }
+        worker R {
+            int count = countLeaves(depth - 1);
+            count -> fork;
+        }
+    } join (all) (map results) {
+        any[] l;
+        any[] r;
+        l, _ = (any[]) results["L"];
+        r, _ = (any[]) results["R"];
+        left, _ = (int) l[0];
+        right, _ = (int) r[0];
+    }
+    return left + right;
+}
+
+function countLeavesTimed (int depth) (int) {
+    if (depth == 0) {
+        return leaf();
+    }
+    int left;
+    int right;
+    fork {
+        worker L {
+            int count = countLeavesTimed(depth - 1);
+            count -> fork;
+        }
+        worker R {
+            int count = countLeavesTimed(depth - 1);
+            count -> fork;
+        }
+    } join (all) (map results) {
+        any[] l;
+        any[] r;
+        l, _ = (any[]) results["L"];
+        r, _ = (any[]) results["R"];
+        left, _ = (int) l[0];
+        right, _ = (int) r[0];
+    } timeout (60) (map results) {
+        left = -1;
+        right = -1;
+    }
+    return left + right;
+}
+
+function leaf () (int) {
+    string name = " leaf ";
+    if (name.trim() == "leaf") {
+        return 1;
+    }
+    return 0;
+}
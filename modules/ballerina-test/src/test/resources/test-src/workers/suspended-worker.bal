@@ -0,0 +1,75 @@
+function testReceive (int millis) (string) {
+    worker default {
+        string before = " before ".trim();
+        string received;
+        received <- sender;
+        string after = " after ".trim();
+        return before + received + after;
+    }
+
+    worker sender {
+        sleep(millis);
+        "received" -> default;
+    }
+}
+
+function testReceiveLoop (int count) (int) {
+    worker default {
+        int sum = 0;
+        int i = 0;
+        while (i < count) {
+            int value;
+            value <- sender;
+            sum = sum + value;
+            i = i + 1;
+        }
+        return sum;
+    }
+
+    worker sender {
+        int j = 0;
+        while (j < count) {
+            sleep(5);
+            j -> default;
+            j = j + 1;
+        }
+    }
+}
+
+function testJoin (int millis) (map) {
+    map m = {};
+    string before = " before ".trim();
+    fork {
+        worker quick {
+            "quick" -> fork;
+        }
+        worker slow {
+            sleep(millis);
+            "slow" -> fork;
+        }
+    } join (all) (map results) {
+        m["joined"] = " joined ".trim();
+        m["quickDone"] = results["quick"] != null;
+        m["slowDone"] = results["slow"] != null;
+    } timeout (60) (map results) {
+        m["timedOut"] = true;
+    }
+    m["before"] = before;
+    return m;
+}
+
+function testJoinTimeout () (map) {
+    map m = {};
+    fork {
+        worker slow {
+            sleep(60000);
+            "slow" -> fork;
+        }
+    } join (all) (map results) {
+        m["joined"] = true;
+    } timeout (1) (map results) {
+        m["timedOut"] = " timedOut ".trim();
+        m["slowDone"] = results["slow"] != null;
+    }
+    return m;
+}
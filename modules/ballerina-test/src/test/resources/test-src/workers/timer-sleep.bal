@@ -0,0 +1,15 @@
+import ballerina.runtime;
+
+function testSleep (int millis) (string) {
+    string before = " before ".trim();
+    sleep(millis);
+    string after = " after ".trim();
+    return before + after;
+}
+
+function testSleepCurrentThread (int millis) (string) {
+    string before = " before ".trim();
+    runtime:sleepCurrentThread(millis);
+    string after = " after ".trim();
+    return before + after;
+}